@@ -0,0 +1,649 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.codec;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.util.Arrays;
+
+/**
+ * Table-driven decoder of CCITT Group 3 (modified Huffman, T.4 one- and two-dimensional) and
+ * Group 4 (T.6) fax data.
+ *
+ * <p>
+ * Compressed data is read a whole byte at a time into a bit buffer, each code word is resolved with a single
+ * lookup in a table indexed by the next bits of the data, and runs of black pixels are filled
+ * byte by byte. The changing elements and the row buffers are allocated once per decoder and reused, so
+ * a single instance can decode any number of images of the same width.
+ *
+ * <p>
+ * Decoded rows are either written into a buffer holding the whole image, or passed one by one to
+ * an {@link IRowListener}. Black pixels are decoded as 1 bits (WhiteIsZero), rows are padded to a byte boundary.
+ *
+ * <p>
+ * This class is not thread safe.
+ */
+public class CCITTFaxDecoder {
+
+    private static final int WHITE_TABLE_BITS = 12;
+    private static final int BLACK_TABLE_BITS = 13;
+    private static final int MODE_TABLE_BITS = 7;
+
+    // Run length stored in the tables for the EOL code word
+    private static final int EOL_RUN = 0xfff;
+
+    private static final int MODE_PASS = 1;
+    private static final int MODE_HORIZONTAL = 2;
+    private static final int MODE_EXTENSION = 3;
+    // Vertical modes take MODE_VERTICAL + 3 + (a1 - b1), i.e. values from 4 to 10
+    private static final int MODE_VERTICAL = 4;
+
+    // Table entries hold the run length (or the mode) shifted by 4 and the length of the code word
+    private static final int[] WHITE_TABLE = createRunTable(CCITTG4Encoder.TIFFFaxWhiteCodes, WHITE_TABLE_BITS);
+    private static final int[] BLACK_TABLE = createRunTable(CCITTG4Encoder.TIFFFaxBlackCodes, BLACK_TABLE_BITS);
+    private static final int[] MODE_TABLE = createModeTable();
+
+    private final int width;
+    private final int rowBytes;
+    private final boolean reverseBits;
+
+    private final byte[] row;
+    private int[] referenceElements;
+    private int[] currentElements;
+
+    private byte[] data;
+    private int dataPosition;
+    private long bitBuffer;
+    private int bitCount;
+
+    /**
+     * Creates a new decoder of the images with the specified width.
+     *
+     * @param width     the width of the image in pixels
+     * @param fillOrder the fill order of the compressed data bytes, 1 if the most significant bit comes first,
+     *                  2 if the least significant bit comes first
+     */
+    public CCITTFaxDecoder(int width, int fillOrder) {
+        if (fillOrder != 1 && fillOrder != 2) {
+            throw new IOException(IoExceptionMessageConstant.TIFF_FILL_ORDER_TAG_MUST_BE_EITHER_1_OR_2);
+        }
+        this.width = width;
+        this.rowBytes = (width + 7) / 8;
+        this.reverseBits = fillOrder == 2;
+        this.row = new byte[rowBytes];
+        // each row has at most width + 1 changing elements, a few more are reserved for the sentinels
+        this.referenceElements = new int[2 * width + 8];
+        this.currentElements = new int[2 * width + 8];
+    }
+
+    /**
+     * Decodes modified Huffman data (TIFF compression 2), every row of which starts on a byte boundary.
+     *
+     * @param buffer   the buffer to write the rows to, it shall hold at least {@code height} rows
+     * @param compData the compressed data
+     * @param height   the number of rows to decode
+     */
+    public void decodeModifiedHuffman(byte[] buffer, byte[] compData, int height) {
+        decodeModifiedHuffman(compData, height, buffer, null);
+    }
+
+    /**
+     * Decodes modified Huffman data (TIFF compression 2), every row of which starts on a byte boundary.
+     *
+     * @param compData the compressed data
+     * @param height   the number of rows to decode
+     * @param listener the listener each decoded row is passed to
+     */
+    public void decodeModifiedHuffman(byte[] compData, int height, IRowListener listener) {
+        decodeModifiedHuffman(compData, height, null, listener);
+    }
+
+    /**
+     * Decodes T.4 (Group 3) data, every row of which is preceded by an EOL code word.
+     *
+     * @param buffer    the buffer to write the rows to, it shall hold at least {@code height} rows
+     * @param compData  the compressed data
+     * @param height    the number of rows to decode
+     * @param t4Options the value of the TIFF T4Options field, see {@link TIFFConstants#GROUP3OPT_2DENCODING}
+     */
+    public void decodeT4(byte[] buffer, byte[] compData, int height, long t4Options) {
+        decodeT4(compData, height, t4Options, buffer, null);
+    }
+
+    /**
+     * Decodes T.4 (Group 3) data, every row of which is preceded by an EOL code word.
+     *
+     * @param compData  the compressed data
+     * @param height    the number of rows to decode
+     * @param t4Options the value of the TIFF T4Options field, see {@link TIFFConstants#GROUP3OPT_2DENCODING}
+     * @param listener  the listener each decoded row is passed to
+     */
+    public void decodeT4(byte[] compData, int height, long t4Options, IRowListener listener) {
+        decodeT4(compData, height, t4Options, null, listener);
+    }
+
+    /**
+     * Decodes T.6 (Group 4) data. The rows which follow the end of the data or an invalid code are left white.
+     *
+     * @param buffer    the buffer to write the rows to, it shall hold at least {@code height} rows
+     * @param compData  the compressed data
+     * @param height    the number of rows to decode
+     * @param t6Options the value of the TIFF T6Options field, or {@link TIFFConstants#GROUP4OPT_FILLBITS} if
+     *                  every row starts on a byte boundary
+     */
+    public void decodeT6(byte[] buffer, byte[] compData, int height, long t6Options) {
+        decodeT6(compData, height, t6Options, buffer, null);
+    }
+
+    /**
+     * Decodes T.6 (Group 4) data. The rows which follow the end of the data or an invalid code are passed
+     * to the listener white.
+     *
+     * @param compData  the compressed data
+     * @param height    the number of rows to decode
+     * @param t6Options the value of the TIFF T6Options field, or {@link TIFFConstants#GROUP4OPT_FILLBITS} if
+     *                  every row starts on a byte boundary
+     * @param listener  the listener each decoded row is passed to
+     */
+    public void decodeT6(byte[] compData, int height, long t6Options, IRowListener listener) {
+        decodeT6(compData, height, t6Options, null, listener);
+    }
+
+    private void decodeModifiedHuffman(byte[] compData, int height, byte[] buffer, IRowListener listener) {
+        start(compData);
+        for (int i = 0; i < height; i++) {
+            byte[] target = startRow(buffer, i);
+            int offset = buffer == null ? 0 : i * rowBytes;
+            decode1DRow(target, offset);
+            skipToByteBoundary();
+            endRow(target, i, listener);
+        }
+    }
+
+    private void decodeT4(byte[] compData, int height, long t4Options, byte[] buffer, IRowListener listener) {
+        start(compData);
+        boolean twoDimensional = (t4Options & TIFFConstants.GROUP3OPT_2DENCODING) != 0;
+        for (int i = 0; i < height; i++) {
+            byte[] target = startRow(buffer, i);
+            int offset = buffer == null ? 0 : i * rowBytes;
+            if (readEol(twoDimensional)) {
+                decode1DRow(target, offset);
+            } else if (i == 0) {
+                throw new IOException(IoExceptionMessageConstant.FIRST_SCANLINE_MUST_BE_1D_ENCODED);
+            } else if (!decode2DRow(target, offset)) {
+                throw new IOException(
+                        IoExceptionMessageConstant.INVALID_CODE_ENCOUNTERED_WHILE_DECODING_2D_GROUP_3_COMPRESSED_DATA);
+            }
+            endRow(target, i, listener);
+        }
+    }
+
+    private void decodeT6(byte[] compData, int height, long t6Options, byte[] buffer, IRowListener listener) {
+        start(compData);
+        boolean byteAligned = (t6Options & TIFFConstants.GROUP4OPT_FILLBITS) != 0;
+        // the imaginary row above the first one is white
+        setSentinels(referenceElements, 0);
+        boolean endOfData = false;
+        for (int i = 0; i < height; i++) {
+            byte[] target = startRow(buffer, i);
+            int offset = buffer == null ? 0 : i * rowBytes;
+            if (!endOfData) {
+                if (byteAligned) {
+                    fillBuffer();
+                    int fillBits = bitCount & 7;
+                    if (fillBits != 0 && peekBits(fillBits) != 0) {
+                        throw new IOException(
+                                IoExceptionMessageConstant.EXPECTED_TRAILING_ZERO_BITS_FOR_BYTE_ALIGNED_LINES);
+                    }
+                    skipBits(fillBits);
+                }
+                // an invalid code (EOFB included) ends the data, as it's impossible to find the start of the next row
+                endOfData = isDataExhausted() || !decode2DRow(target, offset);
+            }
+            endRow(target, i, listener);
+        }
+    }
+
+    private void start(byte[] compData) {
+        data = compData;
+        dataPosition = 0;
+        bitBuffer = 0;
+        bitCount = 0;
+    }
+
+    private byte[] startRow(byte[] buffer, int rowIndex) {
+        if (buffer == null) {
+            Arrays.fill(row, (byte) 0);
+            return row;
+        }
+        int offset = rowIndex * rowBytes;
+        Arrays.fill(buffer, offset, offset + rowBytes, (byte) 0);
+        return buffer;
+    }
+
+    private void endRow(byte[] target, int rowIndex, IRowListener listener) {
+        if (listener != null) {
+            listener.rowDecoded(target, rowIndex);
+        }
+    }
+
+    /**
+     * Decodes a row coded with alternating white and black runs and stores its changing elements
+     * as the reference for the next row.
+     */
+    private void decode1DRow(byte[] target, int offset) {
+        int[] elements = currentElements;
+        int limit = elements.length - 3;
+        int count = 0;
+        int a0 = 0;
+        boolean white = true;
+        while (a0 < width) {
+            if (count >= limit) {
+                throw new IOException(IoExceptionMessageConstant.INVALID_CODE_ENCOUNTERED);
+            }
+            int run = readRun(white);
+            if (run < 0) {
+                throw new IOException(IoExceptionMessageConstant.INVALID_CODE_ENCOUNTERED);
+            }
+            int a1 = Math.min(a0 + run, width);
+            elements[count++] = a1;
+            a0 = a1;
+            white = !white;
+        }
+        writeRow(target, offset, elements, count);
+        setSentinels(elements, count);
+        swapElements();
+    }
+
+    /**
+     * Decodes a row coded relative to the reference row and stores its changing elements
+     * as the reference for the next row.
+     *
+     * @return {@code false} if an invalid code has been encountered, the rest of the row is left white then
+     */
+    private boolean decode2DRow(byte[] target, int offset) {
+        int[] reference = referenceElements;
+        int[] elements = currentElements;
+        int limit = elements.length - 6;
+        int count = 0;
+        int referenceIndex = 0;
+        // a0 is placed just before the first pixel at the beginning of the row
+        int a0 = -1;
+        boolean white = true;
+        boolean valid = true;
+        while (a0 < width) {
+            // b1 is the first changing element of the reference row to the right of a0 and of the opposite color,
+            // the previous b1 may have been skipped by a vertical mode to the left
+            int i = referenceIndex > 0 ? referenceIndex - 1 : 0;
+            i = white ? i & ~1 : i | 1;
+            while (reference[i] <= a0) {
+                i += 2;
+            }
+            referenceIndex = i;
+            int b1 = reference[i];
+            int b2 = reference[i + 1];
+            int start = a0 < 0 ? 0 : a0;
+
+            fillBuffer();
+            int entry = MODE_TABLE[peekBits(MODE_TABLE_BITS)];
+            int mode = entry >>> 4;
+            if (mode == 0 || count >= limit) {
+                valid = false;
+                break;
+            }
+            skipBits(entry & 0xf);
+            if (mode == MODE_PASS) {
+                a0 = b2;
+            } else if (mode == MODE_HORIZONTAL) {
+                int run1 = readRun(white);
+                int run2 = run1 < 0 ? -1 : readRun(!white);
+                if (run2 < 0) {
+                    valid = false;
+                    break;
+                }
+                int a1 = Math.min(start + run1, width);
+                int a2 = Math.min(a1 + run2, width);
+                elements[count++] = a1;
+                elements[count++] = a2;
+                a0 = a2;
+            } else if (mode == MODE_EXTENSION) {
+                fillBuffer();
+                // only the uncompressed mode extension (111) is defined
+                if (peekBits(3) != 7) {
+                    valid = false;
+                    break;
+                }
+                skipBits(3);
+                int[] state = {start, white ? 1 : 0, count};
+                if (!decodeUncompressed(state)) {
+                    valid = false;
+                    break;
+                }
+                a0 = state[0];
+                white = state[1] != 0;
+                count = state[2];
+            } else {
+                int a1 = b1 + mode - MODE_VERTICAL - 3;
+                if (a1 <= a0 || a1 > width) {
+                    valid = false;
+                    break;
+                }
+                elements[count++] = a1;
+                a0 = a1;
+                white = !white;
+            }
+        }
+        if (!valid && !white) {
+            // the black run which the invalid code interrupted ends at a0
+            elements[count++] = a0 < 0 ? 0 : a0;
+        }
+        writeRow(target, offset, elements, count);
+        setSentinels(elements, count);
+        swapElements();
+        return valid;
+    }
+
+    /**
+     * Decodes pixels coded in the uncompressed mode till its exit code.
+     *
+     * @param state the position of a0, its color (1 if white) and the number of the changing elements,
+     *              updated on return
+     *
+     * @return {@code false} if the data is invalid
+     */
+    private boolean decodeUncompressed(int[] state) {
+        int[] elements = currentElements;
+        int limit = elements.length - 6;
+        int a0 = state[0];
+        boolean white = state[1] != 0;
+        int count = state[2];
+        for (;;) {
+            int zeros = countZeros(10);
+            if (zeros < 0 || count >= limit) {
+                return false;
+            }
+            // 0-4 zeros followed by 1 are white pixels followed by a black one, 00000 1 are five white pixels,
+            // 6-10 zeros followed by 1 and the color of the next run are 0-4 white pixels and the exit code
+            int whitePixels = zeros <= 5 ? zeros : zeros - 6;
+            if (whitePixels > 0) {
+                if (!white) {
+                    elements[count++] = a0;
+                    white = true;
+                }
+                a0 = Math.min(a0 + whitePixels, width);
+            }
+            if (zeros < 5) {
+                if (white) {
+                    elements[count++] = a0;
+                    white = false;
+                }
+                a0 = Math.min(a0 + 1, width);
+            } else if (zeros > 5) {
+                fillBuffer();
+                boolean nextWhite = peekBits(1) == 0;
+                skipBits(1);
+                if (nextWhite != white) {
+                    elements[count++] = a0;
+                    white = nextWhite;
+                }
+                break;
+            }
+        }
+        state[0] = a0;
+        state[1] = white ? 1 : 0;
+        state[2] = count;
+        return true;
+    }
+
+    /**
+     * Reads a run length, i.e. any number of make-up code words followed by a terminating one.
+     *
+     * @return the run length, or -1 if the data ends in the middle of a code word
+     */
+    private int readRun(boolean white) {
+        int[] table = white ? WHITE_TABLE : BLACK_TABLE;
+        int tableBits = white ? WHITE_TABLE_BITS : BLACK_TABLE_BITS;
+        int run = 0;
+        for (;;) {
+            fillBuffer();
+            int entry = table[peekBits(tableBits)];
+            int length = entry & 0xf;
+            if (length == 0) {
+                if (getRemainingBits() < tableBits) {
+                    return -1;
+                }
+                throw new IOException(IoExceptionMessageConstant.INVALID_CODE_ENCOUNTERED);
+            }
+            int code = entry >>> 4;
+            if (code == EOL_RUN) {
+                throw new IOException(white ? IoExceptionMessageConstant.EOL_CODE_WORD_ENCOUNTERED_IN_WHITE_RUN
+                        : IoExceptionMessageConstant.EOL_CODE_WORD_ENCOUNTERED_IN_BLACK_RUN);
+            }
+            skipBits(length);
+            run += code;
+            if (code < 64) {
+                return run;
+            }
+        }
+    }
+
+    /**
+     * Skips the fill bits and the EOL code word which precede a T.4 row.
+     *
+     * @return {@code true} if the row is one-dimensionally coded
+     */
+    private boolean readEol(boolean twoDimensional) {
+        int zeros = countZeros(Integer.MAX_VALUE);
+        if (zeros < 0) {
+            throw new IOException(IoExceptionMessageConstant.SCANLINE_MUST_BEGIN_WITH_EOL_CODE_WORD);
+        }
+        if (zeros < 11) {
+            throw new IOException(IoExceptionMessageConstant.ALL_FILL_BITS_PRECEDING_EOL_CODE_MUST_BE_0);
+        }
+        if (!twoDimensional) {
+            return true;
+        }
+        fillBuffer();
+        boolean oneDimensional = peekBits(1) == 1;
+        skipBits(1);
+        return oneDimensional;
+    }
+
+    /**
+     * Skips zero bits and the 1 bit which follows them.
+     *
+     * @return the number of the skipped zero bits, or -1 if there are more than {@code max} of them
+     * or the data has ended
+     */
+    private int countZeros(int max) {
+        int zeros = 0;
+        for (;;) {
+            fillBuffer();
+            int leadingZeros = Long.numberOfLeadingZeros(bitBuffer);
+            if (leadingZeros < bitCount) {
+                zeros += leadingZeros;
+                skipBits(leadingZeros + 1);
+                return zeros <= max ? zeros : -1;
+            }
+            if (isDataExhausted()) {
+                return -1;
+            }
+            zeros += bitCount;
+            bitBuffer = 0;
+            bitCount = 0;
+            if (zeros > max) {
+                return -1;
+            }
+        }
+    }
+
+    private void fillBuffer() {
+        // at least 32 bits are kept available, more than any code word takes
+        if (bitCount >= 32) {
+            return;
+        }
+        long word;
+        if (dataPosition + 4 <= data.length) {
+            word = (long) readByte(dataPosition) << 24 | readByte(dataPosition + 1) << 16
+                    | readByte(dataPosition + 2) << 8 | readByte(dataPosition + 3);
+        } else {
+            // zero bits are read past the end of the data
+            word = 0;
+            for (int i = 0; i < 4; i++) {
+                word = word << 8 | (dataPosition + i < data.length ? readByte(dataPosition + i) : 0);
+            }
+        }
+        dataPosition += 4;
+        bitBuffer |= word << (32 - bitCount);
+        bitCount += 32;
+    }
+
+    private int readByte(int position) {
+        int b = data[position] & 0xff;
+        return reverseBits ? TIFFFaxDecoder.flipTable[b] & 0xff : b;
+    }
+
+    private int peekBits(int n) {
+        return (int) (bitBuffer >>> (64 - n));
+    }
+
+    private void skipBits(int n) {
+        bitBuffer <<= n;
+        bitCount -= n;
+    }
+
+    private void skipToByteBoundary() {
+        // the buffer is filled by whole bytes, so the bits left of the current byte are the odd ones
+        skipBits(bitCount & 7);
+    }
+
+    private boolean isDataExhausted() {
+        return getRemainingBits() <= 0;
+    }
+
+    private long getRemainingBits() {
+        return (long) data.length * 8 - ((long) dataPosition * 8 - bitCount);
+    }
+
+    private void setSentinels(int[] elements, int count) {
+        // elements beyond the row let b1 and b2 searches stop without bounds checks
+        elements[count] = width;
+        elements[count + 1] = width;
+        elements[count + 2] = width;
+    }
+
+    private void swapElements() {
+        int[] temp = referenceElements;
+        referenceElements = currentElements;
+        currentElements = temp;
+    }
+
+    /**
+     * Writes the black runs between the changing elements of a row, every byte of which is written once.
+     * If the number of the elements is odd, the last black run ends at the end of the row.
+     */
+    private void writeRow(byte[] target, int offset, int[] elements, int count) {
+        int current = 0;
+        int pending = 0;
+        for (int i = 0; i < count; i += 2) {
+            int from = elements[i];
+            int to = i + 1 < count ? elements[i + 1] : width;
+            if (from >= to) {
+                continue;
+            }
+            int first = from >> 3;
+            int last = (to - 1) >> 3;
+            if (first != current) {
+                target[offset + current] = (byte) pending;
+                current = first;
+                pending = 0;
+            }
+            int firstMask = 0xff >>> (from & 7);
+            int lastMask = 0xff << (7 - ((to - 1) & 7)) & 0xff;
+            if (first == last) {
+                pending |= firstMask & lastMask;
+            } else {
+                target[offset + first] = (byte) (pending | firstMask);
+                for (int b = first + 1; b < last; b++) {
+                    target[offset + b] = (byte) 0xff;
+                }
+                current = last;
+                pending = lastMask;
+            }
+        }
+        if (pending != 0) {
+            target[offset + current] = (byte) pending;
+        }
+    }
+
+    private static int[] createRunTable(int[][] codes, int tableBits) {
+        int[] table = new int[1 << tableBits];
+        for (int[] code : codes) {
+            int run = code[CCITTG4Encoder.RUNLEN];
+            if (run == CCITTG4Encoder.G3CODE_INVALID) {
+                continue;
+            }
+            fillTable(table, tableBits, code, run == CCITTG4Encoder.G3CODE_EOL ? EOL_RUN : run);
+        }
+        return table;
+    }
+
+    private static int[] createModeTable() {
+        int[] table = new int[1 << MODE_TABLE_BITS];
+        fillTable(table, MODE_TABLE_BITS, CCITTG4Encoder.passcode, MODE_PASS);
+        fillTable(table, MODE_TABLE_BITS, CCITTG4Encoder.horizcode, MODE_HORIZONTAL);
+        // 0000 001, followed by 3 bits identifying the extension
+        fillTable(table, MODE_TABLE_BITS, new int[] {7, 0x1, 0}, MODE_EXTENSION);
+        int[][] vcodes = CCITTG4Encoder.vcodes;
+        for (int i = 0; i < vcodes.length; i++) {
+            // vcodes[i] codes a1 - b1 equal to 3 - i
+            fillTable(table, MODE_TABLE_BITS, vcodes[i], MODE_VERTICAL + 6 - i);
+        }
+        return table;
+    }
+
+    private static void fillTable(int[] table, int tableBits, int[] code, int value) {
+        int length = code[CCITTG4Encoder.LENGTH];
+        int first = code[CCITTG4Encoder.CODE] << (tableBits - length);
+        int entry = value << 4 | length;
+        for (int i = 0; i < 1 << (tableBits - length); i++) {
+            table[first + i] = entry;
+        }
+    }
+
+    /**
+     * The listener of the rows decoded by {@link CCITTFaxDecoder}.
+     */
+    public interface IRowListener {
+
+        /**
+         * Called once a row has been decoded. The row buffer is reused for the next row, so it shall
+         * be copied if its content is needed after this method returns.
+         *
+         * @param row      the buffer holding the decoded row, bits past the width of the image are 0
+         * @param rowIndex the index of the row, starting from 0
+         */
+        void rowDecoded(byte[] row, int rowIndex);
+    }
+}
@@ -38,6 +38,8 @@ public class CCITTG4Encoder {
     private byte[] dataBp;
     private int offsetData;
     private int sizeData;
+    private byte[] refData;
+    private int refOffset;
 
     /**
      * Creates a new encoder.
@@ -47,6 +49,7 @@ public class CCITTG4Encoder {
         rowpixels = width;
         rowbytes = (rowpixels + 7) / 8;
         refline = new byte[rowbytes];
+        refData = refline;
     }
 
     /**
@@ -61,10 +64,17 @@ public class CCITTG4Encoder {
         sizeData = size;
         while (sizeData > 0) {
             Fax3Encode2DRow();
-            System.arraycopy(dataBp, offsetData, refline, 0, rowbytes);
+            // the row just encoded is the reference for the next one, it's copied only when this call returns
+            refData = dataBp;
+            refOffset = offsetData;
             offsetData += rowbytes;
             sizeData -= rowbytes;
         }
+        if (refData != refline) {
+            System.arraycopy(refData, refOffset, refline, 0, rowbytes);
+            refData = refline;
+            refOffset = 0;
+        }
     }
 
 
@@ -136,11 +146,11 @@ public class CCITTG4Encoder {
     private void Fax3Encode2DRow() {
         int a0 = 0;
         int a1 = (pixel(dataBp, offsetData, 0) != 0 ? 0 : finddiff(dataBp, offsetData, 0, rowpixels, 0));
-        int b1 = (pixel(refline, 0, 0) != 0 ? 0 : finddiff(refline, 0, 0, rowpixels, 0));
+        int b1 = (pixel(refData, refOffset, 0) != 0 ? 0 : finddiff(refData, refOffset, 0, rowpixels, 0));
         int a2, b2;
 
         for (;;) {
-            b2 = finddiff2(refline, 0, b1, rowpixels, pixel(refline, 0,b1));
+            b2 = finddiff2(refData, refOffset, b1, rowpixels, pixel(refData, refOffset,b1));
             if (b2 >= a1) {
                 int d = b1 - a1;
                 if (!(-3 <= d && d <= 3)) {	/* horizontal mode */
@@ -165,8 +175,8 @@ public class CCITTG4Encoder {
             if (a0 >= rowpixels)
                 break;
             a1 = finddiff(dataBp, offsetData, a0, rowpixels, pixel(dataBp, offsetData,a0));
-            b1 = finddiff(refline, 0, a0, rowpixels, pixel(dataBp, offsetData,a0) ^ 1);
-            b1 = finddiff(refline, 0, b1, rowpixels, pixel(dataBp, offsetData,a0));
+            b1 = finddiff(refData, refOffset, a0, rowpixels, pixel(dataBp, offsetData,a0) ^ 1);
+            b1 = finddiff(refData, refOffset, b1, rowpixels, pixel(dataBp, offsetData,a0));
         }
     }
 
@@ -321,19 +331,19 @@ public class CCITTG4Encoder {
             4, 4, 4, 4, 4, 4, 4, 4, 5, 5, 5, 5, 6, 6, 7, 8	/* 0xf0 - 0xff */
     };
 
-    private static final int LENGTH = 0; /* bit length of g3 code */
-    private static final int CODE = 1;   /* g3 code */
-    private static final int RUNLEN = 2; /* run length in bits */
+    static final int LENGTH = 0; /* bit length of g3 code */
+    static final int CODE = 1;   /* g3 code */
+    static final int RUNLEN = 2; /* run length in bits */
 
     private static final int EOL = 0x001; /* EOL code value - 0000 0000 0000 1 */
 
     /* status values returned instead of a run length */
-    private static final int G3CODE_EOL	= -1;     /* NB: ACT_EOL - ACT_WRUNT */
-    private static final int G3CODE_INVALID = -2; /* NB: ACT_INVALID - ACT_WRUNT */
+    static final int G3CODE_EOL	= -1;     /* NB: ACT_EOL - ACT_WRUNT */
+    static final int G3CODE_INVALID = -2; /* NB: ACT_INVALID - ACT_WRUNT */
     private static final int G3CODE_EOF = -3;     /* end of input data */
     private static final int G3CODE_INCOMP = -4;  /* incomplete run code */
 
-    private int[][] TIFFFaxWhiteCodes = {
+    static final int[][] TIFFFaxWhiteCodes = {
             { 8, 0x35, 0 },	/* 0011 0101 */
             { 6, 0x7, 1 },	/* 0001 11 */
             { 4, 0x7, 2 },	/* 0111 */
@@ -445,7 +455,7 @@ public class CCITTG4Encoder {
             { 12, 0x0, G3CODE_INVALID }	/* 0000 0000 0000 */
     };
 
-    private int[][] TIFFFaxBlackCodes = {
+    static final int[][] TIFFFaxBlackCodes = {
             { 10, 0x37, 0 },	/* 0000 1101 11 */
             { 3, 0x2, 1 },	/* 010 */
             { 2, 0x3, 2 },	/* 11 */
@@ -557,11 +567,11 @@ public class CCITTG4Encoder {
             { 12, 0x0, G3CODE_INVALID }	/* 0000 0000 0000 */
     };
 
-    private int[] horizcode =
+    static final int[] horizcode =
             { 3, 0x1, 0 };		/* 001 */
-    private int[] passcode =
+    static final int[] passcode =
             { 4, 0x1, 0 };		/* 0001 */
-    private int[][] vcodes = {
+    static final int[][] vcodes = {
             { 7, 0x03, 0 },	/* 0000 011 */
             { 6, 0x03, 0 },	/* 0000 11 */
             { 3, 0x03, 0 },	/* 011 */
@@ -570,6 +580,6 @@ public class CCITTG4Encoder {
             { 6, 0x02, 0 },	/* 0000 10 */
             { 7, 0x02, 0 }		/* 0000 010 */
     };
-    private int[] msbmask =
+    private static final int[] msbmask =
             { 0x00, 0x01, 0x03, 0x07, 0x0f, 0x1f, 0x3f, 0x7f, 0xff };
 }
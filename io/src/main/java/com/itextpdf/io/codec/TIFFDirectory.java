@@ -51,6 +51,7 @@ import com.itextpdf.io.source.RandomAccessFileOrArray;
 
 import java.io.EOFException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -692,6 +693,22 @@ public class TIFFDirectory {
      */
     public static int getNumDirectories(RandomAccessFileOrArray stream)
             throws java.io.IOException {
+        return getDirectoryOffsets(stream).length;
+    }
+
+    /**
+     * Returns the offsets of the image directories (subimages) stored in a
+     * given TIFF file, represented by a <code>SeekableStream</code>. A directory
+     * can then be read with {@link #TIFFDirectory(RandomAccessFileOrArray, long, int)}
+     * without walking the linked list of directories again.
+     *
+     * @param stream       RandomAccessFileOrArray
+     * @return             The offsets of the image directories stored
+     *                     in a given TIFF file
+     * @throws java.io.IOException in case of any I/O error.
+     */
+    public static long[] getDirectoryOffsets(RandomAccessFileOrArray stream)
+            throws java.io.IOException {
 
         // Save stream pointer
         long pointer = stream.getPosition();
@@ -710,25 +727,28 @@ public class TIFFDirectory {
         stream.seek(4L);
         long offset = readUnsignedInt(stream, isBigEndian);
 
+        long[] offsets = new long[16];
         int numDirectories = 0;
         while (offset != 0L) {
-            ++numDirectories;
-
             // EOFException means IFD was probably not properly terminated.
             try {
                 stream.seek(offset);
                 int entries = readUnsignedShort(stream, isBigEndian);
                 stream.skip(12 * entries);
-                offset = readUnsignedInt(stream, isBigEndian);
+                long nextOffset = readUnsignedInt(stream, isBigEndian);
+                if (numDirectories == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, numDirectories * 2);
+                }
+                offsets[numDirectories++] = offset;
+                offset = nextOffset;
             } catch (EOFException eof) {
-                numDirectories--;
                 break;
             }
         }
 
         // Reset stream pointer
         stream.seek(pointer);
-        return numDirectories;
+        return Arrays.copyOf(offsets, numDirectories);
     }
 
     /**
@@ -27,7 +27,6 @@ import com.itextpdf.io.font.constants.FontStretches;
 import com.itextpdf.io.font.constants.FontWeights;
 import com.itextpdf.io.font.otf.Glyph;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public abstract class FontProgram {
@@ -55,8 +54,8 @@ public abstract class FontProgram {
 
     // In case Type1: char code to glyph.
     // In case TrueType: glyph index to glyph.
-    protected Map<Integer, Glyph> codeToGlyph = new HashMap<>();
-    protected Map<Integer, Glyph> unicodeToGlyph = new HashMap<>();
+    protected Map<Integer, Glyph> codeToGlyph = new IntGlyphMap();
+    protected Map<Integer, Glyph> unicodeToGlyph = new IntGlyphMap();
     protected boolean isFontSpecific;
 
     protected FontNames fontNames;
@@ -129,12 +128,12 @@ public abstract class FontProgram {
     }
 
     public Glyph getGlyph(int unicode) {
-        return unicodeToGlyph.get(unicode);
+        return IntGlyphMap.getGlyph(unicodeToGlyph, unicode);
     }
 
     // char code in case Type1 or index in case OpenType
     public Glyph getGlyphByCode(int charCode) {
-        return codeToGlyph.get(charCode);
+        return IntGlyphMap.getGlyph(codeToGlyph, charCode);
     }
 
     public boolean hasKernPairs() {
@@ -150,7 +149,7 @@ public abstract class FontProgram {
      * @return the kerning to be applied
      */
     public int getKerning(int first, int second) {
-        return getKerning(unicodeToGlyph.get(first), unicodeToGlyph.get(second));
+        return getKerning(IntGlyphMap.getGlyph(unicodeToGlyph, first), IntGlyphMap.getGlyph(unicodeToGlyph, second));
     }
 
     /**
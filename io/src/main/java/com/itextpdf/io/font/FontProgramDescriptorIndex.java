@@ -0,0 +1,362 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.logs.IoLogMessageConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Index of {@link FontProgramDescriptor}s of font files.
+ * <p>
+ * Fetching a descriptor requires the font file to be opened and its tables to be parsed, which is costly when
+ * thousands of fonts are registered, e.g. all the system fonts. The index keeps the descriptors together with
+ * the size and the last modification time of the font files, so that a descriptor is fetched again only
+ * if the file has changed. The index can be saved to a file, see {@link #FontProgramDescriptorIndex(String)},
+ * thus later processes only parse new and changed font files.
+ * <p>
+ * Missing descriptors of several files are fetched in parallel, see {@link #fetchDescriptors(List)}.
+ * The index is thread safe.
+ */
+public final class FontProgramDescriptorIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FontProgramDescriptorIndex.class);
+
+    private static final int MAGIC = 0x49544649;
+
+    private static final int VERSION = 1;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final String indexPath;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private volatile boolean modified;
+
+    /**
+     * Creates a new in-memory {@link FontProgramDescriptorIndex}.
+     */
+    public FontProgramDescriptorIndex() {
+        this.indexPath = null;
+    }
+
+    /**
+     * Creates a new {@link FontProgramDescriptorIndex} backed by the file. The index is read from the file
+     * if it exists, and it's written to the file on {@link #save()}. If the file can't be read, e.g. because
+     * it has been written by an incompatible version, the index is rebuilt from scratch.
+     *
+     * @param indexPath the path to the index file
+     */
+    public FontProgramDescriptorIndex(String indexPath) {
+        this.indexPath = indexPath;
+        if (FileUtil.fileExists(indexPath)) {
+            try (InputStream is = FileUtil.getInputStreamForFile(indexPath)) {
+                read(new DataInputStream(new BufferedInputStream(is)));
+            } catch (Exception e) {
+                entries.clear();
+                LOGGER.warn(MessageFormatUtil.format(IoLogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ,
+                        indexPath, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Sets the maximal number of threads used to fetch missing descriptors, see {@link #fetchDescriptors(List)}.
+     * By default it's the number of available processors.
+     *
+     * @param parallelism the maximal number of threads, {@code 1} means the descriptors are fetched sequentially
+     *                    in the calling thread
+     * @return this {@link FontProgramDescriptorIndex} instance
+     */
+    public FontProgramDescriptorIndex setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    /**
+     * Gets the number of font files in the index.
+     *
+     * @return the number of indexed font files
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Fetches the descriptor of the font file, the indexed one is used if the file hasn't changed since it was
+     * indexed. Paths which don't denote files, e.g. the names of the standard fonts, aren't indexed.
+     *
+     * @param fontPath the path to the font file, a TrueType Collection font is denoted by the path followed by
+     *                 a comma and the index of the font, e.g. "path/to/font/collection.ttc,0"
+     * @return the descriptor of the font or {@code null} if the file isn't a font supported by
+     * {@link FontProgramDescriptorFactory}
+     */
+    public FontProgramDescriptor fetchDescriptor(String fontPath) {
+        if (fontPath == null) {
+            return null;
+        }
+        File file = getFontFile(fontPath);
+        if (!file.isFile()) {
+            return FontProgramDescriptorFactory.fetchDescriptor(fontPath);
+        }
+        String key = getKey(fontPath, file);
+        long size = file.length();
+        long lastModified = file.lastModified();
+        Entry entry = entries.get(key);
+        if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+            entry = new Entry(size, lastModified, FontProgramDescriptorFactory.fetchDescriptor(fontPath));
+            entries.put(key, entry);
+            modified = true;
+        }
+        return entry.descriptor;
+    }
+
+    /**
+     * Fetches the descriptors of the font files, see {@link #fetchDescriptor(String)}. The descriptors of the files
+     * which are not indexed or have changed since they were indexed are fetched in parallel.
+     *
+     * @param fontPaths the paths to the font files
+     * @return the descriptors in the order of the paths, {@code null} for the files which aren't supported fonts
+     */
+    public FontProgramDescriptor[] fetchDescriptors(List<String> fontPaths) {
+        final FontProgramDescriptor[] descriptors = new FontProgramDescriptor[fontPaths.size()];
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < fontPaths.size(); i++) {
+            String fontPath = fontPaths.get(i);
+            Entry entry = getUpToDateEntry(fontPath);
+            if (entry != null) {
+                descriptors[i] = entry.descriptor;
+            } else {
+                missing.add(i);
+            }
+        }
+        int threadsCount = Math.min(parallelism, missing.size());
+        if (threadsCount <= 1) {
+            for (int i : missing) {
+                descriptors[i] = fetchDescriptor(fontPaths.get(i));
+            }
+            return descriptors;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+        try {
+            List<Future<FontProgramDescriptor>> futures = new ArrayList<>(missing.size());
+            for (int i : missing) {
+                final String fontPath = fontPaths.get(i);
+                futures.add(executor.submit(new Callable<FontProgramDescriptor>() {
+                    @Override
+                    public FontProgramDescriptor call() {
+                        return fetchDescriptor(fontPath);
+                    }
+                }));
+            }
+            for (int i = 0; i < missing.size(); i++) {
+                descriptors[missing.get(i)] = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return descriptors;
+    }
+
+    /**
+     * Writes the index to the file it has been created with, if anything has changed since it was read.
+     * The entries of the font files which don't exist anymore are dropped.
+     *
+     * @throws java.io.IOException if the index can't be written
+     */
+    public void save() throws java.io.IOException {
+        if (indexPath == null || !modified) {
+            return;
+        }
+        File tempFile = new File(indexPath + ".tmp");
+        try (OutputStream os = FileUtil.getFileOutputStream(tempFile)) {
+            DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(os));
+            write(dos);
+            dos.flush();
+        }
+        File indexFile = new File(indexPath);
+        if (indexFile.exists() && !indexFile.delete() || !tempFile.renameTo(indexFile)) {
+            throw new java.io.IOException("Can't write font descriptor index " + indexPath);
+        }
+        modified = false;
+    }
+
+    private Entry getUpToDateEntry(String fontPath) {
+        if (fontPath == null) {
+            return null;
+        }
+        File file = getFontFile(fontPath);
+        Entry entry = entries.get(getKey(fontPath, file));
+        if (entry != null && entry.size == file.length() && entry.lastModified == file.lastModified()) {
+            return entry;
+        }
+        return null;
+    }
+
+    private void read(DataInputStream dis) throws java.io.IOException {
+        if (dis.readInt() != MAGIC || dis.readInt() != VERSION) {
+            throw new java.io.IOException("Unsupported index format");
+        }
+        int count = dis.readInt();
+        for (int i = 0; i < count; i++) {
+            String key = dis.readUTF();
+            long size = dis.readLong();
+            long lastModified = dis.readLong();
+            FontProgramDescriptor descriptor = dis.readBoolean() ? readDescriptor(dis) : null;
+            entries.put(key, new Entry(size, lastModified, descriptor));
+        }
+    }
+
+    private void write(DataOutputStream dos) throws java.io.IOException {
+        List<Map.Entry<String, Entry>> existing = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (getFontFile(entry.getKey()).isFile()) {
+                existing.add(entry);
+            }
+        }
+        dos.writeInt(MAGIC);
+        dos.writeInt(VERSION);
+        dos.writeInt(existing.size());
+        for (Map.Entry<String, Entry> entry : existing) {
+            dos.writeUTF(entry.getKey());
+            dos.writeLong(entry.getValue().size);
+            dos.writeLong(entry.getValue().lastModified);
+            FontProgramDescriptor descriptor = entry.getValue().descriptor;
+            dos.writeBoolean(descriptor != null);
+            if (descriptor != null) {
+                writeDescriptor(descriptor, dos);
+            }
+        }
+    }
+
+    private static void writeDescriptor(FontProgramDescriptor descriptor, DataOutputStream dos)
+            throws java.io.IOException {
+        dos.writeUTF(descriptor.getFontName());
+        dos.writeUTF(descriptor.getFullNameLowerCase());
+        writeNullableString(descriptor.getFamilyNameLowerCase(), dos);
+        writeNullableString(descriptor.getFamilyName2LowerCase(), dos);
+        writeNullableString(descriptor.getStyle(), dos);
+        dos.writeInt(descriptor.getMacStyle());
+        dos.writeInt(descriptor.getFontWeight());
+        dos.writeFloat(descriptor.getItalicAngle());
+        dos.writeBoolean(descriptor.isMonospace());
+        writeStrings(descriptor.getFullNameAllLangs(), dos);
+        writeStrings(descriptor.getFullNamesEnglishOpenType(), dos);
+        writeNullableString(descriptor.getFamilyNameEnglishOpenType(), dos);
+    }
+
+    private static FontProgramDescriptor readDescriptor(DataInputStream dis) throws java.io.IOException {
+        String fontName = dis.readUTF();
+        String fullNameLowerCase = dis.readUTF();
+        String familyNameLowerCase = readNullableString(dis);
+        String familyName2LowerCase = readNullableString(dis);
+        String style = readNullableString(dis);
+        int macStyle = dis.readInt();
+        int weight = dis.readInt();
+        float italicAngle = dis.readFloat();
+        boolean isMonospace = dis.readBoolean();
+        Set<String> fullNamesAllLangs = readStrings(dis);
+        Set<String> fullNamesEnglishOpenType = readStrings(dis);
+        String familyNameEnglishOpenType = readNullableString(dis);
+        return new FontProgramDescriptor(fontName, fullNameLowerCase, familyNameLowerCase, familyName2LowerCase,
+                style, macStyle, weight, italicAngle, isMonospace, fullNamesAllLangs, fullNamesEnglishOpenType,
+                familyNameEnglishOpenType);
+    }
+
+    private static void writeNullableString(String str, DataOutputStream dos) throws java.io.IOException {
+        dos.writeBoolean(str != null);
+        if (str != null) {
+            dos.writeUTF(str);
+        }
+    }
+
+    private static String readNullableString(DataInputStream dis) throws java.io.IOException {
+        return dis.readBoolean() ? dis.readUTF() : null;
+    }
+
+    private static void writeStrings(Set<String> strings, DataOutputStream dos) throws java.io.IOException {
+        dos.writeInt(strings.size());
+        for (String str : strings) {
+            dos.writeUTF(str);
+        }
+    }
+
+    private static Set<String> readStrings(DataInputStream dis) throws java.io.IOException {
+        int count = dis.readInt();
+        Set<String> strings = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            strings.add(dis.readUTF());
+        }
+        return strings;
+    }
+
+    private static File getFontFile(String fontPath) {
+        int ttcSplit = fontPath.toLowerCase().indexOf(".ttc,");
+        return new File(ttcSplit > 0 ? fontPath.substring(0, ttcSplit + 4) : fontPath);
+    }
+
+    private static String getKey(String fontPath, File file) {
+        // TrueType Collection index is kept in the key
+        String absolutePath = file.getAbsolutePath();
+        return fontPath.length() > file.getPath().length() && fontPath.startsWith(file.getPath())
+                ? absolutePath + fontPath.substring(file.getPath().length())
+                : absolutePath;
+    }
+
+    private static final class Entry {
+        final long size;
+        final long lastModified;
+        final FontProgramDescriptor descriptor;
+
+        Entry(long size, long lastModified, FontProgramDescriptor descriptor) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.descriptor = descriptor;
+        }
+    }
+}
@@ -454,6 +454,18 @@ public final class FontProgramFactory {
         return fontRegisterProvider.registerFontDirectory(dir);
     }
 
+    /**
+     * Register all the fonts in a directory. The descriptors of the fonts which are not in the index
+     * or have changed since they were indexed are fetched in parallel and added to the index.
+     *
+     * @param dir   the directory
+     * @param index the index of the font descriptors, see {@link FontProgramDescriptorIndex#save()}
+     * @return the number of fonts registered
+     */
+    public static int registerFontDirectory(String dir, FontProgramDescriptorIndex index) {
+        return fontRegisterProvider.registerFontDirectory(dir, false, index);
+    }
+
     /**
      * Register fonts in some probable directories. It usually works in Windows,
      * Linux and Solaris.
@@ -464,6 +476,18 @@ public final class FontProgramFactory {
         return fontRegisterProvider.registerSystemFontDirectories();
     }
 
+    /**
+     * Register fonts in some probable directories. It usually works in Windows,
+     * Linux and Solaris. The descriptors of the fonts which are not in the index
+     * or have changed since they were indexed are fetched in parallel and added to the index.
+     *
+     * @param index the index of the font descriptors, see {@link FontProgramDescriptorIndex#save()}
+     * @return the number of fonts registered
+     */
+    public static int registerSystemFontDirectories(FontProgramDescriptorIndex index) {
+        return fontRegisterProvider.registerSystemFontDirectories(index);
+    }
+
     /**
      * Gets a set of registered font names.
      *
@@ -223,9 +223,23 @@ class FontRegisterProvider {
      * @param alias the alias you want to use for the font
      */
     void registerFont(String path, String alias) {
+        registerFont(path, alias, null);
+    }
+
+    /**
+     * Register a font file and use an alias for the font contained in it.
+     *
+     * @param path       the path to a font file
+     * @param alias      the alias you want to use for the font
+     * @param descriptor the already fetched descriptor of the font, if {@code null} it's fetched from the file.
+     *                   Not used for TrueType Collection files
+     */
+    void registerFont(String path, String alias, FontProgramDescriptor descriptor) {
         try {
             if (path.toLowerCase().endsWith(".ttf") || path.toLowerCase().endsWith(".otf") || path.toLowerCase().indexOf(".ttc,") > 0) {
-                FontProgramDescriptor descriptor = FontProgramDescriptorFactory.fetchDescriptor(path);
+                if (descriptor == null) {
+                    descriptor = FontProgramDescriptorFactory.fetchDescriptor(path);
+                }
                 fontNames.put(descriptor.getFontNameLowerCase(), path);
                 if (alias != null) {
                     String lcAlias = alias.toLowerCase();
@@ -260,7 +274,9 @@ class FontRegisterProvider {
                     }
                 }
             } else if (path.toLowerCase().endsWith(".afm") || path.toLowerCase().endsWith(".pfm")) {
-                FontProgramDescriptor descriptor = FontProgramDescriptorFactory.fetchDescriptor(path);
+                if (descriptor == null) {
+                    descriptor = FontProgramDescriptorFactory.fetchDescriptor(path);
+                }
                 registerFontFamily(descriptor.getFamilyNameLowerCase(), descriptor.getFullNameLowerCase(), null);
                 fontNames.put(descriptor.getFontNameLowerCase(), path);
                 fontNames.put(descriptor.getFullNameLowerCase(), path);
@@ -302,26 +318,62 @@ class FontRegisterProvider {
      * @return the number of fonts registered
      */
     int registerFontDirectory(String dir, boolean scanSubdirectories) {
+        return registerFontDirectory(dir, scanSubdirectories, null);
+    }
+
+    /**
+     * Register all the fonts in a directory and possibly its subdirectories. The descriptors of the fonts
+     * are fetched in parallel, see {@link FontProgramDescriptorIndex#fetchDescriptors(List)}.
+     *
+     * @param dir                the directory
+     * @param scanSubdirectories recursively scan subdirectories if <code>true</code>
+     * @param index              the index of the already fetched font descriptors, if {@code null}
+     *                           the descriptors are fetched from the font files
+     * @return the number of fonts registered
+     */
+    int registerFontDirectory(String dir, boolean scanSubdirectories, FontProgramDescriptorIndex index) {
         LOGGER.debug(MessageFormatUtil.format("Registering directory {0}, looking for fonts", dir));
         int count = 0;
         try {
             String[] files = FileUtil.listFilesInDirectory(dir, scanSubdirectories);
             if (files == null)
                 return 0;
+            List<String> fontFiles = new ArrayList<>();
+            // TrueType Collections are registered font by font, their descriptors are fetched on registration
+            List<String> indexedFontFiles = new ArrayList<>();
             for (String file : files) {
-                try {
-                    String suffix = file.length() < 4 ? null : file.substring(file.length() - 4).toLowerCase();
-                    if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
-                        /* Only register Type 1 fonts with matching .pfb files */
-                        String pfb = file.substring(0, file.length() - 4) + ".pfb";
-                        if (FileUtil.fileExists(pfb)) {
-                            registerFont(file, null);
-                            ++count;
-                        }
-                    } else if (".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix)) {
-                        registerFont(file, null);
-                        ++count;
+                String suffix = file.length() < 4 ? null : file.substring(file.length() - 4).toLowerCase();
+                if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
+                    /* Only register Type 1 fonts with matching .pfb files */
+                    String pfb = file.substring(0, file.length() - 4) + ".pfb";
+                    if (FileUtil.fileExists(pfb)) {
+                        fontFiles.add(file);
+                        indexedFontFiles.add(file);
+                    }
+                } else if (".ttf".equals(suffix) || ".otf".equals(suffix)) {
+                    fontFiles.add(file);
+                    indexedFontFiles.add(file);
+                } else if (".ttc".equals(suffix)) {
+                    fontFiles.add(file);
+                }
+            }
+            if (index == null) {
+                index = new FontProgramDescriptorIndex();
+            }
+            FontProgramDescriptor[] descriptors = index.fetchDescriptors(indexedFontFiles);
+            int descriptorIndex = 0;
+            for (String file : fontFiles) {
+                FontProgramDescriptor descriptor = null;
+                if (descriptorIndex < indexedFontFiles.size() && file.equals(indexedFontFiles.get(descriptorIndex))) {
+                    descriptor = descriptors[descriptorIndex++];
+                    if (descriptor == null) {
+                        // not a valid font
+                        continue;
                     }
+                }
+                try {
+                    registerFont(file, null, descriptor);
+                    ++count;
                 } catch (Exception e) {
                     //empty on purpose
                 }
@@ -339,6 +391,18 @@ class FontRegisterProvider {
      * @return the number of fonts registered
      */
     int registerSystemFontDirectories() {
+        return registerSystemFontDirectories(null);
+    }
+
+    /**
+     * Register fonts in some probable directories. It usually works in Windows,
+     * Linux and Solaris.
+     *
+     * @param index the index of the already fetched font descriptors, if {@code null}
+     *              the descriptors are fetched from the font files
+     * @return the number of fonts registered
+     */
+    int registerSystemFontDirectories(FontProgramDescriptorIndex index) {
         int count = 0;
         String[] withSubDirs = {
                 FileUtil.getFontsDir(),
@@ -349,7 +413,7 @@ class FontRegisterProvider {
                 "/usr/X11R6/lib/X11/fonts"
         };
         for (String directory : withSubDirs) {
-            count += registerFontDirectory(directory, true);
+            count += registerFontDirectory(directory, true, index);
         }
 
         String[] withoutSubDirs = {
@@ -357,7 +421,7 @@ class FontRegisterProvider {
                 "/System/Library/Fonts"
         };
         for (String directory : withoutSubDirs) {
-            count += registerFontDirectory(directory, false);
+            count += registerFontDirectory(directory, false, index);
         }
 
         return count;
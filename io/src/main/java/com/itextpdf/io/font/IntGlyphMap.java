@@ -0,0 +1,371 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.otf.Glyph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map of glyphs that uses primitive ints for the keys, i.e. unicode values, character codes or glyph indices.
+ * <p>
+ * Keys of the Basic Multilingual Plane are looked up directly in 256-entry pages, which are allocated
+ * when the first key of the page is added; the other keys are stored in an open-addressing hash table.
+ * Use {@link #get(int)} and {@link #containsKey(int)} to look glyphs up without boxing the key.
+ * <p>
+ * Like {@link java.util.LinkedHashMap}, the map is iterated in the order in which the keys were inserted.
+ * The map is not thread safe.
+ */
+public final class IntGlyphMap extends AbstractMap<Integer, Glyph> {
+
+    private static final int PAGE_SHIFT = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGES_COUNT = 0x10000 >> PAGE_SHIFT;
+
+    // marks the removed entries, which are skipped when the map is iterated
+    private static final Glyph REMOVED = new Glyph(-1, 0, -1);
+
+    // entries in the order of insertion
+    private int[] keys;
+    private Glyph[] values;
+    private int length;
+    private int size;
+
+    // 1-based positions of the entries in the Basic Multilingual Plane, 0 if there is no such key
+    private int[][] pages;
+
+    // open-addressing table of the other keys and their 1-based positions, 0 position denotes an empty slot
+    private int[] otherKeys;
+    private int[] otherPositions;
+    private int otherSize;
+
+    private Set<Map.Entry<Integer, Glyph>> entrySet;
+
+    /**
+     * Creates a new empty {@link IntGlyphMap}.
+     */
+    public IntGlyphMap() {
+        this(16);
+    }
+
+    /**
+     * Creates a new empty {@link IntGlyphMap} with room for the specified number of glyphs.
+     *
+     * @param initialCapacity the expected number of glyphs
+     */
+    public IntGlyphMap(int initialCapacity) {
+        initialCapacity = Math.max(1, initialCapacity);
+        keys = new int[initialCapacity];
+        values = new Glyph[initialCapacity];
+        pages = new int[PAGES_COUNT][];
+        clearOtherKeys(8);
+    }
+
+    /**
+     * Gets the glyph mapped to the key. The key is not boxed if the map is an {@link IntGlyphMap}.
+     *
+     * @param glyphs the map of glyphs
+     * @param key    the unicode value, character code or glyph index
+     * @return the glyph or {@code null} if there is no glyph for the key
+     */
+    public static Glyph getGlyph(Map<Integer, Glyph> glyphs, int key) {
+        return glyphs instanceof IntGlyphMap ? ((IntGlyphMap) glyphs).get(key) : glyphs.get(key);
+    }
+
+    /**
+     * Gets the glyph mapped to the key.
+     *
+     * @param key the unicode value, character code or glyph index
+     * @return the glyph or {@code null} if there is no glyph for the key
+     */
+    public Glyph get(int key) {
+        int position = getPosition(key);
+        return position != 0 ? values[position - 1] : null;
+    }
+
+    /**
+     * Checks whether a glyph is mapped to the key.
+     *
+     * @param key the unicode value, character code or glyph index
+     * @return {@code true} if the map contains the key, {@code false} otherwise
+     */
+    public boolean containsKey(int key) {
+        return getPosition(key) != 0;
+    }
+
+    /**
+     * Maps the glyph to the key. If the key is already in the map, its glyph is replaced but
+     * the position of the key in the iteration order is kept.
+     *
+     * @param key   the unicode value, character code or glyph index
+     * @param glyph the glyph
+     * @return the glyph previously mapped to the key or {@code null}
+     */
+    public Glyph put(int key, Glyph glyph) {
+        int position = getPosition(key);
+        if (position != 0) {
+            Glyph previous = values[position - 1];
+            values[position - 1] = glyph;
+            return previous;
+        }
+        if (length == keys.length) {
+            if (size <= length / 2) {
+                compact();
+            } else {
+                int capacity = length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+        keys[length] = key;
+        values[length] = glyph;
+        length++;
+        size++;
+        setPosition(key, length);
+        return null;
+    }
+
+    /**
+     * Removes the glyph mapped to the key.
+     *
+     * @param key the unicode value, character code or glyph index
+     * @return the removed glyph or {@code null} if the key has not been in the map
+     */
+    public Glyph remove(int key) {
+        int position = getPosition(key);
+        if (position == 0) {
+            return null;
+        }
+        Glyph previous = values[position - 1];
+        values[position - 1] = REMOVED;
+        size--;
+        if (isInBasicPlane(key)) {
+            pages[key >> PAGE_SHIFT][key & (PAGE_SIZE - 1)] = 0;
+        } else {
+            removeOtherKey(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public Glyph get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Glyph put(Integer key, Glyph value) {
+        return put((int) key, value);
+    }
+
+    @Override
+    public Glyph remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0, length, null);
+        length = 0;
+        size = 0;
+        pages = new int[PAGES_COUNT][];
+        clearOtherKeys(8);
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Glyph>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int getPosition(int key) {
+        if (isInBasicPlane(key)) {
+            int[] page = pages[key >> PAGE_SHIFT];
+            return page != null ? page[key & (PAGE_SIZE - 1)] : 0;
+        }
+        int mask = otherKeys.length - 1;
+        for (int slot = hash(key) & mask; otherPositions[slot] != 0; slot = (slot + 1) & mask) {
+            if (otherKeys[slot] == key) {
+                return otherPositions[slot];
+            }
+        }
+        return 0;
+    }
+
+    private void setPosition(int key, int position) {
+        if (isInBasicPlane(key)) {
+            int[] page = pages[key >> PAGE_SHIFT];
+            if (page == null) {
+                page = new int[PAGE_SIZE];
+                pages[key >> PAGE_SHIFT] = page;
+            }
+            page[key & (PAGE_SIZE - 1)] = position;
+            return;
+        }
+        int mask = otherKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (otherPositions[slot] != 0 && otherKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (otherPositions[slot] == 0) {
+            otherSize++;
+        }
+        otherKeys[slot] = key;
+        otherPositions[slot] = position;
+        if (otherSize * 2 > otherKeys.length) {
+            rehashOtherKeys(otherKeys.length * 2);
+        }
+    }
+
+    private void removeOtherKey(int key) {
+        int mask = otherKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (otherKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        otherPositions[slot] = 0;
+        otherSize--;
+        // shift the following keys of the cluster back, so that lookups don't stop at the emptied slot
+        for (int next = (slot + 1) & mask; otherPositions[next] != 0; next = (next + 1) & mask) {
+            int home = hash(otherKeys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                otherKeys[slot] = otherKeys[next];
+                otherPositions[slot] = otherPositions[next];
+                otherPositions[next] = 0;
+                slot = next;
+            }
+        }
+    }
+
+    private void rehashOtherKeys(int capacity) {
+        int[] oldKeys = otherKeys;
+        int[] oldPositions = otherPositions;
+        clearOtherKeys(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldPositions[i] != 0) {
+                setPosition(oldKeys[i], oldPositions[i]);
+            }
+        }
+    }
+
+    private void clearOtherKeys(int capacity) {
+        otherKeys = new int[capacity];
+        otherPositions = new int[capacity];
+        otherSize = 0;
+    }
+
+    /**
+     * Drops the removed entries, the positions of the remaining ones are updated.
+     */
+    private void compact() {
+        int newLength = 0;
+        for (int i = 0; i < length; i++) {
+            if (values[i] != REMOVED) {
+                keys[newLength] = keys[i];
+                values[newLength] = values[i];
+                newLength++;
+                setPosition(keys[newLength - 1], newLength);
+            }
+        }
+        Arrays.fill(values, newLength, length, null);
+        length = newLength;
+    }
+
+    private static boolean isInBasicPlane(int key) {
+        return key >= 0 && key < 0x10000;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Glyph>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Glyph>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            IntGlyphMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Glyph>> {
+        private int next = skipRemoved(0);
+        private int current = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < length;
+        }
+
+        @Override
+        public Map.Entry<Integer, Glyph> next() {
+            if (next >= length) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = skipRemoved(next + 1);
+            return new AbstractMap.SimpleImmutableEntry<>(keys[current], values[current]);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0 || values[current] == REMOVED) {
+                throw new IllegalStateException();
+            }
+            IntGlyphMap.this.remove(keys[current]);
+        }
+
+        private int skipRemoved(int position) {
+            while (position < length && values[position] == REMOVED) {
+                position++;
+            }
+            return position;
+        }
+    }
+}
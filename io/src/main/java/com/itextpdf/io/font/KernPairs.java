@@ -0,0 +1,114 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+/**
+ * Kerning values of pairs of unicode values. Both values of a pair are packed into a single {@code long} key
+ * of an open-addressing hash table, so neither storing nor looking up a pair allocates objects.
+ */
+final class KernPairs {
+
+    private long[] pairs;
+    private int[] kerns;
+    private boolean[] used;
+    private int size;
+
+    KernPairs() {
+        clear(16);
+    }
+
+    /**
+     * Gets the kerning of the pair.
+     *
+     * @param first  the first unicode value
+     * @param second the second unicode value
+     * @return the kerning of the pair or {@code 0} if there is no such pair
+     */
+    int get(int first, int second) {
+        long pair = pack(first, second);
+        int mask = pairs.length - 1;
+        for (int slot = hash(pair) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (pairs[slot] == pair) {
+                return kerns[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sets the kerning of the pair, the previous kerning of the pair is replaced.
+     *
+     * @param first  the first unicode value
+     * @param second the second unicode value
+     * @param kern   the kerning of the pair
+     */
+    void put(int first, int second, int kern) {
+        long pair = pack(first, second);
+        int mask = pairs.length - 1;
+        int slot = hash(pair) & mask;
+        while (used[slot] && pairs[slot] != pair) {
+            slot = (slot + 1) & mask;
+        }
+        if (!used[slot]) {
+            used[slot] = true;
+            pairs[slot] = pair;
+            size++;
+        }
+        kerns[slot] = kern;
+        if (size * 2 > pairs.length) {
+            rehash(pairs.length * 2);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldPairs = pairs;
+        int[] oldKerns = kerns;
+        boolean[] oldUsed = used;
+        clear(capacity);
+        for (int i = 0; i < oldPairs.length; i++) {
+            if (oldUsed[i]) {
+                put((int) (oldPairs[i] >>> 32), (int) oldPairs[i], oldKerns[i]);
+            }
+        }
+    }
+
+    private void clear(int capacity) {
+        pairs = new long[capacity];
+        kerns = new int[capacity];
+        used = new boolean[capacity];
+        size = 0;
+    }
+
+    private static long pack(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long pair) {
+        long h = pair * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
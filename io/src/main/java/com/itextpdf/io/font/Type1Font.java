@@ -31,8 +31,6 @@ import com.itextpdf.io.source.RandomAccessFileOrArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.StringTokenizer;
 
@@ -45,9 +43,9 @@ public class Type1Font extends FontProgram {
 
     /**
      * Represents the section KernPairs in the AFM file.
-     * Key is uni1 &lt;&lt; 32 + uni2. Value is kerning value.
+     * Keys are pairs of unicode values, values are kerning values.
      */
-    private Map<Long, Integer> kernPairs = new HashMap<>();
+    private final KernPairs kernPairs = new KernPairs();
 
     /**
      * Types of records in a PFB file. ASCII is 1 and BINARY is 2. They have to appear in the PFB file in this sequence.
@@ -141,12 +139,7 @@ public class Type1Font extends FontProgram {
     @Override
     public int getKerning(Glyph first, Glyph second) {
         if (first.hasValidUnicode() && second.hasValidUnicode()) {
-            long record = ((long)first.getUnicode() << 32) + second.getUnicode();
-            if (kernPairs.containsKey(record)) {
-                return (int) kernPairs.get(record);
-            } else {
-                return 0;
-            }
+            return kernPairs.get(first.getUnicode(), second.getUnicode());
         }
         return 0;
     }
@@ -160,8 +153,7 @@ public class Type1Font extends FontProgram {
      * @return {@code true} if the kerning was applied, {@code false} otherwise.
      */
     public boolean setKerning(int first, int second, int kern) {
-        long record = ((long)first << 32) + second;
-        kernPairs.put(record, kern);
+        kernPairs.put(first, second, kern);
         return true;
     }
 
@@ -421,14 +413,13 @@ public class Type1Font extends FontProgram {
                 if (ident.equals("KPX")) {
                     String first = tok.nextToken();
                     String second = tok.nextToken();
-                    Integer width = (int) Float.parseFloat(tok.nextToken());
+                    int width = (int) Float.parseFloat(tok.nextToken());
 
                     int firstUni = AdobeGlyphList.nameToUnicode(first);
                     int secondUni = AdobeGlyphList.nameToUnicode(second);
 
                     if (firstUni != -1 && secondUni != -1) {
-                        long record = ((long)firstUni << 32) + secondUni;
-                        kernPairs.put(record, width);
+                        kernPairs.put(firstUni, secondUni, width);
                     }
                 } else if (ident.equals("EndKernPairs")) {
                     startKernPairs = false;
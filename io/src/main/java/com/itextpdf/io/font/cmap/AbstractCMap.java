@@ -72,6 +72,18 @@ public abstract class AbstractCMap {
     void addCodeSpaceRange(byte[] low, byte[] high) {
     }
     
+    /**
+     * Handles the {@code usecmap} operator: the mappings of the referenced CMap are added to this one.
+     *
+     * @param cmapName the name of the referenced CMap
+     * @param location the location the referenced CMap is read from
+     * @param level the nesting level of the referenced CMap
+     * @throws java.io.IOException if the referenced CMap can't be read
+     */
+    void useCMap(String cmapName, ICMapLocation location, int level) throws java.io.IOException {
+        CMapParser.parseCid(cmapName, this, location, level);
+    }
+
     void addRange(String from, String to, CMapObject code) {
         byte[] a1 = decodeStringToByte(from);
         byte[] a2 = decodeStringToByte(to);
@@ -0,0 +1,455 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font.cmap;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles PostScript CMap files into a binary form which can be loaded without tokenizing.
+ * <p>
+ * A compiled CMap records what {@link CMapParser} finds in the CMap file: the CMap name, registry, ordering
+ * and supplement, the code space ranges, the single mappings, the range mappings (kept as ranges, i.e.
+ * not expanded into single mappings) and the references to other CMaps. Loading a compiled CMap replays
+ * these records into the CMap being filled, so the result doesn't depend on the kind of the CMap.
+ * {@link CMapLocationResource} looks for a compiled {@code <name>.bcmap} resource first and
+ * the CMap is parsed from its text form if there is none.
+ * <p>
+ * The compiled CMaps shipped in the {@code font-asian} module are regenerated with the {@code compile-cmaps}
+ * profile of that module, or by running {@link #main(String[])} on the directory containing the CMap files.
+ */
+public final class CMapCompiler {
+
+    /**
+     * The extension of the compiled CMap files.
+     */
+    public static final String COMPILED_CMAP_EXTENSION = ".bcmap";
+
+    private static final int MAGIC = 0x4954434D;
+
+    private static final int VERSION = 1;
+
+    private static final byte END = 0;
+
+    private static final byte NAME = 1;
+
+    private static final byte REGISTRY = 2;
+
+    private static final byte ORDERING = 3;
+
+    private static final byte SUPPLEMENT = 4;
+
+    private static final byte CODE_SPACE_RANGE = 5;
+
+    private static final byte CHAR = 6;
+
+    private static final byte RANGE = 7;
+
+    private static final byte USE_CMAP = 8;
+
+    private CMapCompiler() {
+        // Empty constructor
+    }
+
+    /**
+     * Compiles all the CMap files of the source directory and its subdirectories into {@code *.bcmap} files
+     * of the target directory. Files with an extension, e.g. {@code *.properties}, are not CMaps and are skipped.
+     *
+     * @param args the source directory and, optionally, the target directory.
+     *             If the latter is omitted, the compiled files are placed next to the CMap ones
+     * @throws IOException if a file can't be read or written
+     * @throws IllegalArgumentException if the source directory isn't specified
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: CMapCompiler <source directory> [<target directory>]");
+        }
+        File sourceDirectory = new File(args[0]);
+        File targetDirectory = args.length > 1 ? new File(args[1]) : sourceDirectory;
+        if (!sourceDirectory.isDirectory()) {
+            throw new IOException("Not a directory: " + sourceDirectory);
+        }
+        compileDirectory(sourceDirectory, targetDirectory, new CMapLocationFromDirectory(sourceDirectory), "");
+    }
+
+    /**
+     * Parses a CMap and writes it in the compiled form. The CMaps referenced with the {@code usecmap}
+     * operator are not included, they are loaded by their names when the compiled CMap is read.
+     *
+     * @param cmapName the name of the CMap
+     * @param location the location to read the CMap from
+     * @param out the stream to write the compiled CMap to
+     * @throws IOException if the CMap can't be read or the compiled CMap can't be written
+     */
+    public static void compile(String cmapName, ICMapLocation location, OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(MAGIC);
+        dos.writeInt(VERSION);
+        CMapRecorder recorder = new CMapRecorder(dos);
+        CMapParser.parseCid(cmapName, recorder, location);
+        if (recorder.failure != null) {
+            throw recorder.failure;
+        }
+        dos.writeByte(END);
+        dos.flush();
+    }
+
+    /**
+     * Reads the compiled CMap into the CMap being filled. The records are checked before anything is read
+     * into the CMap, so a damaged compiled CMap doesn't leave it half-filled.
+     *
+     * @param compiled the whole content of a compiled CMap file
+     * @param cmap the CMap to fill
+     * @param location the location of the CMaps referenced with the {@code usecmap} operator
+     * @param level the nesting level of the compiled CMap, the name, registry, ordering and supplement
+     *              are only set for the top level one
+     * @return {@code false} if the data is not a compiled CMap of a supported version
+     *         and nothing has been read, {@code true} otherwise
+     * @throws IOException if a referenced CMap can't be read
+     * @throws IllegalStateException if the compiled CMap is damaged, nothing has been read then
+     */
+    static boolean read(byte[] compiled, AbstractCMap cmap, ICMapLocation location, int level) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(compiled);
+        if (compiled.length < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return false;
+        }
+        try {
+            readRecords(buffer.duplicate(), new CMapChecker(), location, level);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Truncated compiled CMap.", e);
+        }
+        readRecords(buffer, cmap, location, level);
+        return true;
+    }
+
+    private static void readRecords(ByteBuffer buffer, AbstractCMap cmap, ICMapLocation location, int level)
+            throws IOException {
+        byte record;
+        while ((record = buffer.get()) != END) {
+            switch (record) {
+                case NAME:
+                case REGISTRY:
+                case ORDERING:
+                    String value = readString(buffer);
+                    if (level == 0) {
+                        if (record == NAME) {
+                            cmap.setName(value);
+                        } else if (record == REGISTRY) {
+                            cmap.setRegistry(value);
+                        } else {
+                            cmap.setOrdering(value);
+                        }
+                    }
+                    break;
+                case SUPPLEMENT:
+                    int supplement = buffer.getInt();
+                    if (level == 0) {
+                        cmap.setSupplement(supplement);
+                    }
+                    break;
+                case CODE_SPACE_RANGE:
+                    cmap.addCodeSpaceRange(readBytes(buffer), readBytes(buffer));
+                    break;
+                case CHAR:
+                    cmap.addChar(readByteString(buffer), readObject(buffer));
+                    break;
+                case RANGE:
+                    cmap.addRange(readByteString(buffer), readByteString(buffer), readObject(buffer));
+                    break;
+                case USE_CMAP:
+                    cmap.useCMap(readString(buffer), location, level + 1);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown compiled CMap record: " + record);
+            }
+        }
+    }
+
+    private static void compileDirectory(File sourceDirectory, File targetDirectory, ICMapLocation location,
+            String prefix) throws IOException {
+        File[] files = sourceDirectory.listFiles();
+        if (files == null) {
+            throw new IOException("Not a directory: " + sourceDirectory);
+        }
+        targetDirectory.mkdirs();
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                compileDirectory(file, new File(targetDirectory, name), location, prefix + name + "/");
+            } else if (name.indexOf('.') < 0) {
+                try (OutputStream out = new FileOutputStream(new File(targetDirectory,
+                        name + COMPILED_CMAP_EXTENSION))) {
+                    compile(prefix + name, location, out);
+                }
+            }
+        }
+    }
+
+    private static void writeObject(CMapObject object, DataOutputStream dos) throws IOException {
+        dos.writeByte(object.getType());
+        if (object.isString()) {
+            writeBytes((byte[]) object.getValue(), dos);
+        } else if (object.isNumber()) {
+            dos.writeInt((int) object.getValue());
+        } else if (object.isArray()) {
+            List<?> items = (List<?>) object.getValue();
+            dos.writeInt(items.size());
+            for (Object item : items) {
+                writeObject((CMapObject) item, dos);
+            }
+        } else if (object.isDictionary()) {
+            throw new IOException("Dictionaries are not supported in compiled CMaps.");
+        } else {
+            writeString(object.toString(), dos);
+        }
+    }
+
+    private static CMapObject readObject(ByteBuffer buffer) {
+        int type = buffer.get();
+        switch (type) {
+            case CMapObject.STRING:
+            case CMapObject.HEX_STRING:
+                return new CMapObject(type, readBytes(buffer));
+            case CMapObject.NUMBER:
+                return new CMapObject(type, buffer.getInt());
+            case CMapObject.ARRAY:
+                int size = buffer.getInt();
+                ArrayList<CMapObject> items = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    items.add(readObject(buffer));
+                }
+                return new CMapObject(type, items);
+            default:
+                return new CMapObject(type, readString(buffer));
+        }
+    }
+
+    private static void writeString(String str, DataOutputStream dos) throws IOException {
+        dos.writeInt(str.length());
+        dos.writeChars(str);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        char[] chars = new char[buffer.getInt()];
+        buffer.asCharBuffer().get(chars);
+        buffer.position(buffer.position() + chars.length * 2);
+        return new String(chars);
+    }
+
+    /**
+     * Writes a string produced by {@link CMapObject#toString()} for a string object,
+     * i.e. a string containing one character per byte.
+     */
+    private static void writeByteString(String str, DataOutputStream dos) throws IOException {
+        checkLength(str.length());
+        dos.writeByte(str.length());
+        dos.writeBytes(str);
+    }
+
+    private static String readByteString(ByteBuffer buffer) {
+        int length = buffer.get() & 0xff;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (buffer.get() & 0xff);
+        }
+        return new String(chars);
+    }
+
+    private static void writeBytes(byte[] bytes, DataOutputStream dos) throws IOException {
+        checkLength(bytes.length);
+        dos.writeByte(bytes.length);
+        dos.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.get() & 0xff];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void checkLength(int length) throws IOException {
+        if (length > 0xff) {
+            throw new IOException("Strings longer than 255 bytes are not supported in compiled CMaps.");
+        }
+    }
+
+    /**
+     * Records the parsed content of a CMap instead of building the mappings.
+     */
+    private static final class CMapRecorder extends AbstractCMap {
+        private final DataOutputStream dos;
+        private IOException failure;
+
+        CMapRecorder(DataOutputStream dos) {
+            this.dos = dos;
+        }
+
+        @Override
+        void setName(String cmapName) {
+            writeStringRecord(NAME, cmapName);
+        }
+
+        @Override
+        void setRegistry(String registry) {
+            writeStringRecord(REGISTRY, registry);
+        }
+
+        @Override
+        void setOrdering(String ordering) {
+            writeStringRecord(ORDERING, ordering);
+        }
+
+        @Override
+        void setSupplement(int supplement) {
+            try {
+                dos.writeByte(SUPPLEMENT);
+                dos.writeInt(supplement);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        void addCodeSpaceRange(byte[] low, byte[] high) {
+            try {
+                dos.writeByte(CODE_SPACE_RANGE);
+                writeBytes(low, dos);
+                writeBytes(high, dos);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        void addChar(String mark, CMapObject code) {
+            try {
+                dos.writeByte(CHAR);
+                writeByteString(mark, dos);
+                writeObject(code, dos);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        void addRange(String from, String to, CMapObject code) {
+            try {
+                dos.writeByte(RANGE);
+                writeByteString(from, dos);
+                writeByteString(to, dos);
+                writeObject(code, dos);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        void useCMap(String cmapName, ICMapLocation location, int level) {
+            writeStringRecord(USE_CMAP, cmapName);
+        }
+
+        private void writeStringRecord(byte record, String value) {
+            try {
+                dos.writeByte(record);
+                writeString(value, dos);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Reads the records of a compiled CMap without building the mappings, the referenced CMaps aren't read.
+     */
+    private static final class CMapChecker extends AbstractCMap {
+        @Override
+        void setName(String cmapName) {
+            // Nothing is built while the records are checked
+        }
+
+        @Override
+        void setRegistry(String registry) {
+            // Nothing is built while the records are checked
+        }
+
+        @Override
+        void setOrdering(String ordering) {
+            // Nothing is built while the records are checked
+        }
+
+        @Override
+        void setSupplement(int supplement) {
+            // Nothing is built while the records are checked
+        }
+
+        @Override
+        void addChar(String mark, CMapObject code) {
+            // Nothing is built while the records are checked
+        }
+
+        @Override
+        void addRange(String from, String to, CMapObject code) {
+            // Nothing is built while the records are checked
+        }
+
+        @Override
+        void useCMap(String cmapName, ICMapLocation location, int level) {
+            // The referenced CMaps are checked when they are read
+        }
+    }
+
+    /**
+     * Reads the text CMaps from a directory, the names of the CMaps are relative to it.
+     */
+    private static final class CMapLocationFromDirectory implements ICMapLocation {
+        private final File directory;
+
+        CMapLocationFromDirectory(File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public PdfTokenizer getLocation(String location) throws IOException {
+            return new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory()
+                    .createBestSource(new File(directory, location).getPath())));
+        }
+    }
+}
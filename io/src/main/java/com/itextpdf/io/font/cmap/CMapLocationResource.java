@@ -29,6 +29,7 @@ import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
 
 import java.io.InputStream;
 
@@ -44,6 +45,27 @@ public class CMapLocationResource implements ICMapLocation {
         return new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(inp)));
     }
 
+    /**
+     * Retrieves the compiled form of a CMap, see {@link CMapCompiler}. If there is one, it is used
+     * instead of the CMap returned by {@link #getLocation(String)}, which is parsed otherwise.
+     *
+     * @param location the name of the CMap
+     * @return the content of the compiled CMap or {@code null} if there is no compiled CMap with such a name
+     * @throws java.io.IOException if the compiled CMap can't be read
+     */
+    public byte[] getCompiledLocation(String location) throws java.io.IOException {
+        InputStream inp = ResourceUtil.getResourceStream(getLocationPath() + location
+                + CMapCompiler.COMPILED_CMAP_EXTENSION);
+        if (inp == null) {
+            return null;
+        }
+        try {
+            return StreamUtil.inputStreamToArray(inp);
+        } finally {
+            inp.close();
+        }
+    }
+
     /**
      * Retrieve base folder path where CMaps are located.
      *
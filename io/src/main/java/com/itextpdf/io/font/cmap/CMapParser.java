@@ -51,9 +51,27 @@ public class CMapParser {
         parseCid(cmapName, cmap, location, 0);
     }
 
-    private static void parseCid(String cmapName, AbstractCMap cmap, ICMapLocation location, int level) throws java.io.IOException {
+    static void parseCid(String cmapName, AbstractCMap cmap, ICMapLocation location, int level) throws java.io.IOException {
         if (level >= MAX_LEVEL)
             return;
+        if (location instanceof CMapLocationResource) {
+            byte[] compiled = ((CMapLocationResource) location).getCompiledLocation(cmapName);
+            if (compiled != null) {
+                try {
+                    if (CMapCompiler.read(compiled, cmap, location, level)) {
+                        return;
+                    }
+                } catch (IllegalStateException ex) {
+                    // Nothing has been read from the damaged compiled CMap, so the CMap is parsed from its text form
+                    Logger logger = LoggerFactory.getLogger(CMapParser.class);
+                    logger.error(IoLogMessageConstant.UNKNOWN_ERROR_WHILE_PROCESSING_CMAP);
+                } catch (Exception ex) {
+                    Logger logger = LoggerFactory.getLogger(CMapParser.class);
+                    logger.error(IoLogMessageConstant.UNKNOWN_ERROR_WHILE_PROCESSING_CMAP);
+                    return;
+                }
+            }
+        }
         PdfTokenizer inp = location.getLocation(cmapName);
         try {
             List<CMapObject> list = new ArrayList<>();
@@ -99,7 +117,7 @@ public class CMapParser {
                         }
                     }
                 } else if (last.equals(usecmap) && list.size() == 2 && list.get(0).isName()) {
-                    parseCid(list.get(0).toString(), cmap, location, level + 1);
+                    cmap.useCMap(list.get(0).toString(), location, level + 1);
                 } else if (last.equals(endcodespacerange)) {
                     for (int i = 0; i < list.size() + 1; i += 2) {
                         if (list.get(i).isHexString() && list.get(i + 1).isHexString()) {
@@ -114,8 +114,15 @@ public class GlyphLine {
      * @return String containing the unicode representation of the slice.
      */
     public String toUnicodeString(int start, int end) {
+        StringBuilder str = new StringBuilder(Math.max(0, end - start));
+        if (actualText == null) {
+            // without actual text the whole slice is a single part, no need to iterate over parts
+            for (int i = start; i < end; i++) {
+                str.append(glyphs.get(i).getUnicodeChars());
+            }
+            return str.toString();
+        }
         ActualTextIterator iter = new ActualTextIterator(this, start, end);
-        StringBuilder str = new StringBuilder();
         while (iter.hasNext()) {
             GlyphLinePart part = iter.next();
             if (part.actualText != null) {
@@ -145,8 +152,8 @@ public class GlyphLine {
         GlyphLine glyphLine = new GlyphLine();
         glyphLine.start = 0;
         glyphLine.end = right - left;
-        glyphLine.glyphs = new ArrayList<>(glyphs.subList(left, right));
-        glyphLine.actualText = actualText == null ? null : new ArrayList<>(actualText.subList(left, right));
+        glyphLine.glyphs = copyOf(glyphs, left, right);
+        glyphLine.actualText = actualText == null ? null : copyOf(actualText, left, right);
         return glyphLine;
     }
 
@@ -303,24 +310,26 @@ public class GlyphLine {
     }
 
     public GlyphLine filter(IGlyphLineFilter filter) {
-        boolean anythingFiltered = false;
-        List<Glyph> filteredGlyphs = new ArrayList<>(end - start);
-        List<ActualText> filteredActualText = actualText != null ? new ArrayList<ActualText>(end - start) : null;
-        for (int i = start; i < end; i++) {
+        int firstFiltered = start;
+        while (firstFiltered < end && filter.accept(glyphs.get(firstFiltered))) {
+            firstFiltered++;
+        }
+        if (firstFiltered == end) {
+            // nothing is filtered, the lists are not copied
+            return this;
+        }
+        List<Glyph> filteredGlyphs = copyOf(glyphs, start, firstFiltered, end - start);
+        List<ActualText> filteredActualText = actualText != null
+                ? copyOf(actualText, start, firstFiltered, end - start) : null;
+        for (int i = firstFiltered + 1; i < end; i++) {
             if (filter.accept(glyphs.get(i))) {
                 filteredGlyphs.add(glyphs.get(i));
                 if (filteredActualText != null) {
                     filteredActualText.add(actualText.get(i));
                 }
-            } else {
-                anythingFiltered = true;
             }
         }
-        if (anythingFiltered) {
-            return new GlyphLine(filteredGlyphs, filteredActualText, 0, filteredGlyphs.size());
-        } else {
-            return this;
-        }
+        return new GlyphLine(filteredGlyphs, filteredActualText, 0, filteredGlyphs.size());
     }
 
     public void setActualText(int left, int right, String text) {
@@ -405,6 +414,22 @@ public class GlyphLine {
         }
     }
 
+    private static <T> List<T> copyOf(List<T> list, int from, int to) {
+        return copyOf(list, from, to, to - from);
+    }
+
+    /**
+     * Copies the elements of the range into a new list with the specified capacity. Unlike copying a sub list
+     * the elements are copied into the backing array of the new list directly.
+     */
+    private static <T> List<T> copyOf(List<T> list, int from, int to, int capacity) {
+        List<T> copy = new ArrayList<>(capacity);
+        for (int i = from; i < to; i++) {
+            copy.add(list.get(i));
+        }
+        return copy;
+    }
+
     public interface IGlyphLineFilter {
         boolean accept(Glyph glyph);
     }
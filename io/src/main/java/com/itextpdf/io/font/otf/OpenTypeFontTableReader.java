@@ -22,6 +22,7 @@
  */
 package com.itextpdf.io.font.otf;
 
+import com.itextpdf.io.font.IntGlyphMap;
 import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 
@@ -54,7 +55,7 @@ public abstract class OpenTypeFontTableReader {
 	}
 
     public Glyph getGlyph(int index) {
-        return indexGlyphMap.get(index);
+        return IntGlyphMap.getGlyph(indexGlyphMap, index);
     }
 
     public OpenTableLookup getLookupTable(int idx) {
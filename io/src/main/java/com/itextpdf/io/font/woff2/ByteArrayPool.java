@@ -0,0 +1,99 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font.woff2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A small pool of byte arrays which are reused by subsequent WOFF2 conversions
+ * instead of allocating a new decompression buffer for every font.
+ * <p>
+ * The pool retains at most {@link #MAX_POOLED_ARRAYS} arrays of at most {@link #MAX_POOLED_BYTES} bytes in total,
+ * larger arrays are left to the garbage collector. The content of an acquired array is not cleared,
+ * so its users shall only read what they have written.
+ */
+final class ByteArrayPool {
+
+    static final int MAX_POOLED_ARRAYS = 4;
+
+    static final int MAX_POOLED_BYTES = 16 * 1024 * 1024;
+
+    private final List<byte[]> arrays = new ArrayList<>(MAX_POOLED_ARRAYS);
+
+    private int pooledBytes;
+
+    /**
+     * Takes the smallest pooled array which is not shorter than the requested length,
+     * or allocates a new one if there is no such array.
+     *
+     * @param minLength the minimal length of the array
+     * @return the array which shall be returned with {@link #release(byte[])} once it isn't used anymore
+     */
+    synchronized byte[] acquire(int minLength) {
+        int best = -1;
+        for (int i = 0; i < arrays.size(); i++) {
+            int length = arrays.get(i).length;
+            if (length >= minLength && (best == -1 || length < arrays.get(best).length)) {
+                best = i;
+            }
+        }
+        if (best == -1) {
+            return new byte[minLength];
+        }
+        byte[] array = arrays.remove(best);
+        pooledBytes -= array.length;
+        return array;
+    }
+
+    /**
+     * Returns the array to the pool. If the pool is full, the smallest pooled array is dropped
+     * in favour of the returned one when the latter is larger.
+     *
+     * @param array the array acquired with {@link #acquire(int)}
+     */
+    synchronized void release(byte[] array) {
+        if (array.length > MAX_POOLED_BYTES) {
+            return;
+        }
+        while (!arrays.isEmpty()
+                && (arrays.size() >= MAX_POOLED_ARRAYS || pooledBytes + array.length > MAX_POOLED_BYTES)) {
+            int smallest = 0;
+            for (int i = 1; i < arrays.size(); i++) {
+                if (arrays.get(i).length < arrays.get(smallest).length) {
+                    smallest = i;
+                }
+            }
+            if (arrays.get(smallest).length >= array.length) {
+                return;
+            }
+            pooledBytes -= arrays.remove(smallest).length;
+        }
+        arrays.add(array);
+        pooledBytes += array.length;
+    }
+
+    synchronized int size() {
+        return arrays.size();
+    }
+}
@@ -24,6 +24,8 @@ package com.itextpdf.io.font.woff2;
 
 public class Woff2Converter {
 
+    private static final Woff2FontCache decodedFonts = new Woff2FontCache();
+
     public static boolean isWoff2Font(byte[] woff2Bytes) {
         if (woff2Bytes.length < 4) {
             return false;
@@ -36,10 +38,44 @@ public class Woff2Converter {
         }
     }
 
+    /**
+     * Converts a WOFF2 font to the TrueType or OpenType font it has been produced from.
+     * <p>
+     * Decoded fonts are kept in a bounded cache keyed by the hash of the WOFF2 content,
+     * so converting the same font again only takes a copy of the cached result.
+     *
+     * @param woff2Bytes the WOFF2 font
+     * @return the decoded font, the returned array is not shared with the cache
+     */
     public static byte[] convert(byte[] woff2Bytes) {
+        Woff2FontCache.ContentKey key = Woff2FontCache.createKey(woff2Bytes);
+        byte[] cached = key == null ? null : decodedFonts.get(key);
+        if (cached != null) {
+            return cached.clone();
+        }
         byte[] inner_byte_buffer = new byte[Woff2Dec.computeWoff2FinalSize(woff2Bytes, woff2Bytes.length)];
         Woff2Out out = new Woff2MemoryOut(inner_byte_buffer, inner_byte_buffer.length);
         Woff2Dec.convertWoff2ToTtf(woff2Bytes, woff2Bytes.length, out);
+        if (key != null) {
+            decodedFonts.put(key, inner_byte_buffer);
+        }
         return inner_byte_buffer;
     }
+
+    /**
+     * Sets the maximal total length of the decoded fonts kept in the cache.
+     * The default capacity is 32 megabytes, zero disables the cache.
+     *
+     * @param capacityInBytes the capacity of the cache in bytes
+     */
+    public static void setCacheCapacity(int capacityInBytes) {
+        decodedFonts.setCapacity(capacityInBytes);
+    }
+
+    /**
+     * Removes all the decoded fonts from the cache.
+     */
+    public static void clearCache() {
+        decodedFonts.clear();
+    }
 }
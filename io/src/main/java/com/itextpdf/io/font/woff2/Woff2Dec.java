@@ -76,6 +76,9 @@ class Woff2Dec {
     // Largest glyph ever observed was 72k bytes
     private final static int kDefaultGlyphBuf = 5120;
 
+    // Decompression buffers are reused by subsequent conversions
+    private final static ByteArrayPool kBufferPool = new ByteArrayPool();
+
     // Over 14k test fonts the max compression ratio seen to date was ~20.
     // >100 suggests you wrote a bad uncompressed size.
     private final static float kMaxPlausibleCompressionRatio = 100.0f;
@@ -474,8 +477,6 @@ class Woff2Dec {
             int glyph_size = 0;
             int n_contours = 0;
             boolean have_bbox = false;
-            byte[] bitmap = new byte[bitmap_length];
-            System.arraycopy(data, bbox_bitmap_offset, bitmap, 0, bitmap_length);
             if ((data[bbox_bitmap_offset + (i >> 3)] & (0x80 >> (i & 7))) != 0) {
                 have_bbox = true;
             }
@@ -731,9 +732,10 @@ class Woff2Dec {
     private static void woff2Uncompress(byte[] dst_buf, int dst_offset, int dst_length, byte[] src_buf, int src_offset, int src_length) {
         int remain = dst_length;
         try {
-            BrotliInputStream stream = new BrotliInputStream(new ByteArrayInputStream(src_buf, src_offset, src_length));
+            // the internal buffer is only used for the single byte read below
+            BrotliInputStream stream = new BrotliInputStream(new ByteArrayInputStream(src_buf, src_offset, src_length), 1);
             while (remain > 0) {
-                int read = stream.read(dst_buf, dst_offset, dst_length);
+                int read = stream.read(dst_buf, dst_offset + dst_length - remain, remain);
                 if (read < 0) {
                     throw new FontCompressionException(IoExceptionMessageConstant.BROTLI_DECODING_FAILED);
                 }
@@ -1203,11 +1205,16 @@ class Woff2Dec {
             throw new FontCompressionException(MessageFormatUtil.format("Implausible compression ratio {0}", compression_ratio));
         }
 
-        byte[] uncompressed_buf = new byte[hdr.uncompressed_size];
-        woff2Uncompress(uncompressed_buf, 0, hdr.uncompressed_size, data, hdr.compressed_offset, hdr.compressed_length);
+        // the buffer may be longer than requested and contain data of a previous font
+        byte[] uncompressed_buf = kBufferPool.acquire(hdr.uncompressed_size);
+        try {
+            woff2Uncompress(uncompressed_buf, 0, hdr.uncompressed_size, data, hdr.compressed_offset, hdr.compressed_length);
 
-        for (int i = 0; i < metadata.font_infos.length; i++) {
-            reconstructFont(uncompressed_buf, 0, hdr.uncompressed_size, metadata, hdr, i, out);
+            for (int i = 0; i < metadata.font_infos.length; i++) {
+                reconstructFont(uncompressed_buf, 0, hdr.uncompressed_size, metadata, hdr, i, out);
+            }
+        } finally {
+            kBufferPool.release(uncompressed_buf);
         }
     }
 }
@@ -0,0 +1,139 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font.woff2;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of decoded WOFF2 fonts keyed by the SHA-256 hash of the WOFF2 content.
+ * <p>
+ * The same web font is often converted many times, e.g. once per document produced from the same
+ * CSS {@code @font-face} rule. The least recently used fonts are evicted once the total length of the decoded
+ * fonts exceeds the capacity.
+ */
+final class Woff2FontCache {
+
+    static final int DEFAULT_CAPACITY = 32 * 1024 * 1024;
+
+    private final Map<ContentKey, byte[]> fonts = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int capacity = DEFAULT_CAPACITY;
+
+    private long cachedBytes;
+
+    /**
+     * Creates the key of the WOFF2 content.
+     *
+     * @param woff2Bytes the WOFF2 font
+     * @return the key or {@code null} if the content can't be hashed
+     */
+    static ContentKey createKey(byte[] woff2Bytes) {
+        try {
+            return new ContentKey(MessageDigest.getInstance("SHA-256").digest(woff2Bytes), woff2Bytes.length);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the cached decoded font. The returned array is shared and shall not be modified.
+     *
+     * @param key the key of the WOFF2 content
+     * @return the decoded font or {@code null} if it isn't cached
+     */
+    synchronized byte[] get(ContentKey key) {
+        return fonts.get(key);
+    }
+
+    /**
+     * Caches a copy of the decoded font.
+     *
+     * @param key the key of the WOFF2 content
+     * @param decodedFont the decoded font
+     */
+    synchronized void put(ContentKey key, byte[] decodedFont) {
+        if (decodedFont.length > capacity) {
+            return;
+        }
+        byte[] previous = fonts.put(key, decodedFont.clone());
+        if (previous != null) {
+            cachedBytes -= previous.length;
+        }
+        cachedBytes += decodedFont.length;
+        evict();
+    }
+
+    synchronized void setCapacity(int capacity) {
+        this.capacity = capacity;
+        evict();
+    }
+
+    synchronized void clear() {
+        fonts.clear();
+        cachedBytes = 0;
+    }
+
+    synchronized int size() {
+        return fonts.size();
+    }
+
+    private void evict() {
+        Iterator<byte[]> eldest = fonts.values().iterator();
+        while (cachedBytes > capacity && eldest.hasNext()) {
+            cachedBytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    static final class ContentKey {
+        private final byte[] hash;
+        private final int length;
+
+        ContentKey(byte[] hash, int length) {
+            this.hash = hash;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ContentKey that = (ContentKey) o;
+            return length == that.length && Arrays.equals(hash, that.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(hash) + length;
+        }
+    }
+}
@@ -55,6 +55,11 @@ public abstract class ImageData {
 
     protected byte[] data;
 
+    /**
+     * Whether the image bytes aren't kept in memory but are read from the {@link #url} when they are needed.
+     */
+    protected boolean streamed;
+
     protected int imageSize;
 
     protected int bpc = 1;
@@ -199,10 +204,34 @@ public abstract class ImageData {
         this.colorEncodingComponentsNumber = colorEncodingComponentsNumber;
     }
 
+    /**
+     * Gets the image bytes. The bytes of a {@link #isStreamed() streamed} image are read from the source
+     * on every call.
+     *
+     * @return the image bytes
+     */
     public byte[] getData() {
+        if (data == null && streamed) {
+            try {
+                return readData();
+            } catch (java.io.IOException e) {
+                throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+            }
+        }
         return data;
     }
 
+    /**
+     * Checks whether the image bytes aren't kept in memory. Only the headers of such an image are parsed
+     * and the bytes are read from the {@link #getUrl() url} when they are needed, e.g. when the image is written
+     * to a PDF document.
+     *
+     * @return {@code true} if the image bytes are read from the source when they are needed
+     */
+    public boolean isStreamed() {
+        return streamed;
+    }
+
     public boolean canBeMask() {
         if (isRawImage()) {
             if (bpc > 0xff)
@@ -311,7 +340,7 @@ public abstract class ImageData {
      */
     public boolean canImageBeInline() {
         Logger logger = LoggerFactory.getLogger(ImageData.class);
-        if (imageSize > 4096) {
+        if (streamed || imageSize > 4096) {
             logger.warn(IoLogMessageConstant.IMAGE_SIZE_CANNOT_BE_MORE_4KB);
             return false;
         }
@@ -328,11 +357,15 @@ public abstract class ImageData {
      * @throws java.io.IOException
      */
     void loadData() throws java.io.IOException {
+        data = readData();
+    }
+
+    private byte[] readData() throws java.io.IOException {
         RandomAccessFileOrArray raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(url));
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
         StreamUtil.transferBytes(raf, stream);
         raf.close();
-        data = stream.toByteArray();
+        return stream.toByteArray();
     }
 
     /** Creates a new serial id.
@@ -26,8 +26,10 @@ import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.codec.CCITTG4Encoder;
 import com.itextpdf.io.codec.TIFFFaxDecoder;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.UrlUtil;
 
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -98,6 +100,46 @@ public final class ImageDataFactory {
         return create(filename, false);
     }
 
+    /**
+     * Create an ImageData instance which doesn't keep the image bytes in memory. Only the headers of the image
+     * are parsed, the bytes are read from the url again when they are needed, e.g. when the image is written
+     * to a PDF document, so the source shall stay available till then. Only JPEG and JPEG 2000 images can be
+     * streamed, the images of other types are created as by {@link #create(URL)}.
+     *
+     * @param url location of the image
+     * @return The created ImageData object.
+     */
+    public static ImageData createStreamed(URL url) {
+        ImageType imageType = ImageTypeDetector.detectImageType(url);
+        switch (imageType) {
+            case JPEG: {
+                ImageData image = new JpegImageData(url);
+                image.streamed = true;
+                JpegImageHelper.processImage(image);
+                return image;
+            }
+            case JPEG2000: {
+                ImageData image = new Jpeg2000ImageData(url);
+                image.streamed = true;
+                Jpeg2000ImageHelper.processImage(image);
+                return image;
+            }
+            default:
+                return create(url);
+        }
+    }
+
+    /**
+     * Create an ImageData instance which doesn't keep the image bytes in memory, see {@link #createStreamed(URL)}.
+     *
+     * @param filename filename of the file containing the image
+     * @return The created ImageData object.
+     * @throws MalformedURLException if an error occurred generating the URL.
+     */
+    public static ImageData createStreamed(String filename) throws MalformedURLException {
+        return createStreamed(UrlUtil.toURL(filename));
+    }
+
     /**
      * Create an ImageData instance from the passed parameters.
      *
@@ -124,6 +166,7 @@ public final class ImageDataFactory {
         image.height = height;
         image.width = width;
         image.colorEncodingComponentsNumber = parameters;
+        image.ccittParameters = parameters;
         image.transparency = transparency;
         return image;
     }
@@ -386,6 +429,74 @@ public final class ImageDataFactory {
         return image;
     }
 
+    /**
+     * Creates a lazy sequence of the pages of a multi-page TIFF image. The pages are decoded
+     * ahead in as many threads as there are available processors.
+     *
+     * @param url location of the TIFF image
+     * @param recoverFromImageError whether to recover from a image error
+     * @param direct whether to read the image data directly, if possible
+     * @return the {@link TiffPageSequence} of the pages
+     */
+    public static TiffPageSequence createTiffPages(URL url, boolean recoverFromImageError, boolean direct) {
+        return createTiffPages(url, recoverFromImageError, direct, Runtime.getRuntime().availableProcessors(),
+                TiffPageSequence.DEFAULT_MAX_BUFFERED_BYTES);
+    }
+
+    /**
+     * Creates a lazy sequence of the pages of a multi-page TIFF image.
+     *
+     * @param url location of the TIFF image
+     * @param recoverFromImageError whether to recover from a image error
+     * @param direct whether to read the image data directly, if possible
+     * @param parallelism the maximum number of pages decoded at the same time, 1 means
+     *                    that each page is decoded only when it is requested
+     * @param maxBufferedBytes the maximum number of bytes the pages decoded ahead may take
+     * @return the {@link TiffPageSequence} of the pages
+     */
+    public static TiffPageSequence createTiffPages(URL url, boolean recoverFromImageError, boolean direct,
+            int parallelism, long maxBufferedBytes) {
+        validateImageType(url, ImageType.TIFF);
+        byte[] bytes;
+        try (InputStream stream = UrlUtil.openStream(url)) {
+            bytes = StreamUtil.inputStreamToArray(stream);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+        return new TiffPageSequence(bytes, recoverFromImageError, direct, parallelism, maxBufferedBytes);
+    }
+
+    /**
+     * Creates a lazy sequence of the pages of a multi-page TIFF image. The pages are decoded
+     * ahead in as many threads as there are available processors.
+     *
+     * @param bytes byte representation of the TIFF image
+     * @param recoverFromImageError whether to recover from a image error
+     * @param direct whether to read the image data directly, if possible
+     * @return the {@link TiffPageSequence} of the pages
+     */
+    public static TiffPageSequence createTiffPages(byte[] bytes, boolean recoverFromImageError, boolean direct) {
+        return createTiffPages(bytes, recoverFromImageError, direct, Runtime.getRuntime().availableProcessors(),
+                TiffPageSequence.DEFAULT_MAX_BUFFERED_BYTES);
+    }
+
+    /**
+     * Creates a lazy sequence of the pages of a multi-page TIFF image.
+     *
+     * @param bytes byte representation of the TIFF image
+     * @param recoverFromImageError whether to recover from a image error
+     * @param direct whether to read the image data directly, if possible
+     * @param parallelism the maximum number of pages decoded at the same time, 1 means
+     *                    that each page is decoded only when it is requested
+     * @param maxBufferedBytes the maximum number of bytes the pages decoded ahead may take
+     * @return the {@link TiffPageSequence} of the pages
+     */
+    public static TiffPageSequence createTiffPages(byte[] bytes, boolean recoverFromImageError, boolean direct,
+            int parallelism, long maxBufferedBytes) {
+        validateImageType(bytes, ImageType.TIFF);
+        return new TiffPageSequence(bytes, recoverFromImageError, direct, parallelism, maxBufferedBytes);
+    }
+
     public static ImageData createRawImage(byte[] bytes) {
         return new RawImageData(bytes, ImageType.RAW);
     }
@@ -0,0 +1,282 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.io.util.UrlUtil;
+
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An opt-in registry of parsed images keyed by the SHA-256 hash of the image bytes and the decode parameters.
+ * <p>
+ * Unlike {@link ImageDataFactory}, which parses the image on every call, the registry returns the same
+ * {@link ImageData} instance for the same content, so an image referenced many times is parsed only once.
+ * The same registry may be shared by the documents of a batch job. Since the instances are shared,
+ * they shall not be modified after they have been obtained from the registry.
+ * <p>
+ * The registry is bounded: the least recently used images are evicted once the total length of the image data
+ * exceeds the capacity. Use {@code PdfDocument#getImageXObject(ImageData)} to also share the image XObject
+ * between the pages of a document.
+ */
+public class ImageDataRegistry {
+
+    /**
+     * The default capacity of the registry in bytes.
+     */
+    public static final long DEFAULT_CAPACITY = 64L * 1024 * 1024;
+
+    private final Map<ContentKey, Entry> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long capacity;
+
+    private long cachedBytes;
+
+    /**
+     * Creates a registry with the {@link #DEFAULT_CAPACITY default capacity}.
+     */
+    public ImageDataRegistry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a registry with the specified capacity.
+     *
+     * @param capacity the maximum total length in bytes of the image data kept by the registry
+     */
+    public ImageDataRegistry(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the image represented by the image bytes, the image is parsed if it isn't registered yet.
+     *
+     * @param bytes byte representation of the image
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @return the shared {@link ImageData} instance
+     */
+    public ImageData create(byte[] bytes, boolean recoverImage) {
+        ContentKey key = createKey(bytes, recoverImage);
+        ImageData image = get(key);
+        if (image == null) {
+            image = ImageDataFactory.create(bytes, recoverImage);
+            image = put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Gets the image represented by the image bytes, the image is parsed if it isn't registered yet.
+     *
+     * @param bytes byte representation of the image
+     * @return the shared {@link ImageData} instance
+     */
+    public ImageData create(byte[] bytes) {
+        return create(bytes, false);
+    }
+
+    /**
+     * Gets the image located at the specified url, the image is parsed if the same content isn't registered yet.
+     * The image bytes are read on every call to compute the key.
+     *
+     * @param url location of the image
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @return the shared {@link ImageData} instance
+     */
+    public ImageData create(URL url, boolean recoverImage) {
+        byte[] bytes;
+        try (InputStream stream = UrlUtil.openStream(url)) {
+            bytes = StreamUtil.inputStreamToArray(stream);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+        return create(bytes, recoverImage);
+    }
+
+    /**
+     * Gets the image located at the specified url, the image is parsed if the same content isn't registered yet.
+     *
+     * @param url location of the image
+     * @return the shared {@link ImageData} instance
+     */
+    public ImageData create(URL url) {
+        return create(url, false);
+    }
+
+    /**
+     * Gets the image from the specified file, the image is parsed if the same content isn't registered yet.
+     *
+     * @param filename filename of the file containing the image
+     * @param recoverImage whether to recover from a image error (for TIFF-images)
+     * @return the shared {@link ImageData} instance
+     * @throws MalformedURLException if an error occurred generating the URL.
+     */
+    public ImageData create(String filename, boolean recoverImage) throws MalformedURLException {
+        return create(UrlUtil.toURL(filename), recoverImage);
+    }
+
+    /**
+     * Gets the image from the specified file, the image is parsed if the same content isn't registered yet.
+     *
+     * @param filename filename of the file containing the image
+     * @return the shared {@link ImageData} instance
+     * @throws MalformedURLException if an error occurred generating the URL.
+     */
+    public ImageData create(String filename) throws MalformedURLException {
+        return create(filename, false);
+    }
+
+    /**
+     * Sets the capacity of the registry, the least recently used images are evicted if needed.
+     *
+     * @param capacity the maximum total length in bytes of the image data kept by the registry
+     */
+    public synchronized void setCapacity(long capacity) {
+        this.capacity = capacity;
+        evict();
+    }
+
+    /**
+     * Gets the capacity of the registry.
+     *
+     * @return the maximum total length in bytes of the image data kept by the registry
+     */
+    public synchronized long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes all the images from the registry.
+     */
+    public synchronized void clear() {
+        images.clear();
+        cachedBytes = 0;
+    }
+
+    /**
+     * Gets the number of the registered images.
+     *
+     * @return the number of the registered images
+     */
+    public synchronized int size() {
+        return images.size();
+    }
+
+    private synchronized ImageData get(ContentKey key) {
+        Entry entry = images.get(key);
+        return entry == null ? null : entry.image;
+    }
+
+    /**
+     * Registers the parsed image. If the same content has been registered by another thread in the meantime,
+     * the already registered instance is returned, so that all the callers share the same instance.
+     */
+    private synchronized ImageData put(ContentKey key, ImageData image) {
+        Entry registered = images.get(key);
+        if (registered != null) {
+            return registered.image;
+        }
+        long length = getDataLength(image);
+        if (length <= capacity) {
+            images.put(key, new Entry(image, length));
+            cachedBytes += length;
+            evict();
+        }
+        return image;
+    }
+
+    private void evict() {
+        Iterator<Entry> eldest = images.values().iterator();
+        while (cachedBytes > capacity && eldest.hasNext()) {
+            cachedBytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    private static long getDataLength(ImageData image) {
+        long length = 0;
+        for (ImageData data = image; data != null; data = data.getImageMask()) {
+            if (data.getData() != null) {
+                length += data.getData().length;
+            }
+        }
+        return length;
+    }
+
+    private static ContentKey createKey(byte[] bytes, boolean recoverImage) {
+        try {
+            return new ContentKey(MessageDigest.getInstance("SHA-256").digest(bytes), bytes.length, recoverImage);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(IoExceptionMessageConstant.UNKNOWN_IO_EXCEPTION, e);
+        }
+    }
+
+    private static final class Entry {
+        private final ImageData image;
+        private final long length;
+
+        Entry(ImageData image, long length) {
+            this.image = image;
+            this.length = length;
+        }
+    }
+
+    private static final class ContentKey {
+        private final byte[] hash;
+        private final int length;
+        private final boolean recoverImage;
+
+        ContentKey(byte[] hash, int length, boolean recoverImage) {
+            this.hash = hash;
+            this.length = length;
+            this.recoverImage = recoverImage;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ContentKey that = (ContentKey) o;
+            return length == that.length && recoverImage == that.recoverImage && Arrays.equals(hash, that.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Arrays.hashCode(hash) + length) + (recoverImage ? 1 : 0);
+        }
+    }
+}
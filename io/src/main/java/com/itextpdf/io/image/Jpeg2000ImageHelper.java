@@ -25,7 +25,9 @@ package com.itextpdf.io.image;
 import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.io.util.UrlUtil;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -70,11 +72,17 @@ final class Jpeg2000ImageHelper {
      */
     private static void processParameters(Jpeg2000ImageData jp2) {
         jp2.parameters = new Jpeg2000ImageData.Parameters();
+        InputStream jpeg2000Stream = null;
         try {
-            if (jp2.getData() == null) {
-                jp2.loadData();
+            if (jp2.isStreamed()) {
+                // only the header boxes are read, the image bytes are read again when they are written
+                jpeg2000Stream = new BufferedInputStream(UrlUtil.openStream(jp2.getUrl()));
+            } else {
+                if (jp2.getData() == null) {
+                    jp2.loadData();
+                }
+                jpeg2000Stream = new ByteArrayInputStream(jp2.getData());
             }
-            InputStream jpeg2000Stream = new ByteArrayInputStream(jp2.getData());
             Jpeg2000Box box = new Jpeg2000Box();
             box.length = cio_read(4, jpeg2000Stream);
             if (box.length == 0x0000000c) {
@@ -149,6 +157,12 @@ final class Jpeg2000ImageHelper {
             }
         } catch (java.io.IOException e) {
             throw new IOException(IoExceptionMessageConstant.JPEG2000_IMAGE_EXCEPTION, e);
+        } finally {
+            if (jpeg2000Stream != null) {
+                try {
+                    jpeg2000Stream.close();
+                } catch (java.io.IOException ignore) { }
+            }
         }
     }
 
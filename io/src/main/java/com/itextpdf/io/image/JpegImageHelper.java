@@ -26,9 +26,11 @@ import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.io.colors.IccProfile;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 
+import java.io.BufferedInputStream;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
@@ -113,14 +115,20 @@ class JpegImageHelper {
         InputStream jpegStream = null;
         try {
             String errorID;
-            if (image.getData() == null) {
-                image.loadData();
+            if (image.isStreamed()) {
+                // only the header segments are read, the image bytes are read again when they are written
+                jpegStream = new BufferedInputStream(UrlUtil.openStream(image.getUrl()));
                 errorID = image.getUrl().toString();
             } else {
-                errorID = "Byte array";
+                if (image.getData() == null) {
+                    image.loadData();
+                    errorID = image.getUrl().toString();
+                } else {
+                    errorID = "Byte array";
+                }
+                jpegStream = new java.io.ByteArrayInputStream(image.getData());
+                image.imageSize = image.getData().length;
             }
-            jpegStream = new java.io.ByteArrayInputStream(image.getData());
-            image.imageSize = image.getData().length;
             processParameters(jpegStream, errorID, image);
         } catch (java.io.IOException e) {
             throw new IOException(IoExceptionMessageConstant.JPEG_IMAGE_EXCEPTION, e);
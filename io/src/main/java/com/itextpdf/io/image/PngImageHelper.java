@@ -30,11 +30,13 @@ import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.colors.IccProfile;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.DeflaterOutputStream;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 
 import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -57,6 +59,12 @@ class PngImageHelper {
         Map<String, Object> additional = new HashMap<>();
         byte[] imageData;
         byte[] smask;
+        // the color and the alpha samples are deflated while decoding instead of being collected in
+        // imageData and smask, see decodeIdat
+        OutputStream imageDataStream;
+        OutputStream smaskStream;
+        byte[] colorRow;
+        byte[] alphaRow;
         byte[] trans;
         ByteArrayOutputStream idat = new ByteArrayOutputStream();
         int dpiX;
@@ -135,6 +143,7 @@ class PngImageHelper {
     private static final int PNG_FILTER_UP = 2;
     private static final int PNG_FILTER_AVERAGE = 3;
     private static final int PNG_FILTER_PAETH = 4;
+    private static final int DEFLATER_BUFFER_SIZE = 8192;
     private static final String[] intents = {PngImageHelperConstants.PERCEPTUAL,
             PngImageHelperConstants.RELATIVE_COLORIMETRIC, PngImageHelperConstants.SATURATION,
             PngImageHelperConstants.ABSOLUTE_COLORMETRIC};
@@ -221,7 +230,10 @@ class PngImageHelper {
             int bpc = png.bitDepth;
             if (bpc == 16)
                 bpc = 8;
-            if (png.imageData != null) {
+            if (png.imageDataStream != null) {
+                RawImageHelper.updateRawImageParameters(png.image, png.width, png.height, components, bpc, png.imageData);
+                png.image.setDeflated(true);
+            } else if (png.imageData != null) {
                 if (png.image.isIndexed()) {
                     RawImageHelper.updateRawImageParameters(png.image, png.width, png.height, components, bpc, png.imageData);
                 } else {
@@ -244,6 +256,7 @@ class PngImageHelper {
             if (png.palShades) {
                 RawImageData im2 = (RawImageData) ImageDataFactory.createRawImage(null);
                 RawImageHelper.updateRawImageParameters(im2, png.width, png.height, 1, 8, png.smask);
+                im2.setDeflated(png.smaskStream != null);
                 im2.makeMask();
                 png.image.setImageMask(im2);
             }
@@ -449,16 +462,40 @@ class PngImageHelper {
                 png.bytesPerPixel *= 4;
                 break;
         }
-        if (size >= 0)
-            png.imageData = new byte[size];
-        if (png.palShades)
-            png.smask = new byte[png.width * png.height];
-        else if (png.genBWMask)
-            png.smask = new byte[(png.width + 7) / 8 * png.height];
+        // 8-bit images with an alpha channel are split row by row into deflated color and alpha samples,
+        // so that neither the whole bitmap nor its channels are kept uncompressed
+        boolean splitAlpha = png.interlaceMethod != 1 && png.bitDepth == 8 && (png.image.getColorType() & 4) != 0;
+        ByteArrayOutputStream deflatedImageData = null;
+        ByteArrayOutputStream deflatedSmask = null;
+        if (splitAlpha) {
+            deflatedImageData = new ByteArrayOutputStream(png.idat.size());
+            deflatedSmask = new ByteArrayOutputStream(png.idat.size() / 4);
+            png.imageDataStream = new DeflaterOutputStream(deflatedImageData, -1, DEFLATER_BUFFER_SIZE);
+            png.smaskStream = new DeflaterOutputStream(deflatedSmask, -1, DEFLATER_BUFFER_SIZE);
+            png.colorRow = new byte[png.width * (png.inputBands - 1)];
+            png.alphaRow = new byte[png.width];
+        } else {
+            if (size >= 0)
+                png.imageData = new byte[size];
+            if (png.palShades)
+                png.smask = new byte[png.width * png.height];
+            else if (png.genBWMask)
+                png.smask = new byte[(png.width + 7) / 8 * png.height];
+        }
         ByteArrayInputStream bai = new ByteArrayInputStream(png.idat.toByteArray());
         png.dataStream = FilterUtil.getInflaterInputStream(bai);
 
-        if (png.interlaceMethod != 1) {
+        if (splitAlpha) {
+            decodePass(0, 0, 1, 1, png.width, png.height, png);
+            try {
+                png.imageDataStream.close();
+                png.smaskStream.close();
+            } catch (java.io.IOException e) {
+                throw new IOException(IoExceptionMessageConstant.PNG_IMAGE_EXCEPTION, e);
+            }
+            png.imageData = deflatedImageData.toByteArray();
+            png.smask = deflatedSmask.toByteArray();
+        } else if (png.interlaceMethod != 1) {
             decodePass(0, 0, 1, 1, png.width, png.height, png);
         } else {
             decodePass(0, 0, 8, 8, (png.width + 7) / 8, (png.height + 7) / 8, png);
@@ -516,7 +553,11 @@ class PngImageHelper {
                     throw new IOException(IoExceptionMessageConstant.UNKNOWN_PNG_FILTER);
             }
 
-            processPixels(curr, xOffset, xStep, dstY, passWidth, png);
+            if (png.imageDataStream != null) {
+                splitAlphaRow(curr, png);
+            } else {
+                processPixels(curr, xOffset, xStep, dstY, passWidth, png);
+            }
 
             // Swap curr and prior
             byte[] tmp = prior;
@@ -525,6 +566,31 @@ class PngImageHelper {
         }
     }
 
+    private static void splitAlphaRow(byte[] curr, PngParameters png) {
+        byte[] colorRow = png.colorRow;
+        byte[] alphaRow = png.alphaRow;
+        int src = 0;
+        if (png.inputBands == 4) {
+            for (int x = 0, dst = 0; x < png.width; x++) {
+                colorRow[dst++] = curr[src++];
+                colorRow[dst++] = curr[src++];
+                colorRow[dst++] = curr[src++];
+                alphaRow[x] = curr[src++];
+            }
+        } else {
+            for (int x = 0; x < png.width; x++) {
+                colorRow[x] = curr[src++];
+                alphaRow[x] = curr[src++];
+            }
+        }
+        try {
+            png.imageDataStream.write(colorRow);
+            png.smaskStream.write(alphaRow);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.PNG_IMAGE_EXCEPTION, e);
+        }
+    }
+
     private static void processPixels(byte[] curr, int xOffset, int step, int y, int width, PngParameters png) {
         int srcX, dstX;
         int colorType = png.image.getColorType();
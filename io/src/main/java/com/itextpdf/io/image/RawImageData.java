@@ -69,6 +69,13 @@ public class RawImageData extends ImageData {
     //NOTE in itext5 instead of typeCcitt bpc property was using for both bpc and type CCITT.
     protected int typeCcitt;
 
+    /**
+     * The CCITT parameters, i.e. a combination of the CCITT_* flags. They are kept apart from the color encoding
+     * components number, which is replaced with the actual number of components once the image attributes are
+     * updated, so that the attributes can be updated more than once with the same result.
+     */
+    protected int ccittParameters;
+
 
     protected RawImageData(URL url, ImageType type) {
         super(url, type);
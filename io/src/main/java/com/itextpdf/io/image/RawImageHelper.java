@@ -35,10 +35,11 @@ public final class RawImageHelper {
     public static void updateImageAttributes(RawImageData image, Map<String, Object> additional) {
         if (!image.isRawImage())
             throw new IllegalArgumentException("Raw image expected.");
-        // will also have the CCITT parameters
         int colorSpace = image.getColorEncodingComponentsNumber();
         int typeCCITT = image.getTypeCcitt();
         if (typeCCITT > 0xff) {
+            // the color encoding components number is replaced below, so the flags are read from the kept parameters
+            int parameters = image.ccittParameters;
             if (!image.isMask())
                 image.setColorEncodingComponentsNumber(1);
             image.setBpc(1);
@@ -47,19 +48,22 @@ public final class RawImageHelper {
             Map<String, Object> decodeparms = new HashMap<>();
             if (k != 0)
                 decodeparms.put("K", k);
-            if ((colorSpace & RawImageData.CCITT_BLACKIS1) != 0)
+            if ((parameters & RawImageData.CCITT_BLACKIS1) != 0)
                 decodeparms.put("BlackIs1", true);
-            if ((colorSpace & RawImageData.CCITT_ENCODEDBYTEALIGN) != 0)
+            if ((parameters & RawImageData.CCITT_ENCODEDBYTEALIGN) != 0)
                 decodeparms.put("EncodedByteAlign", true);
-            if ((colorSpace & RawImageData.CCITT_ENDOFLINE) != 0)
+            if ((parameters & RawImageData.CCITT_ENDOFLINE) != 0)
                 decodeparms.put("EndOfLine", true);
-            if ((colorSpace & RawImageData.CCITT_ENDOFBLOCK) != 0)
+            if ((parameters & RawImageData.CCITT_ENDOFBLOCK) != 0)
                 decodeparms.put("EndOfBlock", false);
             decodeparms.put("Columns", image.getWidth());
             decodeparms.put("Rows", image.getHeight());
             image.decodeParms = decodeparms;
         } else {
             switch (colorSpace) {
+                case -1:
+                    // a mask whose attributes have already been updated, its decode array is kept
+                    break;
                 case 1:
                     if (image.isInverted())
                         image.decode = new float[]{1, 0};
@@ -138,6 +142,7 @@ public final class RawImageHelper {
         image.setHeight(height);
         image.setWidth(width);
         image.setColorEncodingComponentsNumber(parameters);
+        image.ccittParameters = parameters;
         image.setTypeCcitt(typeCcitt);
         image.data = data;
     }
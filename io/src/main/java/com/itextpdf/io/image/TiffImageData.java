@@ -36,6 +36,10 @@ public class TiffImageData extends RawImageData {
     private boolean recoverFromImageError;
     private int page;
     private boolean direct;
+    /**
+     * The offset of the image file directory of the page or -1 if it shall be looked up by the page number.
+     */
+    private long directoryOffset = -1;
 
     protected TiffImageData(URL url, boolean recoverFromImageError, int page, boolean direct) {
         super(url, ImageType.TIFF);
@@ -93,6 +97,14 @@ public class TiffImageData extends RawImageData {
         return direct;
     }
 
+    long getDirectoryOffset() {
+        return directoryOffset;
+    }
+
+    void setDirectoryOffset(long directoryOffset) {
+        this.directoryOffset = directoryOffset;
+    }
+
     public void setOriginalType(ImageType originalType) {
         this.originalType = originalType;
     }
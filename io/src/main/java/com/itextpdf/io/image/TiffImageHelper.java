@@ -22,6 +22,7 @@
  */
 package com.itextpdf.io.image;
 
+import com.itextpdf.io.codec.CCITTFaxDecoder;
 import com.itextpdf.io.codec.CCITTG4Encoder;
 import com.itextpdf.io.codec.TIFFConstants;
 import com.itextpdf.io.codec.TIFFDirectory;
@@ -87,7 +88,9 @@ class TiffImageHelper {
         if (page < 1)
             throw new IOException(IoExceptionMessageConstant.PAGE_NUMBER_MUST_BE_GT_EQ_1);
         try {
-            TIFFDirectory dir = new TIFFDirectory(s, page - 1);
+            long directoryOffset = tiff.image.getDirectoryOffset();
+            TIFFDirectory dir = directoryOffset < 0 ? new TIFFDirectory(s, page - 1)
+                    : new TIFFDirectory(s, directoryOffset, 0);
             if (dir.isTagPresent(TIFFConstants.TIFFTAG_TILEWIDTH))
                 throw new IOException(IoExceptionMessageConstant.TILES_ARE_NOT_SUPPORTED);
             int compression = TIFFConstants.COMPRESSION_NONE;
@@ -192,28 +195,34 @@ class TiffImageHelper {
             } else {
                 int rowsLeft = h;
                 CCITTG4Encoder g4 = new CCITTG4Encoder(w);
+                CCITTFaxDecoder decoder = new CCITTFaxDecoder(w, fillOrder);
                 for (int k = 0; k < offset.length; ++k) {
                     byte[] im = new byte[(int) size[k]];
                     s.seek(offset[k]);
                     s.readFully(im);
                     int height = Math.min(rowsStrip, rowsLeft);
-                    TIFFFaxDecoder decoder = new TIFFFaxDecoder(fillOrder, w, height);
-                    decoder.setRecoverFromImageError(recoverFromImageError);
                     byte[] outBuf = new byte[(w + 7) / 8 * height];
                     switch (compression) {
                         case TIFFConstants.COMPRESSION_CCITTRLEW:
                         case TIFFConstants.COMPRESSION_CCITTRLE:
-                            decoder.decode1D(outBuf, im, 0, height);
+                            try {
+                                decoder.decodeModifiedHuffman(outBuf, im, height);
+                            } catch (IOException e) {
+                                // the rows which haven't been decoded are left white
+                                if (!recoverFromImageError) {
+                                    throw e;
+                                }
+                            }
                             g4.fax4Encode(outBuf, height);
                             break;
                         case TIFFConstants.COMPRESSION_CCITTFAX3:
                             try {
-                                decoder.decode2D(outBuf, im, 0, height, tiffT4Options);
+                                decoder.decodeT4(outBuf, im, height, tiffT4Options);
                             } catch (RuntimeException e) {
                                 // let's flip the fill bits and try again...
                                 tiffT4Options ^= TIFFConstants.GROUP3OPT_FILLBITS;
                                 try {
-                                    decoder.decode2D(outBuf, im, 0, height, tiffT4Options);
+                                    decoder.decodeT4(outBuf, im, height, tiffT4Options);
                                 } catch (RuntimeException e2) {
                                     if (!recoverFromImageError)
                                         throw e;
@@ -236,8 +245,11 @@ class TiffImageHelper {
                             g4.fax4Encode(outBuf, height);
                             break;
                         case TIFFConstants.COMPRESSION_CCITTFAX4:
+                            // The end of the data and invalid codes end G4 decoding without an error
+                            // regardless of recoverFromImageError, the remaining rows are left white.
+                            // Strips truncated that way are common and have always been accepted.
                             try {
-                                decoder.decodeT6(outBuf, im, 0, height, tiffT6Options);
+                                decoder.decodeT6(outBuf, im, height, tiffT6Options);
                             } catch (IOException e) {
                                 if (!recoverFromImageError) {
                                     throw e;
@@ -0,0 +1,206 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.codec.TIFFDirectory;
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A lazy sequence of the pages of a multi-page TIFF image.
+ * <p>
+ * The image directories are indexed once, when the sequence is created, and each page is decoded from its
+ * directory only when it is needed. If the parallelism is greater than one, the following pages are decoded
+ * in background threads while the current one is being consumed. Decoding ahead stops once the number of
+ * the pages being decoded reaches the parallelism or the decoded pages waiting to be consumed take more than
+ * the specified number of bytes.
+ * <p>
+ * The background threads are released once the last page has been returned. Call {@link #close()} if the
+ * sequence is abandoned before that.
+ */
+public class TiffPageSequence implements Iterator<ImageData>, Closeable {
+
+    /**
+     * The default maximum number of bytes the pages decoded ahead may take.
+     */
+    public static final long DEFAULT_MAX_BUFFERED_BYTES = 64L * 1024 * 1024;
+
+    private final byte[] bytes;
+    private final boolean recoverFromImageError;
+    private final boolean direct;
+    private final long[] directoryOffsets;
+    private final int parallelism;
+    private final long maxBufferedBytes;
+    private final Deque<Future<ImageData>> pending = new ArrayDeque<>();
+    private ExecutorService executor;
+    private int nextPage;
+    private int scheduledPages;
+
+    TiffPageSequence(byte[] bytes, boolean recoverFromImageError, boolean direct, int parallelism,
+            long maxBufferedBytes) {
+        this.bytes = bytes;
+        this.recoverFromImageError = recoverFromImageError;
+        this.direct = direct;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxBufferedBytes = maxBufferedBytes;
+        try {
+            this.directoryOffsets = TIFFDirectory.getDirectoryOffsets(
+                    new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.TIFF_IMAGE_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * Gets the number of pages of the TIFF image.
+     *
+     * @return the number of pages
+     */
+    public int getNumberOfPages() {
+        return directoryOffsets.length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextPage < directoryOffsets.length;
+    }
+
+    /**
+     * Gets the next page of the TIFF image, waiting for it to be decoded if needed.
+     *
+     * @return the {@link ImageData} of the next page
+     */
+    @Override
+    public ImageData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImageData image;
+        if (parallelism == 1) {
+            image = decodePage(nextPage);
+        } else {
+            scheduleAhead();
+            image = getResult(pending.pollFirst());
+        }
+        nextPage++;
+        if (hasNext()) {
+            scheduleAhead();
+        } else {
+            close();
+        }
+        return image;
+    }
+
+    /**
+     * Stops decoding ahead and releases the background threads.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        pending.clear();
+        scheduledPages = nextPage;
+    }
+
+    private void scheduleAhead() {
+        if (parallelism == 1) {
+            return;
+        }
+        while (scheduledPages < directoryOffsets.length && (pending.isEmpty()
+                || pending.size() < parallelism && getBufferedBytes() < maxBufferedBytes)) {
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory());
+            }
+            final int page = scheduledPages++;
+            pending.addLast(executor.submit(new Callable<ImageData>() {
+                @Override
+                public ImageData call() {
+                    return decodePage(page);
+                }
+            }));
+        }
+    }
+
+    private long getBufferedBytes() {
+        long length = 0;
+        for (Future<ImageData> future : pending) {
+            if (future.isDone()) {
+                try {
+                    byte[] data = future.get().getData();
+                    length += data == null ? 0 : data.length;
+                } catch (Exception e) {
+                    // the failure is reported once the page is requested
+                }
+            }
+        }
+        return length;
+    }
+
+    private ImageData decodePage(int page) {
+        TiffImageData image = new TiffImageData(bytes, recoverFromImageError, page + 1, direct);
+        image.setDirectoryOffset(directoryOffsets[page]);
+        TiffImageHelper.processImage(image);
+        return image;
+    }
+
+    private static ImageData getResult(Future<ImageData> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = defaultFactory.newThread(r);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
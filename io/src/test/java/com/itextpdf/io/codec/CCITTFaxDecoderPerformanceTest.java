@@ -0,0 +1,136 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.codec;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.PerformanceTest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the speed of {@link CCITTFaxDecoder} with the one of {@link TIFFFaxDecoder} on a scanned text page.
+ * The best time of several rounds is taken for each decoder, so that the JIT warm-up and the garbage collection
+ * don't affect the result.
+ */
+@Category(PerformanceTest.class)
+public class CCITTFaxDecoderPerformanceTest extends ExtendedITextTest {
+
+    // A4 at 300 dpi
+    private static final int WIDTH = 2480;
+    private static final int HEIGHT = 3508;
+    private static final int ROW_BYTES = (WIDTH + 7) / 8;
+
+    private static final int ROUNDS = 10;
+    private static final int ITERATIONS = 5;
+
+    @Test
+    public void decodeT6PerformanceTest() {
+        byte[] page = createTextPage();
+        byte[] encoded = CCITTG4Encoder.compress(page, WIDTH, HEIGHT);
+        CCITTFaxDecoder decoder = new CCITTFaxDecoder(WIDTH, 1);
+        byte[] decoded = new byte[page.length];
+        decoder.decodeT6(decoded, encoded, HEIGHT, 0);
+        Assert.assertArrayEquals(page, decoded);
+
+        compare("G4", () -> new TIFFFaxDecoder(1, WIDTH, HEIGHT).decodeT6(new byte[page.length], encoded, 0, HEIGHT, 0),
+                () -> decoder.decodeT6(decoded, encoded, HEIGHT, 0));
+    }
+
+    @Test
+    public void decodeT4PerformanceTest() {
+        byte[] page = createTextPage();
+        byte[] encoded = CCITTTestEncoder.encodeT4(page, WIDTH, HEIGHT, 4);
+        CCITTFaxDecoder decoder = new CCITTFaxDecoder(WIDTH, 1);
+        byte[] decoded = new byte[page.length];
+        decoder.decodeT4(decoded, encoded, HEIGHT, TIFFConstants.GROUP3OPT_2DENCODING);
+        Assert.assertArrayEquals(page, decoded);
+
+        compare("T.4 2D", () -> new TIFFFaxDecoder(1, WIDTH, HEIGHT).decode2D(new byte[page.length], encoded, 0,
+                HEIGHT, TIFFConstants.GROUP3OPT_2DENCODING),
+                () -> decoder.decodeT4(decoded, encoded, HEIGHT, TIFFConstants.GROUP3OPT_2DENCODING));
+    }
+
+    @Test
+    public void decodeModifiedHuffmanPerformanceTest() {
+        byte[] page = createTextPage();
+        byte[] encoded = CCITTTestEncoder.encodeModifiedHuffman(page, WIDTH, HEIGHT);
+        CCITTFaxDecoder decoder = new CCITTFaxDecoder(WIDTH, 1);
+        byte[] decoded = new byte[page.length];
+        decoder.decodeModifiedHuffman(decoded, encoded, HEIGHT);
+        Assert.assertArrayEquals(page, decoded);
+
+        compare("MH", () -> new TIFFFaxDecoder(1, WIDTH, HEIGHT).decode1D(new byte[page.length], encoded, 0, HEIGHT),
+                () -> decoder.decodeModifiedHuffman(decoded, encoded, HEIGHT));
+    }
+
+    private static void compare(String format, Runnable oldDecoding, Runnable newDecoding) {
+        double oldTime = Double.MAX_VALUE;
+        double newTime = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            oldTime = Math.min(oldTime, measure(oldDecoding));
+            newTime = Math.min(newTime, measure(newDecoding));
+        }
+        System.out.println(String.format("%s: TIFFFaxDecoder %.2f ms/page, CCITTFaxDecoder %.2f ms/page",
+                format, oldTime, newTime));
+        Assert.assertTrue(format + " decoding has become slower", newTime < oldTime);
+    }
+
+    private static double measure(Runnable decoding) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decoding.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+
+    /**
+     * Creates a page covered with lines of glyph-like boxes, similar to a scanned text document.
+     */
+    private static byte[] createTextPage() {
+        byte[] page = new byte[ROW_BYTES * HEIGHT];
+        int margin = 150;
+        for (int y = margin; y < HEIGHT - margin; y++) {
+            int line = (y - margin) / 50;
+            int lineY = (y - margin) % 50;
+            if (lineY > 32) {
+                continue;
+            }
+            for (int x = margin; x < WIDTH - margin; x++) {
+                int glyph = (x - margin) / 22;
+                int glyphX = (x - margin) % 22;
+                if (((line * 1000 + glyph) * 2654435761L >>> 7) % 7 == 0) {
+                    // a space
+                    continue;
+                }
+                boolean ink = glyphX < 16 && (glyphX < 3 || glyphX > 12 || lineY < 3 || lineY > 28
+                        || Math.abs(glyphX - lineY / 2) < 2);
+                if (ink) {
+                    page[y * ROW_BYTES + (x >> 3)] |= (byte) (0x80 >> (x & 7));
+                }
+            }
+        }
+        return page;
+    }
+}
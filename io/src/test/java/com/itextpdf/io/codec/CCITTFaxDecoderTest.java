@@ -0,0 +1,253 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.codec;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class CCITTFaxDecoderTest extends ExtendedITextTest {
+
+    // 2561 and more pixels long runs are coded with several makeup codes
+    private static final int[] COMPARED_WIDTHS = {7, 8, 9, 63, 64, 65, 1728, 2561, 2625, 5000};
+    private static final int[] AVERAGE_RUNS = {1, 2, 12, 300, 100000};
+
+    @Test
+    public void decodeT6RoundTripTest() {
+        int[] widths = {1, 7, 8, 33, 200};
+        for (int width : widths) {
+            byte[] image = createImage(width, 50, width);
+            byte[] encoded = CCITTG4Encoder.compress(image, width, 50);
+            byte[] decoded = new byte[image.length];
+            new CCITTFaxDecoder(width, 1).decodeT6(decoded, encoded, 50, 0);
+            Assert.assertArrayEquals("width " + width, image, decoded);
+        }
+    }
+
+    @Test
+    public void decodeT6RowListenerTest() {
+        int width = 100;
+        int height = 40;
+        int rowSize = (width + 7) / 8;
+        byte[] image = createImage(width, height, 1);
+        byte[] encoded = CCITTG4Encoder.compress(image, width, height);
+        final byte[] decoded = new byte[image.length];
+        final int[] rowCount = {0};
+        new CCITTFaxDecoder(width, 1).decodeT6(encoded, height, 0, new CCITTFaxDecoder.IRowListener() {
+            @Override
+            public void rowDecoded(byte[] row, int rowIndex) {
+                Assert.assertEquals(rowCount[0]++, rowIndex);
+                System.arraycopy(row, 0, decoded, rowIndex * rowSize, rowSize);
+            }
+        });
+        Assert.assertEquals(height, rowCount[0]);
+        Assert.assertArrayEquals(image, decoded);
+    }
+
+    @Test
+    public void decodeT6ReversedFillOrderTest() {
+        int width = 64;
+        int height = 30;
+        byte[] image = createImage(width, height, 2);
+        byte[] encoded = CCITTG4Encoder.compress(image, width, height);
+        TIFFFaxDecoder.reverseBits(encoded);
+        byte[] decoded = new byte[image.length];
+        new CCITTFaxDecoder(width, 2).decodeT6(decoded, encoded, height, 0);
+        Assert.assertArrayEquals(image, decoded);
+    }
+
+    @Test
+    public void decodeT6SameAsTiffFaxDecoderTest() {
+        int width = 150;
+        int height = 60;
+        byte[] image = createImage(width, height, 3);
+        byte[] encoded = CCITTG4Encoder.compress(image, width, height);
+        byte[] expected = new byte[image.length];
+        new TIFFFaxDecoder(1, width, height).decodeT6(expected, encoded, 0, height, 0);
+        byte[] decoded = new byte[image.length];
+        new CCITTFaxDecoder(width, 1).decodeT6(decoded, encoded, height, 0);
+        Assert.assertArrayEquals(expected, decoded);
+    }
+
+    @Test
+    public void decodeModifiedHuffmanSameAsTiffFaxDecoderTest() {
+        for (int width : COMPARED_WIDTHS) {
+            for (int averageRun : AVERAGE_RUNS) {
+                int height = 20;
+                byte[] image = CCITTTestEncoder.createImage(width, height, averageRun, width + averageRun);
+                byte[] encoded = CCITTTestEncoder.encodeModifiedHuffman(image, width, height);
+                byte[] decoded = new byte[image.length];
+                new CCITTFaxDecoder(width, 1).decodeModifiedHuffman(decoded, encoded, height);
+
+                String message = "width " + width + ", average run " + averageRun;
+                Assert.assertArrayEquals(message, image, decoded);
+                Assert.assertArrayEquals(message, decodeWithTiffFaxDecoder(encoded, width, height,
+                        TIFFConstants.COMPRESSION_CCITTRLE, 0), decoded);
+            }
+        }
+    }
+
+    @Test
+    public void decodeT4OneDimensionalSameAsTiffFaxDecoderTest() {
+        for (int width : COMPARED_WIDTHS) {
+            for (int averageRun : AVERAGE_RUNS) {
+                int height = 20;
+                byte[] image = CCITTTestEncoder.createImage(width, height, averageRun, width * averageRun);
+                byte[] encoded = CCITTTestEncoder.encodeT4(image, width, height, 1);
+                byte[] decoded = new byte[image.length];
+                new CCITTFaxDecoder(width, 1).decodeT4(decoded, encoded, height, 0);
+
+                String message = "width " + width + ", average run " + averageRun;
+                Assert.assertArrayEquals(message, image, decoded);
+                Assert.assertArrayEquals(message, decodeWithTiffFaxDecoder(encoded, width, height,
+                        TIFFConstants.COMPRESSION_CCITTFAX3, 0), decoded);
+            }
+        }
+    }
+
+    @Test
+    public void decodeT4TwoDimensionalSameAsTiffFaxDecoderTest() {
+        for (int width : COMPARED_WIDTHS) {
+            for (int averageRun : AVERAGE_RUNS) {
+                int height = 20;
+                byte[] image = CCITTTestEncoder.createImage(width, height, averageRun, width - averageRun);
+                byte[] encoded = CCITTTestEncoder.encodeT4(image, width, height, 4);
+                byte[] decoded = new byte[image.length];
+                new CCITTFaxDecoder(width, 1).decodeT4(decoded, encoded, height, TIFFConstants.GROUP3OPT_2DENCODING);
+
+                String message = "width " + width + ", average run " + averageRun;
+                Assert.assertArrayEquals(message, image, decoded);
+                Assert.assertArrayEquals(message, decodeWithTiffFaxDecoder(encoded, width, height,
+                        TIFFConstants.COMPRESSION_CCITTFAX3, TIFFConstants.GROUP3OPT_2DENCODING), decoded);
+            }
+        }
+    }
+
+    @Test
+    public void decodeT6SameAsTiffFaxDecoderRandomizedTest() {
+        for (int width : COMPARED_WIDTHS) {
+            for (int averageRun : AVERAGE_RUNS) {
+                int height = 20;
+                byte[] image = CCITTTestEncoder.createImage(width, height, averageRun, width ^ averageRun);
+                byte[] encoded = CCITTG4Encoder.compress(image, width, height);
+                byte[] decoded = new byte[image.length];
+                new CCITTFaxDecoder(width, 1).decodeT6(decoded, encoded, height, 0);
+
+                String message = "width " + width + ", average run " + averageRun;
+                Assert.assertArrayEquals(message, image, decoded);
+                Assert.assertArrayEquals(message, decodeWithTiffFaxDecoder(encoded, width, height,
+                        TIFFConstants.COMPRESSION_CCITTFAX4, 0), decoded);
+            }
+        }
+    }
+
+    @Test
+    public void decodeT4RowListenerTest() {
+        int width = 90;
+        int height = 30;
+        int rowSize = (width + 7) / 8;
+        byte[] image = createImage(width, height, 5);
+        byte[] encoded = CCITTTestEncoder.encodeT4(image, width, height, 3);
+        final byte[] decoded = new byte[image.length];
+        new CCITTFaxDecoder(width, 1).decodeT4(encoded, height, TIFFConstants.GROUP3OPT_2DENCODING,
+                (row, rowIndex) -> System.arraycopy(row, 0, decoded, rowIndex * rowSize, rowSize));
+        Assert.assertArrayEquals(image, decoded);
+    }
+
+    @Test
+    public void decodeModifiedHuffmanTruncatedDataTest() {
+        int width = 80;
+        int height = 40;
+        byte[] image = createImage(width, height, 6);
+        byte[] encoded = CCITTTestEncoder.encodeModifiedHuffman(image, width, height);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+        Exception e = Assert.assertThrows(IOException.class,
+                () -> new CCITTFaxDecoder(width, 1).decodeModifiedHuffman(new byte[image.length], truncated, height));
+        Assert.assertEquals(IoExceptionMessageConstant.INVALID_CODE_ENCOUNTERED, e.getMessage());
+    }
+
+    @Test
+    public void decodeT4TruncatedDataTest() {
+        int width = 80;
+        int height = 40;
+        byte[] image = createImage(width, height, 7);
+        byte[] encoded = CCITTTestEncoder.encodeT4(image, width, height, 1);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+        Assert.assertThrows(IOException.class,
+                () -> new CCITTFaxDecoder(width, 1).decodeT4(new byte[image.length], truncated, height, 0));
+    }
+
+    @Test
+    public void decodeT6TruncatedDataTest() {
+        int width = 80;
+        int height = 40;
+        byte[] image = createImage(width, height, 4);
+        byte[] encoded = CCITTG4Encoder.compress(image, width, height);
+        byte[] decoded = new byte[image.length];
+        Arrays.fill(decoded, (byte) 0x55);
+        new CCITTFaxDecoder(width, 1).decodeT6(decoded, Arrays.copyOf(encoded, encoded.length / 2), height, 0);
+        int rowSize = (width + 7) / 8;
+        // the last rows can't be decoded, they're left white
+        for (int i = (height - 1) * rowSize; i < decoded.length; i++) {
+            Assert.assertEquals(0, decoded[i]);
+        }
+    }
+
+    @Test
+    public void decoderReuseTest() {
+        int width = 120;
+        int height = 20;
+        CCITTFaxDecoder decoder = new CCITTFaxDecoder(width, 1);
+        for (int seed = 10; seed < 13; seed++) {
+            byte[] image = createImage(width, height, seed);
+            byte[] decoded = new byte[image.length];
+            decoder.decodeT6(decoded, CCITTG4Encoder.compress(image, width, height), height, 0);
+            Assert.assertArrayEquals(image, decoded);
+        }
+    }
+
+    private static byte[] createImage(int width, int height, long seed) {
+        return CCITTTestEncoder.createImage(width, height, 12, seed);
+    }
+
+    private static byte[] decodeWithTiffFaxDecoder(byte[] encoded, int width, int height, int compression,
+            long options) {
+        byte[] decoded = new byte[(width + 7) / 8 * height];
+        TIFFFaxDecoder decoder = new TIFFFaxDecoder(1, width, height);
+        if (compression == TIFFConstants.COMPRESSION_CCITTRLE) {
+            decoder.decode1D(decoded, encoded, 0, height);
+        } else if (compression == TIFFConstants.COMPRESSION_CCITTFAX3) {
+            decoder.decode2D(decoded, encoded, 0, height, options);
+        } else {
+            decoder.decodeT6(decoded, encoded, 0, height, options);
+        }
+        return decoded;
+    }
+}
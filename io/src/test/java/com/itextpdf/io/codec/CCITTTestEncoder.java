@@ -0,0 +1,220 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+/**
+ * Encodes bilevel images into modified Huffman and T.4 data, the formats {@link CCITTG4Encoder} doesn't produce.
+ * Rows are coded straightforwardly from their changing elements, the speed is of no concern here.
+ */
+final class CCITTTestEncoder {
+
+    private static final int EOL_CODE = 0x001;
+    private static final int EOL_LENGTH = 12;
+
+    private CCITTTestEncoder() {
+        // Empty constructor
+    }
+
+    /**
+     * Encodes the image with modified Huffman coding (TIFF compression 2), every row starts on a byte boundary.
+     */
+    static byte[] encodeModifiedHuffman(byte[] image, int width, int height) {
+        BitWriter writer = new BitWriter();
+        for (int y = 0; y < height; y++) {
+            encode1DRow(writer, getChangingElements(image, width, y));
+            writer.alignToByte();
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes the image with T.4 coding. Every row is preceded by an EOL code word. If {@code k} is greater than 1,
+     * the EOL code words are followed by the tag bits and only every k-th row is coded one-dimensionally.
+     */
+    static byte[] encodeT4(byte[] image, int width, int height, int k) {
+        BitWriter writer = new BitWriter();
+        int[] reference = null;
+        for (int y = 0; y < height; y++) {
+            int[] elements = getChangingElements(image, width, y);
+            writer.write(EOL_CODE, EOL_LENGTH);
+            boolean oneDimensional = k <= 1 || y % k == 0;
+            if (k > 1) {
+                writer.write(oneDimensional ? 1 : 0, 1);
+            }
+            if (oneDimensional) {
+                encode1DRow(writer, elements);
+            } else {
+                encode2DRow(writer, elements, reference, width);
+            }
+            reference = elements;
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Creates a random image which consists of the runs of the specified average length.
+     */
+    static byte[] createImage(int width, int height, int averageRun, long seed) {
+        Random random = new Random(seed);
+        int rowBytes = (width + 7) / 8;
+        byte[] image = new byte[rowBytes * height];
+        boolean black = false;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (random.nextInt(averageRun) == 0) {
+                    black = !black;
+                }
+                if (black) {
+                    image[y * rowBytes + x / 8] |= (byte) (0x80 >> (x & 7));
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Gets the positions of the pixels whose color differs from the color of the previous pixel,
+     * the pixel before the first one is white. The positions are followed by two {@code width} values.
+     */
+    private static int[] getChangingElements(byte[] image, int width, int y) {
+        int rowBytes = (width + 7) / 8;
+        int[] elements = new int[width + 2];
+        int count = 0;
+        int color = 0;
+        for (int x = 0; x < width; x++) {
+            int pixel = (image[y * rowBytes + x / 8] >> (7 - (x & 7))) & 1;
+            if (pixel != color) {
+                elements[count++] = x;
+                color = pixel;
+            }
+        }
+        elements[count] = width;
+        elements[count + 1] = width;
+        int[] result = new int[count + 2];
+        System.arraycopy(elements, 0, result, 0, count + 2);
+        return result;
+    }
+
+    private static void encode1DRow(BitWriter writer, int[] elements) {
+        int a0 = 0;
+        boolean white = true;
+        int width = elements[elements.length - 1];
+        for (int i = 0; a0 < width; i++) {
+            int a1 = elements[i];
+            writeRun(writer, a1 - a0, white);
+            a0 = a1;
+            white = !white;
+        }
+    }
+
+    private static void encode2DRow(BitWriter writer, int[] elements, int[] reference, int width) {
+        int a0 = -1;
+        boolean white = true;
+        while (a0 < width) {
+            int a1 = findNext(elements, a0, -1);
+            // b1 is the first changing element of the reference row to the right of a0 of the opposite color,
+            // changes to black have even indexes
+            int b1Index = findNextIndex(reference, a0, white ? 0 : 1);
+            int b1 = reference[b1Index];
+            int b2 = reference[Math.min(b1Index + 1, reference.length - 1)];
+            if (b2 < a1) {
+                int[] pass = CCITTG4Encoder.passcode;
+                writer.write(pass[CCITTG4Encoder.CODE], pass[CCITTG4Encoder.LENGTH]);
+                a0 = b2;
+            } else if (Math.abs(a1 - b1) <= 3) {
+                int[] vertical = CCITTG4Encoder.vcodes[b1 - a1 + 3];
+                writer.write(vertical[CCITTG4Encoder.CODE], vertical[CCITTG4Encoder.LENGTH]);
+                a0 = a1;
+                white = !white;
+            } else {
+                int a2 = findNext(elements, a1, -1);
+                int[] horizontal = CCITTG4Encoder.horizcode;
+                writer.write(horizontal[CCITTG4Encoder.CODE], horizontal[CCITTG4Encoder.LENGTH]);
+                writeRun(writer, a1 - Math.max(a0, 0), white);
+                writeRun(writer, a2 - a1, !white);
+                a0 = a2;
+            }
+        }
+    }
+
+    private static int findNext(int[] elements, int position, int parity) {
+        return elements[findNextIndex(elements, position, parity)];
+    }
+
+    private static int findNextIndex(int[] elements, int position, int parity) {
+        int i = 0;
+        while (i < elements.length - 1 && (elements[i] <= position || parity >= 0 && (i & 1) != parity)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void writeRun(BitWriter writer, int run, boolean white) {
+        int[][] codes = white ? CCITTG4Encoder.TIFFFaxWhiteCodes : CCITTG4Encoder.TIFFFaxBlackCodes;
+        while (run >= 2624) {
+            // the longest makeup code, 2560
+            writeCode(writer, codes[63 + 2560 / 64]);
+            run -= 2560;
+        }
+        if (run >= 64) {
+            writeCode(writer, codes[63 + run / 64]);
+            run %= 64;
+        }
+        writeCode(writer, codes[run]);
+    }
+
+    private static void writeCode(BitWriter writer, int[] code) {
+        writer.write(code[CCITTG4Encoder.CODE], code[CCITTG4Encoder.LENGTH]);
+    }
+
+    private static final class BitWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private int current;
+        private int bitCount;
+
+        void write(int code, int length) {
+            for (int i = length - 1; i >= 0; i--) {
+                current = current << 1 | (code >> i) & 1;
+                if (++bitCount == 8) {
+                    out.write(current);
+                    current = 0;
+                    bitCount = 0;
+                }
+            }
+        }
+
+        void alignToByte() {
+            if (bitCount != 0) {
+                write(0, 8 - bitCount);
+            }
+        }
+
+        byte[] toByteArray() {
+            alignToByte();
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FontProgramDescriptorIndexTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/io/font/sharedFontsResourceFiles/";
+
+    private static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/io/font/FontProgramDescriptorIndexTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+    }
+
+    @Test
+    public void savedIndexIsReusedTest() throws IOException {
+        String fontPath = copyFont("reused.otf");
+        String indexPath = DESTINATION_FOLDER + "reused.idx";
+
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex(indexPath);
+        FontProgramDescriptor descriptor = index.fetchDescriptor(fontPath);
+        index.save();
+
+        FontProgramDescriptorIndex loadedIndex = new FontProgramDescriptorIndex(indexPath);
+        Assert.assertEquals(1, loadedIndex.size());
+        FontProgramDescriptor loadedDescriptor = loadedIndex.fetchDescriptor(fontPath);
+        Assert.assertNotSame(descriptor, loadedDescriptor);
+        assertDescriptorsEqual(descriptor, loadedDescriptor);
+        Assert.assertSame(loadedDescriptor, loadedIndex.fetchDescriptor(fontPath));
+    }
+
+    @Test
+    public void changedFileIsFetchedAgainTest() throws IOException {
+        String fontPath = copyFont("changed.otf");
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        FontProgramDescriptor descriptor = index.fetchDescriptor(fontPath);
+        Assert.assertSame(descriptor, index.fetchDescriptor(fontPath));
+
+        Assert.assertTrue(new File(fontPath).setLastModified(new File(fontPath).lastModified() - 10000));
+        FontProgramDescriptor fetchedAgain = index.fetchDescriptor(fontPath);
+        Assert.assertNotSame(descriptor, fetchedAgain);
+        assertDescriptorsEqual(descriptor, fetchedAgain);
+    }
+
+    @Test
+    public void invalidFontIsIndexedTest() throws IOException {
+        String fontPath = DESTINATION_FOLDER + "invalid.ttf";
+        try (OutputStream os = new FileOutputStream(fontPath)) {
+            os.write(new byte[] {1, 2, 3, 4});
+        }
+        String indexPath = DESTINATION_FOLDER + "invalid.idx";
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex(indexPath);
+        Assert.assertNull(index.fetchDescriptor(fontPath));
+        index.save();
+
+        FontProgramDescriptorIndex loadedIndex = new FontProgramDescriptorIndex(indexPath);
+        Assert.assertEquals(1, loadedIndex.size());
+        Assert.assertNull(loadedIndex.fetchDescriptor(fontPath));
+    }
+
+    @Test
+    public void fetchDescriptorsInParallelTest() throws IOException {
+        String[] fontPaths = new String[8];
+        for (int i = 0; i < fontPaths.length; i++) {
+            fontPaths[i] = copyFont("parallel" + i + ".otf");
+        }
+        FontProgramDescriptor[] descriptors = new FontProgramDescriptorIndex().setParallelism(4)
+                .fetchDescriptors(Arrays.asList(fontPaths));
+        Assert.assertEquals(fontPaths.length, descriptors.length);
+        FontProgramDescriptor expected = FontProgramDescriptorFactory.fetchDescriptor(fontPaths[0]);
+        for (FontProgramDescriptor descriptor : descriptors) {
+            assertDescriptorsEqual(expected, descriptor);
+        }
+    }
+
+    @Test
+    public void standardFontIsNotIndexedTest() {
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        Assert.assertEquals("Helvetica", index.fetchDescriptor("Helvetica").getFontName());
+        Assert.assertEquals(0, index.size());
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = IoLogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ))
+    public void corruptedIndexIsRebuiltTest() throws IOException {
+        String fontPath = copyFont("corrupted.otf");
+        String indexPath = DESTINATION_FOLDER + "corrupted.idx";
+        try (OutputStream os = new FileOutputStream(indexPath)) {
+            os.write(new byte[] {0x49, 0x54, 0x46, 0x49, 0, 0, 0, 1, 0, 0, 0, 5});
+        }
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex(indexPath);
+        Assert.assertEquals(0, index.size());
+        Assert.assertNotNull(index.fetchDescriptor(fontPath));
+        index.save();
+        Assert.assertEquals(1, new FontProgramDescriptorIndex(indexPath).size());
+    }
+
+    private static String copyFont(String name) throws IOException {
+        File target = new File(DESTINATION_FOLDER + name);
+        Files.copy(new File(SOURCE_FOLDER + "Puritan2.otf").toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        return target.getPath();
+    }
+
+    private static void assertDescriptorsEqual(FontProgramDescriptor expected, FontProgramDescriptor actual) {
+        Assert.assertEquals(expected.getFontName(), actual.getFontName());
+        Assert.assertEquals(expected.getFullNameLowerCase(), actual.getFullNameLowerCase());
+        Assert.assertEquals(expected.getFamilyNameLowerCase(), actual.getFamilyNameLowerCase());
+        Assert.assertEquals(expected.getFamilyName2LowerCase(), actual.getFamilyName2LowerCase());
+        Assert.assertEquals(expected.getStyle(), actual.getStyle());
+        Assert.assertEquals(expected.getFontWeight(), actual.getFontWeight());
+        Assert.assertEquals(expected.getItalicAngle(), actual.getItalicAngle(), 0);
+        Assert.assertEquals(expected.isBold(), actual.isBold());
+        Assert.assertEquals(expected.isItalic(), actual.isItalic());
+        Assert.assertEquals(expected.isMonospace(), actual.isMonospace());
+        Assert.assertEquals(expected.getFullNameAllLangs(), actual.getFullNameAllLangs());
+        Assert.assertEquals(expected.getFullNamesEnglishOpenType(), actual.getFullNamesEnglishOpenType());
+        Assert.assertEquals(expected.getFamilyNameEnglishOpenType(), actual.getFamilyNameEnglishOpenType());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class IntGlyphMapTest extends ExtendedITextTest {
+
+    @Test
+    public void basicPlaneAndOtherKeysTest() {
+        IntGlyphMap map = new IntGlyphMap();
+        Glyph a = new Glyph(1, 500, 'a');
+        Glyph emoji = new Glyph(2, 1000, 0x1F600);
+        Glyph negative = new Glyph(3, 0, -1);
+        map.put('a', a);
+        map.put(0x1F600, emoji);
+        map.put(-1, negative);
+
+        Assert.assertEquals(3, map.size());
+        Assert.assertSame(a, map.get('a'));
+        Assert.assertSame(emoji, map.get(0x1F600));
+        Assert.assertSame(negative, map.get(-1));
+        Assert.assertSame(emoji, map.get((Object) 0x1F600));
+        Assert.assertNull(map.get('b'));
+        Assert.assertNull(map.get(0x1F601));
+        Assert.assertNull(map.get("a"));
+        Assert.assertTrue(map.containsKey(-1));
+        Assert.assertFalse(map.containsKey(0x10000));
+    }
+
+    @Test
+    public void insertionOrderIsKeptTest() {
+        IntGlyphMap map = new IntGlyphMap(2);
+        int[] keys = {300, 5, 0x20000, 70000, 1, 0xFFFF};
+        for (int key : keys) {
+            map.put(key, new Glyph(key, 0, key));
+        }
+        map.put(5, new Glyph(6, 0, 5));
+
+        List<Integer> iterated = new ArrayList<>(map.keySet());
+        Assert.assertEquals(keys.length, iterated.size());
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(keys[i], (int) iterated.get(i));
+        }
+        Assert.assertEquals(6, map.get(5).getCode());
+    }
+
+    @Test
+    public void removeTest() {
+        IntGlyphMap map = new IntGlyphMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new Glyph(i, 0, i));
+            map.put(0x10000 + i * 0x100, new Glyph(i, 0, -1));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            Assert.assertNotNull(map.remove(i));
+            Assert.assertNotNull(map.remove((Object) (0x10000 + i * 0x100)));
+        }
+        Assert.assertNull(map.remove(0));
+        Assert.assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i % 2 != 0, map.containsKey(i));
+            Assert.assertEquals(i % 2 != 0, map.containsKey(0x10000 + i * 0x100));
+        }
+
+        Iterator<Map.Entry<Integer, Glyph>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() >= 0x10000) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(50, map.size());
+        Assert.assertEquals(1, (int) map.keySet().iterator().next());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(1));
+    }
+
+    @Test
+    public void randomOperationsMatchLinkedHashMapTest() {
+        Random random = new Random(42);
+        IntGlyphMap map = new IntGlyphMap(4);
+        Map<Integer, Glyph> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextBoolean() ? random.nextInt(0x300) : random.nextInt(0x200) * 0x1000 - 0x10000;
+            if (random.nextInt(3) == 0) {
+                Assert.assertSame(expected.remove(key), map.remove(key));
+            } else {
+                Glyph glyph = new Glyph(i, 0, key);
+                Assert.assertSame(expected.put(key, glyph), map.put(key, glyph));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        Assert.assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+        for (int key : expected.keySet()) {
+            Assert.assertSame(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void getGlyphFromAnyMapTest() {
+        Glyph glyph = new Glyph(1, 500, 'a');
+        Map<Integer, Glyph> hashMap = new LinkedHashMap<>();
+        hashMap.put((int) 'a', glyph);
+        Map<Integer, Glyph> glyphMap = new IntGlyphMap();
+        glyphMap.put((int) 'a', glyph);
+
+        Assert.assertSame(glyph, IntGlyphMap.getGlyph(hashMap, 'a'));
+        Assert.assertSame(glyph, IntGlyphMap.getGlyph(glyphMap, 'a'));
+        Assert.assertNull(IntGlyphMap.getGlyph(glyphMap, 'b'));
+    }
+}
@@ -0,0 +1,200 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font.cmap;
+
+import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class CMapCompilerTest extends ExtendedITextTest {
+
+    private static final String CMAP_SOURCE_FOLDER = "../font-asian/src/main/resources/com/itextpdf/io/font/cmap/";
+    private static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/io/font/cmap/CMapCompilerTest/";
+
+    private static final String CMAP = "/CIDInit /ProcSet findresource begin\n"
+            + "12 dict begin\n"
+            + "begincmap\n"
+            + "/CIDSystemInfo 3 dict dup begin\n"
+            + "  /Registry (Adobe) def\n"
+            + "  /Ordering (Test) def\n"
+            + "  /Supplement 2 def\n"
+            + "end def\n"
+            + "/CMapName /Test-H def\n"
+            + "1 begincodespacerange\n"
+            + "<0000> <FFFF>\n"
+            + "endcodespacerange\n"
+            + "2 begincidrange\n"
+            + "<0020> <007e> 1\n"
+            + "<3000> <3002> 633\n"
+            + "endcidrange\n"
+            + "1 begincidchar\n"
+            + "<00a5> 97\n"
+            + "endcidchar\n"
+            + "endcmap\n"
+            + "CMapName currentdict /CMap defineresource pop\n"
+            + "end\n"
+            + "end\n";
+
+    @Test
+    public void compileAndReadTest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CMapCompiler.compile("Test-H", new CMapLocationFromBytes(ByteUtils.getIsoBytes(CMAP)), out);
+
+        CMapCidToCodepoint compiled = new CMapCidToCodepoint();
+        CMapParser.parseCid("Test-H", compiled, new CompiledLocation(out.toByteArray()));
+
+        Assert.assertEquals("Test-H", compiled.getName());
+        Assert.assertEquals("Adobe", compiled.getRegistry());
+        Assert.assertEquals("Test", compiled.getOrdering());
+        Assert.assertEquals(2, compiled.getSupplement());
+        Assert.assertEquals(2, compiled.getCodeSpaceRanges().size());
+        Assert.assertArrayEquals(new byte[] {0x00, 0x20}, compiled.lookup(1));
+        Assert.assertArrayEquals(new byte[] {0x00, 0x7e}, compiled.lookup(95));
+        Assert.assertArrayEquals(new byte[] {0x30, 0x01}, compiled.lookup(634));
+        Assert.assertArrayEquals(new byte[] {0x00, (byte) 0xa5}, compiled.lookup(97));
+        Assert.assertArrayEquals(new byte[0], compiled.lookup(96));
+    }
+
+    @Test
+    public void shippedCompiledCMapTest() throws IOException {
+        CMapCidUni compiled = new CMapCidUni();
+        CMapParser.parseCid("UniJIS-UCS2-H", compiled, new CMapLocationResource());
+        CMapCidUni parsed = new CMapCidUni();
+        CMapParser.parseCid("UniJIS-UCS2-H", parsed, new CompiledLocation(null));
+
+        Assert.assertEquals("UniJIS-UCS2-H", compiled.getName());
+        Assert.assertEquals(parsed.getOrdering(), compiled.getOrdering());
+        Assert.assertEquals(parsed.getSupplement(), compiled.getSupplement());
+        int[] cids = parsed.getCids();
+        Assert.assertArrayEquals(cids, compiled.getCids());
+        for (int cid : cids) {
+            Assert.assertEquals(parsed.lookup(cid), compiled.lookup(cid));
+        }
+    }
+
+    @Test
+    public void allShippedCompiledCMapsAreUpToDateTest() throws IOException {
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+        CMapCompiler.main(new String[] {CMAP_SOURCE_FOLDER, DESTINATION_FOLDER});
+
+        List<String> compiledCMaps = new ArrayList<>();
+        collectCompiledCMaps(new File(DESTINATION_FOLDER), "", compiledCMaps);
+        List<String> shippedCMaps = new ArrayList<>();
+        collectCompiledCMaps(new File(CMAP_SOURCE_FOLDER), "", shippedCMaps);
+        Collections.sort(compiledCMaps);
+        Collections.sort(shippedCMaps);
+        Assert.assertFalse(shippedCMaps.isEmpty());
+        Assert.assertEquals(compiledCMaps, shippedCMaps);
+        for (String cmap : shippedCMaps) {
+            Assert.assertArrayEquals(cmap, Files.readAllBytes(Paths.get(DESTINATION_FOLDER, cmap)),
+                    Files.readAllBytes(Paths.get(CMAP_SOURCE_FOLDER, cmap)));
+        }
+    }
+
+    @Test
+    public void compilerWithoutArgumentsTest() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> CMapCompiler.main(new String[0]));
+    }
+
+    @Test
+    public void unsupportedCompiledDataTest() throws IOException {
+        CMapCidUni cmap = new CMapCidUni();
+        // not a compiled CMap, the text one is parsed instead
+        CMapParser.parseCid("UniJIS-UCS2-H", cmap, new CompiledLocation(new byte[] {1, 2, 3}));
+
+        Assert.assertEquals("UniJIS-UCS2-H", cmap.getName());
+        Assert.assertEquals(0x3000, cmap.lookup(633));
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = IoLogMessageConstant.UNKNOWN_ERROR_WHILE_PROCESSING_CMAP))
+    public void truncatedCompiledDataTest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CMapCompiler.compile("Test-H", new CMapLocationFromBytes(ByteUtils.getIsoBytes(CMAP)), out);
+        byte[] compiled = out.toByteArray();
+        byte[] truncated = Arrays.copyOf(compiled, compiled.length - 2);
+
+        CMapCidToCodepoint cmap = new CMapCidToCodepoint();
+        // the damaged compiled CMap isn't read at all, the text one is parsed instead
+        CMapParser.parseCid("Test-H", cmap, new CompiledLocation(truncated, ByteUtils.getIsoBytes(CMAP)));
+
+        Assert.assertEquals("Test-H", cmap.getName());
+        Assert.assertEquals(2, cmap.getCodeSpaceRanges().size());
+        Assert.assertArrayEquals(new byte[] {0x00, 0x20}, cmap.lookup(1));
+        Assert.assertArrayEquals(new byte[] {0x00, (byte) 0xa5}, cmap.lookup(97));
+    }
+
+    private static void collectCompiledCMaps(File directory, String prefix, List<String> result) {
+        File[] files = directory.listFiles();
+        Assert.assertNotNull(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collectCompiledCMaps(file, prefix + file.getName() + "/", result);
+            } else if (file.getName().endsWith(CMapCompiler.COMPILED_CMAP_EXTENSION)) {
+                result.add(prefix + file.getName());
+            }
+        }
+    }
+
+    private static final class CompiledLocation extends CMapLocationResource {
+        private final byte[] compiled;
+        private final byte[] text;
+
+        CompiledLocation(byte[] compiled) {
+            this(compiled, null);
+        }
+
+        CompiledLocation(byte[] compiled, byte[] text) {
+            this.compiled = compiled;
+            this.text = text;
+        }
+
+        @Override
+        public PdfTokenizer getLocation(String location) throws IOException {
+            return text != null ? new CMapLocationFromBytes(text).getLocation(location) : super.getLocation(location);
+        }
+
+        @Override
+        public byte[] getCompiledLocation(String location) {
+            return compiled;
+        }
+    }
+}
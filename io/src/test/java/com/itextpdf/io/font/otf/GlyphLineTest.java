@@ -229,5 +229,62 @@ public class GlyphLineTest extends ExtendedITextTest {
 
         Assert.assertNull(line.actualText);
     }
-}
 
+    @Test
+    public void filterWithoutFilteredGlyphsTest() {
+        GlyphLine line = new GlyphLine(new ArrayList<>(Arrays.asList(new Glyph(1, 500, 'a'), new Glyph(2, 500, 'b'))));
+        Assert.assertSame(line, line.filter(new GlyphLine.IGlyphLineFilter() {
+            @Override
+            public boolean accept(Glyph glyph) {
+                return true;
+            }
+        }));
+    }
+
+    @Test
+    public void filterKeepsActualTextTest() {
+        List<Glyph> glyphs = new ArrayList<>(Arrays.asList(new Glyph(1, 500, 'a'), new Glyph(-1, 0, 0xAD),
+                new Glyph(2, 500, 'b'), new Glyph(-1, 0, 0xAD), new Glyph(3, 500, 'c')));
+        GlyphLine line = new GlyphLine(glyphs, 1, 5);
+        line.setActualText(2, 3, "x");
+
+        GlyphLine filtered = line.filter(new GlyphLine.IGlyphLineFilter() {
+            @Override
+            public boolean accept(Glyph glyph) {
+                return glyph.getCode() > 0;
+            }
+        });
+        Assert.assertEquals(0, filtered.start);
+        Assert.assertEquals(2, filtered.end);
+        Assert.assertEquals(2, filtered.get(0).getCode());
+        Assert.assertEquals(3, filtered.get(1).getCode());
+        Assert.assertEquals("xc", filtered.toString());
+    }
+
+    @Test
+    public void toUnicodeStringTest() {
+        List<Glyph> glyphs = new ArrayList<>(Arrays.asList(new Glyph(1, 500, 'a'), new Glyph(2, 500, -1),
+                new Glyph(3, 500, 0x1F600), new Glyph(4, 500, 'b')));
+        GlyphLine line = new GlyphLine(glyphs);
+        Assert.assertEquals("a\ufffd\ud83d\ude00b", line.toString());
+        Assert.assertEquals("\ufffd\ud83d\ude00", line.toUnicodeString(1, 3));
+
+        line.setActualText(1, 3, "yz");
+        Assert.assertEquals("ayzb", line.toString());
+        Assert.assertEquals("ayz", line.toUnicodeString(0, 3));
+    }
+
+    @Test
+    public void copyTest() {
+        List<Glyph> glyphs = new ArrayList<>(Arrays.asList(new Glyph(1, 500, 'a'), new Glyph(2, 500, 'b'),
+                new Glyph(3, 500, 'c')));
+        GlyphLine line = new GlyphLine(glyphs);
+        line.setActualText(1, 2, "x");
+
+        GlyphLine copy = line.copy(1, 3);
+        Assert.assertEquals(new GlyphLine(line, 1, 3), copy);
+        copy.add(new Glyph(4, 500, 'd'));
+        Assert.assertEquals(3, line.size());
+        Assert.assertEquals("xcd", copy.toUnicodeString(0, copy.size()));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font.woff2;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class Woff2ConverterTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/io/font/woff2/w3c/format/";
+
+    @Before
+    public void clearCache() {
+        Woff2Converter.clearCache();
+    }
+
+    @After
+    public void restoreCacheCapacity() {
+        Woff2Converter.setCacheCapacity(Woff2FontCache.DEFAULT_CAPACITY);
+        Woff2Converter.clearCache();
+    }
+
+    @Test
+    public void convertCachedFontTest() throws IOException {
+        byte[] woff2 = readFile(sourceFolder + "valid-001.woff2");
+        byte[] cmp = readFile(sourceFolder + "cmp_valid-001.ttf");
+
+        byte[] first = Woff2Converter.convert(woff2);
+        // modifying the result shall not affect the cached font
+        first[0] = (byte) ~first[0];
+        byte[] second = Woff2Converter.convert(woff2.clone());
+
+        Assert.assertArrayEquals(cmp, second);
+        Assert.assertNotSame(first, second);
+    }
+
+    @Test
+    public void cacheDisabledTest() throws IOException {
+        Woff2Converter.setCacheCapacity(0);
+        byte[] woff2 = readFile(sourceFolder + "valid-001.woff2");
+        byte[] cmp = readFile(sourceFolder + "cmp_valid-001.ttf");
+
+        Assert.assertArrayEquals(cmp, Woff2Converter.convert(woff2));
+        Assert.assertArrayEquals(cmp, Woff2Converter.convert(woff2));
+    }
+
+    @Test
+    public void cacheEvictionTest() {
+        Woff2FontCache cache = new Woff2FontCache();
+        cache.setCapacity(10);
+        Woff2FontCache.ContentKey first = Woff2FontCache.createKey(new byte[] {1});
+        Woff2FontCache.ContentKey second = Woff2FontCache.createKey(new byte[] {2});
+        Woff2FontCache.ContentKey third = Woff2FontCache.createKey(new byte[] {3});
+        cache.put(first, new byte[4]);
+        cache.put(second, new byte[4]);
+        // the first font becomes the most recently used one
+        Assert.assertNotNull(cache.get(first));
+        cache.put(third, new byte[4]);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNotNull(cache.get(first));
+        Assert.assertNull(cache.get(second));
+        Assert.assertNotNull(cache.get(third));
+
+        cache.put(Woff2FontCache.createKey(new byte[] {4}), new byte[11]);
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void bufferPoolTest() {
+        ByteArrayPool pool = new ByteArrayPool();
+        byte[] small = pool.acquire(10);
+        byte[] large = pool.acquire(100);
+        pool.release(large);
+        pool.release(small);
+        Assert.assertEquals(2, pool.size());
+
+        Assert.assertSame(small, pool.acquire(5));
+        Assert.assertSame(large, pool.acquire(50));
+        Assert.assertEquals(200, pool.acquire(200).length);
+        Assert.assertEquals(0, pool.size());
+
+        pool.release(new byte[ByteArrayPool.MAX_POOLED_BYTES + 1]);
+        Assert.assertEquals(0, pool.size());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ImageDataRegistryTest extends ExtendedITextTest {
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/io/image/PngTest/";
+
+    @Test
+    public void sameContentIsParsedOnceTest() throws IOException {
+        ImageDataRegistry registry = new ImageDataRegistry();
+        byte[] bytes = readImage("rgba8Bpc.png");
+
+        ImageData image = registry.create(bytes);
+        Assert.assertSame(image, registry.create(bytes.clone()));
+        Assert.assertSame(image, registry.create(SOURCE_FOLDER + "rgba8Bpc.png"));
+        Assert.assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void decodeParametersArePartOfKeyTest() throws IOException {
+        ImageDataRegistry registry = new ImageDataRegistry();
+        byte[] bytes = readImage("rgb8Bpc.png");
+
+        Assert.assertNotSame(registry.create(bytes, false), registry.create(bytes, true));
+        Assert.assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedImageIsEvictedTest() throws IOException {
+        byte[] rgb = readImage("rgb8Bpc.png");
+        byte[] gray = readImage("grayscale8Bpc.png");
+        ImageDataRegistry registry = new ImageDataRegistry(0);
+        // an image larger than the capacity isn't registered
+        Assert.assertNotSame(registry.create(rgb), registry.create(rgb));
+        Assert.assertEquals(0, registry.size());
+
+        registry.setCapacity(ImageDataRegistry.DEFAULT_CAPACITY);
+        ImageData rgbImage = registry.create(rgb);
+        ImageData grayImage = registry.create(gray);
+        // only the most recently used image fits
+        registry.setCapacity(grayImage.getData().length);
+        Assert.assertEquals(1, registry.size());
+        Assert.assertSame(grayImage, registry.create(gray));
+        Assert.assertNotSame(rgbImage, registry.create(rgb));
+
+        registry.clear();
+        Assert.assertEquals(0, registry.size());
+    }
+
+    private static byte[] readImage(String name) throws IOException {
+        try (FileInputStream stream = new FileInputStream(SOURCE_FOLDER + name)) {
+            return StreamUtil.inputStreamToArray(stream);
+        }
+    }
+}
@@ -54,4 +54,23 @@ public class Jpeg2000Test extends ExtendedITextTest {
         Assert.assertEquals(800, img.getHeight(), 0);
         Assert.assertEquals(7, img.getBpc());
     }
+
+    @Test
+    public void streamedJpeg2000Test() throws java.io.IOException {
+        ImageData img = ImageDataFactory.createStreamed(sourceFolder + "bee.jpc");
+        Assert.assertTrue(img.isStreamed());
+        Assert.assertEquals(ImageType.JPEG2000, img.getOriginalType());
+        Assert.assertEquals(640, img.getWidth(), 0);
+        Assert.assertEquals(800, img.getHeight(), 0);
+        Assert.assertEquals(7, img.getBpc());
+        Assert.assertEquals("JPXDecode", img.getFilter());
+    }
+
+    @Test
+    public void streamedPngIsLoadedTest() throws java.io.IOException {
+        // only JPEG and JPEG 2000 images are streamed
+        ImageData img = ImageDataFactory.createStreamed(sourceFolder + "PngTest/rgb8Bpc.png");
+        Assert.assertFalse(img.isStreamed());
+        Assert.assertEquals(ImageType.PNG, img.getOriginalType());
+    }
 }
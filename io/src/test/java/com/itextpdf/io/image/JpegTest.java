@@ -58,6 +58,23 @@ public class JpegTest extends ExtendedITextTest {
         Assert.assertEquals(8, img.getBpc());
     }
 
+    @Test
+    public void streamedJpegTest() throws IOException {
+        String imagePath = SOURCE_FOLDER + "WP_20140410_001_gray.jpg";
+        ImageData img = ImageDataFactory.createStreamed(imagePath);
+        ImageData loadedImg = ImageDataFactory.create(imagePath);
+        Assert.assertTrue(img.isStreamed());
+        Assert.assertFalse(loadedImg.isStreamed());
+        Assert.assertEquals(loadedImg.getWidth(), img.getWidth(), 0);
+        Assert.assertEquals(loadedImg.getHeight(), img.getHeight(), 0);
+        Assert.assertEquals(loadedImg.getBpc(), img.getBpc());
+        Assert.assertEquals(loadedImg.getColorEncodingComponentsNumber(), img.getColorEncodingComponentsNumber());
+        Assert.assertEquals(loadedImg.getFilter(), img.getFilter());
+        // the bytes are read from the source on demand
+        Assert.assertArrayEquals(loadedImg.getData(), img.getData());
+        Assert.assertFalse(img.canImageBeInline());
+    }
+
     @Test
     public void openJpeg3() throws IOException {
         try (FileInputStream fis = new FileInputStream(SOURCE_FOLDER + "WP_20140410_001_monochrome.jpg")) {
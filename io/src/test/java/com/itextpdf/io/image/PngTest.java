@@ -22,6 +22,7 @@
  */
 package com.itextpdf.io.image;
 
+import com.itextpdf.io.util.FilterUtil;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.test.ExtendedITextTest;
@@ -147,6 +148,16 @@ public class PngTest extends ExtendedITextTest {
         Assert.assertEquals(8, img.getImageMask().getBpc());
     }
 
+    @Test
+    public void rgba8BpcAlphaSplitIntoDeflatedStreamsTest() throws IOException {
+        ImageData img = ImageDataFactory.create(sourceFolder + "rgba8Bpc.png");
+        Assert.assertTrue(img.isDeflated());
+        Assert.assertEquals(100 * 100 * 3, FilterUtil.flateDecode(img.getData()).length);
+        ImageData mask = img.getImageMask();
+        Assert.assertTrue(mask.isDeflated());
+        Assert.assertEquals(100 * 100, FilterUtil.flateDecode(mask.getData()).length);
+    }
+
     @Test
     // iText explicitly processes 16bit images as 8bit
     public void rgba16BpcDepthImageTest() throws IOException {
@@ -23,6 +23,7 @@
 package com.itextpdf.io.image;
 
 import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.codec.TIFFConstants;
 import com.itextpdf.io.codec.TIFFDirectory;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
@@ -37,6 +38,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -270,6 +272,24 @@ public class TiffTest extends ExtendedITextTest {
         createTiff(sourceFile, 1, 1024D, 768D);
     }
 
+    @Test
+    public void ccittRleCompressionDamagedDataTest() throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER, "ccittRleCompression.tif"));
+        TIFFDirectory dir = new TIFFDirectory(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(bytes)), 0);
+        int stripOffset = (int) dir.getFieldAsLong(TIFFConstants.TIFFTAG_STRIPOFFSETS);
+        int stripSize = (int) dir.getFieldAsLong(TIFFConstants.TIFFTAG_STRIPBYTECOUNTS);
+        // zero bits aren't a valid modified Huffman code
+        Arrays.fill(bytes, stripOffset + stripSize / 2, stripOffset + stripSize, (byte) 0);
+
+        Assert.assertThrows(com.itextpdf.io.exceptions.IOException.class,
+                () -> ImageDataFactory.createTiff(bytes, false, 1, false));
+
+        ImageData img = ImageDataFactory.createTiff(bytes, true, 1, false);
+        Assert.assertEquals(1024, img.getWidth(), 0);
+        Assert.assertEquals(768, img.getHeight(), 0);
+    }
+
     @Test
     public void deflateCompression8BitRgbTest() throws IOException {
         String sourceFile = SOURCE_FOLDER + "deflateCompression8BitRgb.tif";
@@ -326,6 +346,54 @@ public class TiffTest extends ExtendedITextTest {
         createTiff(sourceFile, 8, 1024D, 768D);
     }
 
+    @Test
+    public void multipageTiffDirectoryOffsetsTest() throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "multipage.tif"));
+        RandomAccessFileOrArray raf = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(bytes));
+        long[] offsets = TIFFDirectory.getDirectoryOffsets(raf);
+
+        Assert.assertEquals(6, offsets.length);
+        Assert.assertEquals(6, TIFFDirectory.getNumDirectories(raf));
+        for (int i = 0; i < offsets.length; i++) {
+            Assert.assertEquals(new TIFFDirectory(raf, i).getIFDOffset(), offsets[i]);
+        }
+    }
+
+    @Test
+    public void multipageTiffSequenceTest() throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "multipage.tif"));
+        for (TiffPageSequence pages : new TiffPageSequence[] {
+                ImageDataFactory.createTiffPages(bytes, false, false, 1, 0),
+                // a tiny buffer limit makes the sequence decode a single page ahead
+                ImageDataFactory.createTiffPages(bytes, false, false, 3, 1),
+                ImageDataFactory.createTiffPages(UrlUtil.toURL(SOURCE_FOLDER + "multipage.tif"), false, false)}) {
+            Assert.assertEquals(6, pages.getNumberOfPages());
+            int page = 0;
+            while (pages.hasNext()) {
+                ImageData expected = ImageDataFactory.createTiff(bytes, false, ++page, false);
+                ImageData actual = pages.next();
+                Assert.assertEquals(page % 3 == 0 ? 8 : 1, actual.getBpc());
+                Assert.assertEquals(expected.getWidth(), actual.getWidth(), DELTA);
+                Assert.assertEquals(expected.getHeight(), actual.getHeight(), DELTA);
+                Assert.assertArrayEquals(expected.getData(), actual.getData());
+            }
+            Assert.assertEquals(6, page);
+        }
+    }
+
+    @Test
+    public void closedTiffSequenceTest() throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "multipage.tif"));
+        TiffPageSequence pages = ImageDataFactory.createTiffPages(bytes, false, false, 2,
+                TiffPageSequence.DEFAULT_MAX_BUFFERED_BYTES);
+        Assert.assertEquals(1, pages.next().getBpc());
+        pages.close();
+        // the sequence still can be consumed, the pages are then decoded on demand
+        Assert.assertTrue(pages.hasNext());
+        Assert.assertEquals(1, pages.next().getBpc());
+    }
+
     private static void createTiff (String sourceFile, int bpc, double width, double height)
             throws MalformedURLException {
         ImageData img = ImageDataFactory.createTiff(UrlUtil.toURL(sourceFile),
@@ -32,6 +32,7 @@ public final class KernelExceptionMessageConstant {
     public static final String ANNOTATION_SHALL_HAVE_REFERENCE_TO_PAGE = "Annotation shall have reference to page.";
     public static final String APPEND_MODE_REQUIRES_A_DOCUMENT_WITHOUT_ERRORS_EVEN_IF_RECOVERY_IS_POSSIBLE =
             "Append mode requires a document without errors, even if recovery is possible.";
+    public static final String AT_LEAST_ONE_PATTERN_SHALL_BE_SPECIFIED = "At least one pattern shall be specified.";
     public static final String BAD_CERTIFICATE_AND_KEY = "Bad public key certificate and/or private key.";
     public static final String BAD_USER_PASSWORD =
             "Bad user password. Password is not provided or wrong password provided. Correct password should be passed "
@@ -214,6 +215,8 @@ public final class KernelExceptionMessageConstant {
             "Invalid input value for PDF Type 2 Function, value should be a single number.";
     public static final String INVALID_INPUT_FOR_TYPE_3_FUNCTION =
             "Invalid input value for PDF Type 3 Function, value should be a single number.";
+    public static final String INVALID_INPUT_FOR_TYPE_4_FUNCTION =
+            "Invalid input value for PDF Type 4 Function, the number of values should correspond to \"Domain\".";
     public static final String INVALID_MEDIA_BOX_VALUE = "Tne media box object has incorrect values.";
     public static final String INVALID_PAGE_STRUCTURE = "Invalid page structure {0}.";
     public static final String INVALID_PAGE_STRUCTURE_PAGES_MUST_BE_PDF_DICTIONARY = "Invalid page structure. /Pages "
@@ -249,6 +252,14 @@ public final class KernelExceptionMessageConstant {
             + "more than the size of the \"Functions\" array.";
     public static final String INVALID_TYPE_3_FUNCTION_NULL_FUNCTIONS =
             "Invalid PDF Type 3 Function object, \"Functions\" array should exist and can't be empty.";
+    public static final String INVALID_TYPE_4_FUNCTION_OPERATOR =
+            "Invalid PDF Type 4 Function object, {0} is not a PostScript calculator operator.";
+    public static final String INVALID_TYPE_4_FUNCTION_PROCEDURE =
+            "Invalid PDF Type 4 Function object, a procedure can only be an operand of \"if\" and \"ifelse\".";
+    public static final String INVALID_TYPE_4_FUNCTION_PROGRAM =
+            "Invalid PDF Type 4 Function object, the program shall be a single procedure enclosed in braces.";
+    public static final String INVALID_TYPE_4_FUNCTION_RANGE =
+            "Invalid PDF Type 4 Function object, \"Range\" array should exist.";
     public static final String INVALID_RANGE_ARRAY = "Invalid range array.";
     public static final String INVALID_OFFSET_FOR_THIS_OBJECT = "Invalid offset for object {0}.";
     public static final String INVALID_OBJECT_REFERENCE_TYPE = "Object reference has unsupported type, " +
@@ -292,6 +303,8 @@ public final class KernelExceptionMessageConstant {
                     + "to this document ({2}).";
     public static final String PAGE_IS_NOT_SET_FOR_THE_PDF_TAG_STRUCTURE = "Page is not set for the pdf tag structure.";
     public static final String PAGE_ALREADY_FLUSHED = "The page has been already flushed.";
+    public static final String PATTERNS_WITH_CANON_EQ_FLAG_CANNOT_BE_COMBINED =
+            "Patterns with CANON_EQ flag can't be combined.";
     public static final String PDF_ENCRYPTION = "PdfEncryption exception.";
     public static final String PDF_DECRYPTION = "Exception occurred with PDF document decryption. One of the possible "
             + "reasons is wrong password or wrong public key certificate and private key.";
@@ -408,8 +421,12 @@ public final class KernelExceptionMessageConstant {
     public static final String INVALID_LENGTH = "The offset + length must be lower than or equal to the length of "
             + "the byte array.";
     public static final String INVALID_LENGTH_FOR_WORDSIZE = "The length must be a multiple of {0}.";
-    public static final String TYPE4_EXECUTION_NOT_SUPPORTED =
-            "Type 4 functions are not yet supported for separation color image extraction.";
+    public static final String TYPE_4_FUNCTION_DIVISION_BY_ZERO =
+            "PDF Type 4 Function execution failed, the divisor of {0} is zero.";
+    public static final String TYPE_4_FUNCTION_STACK_OVERFLOW =
+            "PDF Type 4 Function execution failed, the operand stack depth exceeds {0}.";
+    public static final String TYPE_4_FUNCTION_STACK_UNDERFLOW =
+            "PDF Type 4 Function execution failed, not enough operands for {0}.";
     public static final String GET_IMAGEBYTES_FOR_SEPARATION_COLOR_ONLY_SUPPORTS_RGB =
             "Only RGB alternate color spaces are currently supported for extracting separation color images";
     public static final String INPUT_NOT_MULTIPLE_OF_DOMAIN_SIZE = "The size of the input array must be a multiple of "
@@ -23,6 +23,7 @@
 package com.itextpdf.kernel.font;
 
 import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.IntGlyphMap;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.font.otf.GlyphLine;
 import com.itextpdf.io.util.TextUtil;
@@ -39,7 +40,6 @@ import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfString;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -56,7 +56,7 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
 
     protected static final byte[] EMPTY_BYTES = new byte[0];
 
-    protected Map<Integer, Glyph> notdefGlyphs = new HashMap<>();
+    protected Map<Integer, Glyph> notdefGlyphs = new IntGlyphMap();
 
     /**
      * false, if the font comes from PdfDocument.
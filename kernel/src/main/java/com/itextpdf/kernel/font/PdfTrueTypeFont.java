@@ -25,6 +25,7 @@ package com.itextpdf.kernel.font;
 import com.itextpdf.io.font.FontEncoding;
 import com.itextpdf.io.font.FontNames;
 import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.IntGlyphMap;
 import com.itextpdf.io.font.TrueTypeFont;
 import com.itextpdf.io.font.Type1Font;
 import com.itextpdf.io.font.constants.StandardFonts;
@@ -97,7 +98,7 @@ public class PdfTrueTypeFont extends PdfSimpleFont<TrueTypeFont> {
     public Glyph getGlyph(int unicode) {
         if (fontEncoding.canEncode(unicode)) {
             Glyph glyph = getFontProgram().getGlyph(fontEncoding.getUnicodeDifference(unicode));
-            if (glyph == null && (glyph = notdefGlyphs.get(unicode)) == null) {
+            if (glyph == null && (glyph = IntGlyphMap.getGlyph(notdefGlyphs, unicode)) == null) {
                 final Glyph notdef = getFontProgram().getGlyphByCode(0);
                 if (notdef != null) {
                     glyph = new Glyph(notdef, unicode);
@@ -78,8 +78,11 @@ public class Type3Font extends FontProgram {
      */
     public Type3Glyph getType3GlyphByCode(int code) {
         Type3Glyph glyph = type3GlyphsWithoutUnicode.get(code);
-        if (glyph == null && codeToGlyph.get(code) != null) {
-            glyph = type3Glyphs.get(codeToGlyph.get(code).getUnicode());
+        if (glyph == null) {
+            Glyph codeGlyph = getGlyphByCode(code);
+            if (codeGlyph != null) {
+                glyph = type3Glyphs.get(codeGlyph.getUnicode());
+            }
         }
         return glyph;
     }
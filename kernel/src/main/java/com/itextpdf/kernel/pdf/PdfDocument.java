@@ -29,6 +29,7 @@ import com.itextpdf.commons.actions.data.ProductData;
 import com.itextpdf.commons.actions.sequence.SequenceId;
 import com.itextpdf.commons.utils.DIContainer;
 import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
@@ -61,6 +62,7 @@ import com.itextpdf.kernel.pdf.statistics.NumberOfPagesStatisticsEvent;
 import com.itextpdf.kernel.pdf.statistics.SizeOfPdfStatisticsEvent;
 import com.itextpdf.kernel.pdf.tagging.PdfStructTreeRoot;
 import com.itextpdf.kernel.pdf.tagutils.TagStructureContext;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.kernel.utils.ValidationContainer;
 import com.itextpdf.kernel.utils.ValidationContext;
 import com.itextpdf.kernel.xmp.PdfConst;
@@ -78,6 +80,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -108,6 +111,7 @@ public class PdfDocument implements IEventDispatcher, Closeable {
      */
     final PdfXrefTable xref = new PdfXrefTable();
     private final Map<PdfIndirectReference, PdfFont> documentFonts = new HashMap<>();
+    private final Map<ImageData, PdfImageXObject> documentImages = new IdentityHashMap<>();
     private final SequenceId documentId;
     /**
      * To be adjusted destinations.
@@ -1883,6 +1887,32 @@ public class PdfDocument implements IEventDispatcher, Closeable {
         return defaultFont;
     }
 
+    /**
+     * Gets the image XObject of this document created for the specified image or creates a new one.
+     *
+     * <p>
+     * Unlike {@link PdfImageXObject#PdfImageXObject(ImageData)}, which creates a new XObject every time,
+     * this method returns the same XObject for the same {@link ImageData} instance, so the image is written
+     * to the document only once regardless of how many times it is drawn. It is intended for images shared
+     * via {@link com.itextpdf.io.image.ImageDataRegistry}. Note that the image data is kept referenced
+     * till the document is closed.
+     *
+     * @param image the {@link ImageData} to get the XObject for
+     *
+     * @return the {@link PdfImageXObject} of this document for the image
+     */
+    public PdfImageXObject getImageXObject(ImageData image) {
+        PdfImageXObject imageXObject = documentImages.get(image);
+        if (imageXObject == null) {
+            imageXObject = new PdfImageXObject(image);
+            if (writer != null) {
+                imageXObject.makeIndirect(this);
+            }
+            documentImages.put(image, imageXObject);
+        }
+        return imageXObject;
+    }
+
     /**
      * Adds a {@link PdfFont} instance to this document so that this font is flushed automatically
      * on document close. As a side effect, the underlying font dictionary is made indirect if it wasn't the case yet
@@ -415,6 +415,16 @@ public class PdfEncryption extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
+    /**
+     * Gets a new decryptor for the object which has been specified
+     * via {@link #setHashKeyForNextObject(int, int)}.
+     *
+     * @return {@link IDecryptor} instance
+     */
+    IDecryptor getDecryptor() {
+        return securityHandler.getDecryptor();
+    }
+
     public boolean isOpenedWithFullPermission() {
         if (securityHandler instanceof PubKeySecurityHandler) {
             return true;
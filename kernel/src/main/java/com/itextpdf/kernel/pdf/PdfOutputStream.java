@@ -279,6 +279,12 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                     updateCompressionFilter(pdfStream);
                     fout = def = new DeflaterOutputStream(fout, pdfStream.getCompressionLevel(), 0x8000);
                 }
+                PdfNumber length = pdfStream.getAsNumber(PdfName.Length);
+                if (length == null || length.getIndirectReference() == null) {
+                    // the stream has been created without a document, its length is known only after writing
+                    length = (PdfNumber) new PdfNumber(-1).makeIndirect(document);
+                    pdfStream.put(PdfName.Length, length);
+                }
                 this.write((PdfDictionary) pdfStream);
                 writeBytes(PdfOutputStream.stream);
                 long beginStreamContent = getCurrentPos();
@@ -295,7 +301,6 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 if (ose != null) {
                     ose.finish();
                 }
-                PdfNumber length = pdfStream.getAsNumber(PdfName.Length);
                 length.setValue((int) (getCurrentPos() - beginStreamContent));
                 pdfStream.updateLength(length.intValue());
                 writeBytes(PdfOutputStream.endstream);
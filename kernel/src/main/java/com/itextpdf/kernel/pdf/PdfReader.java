@@ -35,6 +35,7 @@ import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.kernel.exceptions.InvalidXRefPrevException;
 import com.itextpdf.kernel.exceptions.MemoryLimitsAwareException;
 import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.crypto.IDecryptor;
 import com.itextpdf.kernel.crypto.securityhandler.UnsupportedSecurityHandlerException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.XrefCycledReferencesException;
@@ -50,6 +51,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -73,6 +75,7 @@ public class PdfReader implements Closeable {
     private static final String endstream4 = "\rendstream";
     private static final byte[] endstream = ByteUtils.getIsoBytes("endstream");
     private static final byte[] endobj = ByteUtils.getIsoBytes("endobj");
+    private static final int STREAM_COPY_BUFFER_SIZE = 64 * 1024;
 
     protected static boolean correctStreamLength = true;
 
@@ -396,34 +399,9 @@ public class PdfReader implements Closeable {
             file.seek(offset);
             bytes = new byte[length];
             file.readFully(bytes);
-            boolean embeddedStream = pdfDocument.doesStreamBelongToEmbeddedFile(stream);
-            if (decrypt != null && (!decrypt.isEmbeddedFilesOnly() || embeddedStream)) {
-                PdfObject filter = stream.get(PdfName.Filter, true);
-                boolean skip = false;
-                if (filter != null) {
-                    if (filter.isFlushed()) {
-                        IndirectFilterUtils.throwFlushedFilterException(stream);
-                    }
-                    if (PdfName.Crypt.equals(filter)) {
-                        skip = true;
-                    } else if (filter.getType() == PdfObject.ARRAY) {
-                        PdfArray filters = (PdfArray) filter;
-                        for (int k = 0; k < filters.size(); k++) {
-                            if (filters.get(k).isFlushed()) {
-                                IndirectFilterUtils.throwFlushedFilterException(stream);
-                            }
-                            if (!filters.isEmpty() && PdfName.Crypt.equals(filters.get(k, true))) {
-                                skip = true;
-                                break;
-                            }
-                        }
-                    }
-                    filter.release();
-                }
-                if (!skip) {
-                    decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
-                    bytes = decrypt.decryptByteArray(bytes);
-                }
+            if (isDecryptionRequired(stream)) {
+                decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
+                bytes = decrypt.decryptByteArray(bytes);
             }
         } finally {
             try {
@@ -435,6 +413,62 @@ public class PdfReader implements Closeable {
         return bytes;
     }
 
+    /**
+     * Reads and decrypts stream bytes and writes them to the passed {@link OutputStream}.
+     * Unlike {@link #readStreamBytesRaw(PdfStream)} the bytes are copied from the source
+     * chunk by chunk, so the whole stream is never held in memory.
+     *
+     * @param stream       a {@link PdfStream} stream instance to be read
+     * @param outputStream the {@link OutputStream} to write stream bytes to
+     * @return the number of written bytes or -1 if the stream wasn't read from the source of this reader.
+     * @throws IOException on error.
+     */
+    public long readStreamBytesRaw(PdfStream stream, OutputStream outputStream) throws IOException {
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRef.equals(type) && !PdfName.ObjStm.equals(type)) {
+            checkPdfStreamLength(stream);
+        }
+        long offset = stream.getOffset();
+        if (offset <= 0)
+            return -1;
+        int length = stream.getLength();
+        if (length <= 0)
+            return 0;
+        RandomAccessFileOrArray file = tokens.getSafeFile();
+        IDecryptor decryptor = null;
+        long written = 0;
+        try {
+            file.seek(offset);
+            if (isDecryptionRequired(stream)) {
+                decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
+                decryptor = decrypt.getDecryptor();
+            }
+            byte[] buffer = new byte[Math.min(length, STREAM_COPY_BUFFER_SIZE)];
+            int remaining = length;
+            while (remaining > 0) {
+                int chunkLength = Math.min(remaining, buffer.length);
+                file.readFully(buffer, 0, chunkLength);
+                remaining -= chunkLength;
+                if (decryptor == null) {
+                    outputStream.write(buffer, 0, chunkLength);
+                    written += chunkLength;
+                } else {
+                    written += writeIfNotNull(decryptor.update(buffer, 0, chunkLength), outputStream);
+                }
+            }
+            if (decryptor != null) {
+                written += writeIfNotNull(decryptor.finish(), outputStream);
+            }
+        } finally {
+            try {
+                file.close();
+            } catch (Exception e) {
+                // ignored
+            }
+        }
+        return written;
+    }
+
     /**
      * Reads, decrypts and optionally decodes stream bytes into {@link ByteArrayInputStream}.
      * User is responsible for closing returned stream.
@@ -1488,6 +1522,44 @@ public class PdfReader implements Closeable {
         }
     }
 
+    private boolean isDecryptionRequired(PdfStream stream) {
+        boolean embeddedStream = pdfDocument.doesStreamBelongToEmbeddedFile(stream);
+        if (decrypt == null || decrypt.isEmbeddedFilesOnly() && !embeddedStream) {
+            return false;
+        }
+        PdfObject filter = stream.get(PdfName.Filter, true);
+        boolean skip = false;
+        if (filter != null) {
+            if (filter.isFlushed()) {
+                IndirectFilterUtils.throwFlushedFilterException(stream);
+            }
+            if (PdfName.Crypt.equals(filter)) {
+                skip = true;
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                PdfArray filters = (PdfArray) filter;
+                for (int k = 0; k < filters.size(); k++) {
+                    if (filters.get(k).isFlushed()) {
+                        IndirectFilterUtils.throwFlushedFilterException(stream);
+                    }
+                    if (!filters.isEmpty() && PdfName.Crypt.equals(filters.get(k, true))) {
+                        skip = true;
+                        break;
+                    }
+                }
+            }
+            filter.release();
+        }
+        return !skip;
+    }
+
+    private static int writeIfNotNull(byte[] bytes, OutputStream outputStream) throws IOException {
+        if (bytes == null) {
+            return 0;
+        }
+        outputStream.write(bytes);
+        return bytes.length;
+    }
+
     private void checkPdfStreamLength(PdfStream pdfStream) throws IOException {
         if (!correctStreamLength)
             return;
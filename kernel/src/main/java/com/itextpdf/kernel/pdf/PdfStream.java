@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * Representation of a stream as described in the PDF Specification.
@@ -46,6 +47,24 @@ public class PdfStream extends PdfDictionary {
     private long offset;
     private int length = -1;
 
+    /**
+     * Creates an efficient stream which content is read from the {@code InputStream} only when the stream
+     * is written. Unlike {@link #PdfStream(PdfDocument, InputStream, int)} the stream doesn't need to be added
+     * to a document in advance, the indirect {@code Length} is created once the content is written.
+     * The {@code InputStream} is totally consumed but is not closed.
+     *
+     * @param inputStream      the data to write to this stream
+     * @param compressionLevel the compression level (0 = best speed, 9 = best compression, -1 is default)
+     */
+    protected PdfStream(InputStream inputStream, int compressionLevel) {
+        super();
+        if (inputStream == null) {
+            throw new IllegalArgumentException("The input stream in PdfStream constructor can not be null.");
+        }
+        this.inputStream = inputStream;
+        this.compressionLevel = compressionLevel;
+    }
+
     /**
      * Constructs a {@code PdfStream}-object.
      *
@@ -130,7 +149,7 @@ public class PdfStream extends PdfDictionary {
      * @param compressionLevel the compression level (0 = best speed, 9 = best compression, -1 is default)
      */
     public PdfStream(int compressionLevel) {
-        this(null, compressionLevel);
+        this((byte[]) null, compressionLevel);
     }
 
     /**
@@ -254,6 +273,41 @@ public class PdfStream extends PdfDictionary {
         return bytes;
     }
 
+    /**
+     * Writes stream bytes to the passed {@link OutputStream} without decoding them.
+     * If the {@code PdfStream} has been read from a document and its content hasn't been changed,
+     * the bytes are copied from the document's source chunk by chunk, so the whole stream
+     * is never held in memory.
+     * Nothing is written if the {@code PdfStream} was created by {@code InputStream}.
+     *
+     * @param os the {@link OutputStream} to write stream bytes to
+     */
+    public void writeRawBytes(OutputStream os) {
+        if (isFlushed()) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_OPERATE_WITH_FLUSHED_PDF_STREAM);
+        }
+        if (inputStream != null) {
+            LoggerFactory.getLogger(PdfStream.class).warn("PdfStream was created by InputStream." +
+                    "writeRawBytes() never writes anything in this case");
+            return;
+        }
+        try {
+            if (outputStream != null && outputStream.getOutputStream() != null) {
+                assert outputStream.getOutputStream() instanceof ByteArrayOutputStream
+                        : "Invalid OutputStream: ByteArrayByteArrayOutputStream expected";
+                outputStream.getOutputStream().flush();
+                ((ByteArrayOutputStream) outputStream.getOutputStream()).writeTo(os);
+            } else if (getIndirectReference() != null) {
+                PdfReader reader = getIndirectReference().getReader();
+                if (reader != null) {
+                    reader.readStreamBytesRaw(this, os);
+                }
+            }
+        } catch (IOException ioe) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_GET_PDF_STREAM_BYTES, ioe, this);
+        }
+    }
+
     /**
      * Sets <code>bytes</code> as stream's content.
      * Could not be used with streams which were created by <code>InputStream</code>.
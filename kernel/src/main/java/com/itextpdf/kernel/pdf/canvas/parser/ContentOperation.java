@@ -0,0 +1,140 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single operation of a content stream read by {@link PdfCanvasStreamTransformer}.
+ *
+ * <p>
+ * Only the operator is known upfront, the operands are parsed on demand, so that the operations
+ * which are kept or dropped based on the operator alone are never converted to {@link PdfObject}s.
+ */
+public class ContentOperation {
+    private final PdfCanvasParser parser;
+    private final byte[] contentBytes;
+
+    private int start;
+    private int end;
+    private String operator;
+    private PdfStream inlineImage;
+    private List<PdfObject> operands;
+
+    ContentOperation(byte[] contentBytes, PdfCanvasParser parser) {
+        this.contentBytes = contentBytes;
+        this.parser = parser;
+    }
+
+    /**
+     * Gets the operator of the operation. For an inline image the operator is {@code EI},
+     * as it is for {@link PdfCanvasProcessor}.
+     *
+     * @return the operator
+     */
+    public String getOperator() {
+        return operator;
+    }
+
+    /**
+     * Gets the operands of the operation having the operator itself as the last element,
+     * in the same way as {@link PdfCanvasParser#parse(List)} returns them. For an inline image
+     * the first element is the {@link PdfStream} with the image dictionary and bytes.
+     * <p>
+     * The operands are parsed on the first call of this method. The returned list can be modified,
+     * e.g. in order to write a replacement with {@link ContentOperationWriter#write(List)}.
+     *
+     * @return the operands followed by the operator
+     */
+    public List<PdfObject> getOperands() {
+        if (operands == null) {
+            operands = new ArrayList<>();
+            if (inlineImage != null) {
+                operands.add(inlineImage);
+                operands.add(new PdfLiteral("EI"));
+            } else {
+                PdfTokenizer tokeniser = parser.getTokeniser();
+                long position = tokeniser.getPosition();
+                try {
+                    tokeniser.seek(start);
+                    parser.parse(operands);
+                } catch (IOException e) {
+                    throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
+                } finally {
+                    tokeniser.seek(position);
+                }
+            }
+        }
+        return operands;
+    }
+
+    /**
+     * Checks whether the operation is an inline image, i.e. the part of the content stream
+     * starting with {@code BI} operator and ending with {@code EI} operator.
+     *
+     * @return {@code true} if the operation is an inline image, {@code false} otherwise
+     */
+    public boolean isInlineImage() {
+        return inlineImage != null;
+    }
+
+    /**
+     * Gets the length of the operation in the original content stream, including the preceding
+     * whitespaces and comments.
+     *
+     * @return the length of the operation in bytes
+     */
+    public int getLength() {
+        return end - start;
+    }
+
+    byte[] getContentBytes() {
+        return contentBytes;
+    }
+
+    int getStart() {
+        return start;
+    }
+
+    int getEnd() {
+        return end;
+    }
+
+    void reset(int start, int end, String operator, PdfStream inlineImage) {
+        this.start = start;
+        this.end = end;
+        this.operator = operator;
+        this.inlineImage = inlineImage;
+        this.operands = null;
+    }
+}
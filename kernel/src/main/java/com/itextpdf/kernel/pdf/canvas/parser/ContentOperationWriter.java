@@ -0,0 +1,179 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfOutputStream;
+import com.itextpdf.kernel.pdf.PdfStream;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the resultant content stream of {@link PdfCanvasStreamTransformer}.
+ *
+ * <p>
+ * The writer keeps track of the last written byte and separates the written pieces with a new line
+ * when they would otherwise merge into a single token, e.g. when the operation between two kept
+ * operations has been dropped.
+ */
+public class ContentOperationWriter {
+    private static final byte[] BI = new byte[] {(byte) 'B', (byte) 'I', (byte) '\n'};
+    private static final byte[] ID = new byte[] {(byte) 'I', (byte) 'D', (byte) '\n'};
+
+    private final PdfOutputStream outputStream;
+    private ContentOperation operation;
+    private int lastByte = -1;
+
+    ContentOperationWriter(java.io.OutputStream outputStream) {
+        this.outputStream = new PdfOutputStream(outputStream);
+    }
+
+    /**
+     * Writes the bytes of the current operation as they are in the original content stream,
+     * together with the preceding whitespaces and comments.
+     *
+     * @return this writer
+     */
+    public ContentOperationWriter writeOriginal() {
+        writeRange(operation.getContentBytes(), operation.getStart(), operation.getEnd());
+        return this;
+    }
+
+    /**
+     * Writes an operation. The passed list shall contain the operands followed by the operator,
+     * as it is returned by {@link ContentOperation#getOperands()}. An inline image can be written
+     * by passing the {@link PdfStream} with the image dictionary and bytes followed by {@code EI} operator.
+     *
+     * @param operandsAndOperator the operands followed by the operator
+     *
+     * @return this writer
+     */
+    public ContentOperationWriter write(List<PdfObject> operandsAndOperator) {
+        if (operandsAndOperator.isEmpty()) {
+            return this;
+        }
+        PdfObject first = operandsAndOperator.get(0);
+        if (first instanceof PdfStream) {
+            writeInlineImage((PdfStream) first);
+        } else {
+            separate();
+            for (int i = 0; i < operandsAndOperator.size(); i++) {
+                if (i > 0) {
+                    outputStream.writeSpace();
+                }
+                outputStream.write(operandsAndOperator.get(i));
+            }
+        }
+        lastByte = 'a';
+        return this;
+    }
+
+    /**
+     * Writes an operation consisting of the specified operator and operands.
+     *
+     * @param operator the operator
+     * @param operands the operands
+     *
+     * @return this writer
+     */
+    public ContentOperationWriter write(String operator, PdfObject... operands) {
+        separate();
+        for (PdfObject operand : operands) {
+            outputStream.write(operand).writeSpace();
+        }
+        outputStream.write(new PdfLiteral(operator));
+        lastByte = 'a';
+        return this;
+    }
+
+    /**
+     * Writes the content bytes as they are, e.g. the content produced by another {@link
+     * com.itextpdf.kernel.pdf.canvas.PdfCanvas}.
+     *
+     * @param bytes the content bytes
+     *
+     * @return this writer
+     */
+    public ContentOperationWriter writeBytes(byte[] bytes) {
+        writeRange(bytes, 0, bytes.length);
+        return this;
+    }
+
+    void setOperation(ContentOperation operation) {
+        this.operation = operation;
+    }
+
+    void writeRange(byte[] bytes, int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        if (isRegular(lastByte) && isRegular(bytes[start] & 0xff)) {
+            outputStream.writeNewLine();
+        }
+        outputStream.writeBytes(bytes, start, end - start);
+        lastByte = bytes[end - 1] & 0xff;
+    }
+
+    private void writeInlineImage(PdfStream inlineImage) {
+        separate();
+        outputStream.writeBytes(BI);
+        for (Map.Entry<PdfName, PdfObject> entry : inlineImage.entrySet()) {
+            outputStream.write(entry.getKey()).writeSpace();
+            outputStream.write(entry.getValue()).writeNewLine();
+        }
+        outputStream.writeBytes(ID);
+        outputStream.writeBytes(inlineImage.getBytes(false)).writeNewLine();
+        outputStream.write(new PdfLiteral("EI"));
+    }
+
+    private void separate() {
+        if (lastByte != -1 && !PdfTokenizer.isWhitespace(lastByte)) {
+            outputStream.writeNewLine();
+        }
+    }
+
+    private static boolean isRegular(int ch) {
+        if (ch == -1 || PdfTokenizer.isWhitespace(ch)) {
+            return false;
+        }
+        switch (ch) {
+            case '(':
+            case ')':
+            case '<':
+            case '>':
+            case '[':
+            case ']':
+            case '/':
+            case '%':
+            case '{':
+            case '}':
+                return false;
+            default:
+                return true;
+        }
+    }
+}
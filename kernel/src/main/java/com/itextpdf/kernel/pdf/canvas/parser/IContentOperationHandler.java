@@ -0,0 +1,41 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+/**
+ * Handler of the operations read by {@link PdfCanvasStreamTransformer}.
+ */
+@FunctionalInterface
+public interface IContentOperationHandler {
+
+    /**
+     * Called for each operation of the content stream in the order they appear in it.
+     * The operation is dropped unless the handler writes it (or a replacement for it)
+     * with the passed writer. The handler can also write several operations at once.
+     *
+     * @param operation the operation which has been read. The instance is reused for the subsequent operations,
+     *                  so it shall not be stored
+     * @param writer    the writer of the resultant content stream
+     */
+    void handleOperation(ContentOperation operation, ContentOperationWriter writer);
+}
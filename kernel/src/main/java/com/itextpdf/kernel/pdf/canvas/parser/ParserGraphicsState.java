@@ -33,14 +33,25 @@ import com.itextpdf.kernel.pdf.canvas.parser.clipper.DefaultClipper;
 import com.itextpdf.kernel.pdf.canvas.parser.clipper.IClipper;
 import com.itextpdf.kernel.pdf.canvas.parser.clipper.PolyTree;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Internal class which is essentially a {@link CanvasGraphicsState} which supports tracking of
  * clipping path state and changes.
+ *
+ * <p>
+ * Intersections of the clipping path with the paths passed to {@link #clip(Path, int)} are not calculated
+ * immediately. The paths are stored and the actual clipping path is resolved the first time
+ * {@link #getClippingPath()} is called.
  */
 public class ParserGraphicsState extends CanvasGraphicsState {
     // NOTE: From the spec default value of this field should be the boundary of the entire imageable portion of the output page.
     private Path clippingPath;
 
+    // Paths (in the transformed user space) which are still to be intersected with the clipping path
+    private List<DeferredClip> deferredClips;
+
     /**
      * Internal empty and default constructor.
      */
@@ -59,6 +70,10 @@ public class ParserGraphicsState extends CanvasGraphicsState {
         if (source.clippingPath != null) {
             clippingPath = new Path(source.clippingPath);
         }
+        if (source.deferredClips != null) {
+            // deferred paths are never modified, so they can be shared between the states
+            deferredClips = new ArrayList<>(source.deferredClips);
+        }
     }
 
     @Override
@@ -81,21 +96,17 @@ public class ParserGraphicsState extends CanvasGraphicsState {
      *                    {@link FillingRule#NONZERO_WINDING}
      */
     public void clip(Path path, int fillingRule) {
-        if (clippingPath == null || clippingPath.isEmpty()) {
+        if (clippingPath == null || deferredClips == null && clippingPath.isEmpty()) {
             return;
         }
 
         Path pathCopy = new Path(path);
         pathCopy.closeAllSubpaths();
 
-        IClipper clipper = new DefaultClipper();
-        ClipperBridge.addPath(clipper, clippingPath, IClipper.PolyType.SUBJECT);
-        ClipperBridge.addPath(clipper, pathCopy, IClipper.PolyType.CLIP);
-
-        PolyTree resultTree = new PolyTree();
-        clipper.execute(IClipper.ClipType.INTERSECTION, resultTree, IClipper.PolyFillType.NON_ZERO, ClipperBridge.getFillType(fillingRule));
-
-        clippingPath = ClipperBridge.convertToPath(resultTree);
+        if (deferredClips == null) {
+            deferredClips = new ArrayList<>();
+        }
+        deferredClips.add(new DeferredClip(pathCopy, fillingRule));
     }
 
     /**
@@ -107,6 +118,9 @@ public class ParserGraphicsState extends CanvasGraphicsState {
      * @return The current clipping path.
      */
     public Path getClippingPath() {
+        if (deferredClips != null) {
+            resolveDeferredClips();
+        }
         return clippingPath;
     }
 
@@ -122,9 +136,45 @@ public class ParserGraphicsState extends CanvasGraphicsState {
         Path pathCopy = new Path(clippingPath);
         pathCopy.closeAllSubpaths();
         this.clippingPath = pathCopy;
+        this.deferredClips = null;
     }
 
     private void transformClippingPath(Matrix newCtm) {
         clippingPath = ShapeTransformUtil.transformPath(clippingPath, newCtm);
+        if (deferredClips != null) {
+            for (int i = 0; i < deferredClips.size(); i++) {
+                DeferredClip deferredClip = deferredClips.get(i);
+                deferredClips.set(i, new DeferredClip(ShapeTransformUtil.transformPath(deferredClip.path, newCtm),
+                        deferredClip.fillingRule));
+            }
+        }
+    }
+
+    private void resolveDeferredClips() {
+        for (DeferredClip deferredClip : deferredClips) {
+            if (clippingPath.isEmpty()) {
+                break;
+            }
+            IClipper clipper = new DefaultClipper();
+            ClipperBridge.addPath(clipper, clippingPath, IClipper.PolyType.SUBJECT);
+            ClipperBridge.addPath(clipper, deferredClip.path, IClipper.PolyType.CLIP);
+
+            PolyTree resultTree = new PolyTree();
+            clipper.execute(IClipper.ClipType.INTERSECTION, resultTree, IClipper.PolyFillType.NON_ZERO,
+                    ClipperBridge.getFillType(deferredClip.fillingRule));
+
+            clippingPath = ClipperBridge.convertToPath(resultTree);
+        }
+        deferredClips = null;
+    }
+
+    private static final class DeferredClip {
+        private final Path path;
+        private final int fillingRule;
+
+        DeferredClip(Path path, int fillingRule) {
+            this.path = path;
+            this.fillingRule = fillingRule;
+        }
     }
 }
@@ -160,6 +160,12 @@ public class PdfCanvasProcessor {
      */
     private long pageSize = 0;
 
+    /**
+     * Indicates whether the clipping path shall be tracked even if the listener isn't
+     * interested in {@link EventType#CLIP_PATH_CHANGED} events.
+     */
+    private boolean clippingPathTrackingEnabled = true;
+
     /**
      * Creates a new PDF Content Stream Processor that will send its output to the
      * designated render listener.
@@ -229,6 +235,40 @@ public class PdfCanvasProcessor {
         return new ArrayList<String>(operators.keySet());
     }
 
+    /**
+     * Sets whether the clipping path shall be tracked while processing the content.
+     * Tracking is enabled by default. If it is disabled and the listener isn't subscribed to
+     * {@link EventType#CLIP_PATH_CHANGED} events, the clipping path is not calculated at all,
+     * so {@link ParserGraphicsState#getClippingPath()} of the graphics states passed with
+     * the render events returns {@code null}.
+     *
+     * <p>
+     * Note that even if the tracking is enabled, the clipping path is resolved lazily, i.e.
+     * only when it is requested either by the processor itself (in order to notify the listener
+     * about the clipping path changes) or by the listener.
+     *
+     * @param clippingPathTrackingEnabled {@code true} to always track the clipping path,
+     *                                    {@code false} to track it only if the listener is subscribed to
+     *                                    {@link EventType#CLIP_PATH_CHANGED} events
+     *
+     * @return this {@link PdfCanvasProcessor} instance
+     */
+    public PdfCanvasProcessor setClippingPathTrackingEnabled(boolean clippingPathTrackingEnabled) {
+        this.clippingPathTrackingEnabled = clippingPathTrackingEnabled;
+        return this;
+    }
+
+    /**
+     * Checks whether the clipping path is tracked while processing the content.
+     * See {@link #setClippingPathTrackingEnabled(boolean)}.
+     *
+     * @return {@code true} if the clipping path is tracked, {@code false} otherwise
+     */
+    public boolean isClippingPathTracked() {
+        return clippingPathTrackingEnabled || supportedEvents == null
+                || supportedEvents.contains(EventType.CLIP_PATH_CHANGED);
+    }
+
     /**
      * Resets the graphics state stack, matrices and resources.
      */
@@ -295,9 +335,10 @@ public class PdfCanvasProcessor {
      */
     public void processPageContent(PdfPage page) {
         this.memoryLimitsHandler = page.getDocument().getMemoryLimitsAwareHandler();
-        initClippingPath(page);
-        ParserGraphicsState gs = getGraphicsState();
-        eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+        if (isClippingPathTracked()) {
+            initClippingPath(page);
+            notifyClippingPathChanged();
+        }
         processContent(page.getContentBytes(), page.getResources());
     }
 
@@ -432,7 +473,7 @@ public class PdfCanvasProcessor {
         if (isClip) {
             isClip = false;
             gs.clip(currentPath, clippingRule);
-            eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            notifyClippingPathChanged();
         }
 
         currentPath = new Path();
@@ -585,6 +626,17 @@ public class PdfCanvasProcessor {
         textMatrix = new Matrix(adjustBy, 0).multiply(textMatrix);
     }
 
+    /**
+     * Notifies the listener about the clipping path change. The clipping path is not resolved
+     * if the listener isn't interested in such events.
+     */
+    private void notifyClippingPathChanged() {
+        if (supportedEvents == null || supportedEvents.contains(EventType.CLIP_PATH_CHANGED)) {
+            ParserGraphicsState gs = getGraphicsState();
+            eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+        }
+    }
+
     private void initClippingPath(PdfPage page) {
         Path clippingPath = new Path();
         clippingPath.rectangle(page.getCropBox());
@@ -1072,8 +1124,7 @@ public class PdfCanvasProcessor {
          */
         public void invoke(PdfCanvasProcessor processor, PdfLiteral operator, List<PdfObject> operands) {
             processor.gsStack.pop();
-            ParserGraphicsState gs = processor.getGraphicsState();
-            processor.eventOccurred(new ClippingPathInfo(gs, gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
+            processor.notifyClippingPathChanged();
         }
     }
 
@@ -0,0 +1,153 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.canvas.parser.util.InlineImageParsingUtils;
+import com.itextpdf.kernel.pdf.canvas.parser.util.PdfCanvasParser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Rewrites a content stream operation by operation.
+ *
+ * <p>
+ * The content is tokenized and each operation is passed to the {@link IContentOperationHandler}, which
+ * decides whether the operation is kept, dropped or replaced. Unlike {@link PdfCanvasParser}, the transformer
+ * doesn't build {@link com.itextpdf.kernel.pdf.PdfObject}s for the operands unless the handler asks for them:
+ * the kept operations are copied to the output byte by byte, so that the original formatting of the content
+ * is preserved as well.
+ *
+ * <p>
+ * The transformer doesn't track the graphics state, the handler is responsible for keeping the content
+ * consistent, e.g. for not dropping only one of the paired {@code q}/{@code Q} or {@code BT}/{@code ET} operators.
+ */
+public class PdfCanvasStreamTransformer {
+    private static final byte[] BI = new byte[] {(byte) 'B', (byte) 'I'};
+
+    private final IContentOperationHandler handler;
+
+    /**
+     * Creates a new {@link PdfCanvasStreamTransformer} instance.
+     *
+     * @param handler the handler which decides what happens to each operation
+     */
+    public PdfCanvasStreamTransformer(IContentOperationHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Transforms the content of the page and replaces the content streams of the page
+     * with a single stream containing the result.
+     *
+     * @param page the page to transform
+     */
+    public void transformPageContent(PdfPage page) {
+        byte[] transformed = transform(page.getContentBytes(), page.getResources());
+        page.put(PdfName.Contents, new PdfStream(transformed).makeIndirect(page.getDocument()));
+    }
+
+    /**
+     * Transforms the content.
+     *
+     * @param contentBytes the bytes of the content stream
+     * @param resources    the resources of the content stream, used only for parsing of the inline images.
+     *                     Might be {@code null}
+     *
+     * @return the transformed content bytes
+     */
+    public byte[] transform(byte[] contentBytes, PdfResources resources) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(contentBytes.length);
+        transform(contentBytes, resources, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Transforms the content writing the result to the passed output stream.
+     *
+     * @param contentBytes the bytes of the content stream
+     * @param resources    the resources of the content stream, used only for parsing of the inline images.
+     *                     Might be {@code null}
+     * @param outputStream the stream to write the transformed content to
+     */
+    public void transform(byte[] contentBytes, PdfResources resources, OutputStream outputStream) {
+        PdfTokenizer tokeniser = new PdfTokenizer(
+                new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
+        PdfCanvasParser parser = new PdfCanvasParser(tokeniser, resources);
+        PdfDictionary colorSpaceDic = resources == null ? null : resources.getResource(PdfName.ColorSpace);
+        ContentOperation operation = new ContentOperation(contentBytes, parser);
+        ContentOperationWriter writer = new ContentOperationWriter(outputStream);
+        writer.setOperation(operation);
+        int start = 0;
+        int nesting = 0;
+        try {
+            while (parser.nextValidToken()) {
+                switch (tokeniser.getTokenType()) {
+                    case StartArray:
+                    case StartDic:
+                        nesting++;
+                        break;
+                    case EndArray:
+                    case EndDic:
+                        nesting = Math.max(0, nesting - 1);
+                        break;
+                    case Other:
+                        // keywords inside of arrays and dictionaries (true, false, null) are not operators
+                        if (nesting == 0) {
+                            PdfStream inlineImage = null;
+                            String operator;
+                            if (tokeniser.tokenValueEqualsTo(BI)) {
+                                inlineImage = InlineImageParsingUtils.parse(parser, colorSpaceDic);
+                                operator = "EI";
+                            } else {
+                                operator = tokeniser.getStringValue();
+                            }
+                            // the position is moved past the end of the content when the last token is read
+                            int end = (int) Math.min(tokeniser.getPosition(), contentBytes.length);
+                            operation.reset(start, end, operator, inlineImage);
+                            handler.handleOperation(operation, writer);
+                            start = end;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.CANNOT_PARSE_CONTENT_STREAM, e);
+        }
+        // trailing whitespaces and comments, as well as the operands without an operator, are kept as they are
+        writer.writeRange(contentBytes, start, contentBytes.length);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.geom.Rectangle;
+
+/**
+ * {@link IPdfTextLocation} found by {@link StreamingRegexBasedLocationExtractionStrategy}.
+ * In addition to the location it stores the index of the pattern which has produced the match.
+ */
+public class PatternMatchTextLocation extends DefaultPdfTextLocation {
+
+    private final int patternIndex;
+
+    /**
+     * Creates a new {@link PatternMatchTextLocation} instance.
+     *
+     * @param pageNr       the page number of the location
+     * @param rect         the visual {@link Rectangle} in which the text is located
+     * @param text         the matched text
+     * @param patternIndex the index of the matched pattern in the list passed to the strategy
+     */
+    public PatternMatchTextLocation(int pageNr, Rectangle rect, String text, int patternIndex) {
+        super(pageNr, rect, text);
+        this.patternIndex = patternIndex;
+    }
+
+    /**
+     * Gets the index of the pattern which has produced this location.
+     *
+     * @return the index of the pattern in the list passed to the strategy
+     */
+    public int getPatternIndex() {
+        return patternIndex;
+    }
+}
@@ -169,7 +169,7 @@ public class RegexBasedLocationExtractionStrategy implements ILocationExtraction
         return retval;
     }
 
-    private static Integer getStartIndex(Map<Integer, Integer> indexMap, int index,
+    static Integer getStartIndex(Map<Integer, Integer> indexMap, int index,
             String txt) {
         while (!indexMap.containsKey(index) && index < txt.length()) {
             index++;
@@ -177,7 +177,7 @@ public class RegexBasedLocationExtractionStrategy implements ILocationExtraction
         return indexMap.get(index);
     }
 
-    private static Integer getEndIndex(Map<Integer, Integer> indexMap, int index) {
+    static Integer getEndIndex(Map<Integer, Integer> indexMap, int index) {
         while (!indexMap.containsKey(index) && index >= 0) {
             index--;
         }
@@ -0,0 +1,318 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class is designed to search for the occurrences of several regular expressions at once and to report
+ * the resultant locations while the page content is still being processed.
+ *
+ * <p>
+ * Unlike {@link RegexBasedLocationExtractionStrategy}, which keeps every character of the page and runs the regular
+ * expression only after the whole page has been processed, this strategy keeps only the characters of the text line
+ * currently being drawn. Once the content stream moves to another line, the completed line is searched and
+ * the found locations are passed to the consumer (or stored till {@link #getResultantLocations()} is called if no
+ * consumer has been specified).
+ *
+ * <p>
+ * All the patterns are compiled into a single regular expression, so the text of each line is scanned only once.
+ * At every position the patterns are tried in the order they were passed, the first one that matches wins
+ * and, as for a single regular expression, the found matches don't overlap.
+ *
+ * <p>
+ * Note that matching is performed on a line basis, i.e. a match can't span several lines. Text drawn on the same
+ * line by non-consecutive text showing operators is searched as separate pieces. Numbered back references
+ * are not supported within patterns since they get shifted in the combined expression, use named groups instead.
+ */
+public class StreamingRegexBasedLocationExtractionStrategy implements ILocationExtractionStrategy {
+    private final Pattern combinedPattern;
+    private final int[] patternGroups;
+    private final Consumer<IPdfTextLocation> locationConsumer;
+    private final List<IPdfTextLocation> resultantLocations = new ArrayList<>();
+    private final List<CharacterRenderInfo> currentLine = new ArrayList<>();
+
+    /**
+     * Creates a new {@link StreamingRegexBasedLocationExtractionStrategy} which collects the found locations.
+     * They can be obtained via {@link #getResultantLocations()}.
+     *
+     * @param patterns the regular expressions to search for
+     */
+    public StreamingRegexBasedLocationExtractionStrategy(String... patterns) {
+        this(compileAll(patterns), null);
+    }
+
+    /**
+     * Creates a new {@link StreamingRegexBasedLocationExtractionStrategy} which collects the found locations.
+     * They can be obtained via {@link #getResultantLocations()}.
+     *
+     * @param patterns the patterns to search for
+     */
+    public StreamingRegexBasedLocationExtractionStrategy(List<Pattern> patterns) {
+        this(patterns, null);
+    }
+
+    /**
+     * Creates a new {@link StreamingRegexBasedLocationExtractionStrategy} which passes each found location
+     * to the specified consumer as soon as the line containing it is completed.
+     *
+     * @param patterns         the patterns to search for
+     * @param locationConsumer the consumer of the found locations, each of them is
+     *                         a {@link PatternMatchTextLocation}. If {@code null}, the locations are collected
+     *                         and can be obtained via {@link #getResultantLocations()}
+     */
+    public StreamingRegexBasedLocationExtractionStrategy(List<Pattern> patterns,
+            Consumer<IPdfTextLocation> locationConsumer) {
+        if (patterns == null || patterns.isEmpty()) {
+            throw new IllegalArgumentException(
+                    KernelExceptionMessageConstant.AT_LEAST_ONE_PATTERN_SHALL_BE_SPECIFIED);
+        }
+        this.patternGroups = new int[patterns.size()];
+        this.combinedPattern = combine(patterns, patternGroups);
+        this.locationConsumer = locationConsumer;
+    }
+
+    /**
+     * Searches the text of the line which is currently being collected and releases its characters.
+     * This method shall be called after the page content has been processed, so that the matches
+     * on the last line of the page are reported as well.
+     */
+    public void flush() {
+        if (currentLine.isEmpty()) {
+            return;
+        }
+        // align characters in "logical" order
+        Collections.sort(currentLine,
+                new TextChunkLocationBasedComparator(new DefaultTextChunkLocationComparator()));
+        CharacterRenderInfo.StringConversionInfo txt = CharacterRenderInfo.mapString(currentLine);
+
+        // ligatures can produce the same rectangle
+        List<Rectangle> reportedRectangles = new ArrayList<>();
+        Matcher mat = combinedPattern.matcher(txt.text);
+        while (mat.find()) {
+            Integer startIndex = RegexBasedLocationExtractionStrategy.getStartIndex(txt.indexMap, mat.start(),
+                    txt.text);
+            Integer endIndex = RegexBasedLocationExtractionStrategy.getEndIndex(txt.indexMap, mat.end() - 1);
+            if (startIndex != null && endIndex != null && startIndex <= endIndex) {
+                int patternIndex = getMatchedPatternIndex(mat);
+                for (Rectangle r : toRectangles(currentLine.subList(startIndex.intValue(),
+                        endIndex.intValue() + 1))) {
+                    if (!containsRectangle(reportedRectangles, r)) {
+                        reportedRectangles.add(r);
+                        report(new PatternMatchTextLocation(0, r, mat.group(0), patternIndex));
+                    }
+                }
+            }
+        }
+        currentLine.clear();
+    }
+
+    /**
+     * Returns the locations which have been found since the last call of this method.
+     * The line which is currently being collected is searched first, see {@link #flush()}.
+     * If a consumer has been specified, all the locations have been passed to it and
+     * an empty collection is returned.
+     *
+     * @return {@link Collection}&lt;{@link IPdfTextLocation}&gt; instance with the newly found locations
+     */
+    @Override
+    public Collection<IPdfTextLocation> getResultantLocations() {
+        flush();
+        List<IPdfTextLocation> retval = new ArrayList<>(resultantLocations);
+        resultantLocations.clear();
+        return retval;
+    }
+
+    @Override
+    public void eventOccurred(IEventData data, EventType type) {
+        if (data instanceof TextRenderInfo) {
+            for (CharacterRenderInfo cri : toCRI((TextRenderInfo) data)) {
+                if (!currentLine.isEmpty() && !cri.sameLine(currentLine.get(currentLine.size() - 1))) {
+                    flush();
+                }
+                currentLine.add(cri);
+            }
+        }
+    }
+
+    @Override
+    public Set<EventType> getSupportedEvents() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Collections.singletonList(EventType.RENDER_TEXT)));
+    }
+
+    /**
+     * Convert {@link TextRenderInfo} to {@link CharacterRenderInfo}.
+     * This method is protected and not final so that custom implementations can choose to override it.
+     *
+     * @param tri {@link TextRenderInfo} object
+     *
+     * @return a list of {@link CharacterRenderInfo}s which represents the passed {@link TextRenderInfo}
+     */
+    protected List<CharacterRenderInfo> toCRI(TextRenderInfo tri) {
+        List<CharacterRenderInfo> cris = new ArrayList<>();
+        for (TextRenderInfo subTri : tri.getCharacterRenderInfos()) {
+            cris.add(new CharacterRenderInfo(subTri));
+        }
+        return cris;
+    }
+
+    /**
+     * Converts {@link CharacterRenderInfo} objects of a match to {@link Rectangle}s.
+     * This method is protected and not final so that custom implementations can choose to override it.
+     * E.g. other implementations may choose to add padding/margin to the Rectangles.
+     *
+     * @param cris list of {@link CharacterRenderInfo} objects
+     *
+     * @return a list of rectangles, one per each piece of the match lying on the same line
+     */
+    protected List<Rectangle> toRectangles(List<CharacterRenderInfo> cris) {
+        List<Rectangle> retval = new ArrayList<>();
+        int prev = 0;
+        int curr = 0;
+        while (curr < cris.size()) {
+            while (curr < cris.size() && cris.get(curr).sameLine(cris.get(prev))) {
+                curr++;
+            }
+            Rectangle resultRectangle = null;
+            for (CharacterRenderInfo cri : cris.subList(prev, curr)) {
+                // in case letters are rotated (imagine text being written with an angle of 90 degrees)
+                resultRectangle = Rectangle.getCommonRectangle(resultRectangle, cri.getBoundingBox());
+            }
+            retval.add(resultRectangle);
+            prev = curr;
+        }
+        return retval;
+    }
+
+    private void report(IPdfTextLocation location) {
+        if (locationConsumer == null) {
+            resultantLocations.add(location);
+        } else {
+            locationConsumer.accept(location);
+        }
+    }
+
+    private int getMatchedPatternIndex(Matcher matcher) {
+        for (int i = 0; i < patternGroups.length; i++) {
+            if (matcher.start(patternGroups[i]) != -1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean containsRectangle(List<Rectangle> rectangles, Rectangle rectangle) {
+        for (Rectangle r : rectangles) {
+            if (r.equalsWithEpsilon(rectangle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compileAll(String[] regexes) {
+        Pattern[] patterns = new Pattern[regexes.length];
+        for (int i = 0; i < regexes.length; i++) {
+            patterns[i] = Pattern.compile(regexes[i]);
+        }
+        return Arrays.asList(patterns);
+    }
+
+    /**
+     * Combines the patterns into a single alternation. Each pattern is wrapped into its own capturing group,
+     * the numbers of these groups are stored in {@code patternGroups}.
+     */
+    private static Pattern combine(List<Pattern> patterns, int[] patternGroups) {
+        StringBuilder sb = new StringBuilder();
+        int group = 1;
+        for (int i = 0; i < patterns.size(); i++) {
+            Pattern pattern = patterns.get(i);
+            if (i > 0) {
+                sb.append('|');
+            }
+            sb.append('(');
+            String inlineFlags = toInlineFlags(pattern.flags());
+            if (!inlineFlags.isEmpty()) {
+                sb.append("(?").append(inlineFlags).append(')');
+            }
+            if ((pattern.flags() & Pattern.LITERAL) != 0) {
+                sb.append(Pattern.quote(pattern.pattern()));
+            } else {
+                sb.append(pattern.pattern());
+            }
+            if ((pattern.flags() & Pattern.COMMENTS) != 0) {
+                // a trailing comment would otherwise swallow the closing parenthesis
+                sb.append('\n');
+            }
+            sb.append(')');
+            patternGroups[i] = group;
+            group += 1 + pattern.matcher("").groupCount();
+        }
+        return Pattern.compile(sb.toString());
+    }
+
+    private static String toInlineFlags(int flags) {
+        if ((flags & Pattern.CANON_EQ) != 0) {
+            throw new IllegalArgumentException(
+                    KernelExceptionMessageConstant.PATTERNS_WITH_CANON_EQ_FLAG_CANNOT_BE_COMBINED);
+        }
+        StringBuilder sb = new StringBuilder();
+        if ((flags & Pattern.UNIX_LINES) != 0) {
+            sb.append('d');
+        }
+        if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+            sb.append('i');
+        }
+        if ((flags & Pattern.COMMENTS) != 0) {
+            sb.append('x');
+        }
+        if ((flags & Pattern.MULTILINE) != 0) {
+            sb.append('m');
+        }
+        if ((flags & Pattern.DOTALL) != 0) {
+            sb.append('s');
+        }
+        if ((flags & Pattern.UNICODE_CASE) != 0) {
+            sb.append('u');
+        }
+        if ((flags & Pattern.UNICODE_CHARACTER_CLASS) != 0) {
+            sb.append('U');
+        }
+        return sb.toString();
+    }
+}
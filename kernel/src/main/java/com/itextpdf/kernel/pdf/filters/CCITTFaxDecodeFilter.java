@@ -23,8 +23,8 @@
 package com.itextpdf.kernel.pdf.filters;
 
 import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.io.codec.CCITTFaxDecoder;
 import com.itextpdf.io.codec.TIFFConstants;
-import com.itextpdf.io.codec.TIFFFaxDecoder;
 import com.itextpdf.io.codec.TIFFFaxDecompressor;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.PdfBoolean;
@@ -85,8 +85,8 @@ public class CCITTFaxDecodeFilter implements IFilterHandler {
         } else {
             long tiffT6Options = 0;
             tiffT6Options |= byteAlign ? TIFFConstants.GROUP4OPT_FILLBITS : 0;
-            TIFFFaxDecoder deca = new TIFFFaxDecoder(1, width, height);
-            deca.decodeT6(outBuf, b, 0, height, tiffT6Options);
+            CCITTFaxDecoder deca = new CCITTFaxDecoder(width, 1);
+            deca.decodeT6(outBuf, b, height, tiffT6Options);
         }
         if (!blackIs1) {
             int len = outBuf.length;
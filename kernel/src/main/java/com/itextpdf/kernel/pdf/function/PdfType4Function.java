@@ -23,10 +23,26 @@
 package com.itextpdf.kernel.pdf.function;
 
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
 
+/**
+ * This class represents Pdf type 4 function that is a PostScript calculator program.
+ *
+ * <p>
+ * The program is compiled on the first calculation into a compact array of instructions, so that
+ * the function can be cheaply evaluated many times, e.g. when the colors of a shading are sampled.
+ * Note that the instances of this class are not thread-safe, the compiled program has its own operand stack.
+ *
+ * <p>
+ * For more info see ISO 32000-1, section 7.10.5 "Type 4 (PostScript Calculator) Functions".
+ */
 public class PdfType4Function extends AbstractPdfFunction<PdfStream> {
+    private PostScriptCalculator calculator;
+    private double[] domain;
+    private double[] range;
+
     public PdfType4Function(PdfStream dict) {
         super(dict);
     }
@@ -46,6 +62,50 @@ public class PdfType4Function extends AbstractPdfFunction<PdfStream> {
 
     @Override
     public double[] calculate(double[] input) {
-        throw new UnsupportedOperationException(KernelExceptionMessageConstant.TYPE4_EXECUTION_NOT_SUPPORTED);
+        compileIfNeeded();
+        if (input == null || input.length * 2 != domain.length) {
+            throw new PdfException(KernelExceptionMessageConstant.INVALID_INPUT_FOR_TYPE_4_FUNCTION);
+        }
+        double[] output = new double[range.length / 2];
+        calculator.evaluate(input, 0, domain, output, 0, range);
+        return output;
+    }
+
+    /**
+     * Calculates the function without allocating any memory. The number of the input and output values
+     * is defined by the "Domain" and "Range" of the function respectively.
+     *
+     * @param input        the array containing the input values
+     * @param inputOffset  the index of the first input value
+     * @param output       the array to write the output values to
+     * @param outputOffset the index to write the first output value at
+     */
+    public void calculate(double[] input, int inputOffset, double[] output, int outputOffset) {
+        compileIfNeeded();
+        calculator.evaluate(input, inputOffset, domain, output, outputOffset, range);
+    }
+
+    @Override
+    public void setDomain(double[] value) {
+        super.setDomain(value);
+        calculator = null;
+    }
+
+    @Override
+    public void setRange(double[] value) {
+        super.setRange(value);
+        calculator = null;
+    }
+
+    private void compileIfNeeded() {
+        if (calculator != null) {
+            return;
+        }
+        domain = getDomain();
+        range = getRange();
+        if (range == null) {
+            throw new PdfException(KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_RANGE);
+        }
+        calculator = PostScriptCalculator.compile(getPdfObject().getBytes());
     }
 }
@@ -0,0 +1,595 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.function;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A PostScript calculator program of a Type 4 function compiled into a flat array of instructions.
+ *
+ * <p>
+ * The program is parsed only once. The conditional procedures are inlined and turned into relative jumps,
+ * the numbers are stored in a separate constants array, so the evaluation is a single loop over
+ * the instructions working on a preallocated operand stack.
+ *
+ * <p>
+ * For more info see ISO 32000-1, section 7.10.5 "Type 4 (PostScript Calculator) Functions".
+ */
+final class PostScriptCalculator {
+    /**
+     * The maximum depth of the operand stack, see ISO 32000-1, section 7.10.5.1.
+     */
+    static final int MAX_STACK_DEPTH = 100;
+
+    private static final int PUSH = 0;
+    private static final int PUSH_TRUE = 1;
+    private static final int PUSH_FALSE = 2;
+    private static final int JUMP_IF_FALSE = 3;
+    private static final int JUMP = 4;
+    private static final int ABS = 5;
+    private static final int ADD = 6;
+    private static final int ATAN = 7;
+    private static final int CEILING = 8;
+    private static final int COS = 9;
+    private static final int CVI = 10;
+    private static final int CVR = 11;
+    private static final int DIV = 12;
+    private static final int EXP = 13;
+    private static final int FLOOR = 14;
+    private static final int IDIV = 15;
+    private static final int LN = 16;
+    private static final int LOG = 17;
+    private static final int MOD = 18;
+    private static final int MUL = 19;
+    private static final int NEG = 20;
+    private static final int ROUND = 21;
+    private static final int SIN = 22;
+    private static final int SQRT = 23;
+    private static final int SUB = 24;
+    private static final int TRUNCATE = 25;
+    private static final int AND = 26;
+    private static final int BITSHIFT = 27;
+    private static final int EQ = 28;
+    private static final int GE = 29;
+    private static final int GT = 30;
+    private static final int LE = 31;
+    private static final int LT = 32;
+    private static final int NE = 33;
+    private static final int NOT = 34;
+    private static final int OR = 35;
+    private static final int XOR = 36;
+    private static final int COPY = 37;
+    private static final int DUP = 38;
+    private static final int EXCH = 39;
+    private static final int INDEX = 40;
+    private static final int POP = 41;
+    private static final int ROLL = 42;
+    // pseudo operators, they are replaced with jumps during the compilation
+    private static final int IF = 43;
+    private static final int IFELSE = 44;
+
+    private static final String[] OPERATOR_NAMES = new String[] {null, "true", "false", null, null,
+            "abs", "add", "atan", "ceiling", "cos", "cvi", "cvr", "div", "exp", "floor", "idiv", "ln", "log", "mod",
+            "mul", "neg", "round", "sin", "sqrt", "sub", "truncate",
+            "and", "bitshift", "eq", "ge", "gt", "le", "lt", "ne", "not", "or", "xor",
+            "copy", "dup", "exch", "index", "pop", "roll", "if", "ifelse"};
+
+    // the number of operands each operator takes from the stack and the number of values it pushes
+    private static final int[] OPERANDS = new int[] {0, 0, 0, 1, 0,
+            1, 2, 2, 1, 1, 1, 1, 2, 2, 1, 2, 1, 1, 2,
+            2, 1, 1, 1, 1, 2, 1,
+            2, 2, 2, 2, 2, 2, 2, 2, 1, 2, 2,
+            1, 1, 2, 1, 1, 2, 1, 1};
+    private static final int[] RESULTS = new int[] {1, 1, 1, 0, 0,
+            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+            1, 1, 1, 1, 1, 1, 1,
+            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+            0, 2, 2, 1, 0, 0, 0, 0};
+
+    private static final Map<String, Integer> OPERATORS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < OPERATOR_NAMES.length; i++) {
+            if (OPERATOR_NAMES[i] != null) {
+                OPERATORS.put(OPERATOR_NAMES[i], i);
+            }
+        }
+    }
+
+    private final int[] code;
+    private final double[] constants;
+    private final double[] stack = new double[MAX_STACK_DEPTH];
+    private final boolean[] booleans = new boolean[MAX_STACK_DEPTH];
+
+    private PostScriptCalculator(int[] code, double[] constants) {
+        this.code = code;
+        this.constants = constants;
+    }
+
+    /**
+     * Compiles the PostScript calculator program.
+     *
+     * @param program the bytes of the program, i.e. a procedure enclosed in braces
+     *
+     * @return the compiled program
+     */
+    static PostScriptCalculator compile(byte[] program) {
+        Parser parser = new Parser(program);
+        if (parser.nextToken() != Parser.OPEN_BRACE) {
+            throw new PdfException(KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_PROGRAM);
+        }
+        List<Double> constants = new ArrayList<>();
+        List<Integer> code = parser.parseProcedure(constants);
+        if (parser.nextToken() != Parser.END) {
+            throw new PdfException(KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_PROGRAM);
+        }
+        int[] codeArray = new int[code.size()];
+        for (int i = 0; i < codeArray.length; i++) {
+            codeArray[i] = (int) code.get(i);
+        }
+        double[] constantsArray = new double[constants.size()];
+        for (int i = 0; i < constantsArray.length; i++) {
+            constantsArray[i] = (double) constants.get(i);
+        }
+        return new PostScriptCalculator(codeArray, constantsArray);
+    }
+
+    /**
+     * Evaluates the program. The input values are clipped to the domain and put on the stack,
+     * the values left on top of the stack are clipped to the range and written to the output.
+     * The evaluation doesn't allocate any memory.
+     *
+     * @param input        the array containing the input values
+     * @param inputOffset  the index of the first input value
+     * @param domain       the domain of the function, its size defines the number of input values
+     * @param output       the array to write the output values to
+     * @param outputOffset the index to write the first output value at
+     * @param range        the range of the function, its size defines the number of output values
+     */
+    void evaluate(double[] input, int inputOffset, double[] domain, double[] output, int outputOffset,
+            double[] range) {
+        final int inputSize = domain.length / 2;
+        for (int i = 0; i < inputSize; i++) {
+            stack[i] = clip(input[inputOffset + i], domain[2 * i], domain[2 * i + 1]);
+            booleans[i] = false;
+        }
+        final int sp = execute(inputSize);
+        final int outputSize = range.length / 2;
+        if (sp < outputSize) {
+            throw new PdfException(MessageFormatUtil.format(
+                    KernelExceptionMessageConstant.TYPE_4_FUNCTION_STACK_UNDERFLOW, "the output"));
+        }
+        for (int i = 0; i < outputSize; i++) {
+            output[outputOffset + i] = clip(stack[sp - outputSize + i], range[2 * i], range[2 * i + 1]);
+        }
+    }
+
+    private int execute(int initialSize) {
+        final double[] s = stack;
+        final boolean[] b = booleans;
+        final int[] c = code;
+        int sp = initialSize;
+        int pc = 0;
+        while (pc < c.length) {
+            final int op = c[pc++];
+            if (sp < OPERANDS[op]) {
+                throw new PdfException(MessageFormatUtil.format(
+                        KernelExceptionMessageConstant.TYPE_4_FUNCTION_STACK_UNDERFLOW, OPERATOR_NAMES[op]));
+            }
+            if (sp - OPERANDS[op] + RESULTS[op] > MAX_STACK_DEPTH) {
+                throw new PdfException(MessageFormatUtil.format(
+                        KernelExceptionMessageConstant.TYPE_4_FUNCTION_STACK_OVERFLOW, MAX_STACK_DEPTH));
+            }
+            switch (op) {
+                case PUSH:
+                    s[sp] = constants[c[pc++]];
+                    b[sp++] = false;
+                    break;
+                case PUSH_TRUE:
+                    s[sp] = 1;
+                    b[sp++] = true;
+                    break;
+                case PUSH_FALSE:
+                    s[sp] = 0;
+                    b[sp++] = true;
+                    break;
+                case JUMP_IF_FALSE:
+                    if (s[--sp] == 0) {
+                        pc += c[pc];
+                    }
+                    pc++;
+                    break;
+                case JUMP:
+                    pc += c[pc] + 1;
+                    break;
+                case ABS:
+                    s[sp - 1] = Math.abs(s[sp - 1]);
+                    break;
+                case ADD:
+                    s[sp - 2] += s[--sp];
+                    break;
+                case ATAN: {
+                    double angle = Math.toDegrees(Math.atan2(s[sp - 2], s[sp - 1]));
+                    s[--sp - 1] = angle < 0 ? angle + 360 : angle;
+                    break;
+                }
+                case CEILING:
+                    s[sp - 1] = Math.ceil(s[sp - 1]);
+                    break;
+                case COS:
+                    s[sp - 1] = Math.cos(Math.toRadians(s[sp - 1]));
+                    break;
+                case CVI:
+                    s[sp - 1] = truncate(s[sp - 1]);
+                    break;
+                case CVR:
+                    break;
+                case DIV:
+                    s[sp - 2] /= s[--sp];
+                    break;
+                case EXP:
+                    s[sp - 2] = Math.pow(s[sp - 2], s[--sp]);
+                    break;
+                case FLOOR:
+                    s[sp - 1] = Math.floor(s[sp - 1]);
+                    break;
+                case IDIV: {
+                    final long divisor = (long) s[--sp];
+                    if (divisor == 0) {
+                        throw new PdfException(MessageFormatUtil.format(
+                                KernelExceptionMessageConstant.TYPE_4_FUNCTION_DIVISION_BY_ZERO, OPERATOR_NAMES[op]));
+                    }
+                    s[sp - 1] = (long) s[sp - 1] / divisor;
+                    break;
+                }
+                case LN:
+                    s[sp - 1] = Math.log(s[sp - 1]);
+                    break;
+                case LOG:
+                    s[sp - 1] = Math.log10(s[sp - 1]);
+                    break;
+                case MOD: {
+                    final long divisor = (long) s[--sp];
+                    if (divisor == 0) {
+                        throw new PdfException(MessageFormatUtil.format(
+                                KernelExceptionMessageConstant.TYPE_4_FUNCTION_DIVISION_BY_ZERO, OPERATOR_NAMES[op]));
+                    }
+                    s[sp - 1] = (long) s[sp - 1] % divisor;
+                    break;
+                }
+                case MUL:
+                    s[sp - 2] *= s[--sp];
+                    break;
+                case NEG:
+                    s[sp - 1] = -s[sp - 1];
+                    break;
+                case ROUND:
+                    s[sp - 1] = Math.floor(s[sp - 1] + 0.5);
+                    break;
+                case SIN:
+                    s[sp - 1] = Math.sin(Math.toRadians(s[sp - 1]));
+                    break;
+                case SQRT:
+                    s[sp - 1] = Math.sqrt(s[sp - 1]);
+                    break;
+                case SUB:
+                    s[sp - 2] -= s[--sp];
+                    break;
+                case TRUNCATE:
+                    s[sp - 1] = truncate(s[sp - 1]);
+                    break;
+                case AND:
+                    sp--;
+                    if (b[sp - 1] && b[sp]) {
+                        s[sp - 1] = s[sp - 1] != 0 && s[sp] != 0 ? 1 : 0;
+                    } else {
+                        s[sp - 1] = (int) s[sp - 1] & (int) s[sp];
+                        b[sp - 1] = false;
+                    }
+                    break;
+                case OR:
+                    sp--;
+                    if (b[sp - 1] && b[sp]) {
+                        s[sp - 1] = s[sp - 1] != 0 || s[sp] != 0 ? 1 : 0;
+                    } else {
+                        s[sp - 1] = (int) s[sp - 1] | (int) s[sp];
+                        b[sp - 1] = false;
+                    }
+                    break;
+                case XOR:
+                    sp--;
+                    if (b[sp - 1] && b[sp]) {
+                        s[sp - 1] = (s[sp - 1] != 0) != (s[sp] != 0) ? 1 : 0;
+                    } else {
+                        s[sp - 1] = (int) s[sp - 1] ^ (int) s[sp];
+                        b[sp - 1] = false;
+                    }
+                    break;
+                case NOT:
+                    if (b[sp - 1]) {
+                        s[sp - 1] = s[sp - 1] == 0 ? 1 : 0;
+                    } else {
+                        s[sp - 1] = ~(int) s[sp - 1];
+                    }
+                    break;
+                case BITSHIFT: {
+                    int shift = (int) s[--sp];
+                    int value = (int) s[sp - 1];
+                    s[sp - 1] = shift >= 0 ? value << shift : value >>> -shift;
+                    break;
+                }
+                case EQ:
+                    sp--;
+                    s[sp - 1] = s[sp - 1] == s[sp] ? 1 : 0;
+                    b[sp - 1] = true;
+                    break;
+                case NE:
+                    sp--;
+                    s[sp - 1] = s[sp - 1] != s[sp] ? 1 : 0;
+                    b[sp - 1] = true;
+                    break;
+                case GE:
+                    sp--;
+                    s[sp - 1] = s[sp - 1] >= s[sp] ? 1 : 0;
+                    b[sp - 1] = true;
+                    break;
+                case GT:
+                    sp--;
+                    s[sp - 1] = s[sp - 1] > s[sp] ? 1 : 0;
+                    b[sp - 1] = true;
+                    break;
+                case LE:
+                    sp--;
+                    s[sp - 1] = s[sp - 1] <= s[sp] ? 1 : 0;
+                    b[sp - 1] = true;
+                    break;
+                case LT:
+                    sp--;
+                    s[sp - 1] = s[sp - 1] < s[sp] ? 1 : 0;
+                    b[sp - 1] = true;
+                    break;
+                case COPY: {
+                    int n = (int) s[--sp];
+                    checkOperands(sp, n, "copy");
+                    if (sp + n > MAX_STACK_DEPTH) {
+                        throw new PdfException(MessageFormatUtil.format(
+                                KernelExceptionMessageConstant.TYPE_4_FUNCTION_STACK_OVERFLOW, MAX_STACK_DEPTH));
+                    }
+                    System.arraycopy(s, sp - n, s, sp, n);
+                    System.arraycopy(b, sp - n, b, sp, n);
+                    sp += n;
+                    break;
+                }
+                case DUP:
+                    s[sp] = s[sp - 1];
+                    b[sp] = b[sp - 1];
+                    sp++;
+                    break;
+                case EXCH: {
+                    double value = s[sp - 1];
+                    boolean isBoolean = b[sp - 1];
+                    s[sp - 1] = s[sp - 2];
+                    b[sp - 1] = b[sp - 2];
+                    s[sp - 2] = value;
+                    b[sp - 2] = isBoolean;
+                    break;
+                }
+                case INDEX: {
+                    int n = (int) s[sp - 1];
+                    checkOperands(sp - 1, n + 1, "index");
+                    s[sp - 1] = s[sp - 2 - n];
+                    b[sp - 1] = b[sp - 2 - n];
+                    break;
+                }
+                case POP:
+                    sp--;
+                    break;
+                case ROLL: {
+                    int j = (int) s[--sp];
+                    int n = (int) s[--sp];
+                    checkOperands(sp, n, "roll");
+                    roll(sp - n, n, j);
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+        return sp;
+    }
+
+    private void roll(int start, int n, int j) {
+        if (n == 0) {
+            return;
+        }
+        j %= n;
+        if (j < 0) {
+            j += n;
+        }
+        // rotate by three reversals, so that no temporary array is needed
+        reverse(start, start + n - 1);
+        reverse(start, start + j - 1);
+        reverse(start + j, start + n - 1);
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            double value = stack[from];
+            stack[from] = stack[to];
+            stack[to] = value;
+            boolean isBoolean = booleans[from];
+            booleans[from] = booleans[to];
+            booleans[to] = isBoolean;
+            from++;
+            to--;
+        }
+    }
+
+    private static void checkOperands(int sp, int n, String operator) {
+        if (n < 0 || sp < n) {
+            throw new PdfException(MessageFormatUtil.format(
+                    KernelExceptionMessageConstant.TYPE_4_FUNCTION_STACK_UNDERFLOW, operator));
+        }
+    }
+
+    private static double truncate(double value) {
+        return value < 0 ? Math.ceil(value) : Math.floor(value);
+    }
+
+    private static double clip(double value, double min, double max) {
+        return Math.min(Math.max(value, min), max);
+    }
+
+    private static final class Parser {
+        static final int END = 0;
+        static final int OPEN_BRACE = 1;
+        static final int CLOSE_BRACE = 2;
+        static final int NUMBER = 3;
+        static final int OPERATOR = 4;
+
+        private final byte[] program;
+        private int position;
+        private String token;
+
+        Parser(byte[] program) {
+            this.program = program;
+        }
+
+        /**
+         * Parses the procedure till the closing brace. Nested procedures are kept aside till
+         * the "if" or "ifelse" operator consuming them is met.
+         */
+        List<Integer> parseProcedure(List<Double> constants) {
+            List<Integer> code = new ArrayList<>();
+            List<List<Integer>> procedures = new ArrayList<>();
+            while (true) {
+                int type = nextToken();
+                if (type == CLOSE_BRACE) {
+                    break;
+                }
+                if (type == END) {
+                    throw new PdfException(KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_PROGRAM);
+                }
+                if (type == OPEN_BRACE) {
+                    procedures.add(parseProcedure(constants));
+                    continue;
+                }
+                if (type == NUMBER) {
+                    checkNoPendingProcedures(procedures, 0);
+                    code.add(PUSH);
+                    code.add(constants.size());
+                    constants.add(parseNumber(token));
+                    continue;
+                }
+                Integer operator = OPERATORS.get(token);
+                if (operator == null) {
+                    throw new PdfException(MessageFormatUtil.format(
+                            KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_OPERATOR, token));
+                }
+                if (operator == IF) {
+                    checkNoPendingProcedures(procedures, 1);
+                    List<Integer> procedure = procedures.remove(0);
+                    code.add(JUMP_IF_FALSE);
+                    code.add(procedure.size());
+                    code.addAll(procedure);
+                } else if (operator == IFELSE) {
+                    checkNoPendingProcedures(procedures, 2);
+                    List<Integer> ifProcedure = procedures.remove(0);
+                    List<Integer> elseProcedure = procedures.remove(0);
+                    code.add(JUMP_IF_FALSE);
+                    code.add(ifProcedure.size() + 2);
+                    code.addAll(ifProcedure);
+                    code.add(JUMP);
+                    code.add(elseProcedure.size());
+                    code.addAll(elseProcedure);
+                } else {
+                    checkNoPendingProcedures(procedures, 0);
+                    code.add(operator);
+                }
+            }
+            checkNoPendingProcedures(procedures, 0);
+            return code;
+        }
+
+        int nextToken() {
+            while (position < program.length) {
+                int ch = program[position] & 0xff;
+                if (ch == '%') {
+                    while (position < program.length && program[position] != '\n' && program[position] != '\r') {
+                        position++;
+                    }
+                } else if (isWhitespace(ch)) {
+                    position++;
+                } else {
+                    break;
+                }
+            }
+            if (position >= program.length) {
+                return END;
+            }
+            int ch = program[position];
+            if (ch == '{') {
+                position++;
+                return OPEN_BRACE;
+            }
+            if (ch == '}') {
+                position++;
+                return CLOSE_BRACE;
+            }
+            int start = position;
+            while (position < program.length && !isWhitespace(program[position] & 0xff)
+                    && program[position] != '{' && program[position] != '}' && program[position] != '%') {
+                position++;
+            }
+            token = new String(program, start, position - start, StandardCharsets.ISO_8859_1);
+            return ch == '-' || ch == '+' || ch == '.' || (ch >= '0' && ch <= '9') ? NUMBER : OPERATOR;
+        }
+
+        private static void checkNoPendingProcedures(List<List<Integer>> procedures, int expected) {
+            if (procedures.size() != expected) {
+                throw new PdfException(KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_PROCEDURE);
+            }
+        }
+
+        private static double parseNumber(String token) {
+            try {
+                return Double.parseDouble(token);
+            } catch (NumberFormatException e) {
+                throw new PdfException(MessageFormatUtil.format(
+                        KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_OPERATOR, token), e);
+            }
+        }
+
+        private static boolean isWhitespace(int ch) {
+            return ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t' || ch == '\f' || ch == 0;
+        }
+    }
+}
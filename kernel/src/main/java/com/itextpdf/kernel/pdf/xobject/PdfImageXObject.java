@@ -32,6 +32,8 @@ import com.itextpdf.io.image.PngImageHelperConstants;
 import com.itextpdf.io.image.PngImageData;
 import com.itextpdf.io.image.RawImageData;
 import com.itextpdf.io.image.RawImageHelper;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.pdf.CompressionConstants;
@@ -56,7 +58,9 @@ import com.itextpdf.kernel.pdf.filters.IFilterHandler;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -205,6 +209,27 @@ public class PdfImageXObject extends PdfXObject {
         return bytes;
     }
 
+    /**
+     * Writes decoded image bytes to the passed {@link OutputStream}. The written bytes are the same
+     * as the ones returned by {@link #getImageBytes()}.
+     *
+     * <p>
+     * If the image is encoded with a single {@link PdfName#DCTDecode}, {@link PdfName#JPXDecode} or
+     * {@link PdfName#JBIG2Decode} filter, the stream bytes are passed through as they are: they are copied
+     * from the source document chunk by chunk and are never held in memory as a whole.
+     * Other images are decoded in memory first.
+     *
+     * @param os the {@link OutputStream} to write image bytes to
+     * @throws IOException if an I/O error occurs while writing to the output stream
+     */
+    public void writeImageBytes(OutputStream os) throws IOException {
+        if (isPassThroughImage()) {
+            getPdfObject().writeRawBytes(os);
+        } else {
+            os.write(getImageBytes(true));
+        }
+    }
+
     /**
      * Identifies the type of the image that is stored in the bytes of this {@link PdfImageXObject}.
      * Note that this has nothing to do with the original type of the image. For instance, the return value
@@ -284,6 +309,15 @@ public class PdfImageXObject extends PdfXObject {
         return this;
     }
 
+    private boolean isPassThroughImage() {
+        PdfObject filter = getPdfObject().get(PdfName.Filter);
+        if (filter != null && filter.getType() == PdfObject.ARRAY && ((PdfArray) filter).size() == 1) {
+            filter = ((PdfArray) filter).get(0);
+        }
+        return PdfName.DCTDecode.equals(filter) || PdfName.JPXDecode.equals(filter)
+                || PdfName.JBIG2Decode.equals(filter);
+    }
+
     private float initWidthField() {
         PdfNumber wNum = getPdfObject().getAsNumber(PdfName.Width);
         if (wNum != null) {
@@ -305,11 +339,17 @@ public class PdfImageXObject extends PdfXObject {
         if (image.getOriginalType() == ImageType.RAW) {
             RawImageHelper.updateImageAttributes((RawImageData) image, null);
         }
-        stream = new PdfStream(image.getData());
+        if (image.isStreamed()) {
+            stream = new ImageSourceStream(image.getUrl());
+        } else {
+            stream = new PdfStream(image.getData());
+        }
         String filter = image.getFilter();
+        // the image may be shared between documents, so the bits per component are not reset on the image itself
+        int bpc = image.getBpc();
         if (filter != null && "JPXDecode".equals(filter) && image.getColorEncodingComponentsNumber() <= 0) {
             stream.setCompressionLevel(CompressionConstants.NO_COMPRESSION);
-            image.setBpc(0);
+            bpc = 0;
         }
         stream.put(PdfName.Type, PdfName.XObject);
         stream.put(PdfName.Subtype, PdfName.Image);
@@ -333,8 +373,8 @@ public class PdfImageXObject extends PdfXObject {
             stream.put(PdfName.ColorSpace, colorSpace);
         }
 
-        if (image.getBpc() != 0) {
-            stream.put(PdfName.BitsPerComponent, new PdfNumber(image.getBpc()));
+        if (bpc != 0) {
+            stream.put(PdfName.BitsPerComponent, new PdfNumber(bpc));
         }
 
         if (image.getFilter() != null) {
@@ -418,7 +458,7 @@ public class PdfImageXObject extends PdfXObject {
             }
         }
 
-        if (image.isMask() && (image.getBpc() == 1 || image.getBpc() > 0xff)) {
+        if (image.isMask() && (bpc == 1 || bpc > 0xff)) {
             stream.put(PdfName.ImageMask, PdfBoolean.TRUE);
         }
 
@@ -631,4 +671,79 @@ public class PdfImageXObject extends PdfXObject {
             this.matrix = Arrays.copyOf(matrix, 9);
         }
     }
+
+    /**
+     * The stream of a streamed image, its content is copied from the image source when the stream is written.
+     * Till then the bytes requested via {@link #getBytes(boolean)}, e.g. by the conformance checks,
+     * are read from the source as well.
+     */
+    private static final class ImageSourceStream extends PdfStream {
+        private final URL url;
+
+        ImageSourceStream(URL url) {
+            super(new ImageSourceInputStream(url), CompressionConstants.UNDEFINED_COMPRESSION);
+            this.url = url;
+        }
+
+        @Override
+        public byte[] getBytes(boolean decoded) {
+            if (isFlushed() || getInputStream() == null) {
+                return super.getBytes(decoded);
+            }
+            byte[] bytes;
+            try (InputStream source = UrlUtil.openStream(url)) {
+                bytes = StreamUtil.inputStreamToArray(source);
+            } catch (IOException e) {
+                throw new PdfException(KernelExceptionMessageConstant.CANNOT_GET_PDF_STREAM_BYTES, e, this);
+            }
+            if (decoded && containsKey(PdfName.Filter)) {
+                bytes = PdfReader.decodeBytes(bytes, this);
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Reads the bytes of a streamed image from its source. The source is opened only when the stream is written
+     * and is closed as soon as it has been read till the end.
+     */
+    private static final class ImageSourceInputStream extends InputStream {
+        private final URL url;
+        private InputStream source;
+        private boolean finished;
+
+        ImageSourceInputStream(URL url) {
+            this.url = url;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == 1 ? b[0] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (finished) {
+                return -1;
+            }
+            if (source == null) {
+                source = UrlUtil.openStream(url);
+            }
+            int n = source.read(b, off, len);
+            if (n < 0) {
+                close();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            finished = true;
+            if (source != null) {
+                source.close();
+                source = null;
+            }
+        }
+    }
 }
@@ -2816,6 +2816,21 @@ public class PdfReaderTest extends ExtendedITextTest {
         Assert.assertEquals(PdfObject.STREAM, pdfDoc.getPdfObject(5).getType());
     }
 
+    @Test
+    public void readStreamBytesRawToOutputStreamTest() throws IOException {
+        String fileName = SOURCE_FOLDER + "simpleDocWithPassword.pdf";
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new File(fileName), new ReaderProperties()
+                .setPassword(USER_PASSWORD)))) {
+            PdfStream stream = (PdfStream) pdfDoc.getPdfObject(5);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            long written = pdfDoc.getReader().readStreamBytesRaw(stream, baos);
+
+            byte[] expected = pdfDoc.getReader().readStreamBytesRaw(stream);
+            Assert.assertEquals(expected.length, written);
+            Assert.assertArrayEquals(expected, baos.toByteArray());
+        }
+    }
+
     @Test
     public void initTagTreeStructureThrowsOOMIsCatched() throws IOException {
         File file = new File(SOURCE_FOLDER+ "big_table_lot_of_mcrs.pdf");
@@ -48,7 +48,8 @@ import org.junit.experimental.categories.Category;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -130,6 +131,39 @@ public class PdfXObjectTest extends ExtendedITextTest{
                 DESTINATION_FOLDER, "diff_"));
     }
 
+    @Test
+    public void streamedImagesTest() throws IOException, InterruptedException {
+        final String destinationDocument = DESTINATION_FOLDER + "streamedImages.pdf";
+        final String loadedDocument = DESTINATION_FOLDER + "loadedImages.pdf";
+        String[] imageFiles = new String[] {SOURCE_FOLDER + "WP_20140410_001.jpg",
+                SOURCE_FOLDER + "WP_20140410_001.JPC"};
+
+        for (String document : new String[] {destinationDocument, loadedDocument}) {
+            PdfDocument pdfDocument = new PdfDocument(CompareTool.createTestPdfWriter(document));
+            for (String imageFile : imageFiles) {
+                ImageData image = document.equals(destinationDocument)
+                        ? ImageDataFactory.createStreamed(imageFile) : ImageDataFactory.create(imageFile);
+                PdfImageXObject xObject = new PdfImageXObject(image);
+                for (int i = 0; i < 2; i++) {
+                    PdfPage page = pdfDocument.addNewPage();
+                    new PdfCanvas(page).addXObjectFittedIntoRectangle(xObject, PageSize.DEFAULT).release();
+                    page.flush();
+                }
+            }
+            pdfDocument.close();
+        }
+
+        PdfDocument pdfDocument = new PdfDocument(CompareTool.createOutputReader(destinationDocument));
+        for (int i = 0; i < imageFiles.length; i++) {
+            PdfDictionary xObjects = pdfDocument.getPage(2 * i + 1).getResources().getResource(PdfName.XObject);
+            PdfStream imageStream = (PdfStream) xObjects.values().iterator().next();
+            Assert.assertArrayEquals(Files.readAllBytes(Paths.get(imageFiles[i])), imageStream.getBytes(false));
+        }
+        pdfDocument.close();
+        Assert.assertNull(new CompareTool().compareByContent(destinationDocument, loadedDocument,
+                DESTINATION_FOLDER, "diff_"));
+    }
+
     @Test
     public void createDocumentWithForms() throws IOException,  InterruptedException {
         final String destinationDocument = DESTINATION_FOLDER + "documentWithForms1.pdf";
@@ -0,0 +1,98 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.geom.IShape;
+import com.itextpdf.kernel.geom.Path;
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.geom.Subpath;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants.FillingRule;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ParserGraphicsStateTest extends ExtendedITextTest {
+
+    @Test
+    public void deferredClipTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setClippingPath(createRectanglePath(0, 0, 100, 100));
+        gs.clip(createRectanglePath(50, 50, 100, 100), FillingRule.NONZERO_WINDING);
+        gs.clip(createRectanglePath(25, 60, 50, 20), FillingRule.EVEN_ODD);
+
+        assertBBox(new Rectangle(50, 60, 25, 20), gs.getClippingPath());
+    }
+
+    @Test
+    public void deferredClipCopyTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setClippingPath(createRectanglePath(0, 0, 100, 100));
+        gs.clip(createRectanglePath(50, 50, 100, 100), FillingRule.NONZERO_WINDING);
+        ParserGraphicsState copy = new ParserGraphicsState(gs);
+        copy.clip(createRectanglePath(0, 0, 60, 60), FillingRule.NONZERO_WINDING);
+
+        assertBBox(new Rectangle(50, 50, 50, 50), gs.getClippingPath());
+        assertBBox(new Rectangle(50, 50, 10, 10), copy.getClippingPath());
+    }
+
+    @Test
+    public void emptyClippingPathTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.setClippingPath(createRectanglePath(0, 0, 100, 100));
+        gs.clip(createRectanglePath(200, 200, 10, 10), FillingRule.NONZERO_WINDING);
+        gs.clip(createRectanglePath(0, 0, 10, 10), FillingRule.NONZERO_WINDING);
+
+        Assert.assertTrue(gs.getClippingPath().isEmpty());
+    }
+
+    @Test
+    public void clippingPathNotTrackedTest() {
+        ParserGraphicsState gs = new ParserGraphicsState();
+        gs.clip(createRectanglePath(0, 0, 10, 10), FillingRule.NONZERO_WINDING);
+
+        Assert.assertNull(gs.getClippingPath());
+    }
+
+    private static Path createRectanglePath(float x, float y, float width, float height) {
+        Path path = new Path();
+        path.rectangle(x, y, width, height);
+        return path;
+    }
+
+    private static void assertBBox(Rectangle expected, Path path) {
+        List<Point> points = new ArrayList<>();
+        for (Subpath subpath : path.getSubpaths()) {
+            for (IShape segment : subpath.getSegments()) {
+                points.addAll(segment.getBasePoints());
+            }
+        }
+        Assert.assertTrue(expected.equalsWithEpsilon(Rectangle.calculateBBox(points)));
+    }
+}
@@ -39,6 +39,7 @@ import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
 import com.itextpdf.kernel.pdf.colorspace.PdfSpecialCs;
 import com.itextpdf.test.AssertUtil;
@@ -232,6 +233,41 @@ public class PdfCanvasProcessorIntegrationTest extends ExtendedITextTest {
         Assert.assertEquals(5, imageRenderInfo.getMcid());
     }
 
+    @Test
+    public void clippingPathTrackingDisabledTest() throws IOException {
+        try (PdfDocument document = new PdfDocument(new PdfReader(SOURCE_FOLDER + "tableWithImageAndText.pdf"))) {
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(new SimpleTextExtractionStrategy())
+                    .setClippingPathTrackingEnabled(false);
+            Assert.assertFalse(processor.isClippingPathTracked());
+            processor.processPageContent(document.getPage(1));
+
+            Assert.assertNull(processor.getGraphicsState().getClippingPath());
+        }
+    }
+
+    @Test
+    public void clippingPathTrackingDisabledButSubscribedTest() throws IOException {
+        try (PdfDocument document = new PdfDocument(new PdfReader(SOURCE_FOLDER + "tableWithImageAndText.pdf"))) {
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(new NoOpEventListener())
+                    .setClippingPathTrackingEnabled(false);
+            Assert.assertTrue(processor.isClippingPathTracked());
+            processor.processPageContent(document.getPage(1));
+
+            Assert.assertNotNull(processor.getGraphicsState().getClippingPath());
+        }
+    }
+
+    @Test
+    public void clippingPathTrackedByDefaultTest() throws IOException {
+        try (PdfDocument document = new PdfDocument(new PdfReader(SOURCE_FOLDER + "tableWithImageAndText.pdf"))) {
+            PdfCanvasProcessor processor = new PdfCanvasProcessor(new SimpleTextExtractionStrategy());
+            Assert.assertTrue(processor.isClippingPathTracked());
+            processor.processPageContent(document.getPage(1));
+
+            Assert.assertNotNull(processor.getGraphicsState().getClippingPath());
+        }
+    }
+
     private static class ColorParsingEventListener implements IEventListener {
         private List<IEventData> content = new ArrayList<>();
         private static final String pathDataExpected = "Path data expected.";
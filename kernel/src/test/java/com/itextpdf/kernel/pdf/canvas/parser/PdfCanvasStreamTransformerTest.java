@@ -0,0 +1,187 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.SimpleTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfCanvasStreamTransformerTest extends ExtendedITextTest {
+
+    private static final String CONTENT = "q 1 0 0 1 10 20 cm\n"
+            + "% comment\n"
+            + "BT/F1 12 Tf(Hello)Tj[(Wor)-20(ld)]TJ ET\n"
+            + "/Span<</ActualText(x)/Flag true>>BDC EMC\n"
+            + "BI /W 2 /H 1 /BPC 8 /CS /G ID\n"
+            + "\u0001\u0002\n"
+            + "EI Q\n"
+            + "% trailing comment";
+
+    @Test
+    public void keepAllOperationsTest() {
+        List<String> operators = new ArrayList<>();
+        byte[] result = transform(CONTENT, (operation, writer) -> {
+            operators.add(operation.getOperator());
+            writer.writeOriginal();
+        });
+
+        Assert.assertEquals(CONTENT, new String(result, StandardCharsets.ISO_8859_1));
+        Assert.assertEquals("[q, cm, BT, Tf, Tj, TJ, ET, BDC, EMC, EI, Q]", operators.toString());
+    }
+
+    @Test
+    public void dropOperationsTest() {
+        byte[] result = transform("BT/F1 12 Tf(Hello)Tj(World)Tj ET q Q 1 w", (operation, writer) -> {
+            String operator = operation.getOperator();
+            if (!"Tj".equals(operator) && !"q".equals(operator) && !"Q".equals(operator)) {
+                writer.writeOriginal();
+            }
+        });
+
+        Assert.assertEquals("BT/F1 12 Tf ET 1 w", new String(result, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void separateMergedOperatorsTest() {
+        byte[] result = transform("q(x)Tj Q", (operation, writer) -> {
+            if (!"Tj".equals(operation.getOperator())) {
+                writer.writeOriginal();
+            }
+        });
+
+        Assert.assertEquals("q Q", new String(result, StandardCharsets.ISO_8859_1));
+
+        result = transform("BI /W 1 /H 1 /BPC 8 /CS /G ID\n\u0001\nEI\nQ", (operation, writer) -> {
+            if (operation.isInlineImage()) {
+                writer.writeBytes("q".getBytes(StandardCharsets.ISO_8859_1));
+            } else {
+                writer.writeOriginal();
+            }
+        });
+
+        Assert.assertEquals("q\nQ", new String(result, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void replaceOperandsTest() {
+        byte[] result = transform("1 0 0 rg 0 0 10 10 re f 0 1 0 RG", (operation, writer) -> {
+            if ("rg".equals(operation.getOperator())) {
+                List<PdfObject> operands = operation.getOperands();
+                Assert.assertEquals(4, operands.size());
+                operands.set(0, new PdfNumber(0));
+                operands.set(2, new PdfNumber(1));
+                writer.write(operands);
+            } else if ("RG".equals(operation.getOperator())) {
+                writer.write("G", new PdfNumber(0.5));
+            } else {
+                writer.writeOriginal();
+            }
+        });
+
+        Assert.assertEquals("0 0 1 rg 0 0 10 10 re f\n0.5 G", new String(result, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void rewriteInlineImageTest() {
+        byte[] result = transform(CONTENT, (operation, writer) -> {
+            if (operation.isInlineImage()) {
+                writer.write(operation.getOperands());
+            }
+        });
+
+        List<PdfObject> images = new ArrayList<>();
+        transform(new String(result, StandardCharsets.ISO_8859_1), (operation, writer) -> {
+            Assert.assertEquals("EI", operation.getOperator());
+            images.add(operation.getOperands().get(0));
+        });
+
+        Assert.assertEquals(1, images.size());
+        PdfStream image = (PdfStream) images.get(0);
+        Assert.assertEquals(2, image.getAsNumber(PdfName.Width).intValue());
+        Assert.assertArrayEquals(new byte[] {1, 2}, image.getBytes());
+    }
+
+    @Test
+    public void transformPageContentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos))) {
+            PdfPage page = pdfDocument.addNewPage();
+            PdfCanvas canvas = new PdfCanvas(page);
+            canvas.beginText().setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                    .moveText(36, 700).showText("Keep").endText();
+            canvas = new PdfCanvas(page.newContentStreamAfter(), page.getResources(), pdfDocument);
+            canvas.beginText().setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                    .moveText(36, 600).showText("Watermark").endText();
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())),
+                new PdfWriter(result))) {
+            PdfPage page = pdfDocument.getFirstPage();
+            Assert.assertEquals(2, page.getContentStreamCount());
+            new PdfCanvasStreamTransformer((operation, writer) -> {
+                if (!"Tj".equals(operation.getOperator())
+                        || !"Watermark".equals(((PdfString) operation.getOperands().get(0)).getValue())) {
+                    writer.writeOriginal();
+                }
+            }).transformPageContent(page);
+        }
+
+        try (PdfDocument pdfDocument = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(result.toByteArray())))) {
+            PdfPage page = pdfDocument.getFirstPage();
+            Assert.assertEquals(1, page.getContentStreamCount());
+            Assert.assertEquals("Keep",
+                    PdfTextExtractor.getTextFromPage(page, new SimpleTextExtractionStrategy()));
+        }
+    }
+
+    private static byte[] transform(String content, IContentOperationHandler handler) {
+        return new PdfCanvasStreamTransformer(handler).transform(
+                content.getBytes(StandardCharsets.ISO_8859_1), new PdfResources());
+    }
+}
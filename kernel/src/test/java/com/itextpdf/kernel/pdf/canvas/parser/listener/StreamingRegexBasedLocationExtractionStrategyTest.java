@@ -0,0 +1,121 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.canvas.parser.listener;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class StreamingRegexBasedLocationExtractionStrategyTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/parser/RegexBasedLocationExtractionStrategyTest/";
+
+    @Test
+    public void singlePatternTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "in01.pdf"))) {
+            StreamingRegexBasedLocationExtractionStrategy extractionStrategy =
+                    new StreamingRegexBasedLocationExtractionStrategy("\\{\\{Signature\\}\\}");
+            new PdfCanvasProcessor(extractionStrategy).processPageContent(pdfDocument.getPage(1));
+            List<IPdfTextLocation> locations = new ArrayList<>(extractionStrategy.getResultantLocations());
+
+            Assert.assertEquals(1, locations.size());
+            IPdfTextLocation loc = locations.get(0);
+            Assert.assertEquals("{{Signature}}", loc.getText());
+            Assert.assertEquals(23, (int) loc.getRectangle().getX());
+            Assert.assertEquals(375, (int) loc.getRectangle().getY());
+            Assert.assertEquals(55, (int) loc.getRectangle().getWidth());
+            Assert.assertEquals(11, (int) loc.getRectangle().getHeight());
+
+            // locations are returned only once
+            Assert.assertTrue(extractionStrategy.getResultantLocations().isEmpty());
+        }
+    }
+
+    @Test
+    public void severalPatternsTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "in01.pdf"))) {
+            StreamingRegexBasedLocationExtractionStrategy extractionStrategy =
+                    new StreamingRegexBasedLocationExtractionStrategy(
+                            Arrays.asList(Pattern.compile("\\{\\{(Signature)\\}\\}"),
+                                    Pattern.compile("product name", Pattern.CASE_INSENSITIVE)));
+            new PdfCanvasProcessor(extractionStrategy).processPageContent(pdfDocument.getPage(1));
+            List<IPdfTextLocation> locations = new ArrayList<>(extractionStrategy.getResultantLocations());
+
+            Assert.assertEquals(2, locations.size());
+            PatternMatchTextLocation productName = (PatternMatchTextLocation) locations.get(0);
+            Assert.assertEquals("Product Name", productName.getText());
+            Assert.assertEquals(1, productName.getPatternIndex());
+            PatternMatchTextLocation signature = (PatternMatchTextLocation) locations.get(1);
+            Assert.assertEquals("{{Signature}}", signature.getText());
+            Assert.assertEquals(0, signature.getPatternIndex());
+        }
+    }
+
+    @Test
+    public void consumerTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "rotatedText.pdf"))) {
+            List<IPdfTextLocation> locations = new ArrayList<>();
+            StreamingRegexBasedLocationExtractionStrategy extractionStrategy =
+                    new StreamingRegexBasedLocationExtractionStrategy(
+                            Collections.singletonList(Pattern.compile("abc")), locations::add);
+            new PdfCanvasProcessor(extractionStrategy).processPageContent(pdfDocument.getPage(1));
+            extractionStrategy.flush();
+
+            Assert.assertEquals(2, locations.size());
+            Assert.assertTrue(extractionStrategy.getResultantLocations().isEmpty());
+        }
+    }
+
+    @Test
+    public void literalPatternTest() throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "in01.pdf"))) {
+            StreamingRegexBasedLocationExtractionStrategy extractionStrategy =
+                    new StreamingRegexBasedLocationExtractionStrategy(
+                            Collections.singletonList(Pattern.compile("{{Signature}}", Pattern.LITERAL)));
+            new PdfCanvasProcessor(extractionStrategy).processPageContent(pdfDocument.getPage(1));
+
+            Assert.assertEquals(1, extractionStrategy.getResultantLocations().size());
+        }
+    }
+
+    @Test
+    public void noPatternsTest() {
+        Exception e = Assert.assertThrows(IllegalArgumentException.class,
+                () -> new StreamingRegexBasedLocationExtractionStrategy(Collections.<Pattern>emptyList()));
+        Assert.assertEquals(KernelExceptionMessageConstant.AT_LEAST_ONE_PATTERN_SHALL_BE_SPECIFIED, e.getMessage());
+    }
+}
@@ -0,0 +1,204 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.function;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PdfType4FunctionTest extends ExtendedITextTest {
+    private final static double EPSILON = 10e-6;
+
+    @Test
+    public void arithmeticOperatorsTest() {
+        assertCalculation(new double[] {0.75}, "{ 0.5 add 2 div }", 1);
+        assertCalculation(new double[] {2.5}, "{ 3 exch sub abs }", 0.5);
+        assertCalculation(new double[] {1}, "{ 30 sin 2 mul }", 0);
+        assertCalculation(new double[] {45}, "{ pop 1 1 atan }", 0);
+        assertCalculation(new double[] {315}, "{ pop -1 1 atan }", 0);
+        assertCalculation(new double[] {8}, "{ 2 3 exp mul }", 1);
+        assertCalculation(new double[] {-3}, "{ pop -7 2 idiv }", 0);
+        assertCalculation(new double[] {-1}, "{ pop -7 2 mod }", 0);
+        assertCalculation(new double[] {-3, -2, -2, -2},
+                "{ pop -2.5 dup floor exch dup ceiling exch dup round exch truncate }", 0);
+        assertCalculation(new double[] {2}, "{ pop 100 log }", 0);
+    }
+
+    @Test
+    public void booleanAndBitwiseOperatorsTest() {
+        assertCalculation(new double[] {2}, "{ pop 6 3 and }", 0);
+        assertCalculation(new double[] {7}, "{ pop 6 3 or }", 0);
+        assertCalculation(new double[] {5}, "{ pop 6 3 xor }", 0);
+        assertCalculation(new double[] {-6}, "{ pop 5 not }", 0);
+        assertCalculation(new double[] {8, 2}, "{ pop 1 3 bitshift 8 -2 bitshift }", 0);
+        assertCalculation(new double[] {1}, "{ 0.5 gt true and { 1 } { 0 } ifelse }", 0.7);
+        assertCalculation(new double[] {0}, "{ 0.5 gt false or { 1 } { 0 } ifelse }", 0.2);
+        assertCalculation(new double[] {1}, "{ 0.5 le not { 1 } { 0 } ifelse }", 0.7);
+    }
+
+    @Test
+    public void conditionalOperatorsTest() {
+        String program = "{ dup 0.5 lt { 2 mul } { dup 0.75 lt { pop 0.5 } { 1 exch sub } ifelse } ifelse "
+                + "dup 0.25 eq { pop 0 } if }";
+        assertCalculation(new double[] {0.2}, program, 0.1);
+        assertCalculation(new double[] {0.5}, program, 0.6);
+        assertCalculation(new double[] {0}, program, 0.75);
+        assertCalculation(new double[] {0.1}, program, 0.9);
+    }
+
+    @Test
+    public void stackOperatorsTest() {
+        assertCalculation(new double[] {1, 2, 3, 2, 3}, "{ pop 1 2 3 2 copy }", 0);
+        assertCalculation(new double[] {1, 2, 3, 1}, "{ pop 1 2 3 2 index }", 0);
+        assertCalculation(new double[] {3, 1, 2}, "{ pop 1 2 3 3 1 roll }", 0);
+        assertCalculation(new double[] {2, 3, 1}, "{ pop 1 2 3 3 -1 roll }", 0);
+    }
+
+    @Test
+    public void inputAndOutputClippingTest() {
+        PdfType4Function function = new PdfType4Function(new double[] {0, 1}, new double[] {0, 1, 0, 10},
+                "{ dup 20 mul }".getBytes(StandardCharsets.ISO_8859_1));
+        Assert.assertArrayEquals(new double[] {1, 10}, function.calculate(new double[] {5}), EPSILON);
+        Assert.assertArrayEquals(new double[] {0, 0}, function.calculate(new double[] {-5}), EPSILON);
+    }
+
+    @Test
+    public void calculateWithoutAllocationTest() {
+        PdfType4Function function = new PdfType4Function(new double[] {0, 1, 0, 1}, new double[] {0, 1, 0, 1, 0, 1},
+                "{ 2 copy add 2 div }".getBytes(StandardCharsets.ISO_8859_1));
+        double[] input = new double[] {0.2, 0.4, 0.6, 0.8};
+        double[] output = new double[6];
+        function.calculate(input, 0, output, 0);
+        function.calculate(input, 2, output, 3);
+        Assert.assertArrayEquals(new double[] {0.2, 0.4, 0.3, 0.6, 0.8, 0.7}, output, EPSILON);
+    }
+
+    @Test
+    public void functionFromStreamTest() {
+        PdfStream stream = new PdfStream("{ 1 exch sub }".getBytes(StandardCharsets.ISO_8859_1));
+        stream.put(PdfName.FunctionType, new PdfNumber(4));
+        stream.put(PdfName.Domain, new PdfArray(new double[] {0, 1}));
+        stream.put(PdfName.Range, new PdfArray(new double[] {0, 1}));
+        IPdfFunction function = PdfFunctionFactory.create(stream);
+        Assert.assertArrayEquals(new double[] {0.25}, function.calculate(new double[] {0.75}), EPSILON);
+    }
+
+    @Test
+    public void calculateFromByteArrayTest() throws java.io.IOException {
+        PdfType4Function function = new PdfType4Function(new double[] {0, 1}, new double[] {0, 1, 0, 1, 0, 1},
+                "{ dup 1 exch sub 0 }".getBytes(StandardCharsets.ISO_8859_1));
+        byte[] result = function.calculateFromByteArray(new byte[] {0, (byte) 255}, 0, 2, 8, 8);
+        Assert.assertArrayEquals(new byte[] {0, (byte) 255, 0, (byte) 255, 0, 0}, result);
+    }
+
+    @Test
+    public void invalidInputTest() {
+        PdfType4Function function = new PdfType4Function(new double[] {0, 1}, new double[] {0, 1},
+                "{ }".getBytes(StandardCharsets.ISO_8859_1));
+        Exception ex = Assert.assertThrows(PdfException.class, () -> function.calculate(new double[] {0, 1}));
+        Assert.assertEquals(KernelExceptionMessageConstant.INVALID_INPUT_FOR_TYPE_4_FUNCTION, ex.getMessage());
+    }
+
+    @Test
+    public void unknownOperatorTest() {
+        Exception ex = Assert.assertThrows(PdfException.class, () -> calculate("{ 2 pow }", 0.5));
+        Assert.assertEquals(MessageFormatUtil.format(
+                KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_OPERATOR, "pow"), ex.getMessage());
+    }
+
+    @Test
+    public void notEnclosedProgramTest() {
+        Exception ex = Assert.assertThrows(PdfException.class, () -> calculate("1 add", 0.5));
+        Assert.assertEquals(KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_PROGRAM, ex.getMessage());
+
+        ex = Assert.assertThrows(PdfException.class, () -> calculate("{ 1 add", 0.5));
+        Assert.assertEquals(KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_PROGRAM, ex.getMessage());
+    }
+
+    @Test
+    public void procedureWithoutConditionalOperatorTest() {
+        Exception ex = Assert.assertThrows(PdfException.class, () -> calculate("{ { 1 } { 0 } if }", 0.5));
+        Assert.assertEquals(KernelExceptionMessageConstant.INVALID_TYPE_4_FUNCTION_PROCEDURE, ex.getMessage());
+    }
+
+    @Test
+    public void stackUnderflowTest() {
+        Exception ex = Assert.assertThrows(PdfException.class, () -> calculate("{ add }", 0.5));
+        Assert.assertEquals(MessageFormatUtil.format(
+                KernelExceptionMessageConstant.TYPE_4_FUNCTION_STACK_UNDERFLOW, "add"), ex.getMessage());
+    }
+
+    @Test
+    public void stackOverflowTest() {
+        Exception ex = Assert.assertThrows(PdfException.class, () -> calculate("{ 99 copy }", 0.5));
+        Assert.assertEquals(MessageFormatUtil.format(
+                KernelExceptionMessageConstant.TYPE_4_FUNCTION_STACK_UNDERFLOW, "copy"), ex.getMessage());
+
+        ex = Assert.assertThrows(PdfException.class,
+                () -> calculate("{ dup 2 copy 4 copy 8 copy 16 copy 32 copy 64 copy }", 0.5));
+        Assert.assertEquals(MessageFormatUtil.format(
+                KernelExceptionMessageConstant.TYPE_4_FUNCTION_STACK_OVERFLOW, 100), ex.getMessage());
+    }
+
+    @Test
+    public void divisionByZeroTest() {
+        Exception ex = Assert.assertThrows(PdfException.class, () -> calculate("{ 0 idiv }", 0.5));
+        Assert.assertEquals(MessageFormatUtil.format(
+                KernelExceptionMessageConstant.TYPE_4_FUNCTION_DIVISION_BY_ZERO, "idiv"), ex.getMessage());
+
+        ex = Assert.assertThrows(PdfException.class, () -> calculate("{ 7 exch mod }", 0.5));
+        Assert.assertEquals(MessageFormatUtil.format(
+                KernelExceptionMessageConstant.TYPE_4_FUNCTION_DIVISION_BY_ZERO, "mod"), ex.getMessage());
+    }
+
+    private static void assertCalculation(double[] expected, String program, double input) {
+        Assert.assertArrayEquals(expected, calculate(program, input, expected.length), EPSILON);
+    }
+
+    private static double[] calculate(String program, double input) {
+        return calculate(program, input, 1);
+    }
+
+    private static double[] calculate(String program, double input, int outputSize) {
+        double[] range = new double[outputSize * 2];
+        for (int i = 0; i < outputSize; i++) {
+            range[2 * i] = -1000;
+            range[2 * i + 1] = 1000;
+        }
+        PdfType4Function function = new PdfType4Function(new double[] {-1000, 1000}, range,
+                program.getBytes(StandardCharsets.ISO_8859_1));
+        return function.calculate(new double[] {input});
+    }
+}
@@ -27,6 +27,7 @@ import com.itextpdf.io.codec.TIFFConstants;
 import com.itextpdf.io.codec.TIFFDirectory;
 import com.itextpdf.io.codec.TIFFField;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.kernel.pdf.PdfDictionary;
@@ -221,6 +222,26 @@ public class GetImageBytesTest extends ExtendedITextTest {
         testFile("RGBFlateF2.pdf", "Im1", "png");
     }
 
+    @Test
+    public void writeDctImageBytesTest() throws Exception {
+        testWriteImageBytes("dctdecode.pdf", "im1");
+    }
+
+    @Test
+    public void writeJpxImageBytesTest() throws Exception {
+        testWriteImageBytes("JPXDecode.pdf", "Im1");
+    }
+
+    @Test
+    public void writeJbig2ImageBytesTest() throws Exception {
+        testWriteImageBytes("jbig2decode.pdf", "2");
+    }
+
+    @Test
+    public void writeFlateImageBytesTest() throws Exception {
+        testWriteImageBytes("img_rgb.pdf", "Im1");
+    }
+
     @Test
     public void extractByteAlignedG4TiffImageTest() throws IOException {
         String inFileName = SOURCE_FOLDER + "extractByteAlignedG4TiffImage.pdf";
@@ -307,6 +328,19 @@ public class GetImageBytesTest extends ExtendedITextTest {
         }
     }
 
+    private void testWriteImageBytes(String filename, String objectid) throws Exception {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(SOURCE_FOLDER + filename))) {
+            PdfResources resources = pdfDocument.getPage(1).getResources();
+            PdfDictionary xobjects = resources.getResource(PdfName.XObject);
+            PdfImageXObject img = new PdfImageXObject((PdfStream) xobjects.get(new PdfName(objectid)));
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            img.writeImageBytes(baos);
+
+            Assert.assertArrayEquals(img.getImageBytes(), baos.toByteArray());
+        }
+    }
+
     private void compareTiffImages(byte[] cmpBytes, byte[] resultBytes) throws IOException {
         int cmpNumDirectories = TIFFDirectory.getNumDirectories(new RandomAccessFileOrArray(
                 new RandomAccessSourceFactory().createSource(cmpBytes)));
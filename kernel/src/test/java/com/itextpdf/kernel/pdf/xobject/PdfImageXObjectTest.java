@@ -22,11 +22,18 @@
  */
 package com.itextpdf.kernel.pdf.xobject;
 
+import com.itextpdf.io.codec.CCITTG4Encoder;
+import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.io.image.ImageDataRegistry;
+import com.itextpdf.io.image.RawImageData;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -36,8 +43,11 @@ import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -60,6 +70,61 @@ public class PdfImageXObjectTest extends ExtendedITextTest {
         CompareTool.cleanup(DESTINATION_FOLDER);
     }
 
+    @Test
+    public void sharedImageXObjectIsWrittenOnceTest() throws IOException {
+        String filename = DESTINATION_FOLDER + "sharedImageXObjectIsWrittenOnce.pdf";
+        ImageDataRegistry registry = new ImageDataRegistry();
+        byte[] imageBytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "image.png"));
+
+        PdfDocument pdfDoc = new PdfDocument(CompareTool.createTestPdfWriter(filename));
+        for (int i = 0; i < 3; i++) {
+            PdfImageXObject imageXObject = pdfDoc.getImageXObject(registry.create(imageBytes));
+            new PdfCanvas(pdfDoc.addNewPage())
+                    .addXObjectFittedIntoRectangle(imageXObject, new Rectangle(50, 500, 200, 200));
+            // the shared XObject shall still be usable after the page and the XObject itself are flushed
+            pdfDoc.getLastPage().flush();
+            imageXObject.flush();
+        }
+        pdfDoc.close();
+
+        PdfDocument resultDoc = new PdfDocument(CompareTool.createOutputReader(filename));
+        PdfIndirectReference firstPageImage = getFirstImage(resultDoc.getPage(1)).getIndirectReference();
+        for (int i = 2; i <= 3; i++) {
+            Assert.assertEquals(firstPageImage, getFirstImage(resultDoc.getPage(i)).getIndirectReference());
+        }
+        resultDoc.close();
+    }
+
+    @Test
+    public void sharedCcittTiffImageInSeveralDocumentsTest() throws IOException {
+        ImageDataRegistry registry = new ImageDataRegistry();
+        byte[] imageBytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "group3CompressionImage.tif"));
+
+        PdfDictionary firstDecodeParms = createImageXObjectDecodeParms(registry.create(imageBytes));
+        PdfDictionary secondDecodeParms = createImageXObjectDecodeParms(registry.create(imageBytes));
+        Assert.assertNull(firstDecodeParms.get(PdfName.BlackIs1));
+        Assert.assertEquals(firstDecodeParms.toString(), secondDecodeParms.toString());
+    }
+
+    @Test
+    public void sharedCcittRawImageInSeveralDocumentsTest() {
+        int width = 64;
+        int height = 32;
+        byte[] bitmap = new byte[width / 8 * height];
+        for (int i = 0; i < bitmap.length; i += 3) {
+            bitmap[i] = (byte) 0xF0;
+        }
+        byte[] g4 = CCITTG4Encoder.compress(bitmap, width, height);
+        ImageData image = ImageDataFactory.create(width, height, false, RawImageData.CCITTG4,
+                RawImageData.CCITT_ENDOFBLOCK, g4, null);
+
+        PdfDictionary firstDecodeParms = createImageXObjectDecodeParms(image);
+        PdfDictionary secondDecodeParms = createImageXObjectDecodeParms(image);
+        Assert.assertNull(firstDecodeParms.get(PdfName.BlackIs1));
+        Assert.assertNotNull(firstDecodeParms.get(PdfName.EndOfBlock));
+        Assert.assertEquals(firstDecodeParms.toString(), secondDecodeParms.toString());
+    }
+
     @Test
     public void addFlushedImageXObjectToCanvas() throws IOException, InterruptedException {
         String filename = DESTINATION_FOLDER + "addFlushedImageXObjectToCanvas.pdf";
@@ -202,6 +267,19 @@ public class PdfImageXObjectTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(destFilename, cmpFilename, DESTINATION_FOLDER));
     }
 
+    private static PdfDictionary createImageXObjectDecodeParms(ImageData image) {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfDictionary decodeParms = (PdfDictionary) pdfDoc.getImageXObject(image).getPdfObject()
+                .getAsDictionary(PdfName.DecodeParms).clone();
+        pdfDoc.close();
+        return decodeParms;
+    }
+
+    private static PdfStream getFirstImage(PdfPage page) {
+        PdfDictionary xObjects = page.getResources().getResource(PdfName.XObject);
+        return xObjects.getAsStream(xObjects.keySet().iterator().next());
+    }
+
     private void convertAndCompare(String outFilename, String cmpFilename, String imageFilename)
             throws IOException {
 
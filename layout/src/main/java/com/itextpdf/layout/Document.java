@@ -32,6 +32,7 @@ import com.itextpdf.layout.element.IElement;
 import com.itextpdf.layout.element.ILargeElement;
 import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.renderer.DeferredTextHandler;
 import com.itextpdf.layout.renderer.DocumentRenderer;
 import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.layout.renderer.RootRenderer;
@@ -93,6 +94,7 @@ public class Document extends RootElement<Document> {
         if (rootRenderer != null) {
             rootRenderer.close();
         }
+        DeferredTextHandler.resolvePlaceholders(pdfDocument);
         pdfDocument.close();
     }
 
@@ -186,6 +188,37 @@ public class Document extends RootElement<Document> {
         }
     }
 
+    /**
+     * Recalculates the document flow starting from the page on which the specified child element has been placed.
+     * The layout of the previous pages is preserved, so it's much cheaper than {@link #relayout()} if the change
+     * concerns the last pages of a large document. All the child elements which have been changed since the last
+     * layout shall follow the specified element, the elements preceding it shall stay untouched.
+     * <p>
+     * If the layout can't be continued from that page, e.g. if the document is tagged or a custom
+     * {@link DocumentRenderer} is used, an entire recalculation is performed, see {@link #relayout()}.
+     * <p>
+     * Do not use when you have set {@link #immediateFlush} to <code>true</code>.
+     *
+     * @param firstChangedElement the first changed child element of this document
+     */
+    public void relayout(IElement firstChangedElement) {
+        if (immediateFlush) {
+            throw new IllegalStateException("Operation not supported with immediate flush");
+        }
+
+        int childIndex = childElements.indexOf(firstChangedElement);
+        int firstChildToAdd = childIndex >= 0 && rootRenderer instanceof DocumentRenderer
+                ? ((DocumentRenderer) rootRenderer).prepareToRelayout(childIndex) : -1;
+        if (firstChildToAdd < 0) {
+            relayout();
+            return;
+        }
+
+        for (int i = firstChildToAdd; i < childElements.size(); i++) {
+            createAndAddRendererSubTree(childElements.get(i));
+        }
+    }
+
     /**
      * Gets the left margin, measured in points
      *
@@ -0,0 +1,88 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.element;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.tagging.StandardRoles;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.renderer.DeferredTextRenderer;
+import com.itextpdf.layout.renderer.IRenderer;
+
+import java.util.function.Function;
+
+/**
+ * A {@link Text} whose content becomes known only when the document is closed, e.g. the total number of pages.
+ * The space of the reserved text is occupied during layout, while a form XObject is drawn in place of its glyphs.
+ * The form XObject is filled with the resolved value when the {@link com.itextpdf.layout.Document} is closed,
+ * so that "page X of Y" footers neither require a relayout nor prevent the content from being flushed immediately.
+ *
+ * <p>
+ * All the occurrences of the element which share the same font, font size, color and text state parameters
+ * reuse the same form XObject. The reserved text shall be as wide as the widest expected value, since
+ * the value doesn't affect the layout. Underlines aren't drawn for the value and the value is marked as
+ * an artifact in tagged documents.
+ */
+public class DeferredText extends Text {
+
+    private final Function<PdfDocument, String> valueResolver;
+
+    /**
+     * Creates a {@link DeferredText}.
+     *
+     * @param reservedText  the text which defines the space occupied by the element
+     * @param valueResolver the function which calculates the value to be shown when the document is closed
+     */
+    public DeferredText(String reservedText, Function<PdfDocument, String> valueResolver) {
+        super(reservedText);
+        if (valueResolver == null) {
+            throw new IllegalArgumentException(
+                    LayoutExceptionMessageConstant.DEFERRED_TEXT_VALUE_RESOLVER_CANNOT_BE_NULL);
+        }
+        this.valueResolver = valueResolver;
+        getAccessibilityProperties().setRole(StandardRoles.ARTIFACT);
+    }
+
+    /**
+     * Creates a {@link DeferredText} which shows the total number of pages of the document.
+     *
+     * @param reservedText the text which defines the space occupied by the element, e.g. "000"
+     * @return the created element
+     */
+    public static DeferredText createTotalPageCount(String reservedText) {
+        return new DeferredText(reservedText, pdfDocument -> String.valueOf(pdfDocument.getNumberOfPages()));
+    }
+
+    /**
+     * Gets the function which calculates the value to be shown when the document is closed.
+     *
+     * @return the value resolver
+     */
+    public Function<PdfDocument, String> getValueResolver() {
+        return valueResolver;
+    }
+
+    @Override
+    protected IRenderer makeNewRenderer() {
+        return new DeferredTextRenderer(this);
+    }
+}
@@ -35,6 +35,8 @@ public final class LayoutExceptionMessageConstant {
             + "flushed pages.";
     public static final String DOCUMENT_CLOSED_IT_IS_IMPOSSIBLE_TO_EXECUTE_ACTION = "Document was closed. It is "
             + "impossible to execute action.";
+    public static final String DEFERRED_TEXT_VALUE_RESOLVER_CANNOT_BE_NULL =
+            "The value resolver of a DeferredText cannot be null.";
     public static final String FLEX_BASIS_CANNOT_BE_NULL = "Flex basis cannot be null.";
     public static final String FLEX_GROW_CANNOT_BE_NEGATIVE = "Flex grow cannot be negative.";
     public static final String FLEX_SHRINK_CANNOT_BE_NEGATIVE = "Flex shrink cannot be negative.";
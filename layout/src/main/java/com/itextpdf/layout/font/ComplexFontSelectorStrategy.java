@@ -71,12 +71,22 @@ public class ComplexFontSelectorStrategy extends FontSelectorStrategy {
                         : (int) text.charAt(nextUnignorable);
 
                 if (f.getFontUnicodeRange().contains(codePoint)) {
+                    UnicodeCoverage coverage = provider.getUnicodeCoverage(f);
+                    boolean checked = coverage.isChecked(codePoint);
+                    if (checked && !coverage.isCovered(codePoint)) {
+                        continue;
+                    }
                     PdfFont currentFont = getPdfFont(f);
-                    Glyph glyph = currentFont.getGlyph(codePoint);
-                    if (null != glyph && 0 != glyph.getCode()) {
-                        font = currentFont;
-                        break;
+                    if (!checked) {
+                        Glyph glyph = currentFont.getGlyph(codePoint);
+                        boolean covered = null != glyph && 0 != glyph.getCode();
+                        coverage.setCovered(codePoint, covered);
+                        if (!covered) {
+                            continue;
+                        }
                     }
+                    font = currentFont;
+                    break;
                 }
             }
         }
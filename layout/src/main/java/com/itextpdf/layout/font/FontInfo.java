@@ -26,11 +26,14 @@ import com.itextpdf.io.font.FontCacheKey;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramDescriptor;
 import com.itextpdf.io.font.FontProgramDescriptorFactory;
+import com.itextpdf.io.font.FontProgramDescriptorIndex;
 import com.itextpdf.io.util.ArrayUtil;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.kernel.font.PdfFont;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -96,6 +99,33 @@ public final class FontInfo {
         return descriptor != null ? new FontInfo(fontName, null, encoding, descriptor, range, alias) : null;
     }
 
+    /**
+     * Fetches the descriptors of the font files which have not been fetched yet, in parallel, so that
+     * the following {@link #create(String, String, String, Range)} calls find them in the cache.
+     *
+     * @param fontNames the paths to the font files
+     * @param index     the index used to fetch the descriptors
+     * @return the descriptors in the order of the paths, {@code null} for the files which aren't supported fonts
+     */
+    static FontProgramDescriptor[] prefetchDescriptors(List<String> fontNames, FontProgramDescriptorIndex index) {
+        FontProgramDescriptor[] descriptors = new FontProgramDescriptor[fontNames.size()];
+        List<String> missingFontNames = new ArrayList<>();
+        for (int i = 0; i < fontNames.size(); i++) {
+            descriptors[i] = getFontNamesFromCache(FontCacheKey.create(fontNames.get(i)));
+            if (descriptors[i] == null) {
+                missingFontNames.add(fontNames.get(i));
+            }
+        }
+        FontProgramDescriptor[] fetched = index.fetchDescriptors(missingFontNames);
+        for (int i = 0, j = 0; i < descriptors.length; i++) {
+            if (descriptors[i] == null) {
+                descriptors[i] = fetched[j++];
+                putFontNamesToCache(FontCacheKey.create(fontNames.get(i)), descriptors[i]);
+            }
+        }
+        return descriptors;
+    }
+
     static FontInfo create(byte[] fontProgram, String encoding, String alias, Range range) {
         FontCacheKey cacheKey = FontCacheKey.create(fontProgram);
         FontProgramDescriptor descriptor = getFontNamesFromCache(cacheKey);
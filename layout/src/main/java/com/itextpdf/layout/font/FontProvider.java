@@ -45,6 +45,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Main entry point of font selector logic.
@@ -65,12 +66,13 @@ public class FontProvider {
     private static final String DEFAULT_FONT_FAMILY = "Helvetica";
 
     private final FontSet fontSet;
-    private final FontSelectorCache fontSelectorCache;
+    private FontSelectorCache fontSelectorCache;
     /**
      * The default font-family is used by {@link FontSelector} if it's impossible to select a font for all other set font-families
      */
     protected final String defaultFontFamily;
     protected final Map<FontInfo, PdfFont> pdfFonts;
+    private final Map<FontInfo, UnicodeCoverage> unicodeCoverages = new ConcurrentHashMap<>();
 
     private IFontSelectorStrategyFactory fontSelectorStrategyFactory;
 
@@ -108,7 +110,6 @@ public class FontProvider {
     public FontProvider(FontSet fontSet, String defaultFontFamily) {
         this.fontSet = fontSet != null ? fontSet : new FontSet();
         pdfFonts = new HashMap<>();
-        fontSelectorCache = new FontSelectorCache(this.fontSet);
         this.defaultFontFamily = defaultFontFamily;
         this.fontSelectorStrategyFactory = new FirstMathFontSelectorStrategyFactory();
     }
@@ -453,10 +454,11 @@ public class FontProvider {
      */
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc) {
         FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        FontSelector fontSelector = fontSelectorCache.get(key);
+        FontSelectorCache cache = getFontSelectorCache();
+        FontSelector fontSelector = cache.get(key);
         if (fontSelector == null) {
             fontSelector = createFontSelector(fontSet.getFonts(), fontFamilies, fc);
-            fontSelectorCache.put(key, fontSelector);
+            cache.put(key, fontSelector);
         }
         return fontSelector;
     }
@@ -477,10 +479,11 @@ public class FontProvider {
     public final FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc,
                                               FontSet additionalFonts) {
         FontSelectorKey key = new FontSelectorKey(fontFamilies, fc);
-        FontSelector fontSelector = fontSelectorCache.get(key, additionalFonts);
+        FontSelectorCache cache = getFontSelectorCache();
+        FontSelector fontSelector = cache.get(key, additionalFonts);
         if (fontSelector == null) {
             fontSelector = createFontSelector(fontSet.getFonts(additionalFonts), fontFamilies, fc);
-            fontSelectorCache.put(key, fontSelector, additionalFonts);
+            cache.put(key, fontSelector, additionalFonts);
         }
         return fontSelector;
     }
@@ -503,6 +506,62 @@ public class FontProvider {
         return new FontSelector(fonts, fontFamiliesToBeProcessed, fc);
     }
 
+    /**
+     * Defines whether the {@link FontSelector} cache of this provider is shared with the other providers
+     * of the same class and default font family which are based on the same {@link FontSet}. A shared cache is
+     * filled once per font set rather than once per provider, which matters when a new provider is created
+     * for each document.
+     * <p>
+     * The cache is shared only by {@link FontProvider} itself by default. Subclasses may enable sharing
+     * if {@link #createFontSelector(Collection, List, FontCharacteristics)} depends only on its arguments
+     * and the default font family, i.e. not on the fonts added to a particular provider instance.
+     *
+     * @return {@code true} if the font selector cache is shared, {@code false} otherwise
+     */
+    protected boolean isFontSelectorCacheShared() {
+        return getClass() == FontProvider.class;
+    }
+
+    /**
+     * Gets the record of the code points checked against the font, which is used to select fonts
+     * without creating a {@link PdfFont} for each of them.
+     * <p>
+     * The record is kept by this provider, since the glyphs of the font depend on the encoding it's created with,
+     * see {@link #getPdfFont(FontInfo, FontSet)} and {@link #getDefaultEncoding(FontProgram)}.
+     * The records of the fonts of the {@link FontSet} are shared with the other providers based on the same set
+     * if {@link #isUnicodeCoverageShared()} returns {@code true}.
+     *
+     * @param fontInfo the font
+     *
+     * @return the {@link UnicodeCoverage} of the font, never {@code null}
+     */
+    public UnicodeCoverage getUnicodeCoverage(FontInfo fontInfo) {
+        UnicodeCoverage coverage = isUnicodeCoverageShared() ? fontSet.getUnicodeCoverage(fontInfo) : null;
+        if (coverage == null) {
+            coverage = unicodeCoverages.get(fontInfo);
+            if (coverage == null) {
+                unicodeCoverages.putIfAbsent(fontInfo, new UnicodeCoverage());
+                coverage = unicodeCoverages.get(fontInfo);
+            }
+        }
+        return coverage;
+    }
+
+    /**
+     * Defines whether the {@link UnicodeCoverage} records of the fonts of the {@link FontSet} are shared with
+     * the other providers which are based on the same set.
+     * <p>
+     * The records are shared only by {@link FontProvider} itself by default. Subclasses may enable sharing
+     * if all the providers sharing the records create the fonts with the same glyphs, i.e. if
+     * {@link #getPdfFont(FontInfo, FontSet)} and {@link #getDefaultEncoding(FontProgram)} don't depend
+     * on the particular provider instance.
+     *
+     * @return {@code true} if the unicode coverage records are shared, {@code false} otherwise
+     */
+    protected boolean isUnicodeCoverageShared() {
+        return getClass() == FontProvider.class;
+    }
+
     /**
      * Get from cache or create a new instance of {@link PdfFont}.
      *
@@ -570,6 +629,15 @@ public class FontProvider {
         }
     }
 
+    private FontSelectorCache getFontSelectorCache() {
+        if (fontSelectorCache == null) {
+            fontSelectorCache = isFontSelectorCacheShared()
+                    ? fontSet.getFontSelectorCache(getClass(), defaultFontFamily)
+                    : new FontSelectorCache(fontSet);
+        }
+        return fontSelectorCache;
+    }
+
     /**
      * Resets {@link FontProvider#pdfFonts PdfFont cache}.
      * After calling that method {@link FontProvider} can be reused with another {@link PdfDocument}
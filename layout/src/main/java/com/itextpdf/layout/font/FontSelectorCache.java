@@ -22,90 +22,110 @@
  */
 package com.itextpdf.layout.font;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Cache of {@link FontSelector} instances.
+ * <p>
+ * The cache is safe for concurrent use, so that it can be shared by all the {@link FontProvider} instances
+ * based on the same {@link FontSet}, see {@link FontSet#getFontSelectorCache(Class, String)}. The cached selectors
+ * are dropped once the number of fonts in the corresponding font sets changes. The selectors for an additional
+ * font set are kept only while the set itself is referenced elsewhere, since such sets are often created
+ * for a single document, e.g. for its own fonts.
+ */
 class FontSelectorCache {
 
     private final FontSetSelectors defaultSelectors;
     private final FontSet defaultFontSet;
-    private final Map<Long, FontSetSelectors> caches = new HashMap<>();
+    // guarded by itself
+    private final Map<FontSet, FontSetSelectors> caches = new WeakHashMap<>();
+    private final int maxSize;
 
     FontSelectorCache(FontSet defaultFontSet) {
         assert defaultFontSet != null;
-        this.defaultSelectors = new FontSetSelectors();
-        this.defaultSelectors.update(defaultFontSet);
         this.defaultFontSet = defaultFontSet;
+        this.maxSize = defaultFontSet.getFontSelectorCacheSize();
+        this.defaultSelectors = new FontSetSelectors();
     }
 
     FontSelector get(FontSelectorKey key) {
-        if (update(null, null)) {
-            return null;
-        } else {
-            return defaultSelectors.map.get(key);
-        }
+        return getSelectors(null).get(key);
     }
 
     FontSelector get(FontSelectorKey key, FontSet additionalFonts) {
-        if (additionalFonts == null) {
-            return get(key);
-        } else {
-            FontSetSelectors selectors = caches.get(additionalFonts.getId());
-            if (selectors == null) {
-                caches.put(additionalFonts.getId(), selectors = new FontSetSelectors());
-            }
-            if (update(selectors, additionalFonts)) {
-                return null;
-            } else {
-                return selectors.map.get(key);
-            }
-        }
+        return getSelectors(additionalFonts).get(key);
     }
 
     void put(FontSelectorKey key, FontSelector fontSelector) {
-        //update defaultSelectors to reset counter before pushing if needed.
-        update(null, null);
-        defaultSelectors.map.put(key, fontSelector);
+        put(key, fontSelector, null);
     }
 
     void put(FontSelectorKey key, FontSelector fontSelector, FontSet fontSet) {
-        if (fontSet == null) {
-            put(key, fontSelector);
-        } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
+        Map<FontSelectorKey, FontSelector> selectors = getSelectors(fontSet);
+        if (!selectors.containsKey(key)) {
+            evictIfFull(selectors);
+        }
+        selectors.put(key, fontSelector);
+    }
+
+    private Map<FontSelectorKey, FontSelector> getSelectors(FontSet additionalFonts) {
+        if (additionalFonts == null) {
+            return defaultSelectors.getSelectors(defaultFontSet.size(), 0);
+        }
+        FontSetSelectors selectors;
+        synchronized (caches) {
+            selectors = caches.get(additionalFonts);
             if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
+                evictIfFull(caches);
+                selectors = new FontSetSelectors();
+                caches.put(additionalFonts, selectors);
             }
-            //update selectors and defaultSelectors to reset counter before pushing if needed.
-            update(selectors, fontSet);
-            selectors.map.put(key, fontSelector);
         }
+        // selectors for additional fonts are also based on the default font set
+        return selectors.getSelectors(defaultFontSet.size(), additionalFonts.size());
     }
 
-    private boolean update(FontSetSelectors selectors, FontSet fontSet) {
-        boolean updated = false;
-        if (defaultSelectors.update(defaultFontSet)) {
-            updated = true;
+    int getAdditionalFontSetsCount() {
+        synchronized (caches) {
+            return caches.size();
         }
-        if (selectors != null && selectors.update(fontSet)) {
-            updated = true;
+    }
+
+    private void evictIfFull(Map<?, ?> map) {
+        if (maxSize > 0 && map.size() >= maxSize) {
+            Iterator<?> iterator = map.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
         }
-        return updated;
     }
 
     private static class FontSetSelectors {
-        final Map<FontSelectorKey, FontSelector> map = new HashMap<>();
-        private int fontSetSize = -1;
-
-        boolean update(FontSet fontSet) {
-            assert fontSet != null;
-            if (fontSetSize == fontSet.size()) {
-                return false;
-            } else {
-                map.clear();
-                fontSetSize = fontSet.size();
-                return true;
+        private volatile SizedSelectors current = new SizedSelectors(-1, -1);
+
+        Map<FontSelectorKey, FontSelector> getSelectors(int fontSetSize, int additionalFontSetSize) {
+            SizedSelectors selectors = current;
+            if (selectors.fontSetSize != fontSetSize || selectors.additionalFontSetSize != additionalFontSetSize) {
+                // fonts have been added since the selectors were created
+                selectors = new SizedSelectors(fontSetSize, additionalFontSetSize);
+                current = selectors;
             }
+            return selectors.map;
+        }
+    }
+
+    private static class SizedSelectors {
+        final Map<FontSelectorKey, FontSelector> map = new ConcurrentHashMap<>();
+        final int fontSetSize;
+        final int additionalFontSetSize;
+
+        SizedSelectors(int fontSetSize, int additionalFontSetSize) {
+            this.fontSetSize = fontSetSize;
+            this.additionalFontSetSize = additionalFontSetSize;
         }
     }
 }
@@ -24,6 +24,8 @@ package com.itextpdf.layout.font;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramDescriptor;
+import com.itextpdf.io.font.FontProgramDescriptorIndex;
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.kernel.font.Type3Font;
 import org.slf4j.Logger;
@@ -37,6 +39,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -57,13 +60,30 @@ public final class FontSet {
     // But FontInfo with or without alias will be the same FontInfo.
     private final Set<FontInfo> fonts = new LinkedHashSet<>();
     private final Map<FontInfo, FontProgram> fontPrograms = new HashMap<>();
+    private final Map<String, FontSelectorCache> fontSelectorCaches = new ConcurrentHashMap<>();
+    private final Map<FontInfo, UnicodeCoverage> unicodeCoverages = new ConcurrentHashMap<>();
     private final long id;
+    private final int fontSelectorCacheSize;
 
     /**
      * Creates a new instance of {@link FontSet}.
      */
     public FontSet() {
+        this(0);
+    }
+
+    /**
+     * Creates a new instance of {@link FontSet} with bounded caches of font selectors.
+     * <p>
+     * The font selectors are cached by the {@link FontProvider} instances based on this set, see
+     * {@link FontProvider#isFontSelectorCacheShared()}. The bound is applied to the number of selectors
+     * cached for this set and to the number of additional font sets the selectors are cached for.
+     *
+     * @param fontSelectorCacheSize the maximal number of entries in the caches, non-positive value means no limit
+     */
+    public FontSet(int fontSelectorCacheSize) {
         this.id = lastId.incrementAndGet();
+        this.fontSelectorCacheSize = fontSelectorCacheSize;
     }
 
     /**
@@ -74,21 +94,43 @@ public final class FontSet {
      * @return number of added fonts.
      */
     public int addDirectory(String dir, boolean scanSubdirectories) {
+        return addDirectory(dir, scanSubdirectories, null);
+    }
+
+    /**
+     * Add all the fonts in a directory and possibly its subdirectories.
+     * The descriptors of the fonts are fetched in parallel, the ones which are in the index
+     * and haven't changed since they were indexed are not fetched at all.
+     *
+     * @param dir                path to directory.
+     * @param scanSubdirectories recursively scan subdirectories if {@code true}.
+     * @param index              the index of the font descriptors, if {@code null} the descriptors
+     *                           are fetched from the font files, see {@link FontProgramDescriptorIndex#save()}.
+     * @return number of added fonts.
+     */
+    public int addDirectory(String dir, boolean scanSubdirectories, FontProgramDescriptorIndex index) {
         int count = 0;
         String[] files = FileUtil.listFilesInDirectory(dir, scanSubdirectories);
         if (files == null)
             return 0;
+        List<String> fontFiles = new ArrayList<>();
         for (String file : files) {
+            String suffix = file.length() < 4 ? null : file.substring(file.length() - 4).toLowerCase();
+            if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
+                // Add only Type 1 fonts with matching .pfb files.
+                String pfb = file.substring(0, file.length() - 4) + ".pfb";
+                if (FileUtil.fileExists(pfb)) {
+                    fontFiles.add(file);
+                }
+            } else if (".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix)) {
+                fontFiles.add(file);
+            }
+        }
+        FontProgramDescriptor[] descriptors = FontInfo.prefetchDescriptors(fontFiles,
+                index != null ? index : new FontProgramDescriptorIndex());
+        for (int i = 0; i < fontFiles.size(); i++) {
             try {
-                String suffix = file.length() < 4 ? null : file.substring(file.length() - 4).toLowerCase();
-                if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
-                    // Add only Type 1 fonts with matching .pfb files.
-                    String pfb = file.substring(0, file.length() - 4) + ".pfb";
-                    if (FileUtil.fileExists(pfb) && addFont(file)) {
-                        count++;
-                    }
-                } else if ((".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix))
-                        && addFont(file)) {
+                if (descriptors[i] != null && addFont(fontFiles.get(i))) {
                     count++;
                 }
             } catch (Exception ignored) {
@@ -439,5 +481,44 @@ public final class FontSet {
         return fontPrograms.get(fontInfo);
     }
 
+    int getFontSelectorCacheSize() {
+        return fontSelectorCacheSize;
+    }
+
+    /**
+     * Gets the font selector cache shared by the font providers of the same class and default font family
+     * which are based on this set.
+     */
+    FontSelectorCache getFontSelectorCache(Class<?> fontProviderClass, String defaultFontFamily) {
+        String key = fontProviderClass.getName() + '\n' + defaultFontFamily;
+        FontSelectorCache cache = fontSelectorCaches.get(key);
+        if (cache == null) {
+            FontSelectorCache created = new FontSelectorCache(this);
+            cache = fontSelectorCaches.putIfAbsent(key, created);
+            if (cache == null) {
+                cache = created;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the unicode coverage of the font shared by the font providers which are based on this set,
+     * see {@link FontProvider#isUnicodeCoverageShared()}.
+     *
+     * @return the coverage of the font or {@code null} if the font doesn't belong to this set
+     */
+    UnicodeCoverage getUnicodeCoverage(FontInfo fontInfo) {
+        if (!fonts.contains(fontInfo)) {
+            return null;
+        }
+        UnicodeCoverage coverage = unicodeCoverages.get(fontInfo);
+        if (coverage == null) {
+            unicodeCoverages.putIfAbsent(fontInfo, new UnicodeCoverage());
+            coverage = unicodeCoverages.get(fontInfo);
+        }
+        return coverage;
+    }
+
     //endregion
 }
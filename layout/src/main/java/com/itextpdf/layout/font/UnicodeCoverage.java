@@ -0,0 +1,133 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Compact record of the code points which have been checked against a font and of the check results.
+ * <p>
+ * Checking whether a font contains a glyph requires the {@link com.itextpdf.kernel.font.PdfFont} to be created,
+ * which is costly when many fonts are tried for each character. The result of such a check doesn't depend
+ * on the document the font is created for, so it's recorded once per {@link FontInfo} and {@link FontProvider}, see
+ * {@link FontProvider#getUnicodeCoverage(FontInfo)}, and all the subsequent checks for the code point
+ * are bitset lookups.
+ * <p>
+ * Two bits are stored per code point: whether it has been checked and whether it is covered. The bits are kept
+ * in blocks of 256 code points which are allocated only for the blocks with checked code points.
+ * The class is thread safe.
+ */
+public final class UnicodeCoverage {
+
+    private static final int PLANES_COUNT = (Character.MAX_CODE_POINT >> 16) + 1;
+    private static final int BLOCKS_PER_PLANE = 256;
+    // 256 code points of a block, 32 code points per long
+    private static final int LONGS_PER_BLOCK = 8;
+
+    private static final long CHECKED_BIT = 1;
+    private static final long COVERED_BIT = 2;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<AtomicLongArray>> planes =
+            new AtomicReferenceArray<>(PLANES_COUNT);
+
+    /**
+     * Creates an empty {@link UnicodeCoverage}, i.e. the one without checked code points.
+     */
+    public UnicodeCoverage() {
+        // Empty constructor
+    }
+
+    /**
+     * Checks whether the code point has been checked against the font.
+     *
+     * @param codePoint the code point
+     * @return {@code true} if the check result has been recorded, {@code false} otherwise
+     */
+    public boolean isChecked(int codePoint) {
+        return (getBits(codePoint) & CHECKED_BIT) != 0;
+    }
+
+    /**
+     * Checks whether the code point has been checked against the font and the font contains a glyph for it.
+     *
+     * @param codePoint the code point
+     * @return {@code true} if the font is known to contain a glyph for the code point, {@code false} if it's known
+     * not to contain it or if the code point hasn't been checked yet, see {@link #isChecked(int)}
+     */
+    public boolean isCovered(int codePoint) {
+        return (getBits(codePoint) & COVERED_BIT) != 0;
+    }
+
+    /**
+     * Records the result of checking the code point against the font.
+     *
+     * @param codePoint the code point
+     * @param covered whether the font contains a glyph for the code point
+     */
+    public void setCovered(int codePoint, boolean covered) {
+        if (!isValid(codePoint)) {
+            return;
+        }
+        AtomicReferenceArray<AtomicLongArray> blocks = planes.get(codePoint >> 16);
+        if (blocks == null) {
+            planes.compareAndSet(codePoint >> 16, null, new AtomicReferenceArray<AtomicLongArray>(BLOCKS_PER_PLANE));
+            blocks = planes.get(codePoint >> 16);
+        }
+        int blockIndex = (codePoint >> 8) & 0xFF;
+        AtomicLongArray block = blocks.get(blockIndex);
+        if (block == null) {
+            blocks.compareAndSet(blockIndex, null, new AtomicLongArray(LONGS_PER_BLOCK));
+            block = blocks.get(blockIndex);
+        }
+        int longIndex = (codePoint >> 5) & (LONGS_PER_BLOCK - 1);
+        long bits = (CHECKED_BIT | (covered ? COVERED_BIT : 0)) << getShift(codePoint);
+        long current;
+        do {
+            current = block.get(longIndex);
+        } while (!block.compareAndSet(longIndex, current, current | bits));
+    }
+
+    private long getBits(int codePoint) {
+        if (!isValid(codePoint)) {
+            return 0;
+        }
+        AtomicReferenceArray<AtomicLongArray> blocks = planes.get(codePoint >> 16);
+        if (blocks == null) {
+            return 0;
+        }
+        AtomicLongArray block = blocks.get((codePoint >> 8) & 0xFF);
+        if (block == null) {
+            return 0;
+        }
+        return block.get((codePoint >> 5) & (LONGS_PER_BLOCK - 1)) >>> getShift(codePoint);
+    }
+
+    private static int getShift(int codePoint) {
+        return (codePoint & 0x1F) << 1;
+    }
+
+    private static boolean isValid(int codePoint) {
+        return codePoint >= 0 && codePoint <= Character.MAX_CODE_POINT;
+    }
+}
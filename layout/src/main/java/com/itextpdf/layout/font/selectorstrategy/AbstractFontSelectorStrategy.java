@@ -31,6 +31,7 @@ import com.itextpdf.layout.font.FontInfo;
 import com.itextpdf.layout.font.FontProvider;
 import com.itextpdf.layout.font.FontSelector;
 import com.itextpdf.layout.font.FontSet;
+import com.itextpdf.layout.font.UnicodeCoverage;
 import com.itextpdf.layout.renderer.TextPreprocessingUtil;
 
 import java.util.ArrayList;
@@ -189,12 +190,23 @@ public abstract class AbstractFontSelectorStrategy implements IFontSelectorStrat
         PdfFont matchedFont = null;
         for (FontInfo fontInfo : fontSelector.getFonts()) {
             if (fontInfo.getFontUnicodeRange().contains(codePoint)) {
+                // Fonts known not to contain the symbol are skipped without creating PdfFont for them
+                UnicodeCoverage coverage = fontProvider.getUnicodeCoverage(fontInfo);
+                boolean checked = coverage.isChecked(codePoint);
+                if (checked && !coverage.isCovered(codePoint)) {
+                    continue;
+                }
                 PdfFont temptFont = getPdfFont(fontInfo, fontProvider, additionalFonts);
-                Glyph glyph = temptFont.getGlyph(codePoint);
-                if (null != glyph && 0 != glyph.getCode()) {
-                    matchedFont = temptFont;
-                    break;
+                if (!checked) {
+                    Glyph glyph = temptFont.getGlyph(codePoint);
+                    boolean covered = null != glyph && 0 != glyph.getCode();
+                    coverage.setCovered(codePoint, covered);
+                    if (!covered) {
+                        continue;
+                    }
                 }
+                matchedFont = temptFont;
+                break;
             }
         }
         return matchedFont;
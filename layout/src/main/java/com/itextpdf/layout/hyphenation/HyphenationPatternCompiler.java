@@ -0,0 +1,257 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.hyphenation;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles XML hyphenation pattern files into a binary form which can be loaded without parsing.
+ * <p>
+ * A compiled file contains the ternary trees of a {@link HyphenationTree} exactly as they are laid out
+ * in memory after the XML patterns have been loaded, so loading it is a single read followed by bulk copies
+ * of the node arrays. {@link Hyphenator} looks for a compiled {@code <key>.hyph} file first
+ * and falls back to the {@code <key>.xml} file if there is none.
+ * <p>
+ * The compiled files shipped in the {@code hyph} module are regenerated with the {@code compile-patterns}
+ * profile of that module, or by running {@link #main(String[])} on the directory containing the XML files.
+ */
+public final class HyphenationPatternCompiler {
+
+    /**
+     * The extension of the compiled hyphenation pattern files.
+     */
+    public static final String COMPILED_PATTERNS_EXTENSION = ".hyph";
+
+    private static final int MAGIC = 0x49544859;
+
+    private static final int VERSION = 1;
+
+    private static final byte STOPLIST_STRING = 0;
+
+    private static final byte STOPLIST_HYPHEN = 1;
+
+    private HyphenationPatternCompiler() {
+        // Empty constructor
+    }
+
+    /**
+     * Compiles all the {@code *.xml} hyphenation pattern files of the source directory into
+     * {@code *.hyph} files of the target directory.
+     *
+     * @param args the source directory and, optionally, the target directory.
+     *             If the latter is omitted, the compiled files are placed next to the XML ones
+     * @throws IOException if a file can't be read or written
+     * @throws HyphenationException if an XML file can't be parsed
+     * @throws IllegalArgumentException if the source directory isn't specified
+     */
+    public static void main(String[] args) throws IOException, HyphenationException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException(
+                    "Usage: HyphenationPatternCompiler <source directory> [<target directory>]");
+        }
+        File sourceDirectory = new File(args[0]);
+        File targetDirectory = args.length > 1 ? new File(args[1]) : sourceDirectory;
+        File[] files = sourceDirectory.listFiles();
+        if (files == null) {
+            throw new IOException("Not a directory: " + sourceDirectory);
+        }
+        targetDirectory.mkdirs();
+        for (File file : files) {
+            String name = file.getName();
+            if (!file.isFile() || !name.endsWith(".xml")) {
+                continue;
+            }
+            String key = name.substring(0, name.length() - ".xml".length());
+            try (InputStream in = new FileInputStream(file);
+                    OutputStream out = new FileOutputStream(new File(targetDirectory,
+                            key + COMPILED_PATTERNS_EXTENSION))) {
+                compile(in, name, out);
+            }
+        }
+    }
+
+    /**
+     * Parses XML hyphenation patterns and writes them in the compiled form.
+     *
+     * @param xmlPatterns the stream with the XML hyphenation patterns
+     * @param name unique key representing country-language combination
+     * @param out the stream to write the compiled patterns to
+     * @throws HyphenationException if the XML patterns can't be parsed
+     * @throws IOException if the compiled patterns can't be written
+     */
+    public static void compile(InputStream xmlPatterns, String name, OutputStream out)
+            throws HyphenationException, IOException {
+        HyphenationTree hTree = new HyphenationTree();
+        hTree.loadPatterns(xmlPatterns, name);
+        write(hTree, out);
+    }
+
+    /**
+     * Writes the loaded hyphenation tree in the compiled form.
+     *
+     * @param hTree the hyphenation tree with the loaded patterns
+     * @param out the stream to write the compiled patterns to
+     * @throws IOException if the compiled patterns can't be written
+     */
+    public static void write(HyphenationTree hTree, OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(MAGIC);
+        dos.writeInt(VERSION);
+        writeTree(hTree, dos);
+        writeBytes(hTree.vspace, dos);
+        writeTree(hTree.classmap, dos);
+        dos.writeInt(hTree.stoplist.size());
+        for (Map.Entry<String, ?> entry : hTree.stoplist.entrySet()) {
+            writeString(entry.getKey(), dos);
+            List<?> hyphenatedWord = (List<?>) entry.getValue();
+            dos.writeInt(hyphenatedWord.size());
+            for (Object part : hyphenatedWord) {
+                if (part instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) part;
+                    dos.writeByte(STOPLIST_HYPHEN);
+                    writeString(hyphen.preBreak, dos);
+                    writeString(hyphen.noBreak, dos);
+                    writeString(hyphen.postBreak, dos);
+                } else {
+                    dos.writeByte(STOPLIST_STRING);
+                    writeString((String) part, dos);
+                }
+            }
+        }
+        dos.flush();
+    }
+
+    /**
+     * Reads the compiled patterns into the freshly created hyphenation tree.
+     *
+     * @param compiled the whole content of a compiled patterns file
+     * @param hTree the hyphenation tree to fill
+     * @param name unique key representing country-language combination, used in error messages
+     * @throws HyphenationException if the data is not a compiled patterns file of a supported version
+     */
+    static void read(byte[] compiled, HyphenationTree hTree, String name) throws HyphenationException {
+        ByteBuffer buffer = ByteBuffer.wrap(compiled);
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new HyphenationException("Unsupported compiled hyphenation patterns: " + name);
+            }
+            readTree(buffer, hTree);
+            hTree.vspace = readBytes(buffer);
+            readTree(buffer, hTree.classmap);
+            int stoplistSize = buffer.getInt();
+            for (int i = 0; i < stoplistSize; i++) {
+                String word = readString(buffer);
+                int partsCount = buffer.getInt();
+                ArrayList<Object> hyphenatedWord = new ArrayList<>(partsCount);
+                for (int j = 0; j < partsCount; j++) {
+                    if (buffer.get() == STOPLIST_HYPHEN) {
+                        hyphenatedWord.add(new Hyphen(readString(buffer), readString(buffer), readString(buffer)));
+                    } else {
+                        hyphenatedWord.add(readString(buffer));
+                    }
+                }
+                hTree.stoplist.put(word, hyphenatedWord);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new HyphenationException("Truncated compiled hyphenation patterns: " + name);
+        }
+    }
+
+    private static void writeTree(TernaryTree tree, DataOutputStream dos) throws IOException {
+        dos.writeChar(tree.root);
+        dos.writeChar(tree.freenode);
+        dos.writeInt(tree.length);
+        // node arrays are trimmed to the number of used nodes once the patterns are loaded
+        int nodesCount = tree.freenode;
+        writeChars(tree.lo, nodesCount, dos);
+        writeChars(tree.hi, nodesCount, dos);
+        writeChars(tree.eq, nodesCount, dos);
+        writeChars(tree.sc, nodesCount, dos);
+        dos.writeInt(tree.kv.length());
+        writeChars(tree.kv.getArray(), tree.kv.length(), dos);
+    }
+
+    private static void readTree(ByteBuffer buffer, TernaryTree tree) {
+        tree.root = buffer.getChar();
+        tree.freenode = buffer.getChar();
+        tree.length = buffer.getInt();
+        int nodesCount = tree.freenode;
+        tree.lo = readChars(buffer, nodesCount);
+        tree.hi = readChars(buffer, nodesCount);
+        tree.eq = readChars(buffer, nodesCount);
+        tree.sc = readChars(buffer, nodesCount);
+        tree.kv = new CharVector(readChars(buffer, buffer.getInt()));
+    }
+
+    private static void writeChars(char[] chars, int count, DataOutputStream dos) throws IOException {
+        for (int i = 0; i < count; i++) {
+            dos.writeChar(chars[i]);
+        }
+    }
+
+    private static char[] readChars(ByteBuffer buffer, int count) {
+        char[] chars = new char[count];
+        buffer.asCharBuffer().get(chars);
+        buffer.position(buffer.position() + 2 * count);
+        return chars;
+    }
+
+    private static void writeBytes(ByteVector bytes, DataOutputStream dos) throws IOException {
+        dos.writeInt(bytes.length());
+        dos.write(bytes.getArray(), 0, bytes.length());
+    }
+
+    private static ByteVector readBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        ByteVector bytes = new ByteVector(length + 1);
+        buffer.get(bytes.getArray(), bytes.alloc(length), length);
+        bytes.trimToSize();
+        return bytes;
+    }
+
+    private static void writeString(String str, DataOutputStream dos) throws IOException {
+        if (str == null) {
+            dos.writeInt(-1);
+        } else {
+            dos.writeInt(str.length());
+            dos.writeChars(str);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        return length < 0 ? null : new String(readChars(buffer, length));
+    }
+}
@@ -17,8 +17,11 @@
 
 package com.itextpdf.layout.hyphenation;
 
+import com.itextpdf.io.util.StreamUtil;
+
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -151,6 +154,22 @@ public class HyphenationTree extends TernaryTree implements IPatternConsumer {
         ivalues = null;
     }
 
+    /**
+     * Read hyphenation patterns compiled with {@link HyphenationPatternCompiler}.
+     * @param stream the stream with the compiled patterns
+     * @param name unique key representing country-language combination
+     * @throws HyphenationException In case the compiled patterns can't be read
+     */
+    public void loadCompiledPatterns(InputStream stream, String name) throws HyphenationException {
+        byte[] compiled;
+        try {
+            compiled = StreamUtil.inputStreamToArray(stream);
+        } catch (IOException ioe) {
+            throw new HyphenationException(ioe.getMessage());
+        }
+        HyphenationPatternCompiler.read(compiled, this, name);
+    }
+
     /**
      * Find pattern.
      * @param pat a pattern
@@ -28,6 +28,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * This class is the main entry point to the hyphenation package.
@@ -46,9 +47,9 @@ public final class Hyphenator {
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache;
 
-    private static List<String> additionalHyphenationFileDirectories;
+    private static final List<String> additionalHyphenationFileDirectories = new CopyOnWriteArrayList<>();
 
     protected String lang;
     protected String country;
@@ -91,12 +92,7 @@ public final class Hyphenator {
      * @param directory directory to register
      */
     public static void registerAdditionalHyphenationFileDirectory(String directory) {
-        synchronized (staticLock) {
-            if (additionalHyphenationFileDirectories == null) {
-                additionalHyphenationFileDirectories = new ArrayList<>();
-            }
-            additionalHyphenationFileDirectories.add(directory);
-        }
+        additionalHyphenationFileDirectories.add(directory);
     }
 
     /**
@@ -105,12 +101,17 @@ public final class Hyphenator {
      * @return the default (static) hyphenation tree cache
      */
     public static HyphenationTreeCache getHyphenationTreeCache() {
-        synchronized (staticLock) {
-            if (hTreeCache == null) {
-                hTreeCache = new HyphenationTreeCache();
+        HyphenationTreeCache cache = hTreeCache;
+        if (cache == null) {
+            synchronized (staticLock) {
+                cache = hTreeCache;
+                if (cache == null) {
+                    cache = new HyphenationTreeCache();
+                    hTreeCache = cache;
+                }
             }
         }
-        return hTreeCache;
+        return cache;
     }
 
     /**
@@ -202,17 +203,24 @@ public final class Hyphenator {
             key = llccKey;
         }
 
-        if (additionalHyphenationFileDirectories != null) {
-            for (String dir : additionalHyphenationFileDirectories) {
-                hTree = getHyphenationTree(dir, key);
-                if (hTree != null) {
-                    break;
-                }
+        for (String dir : additionalHyphenationFileDirectories) {
+            hTree = getHyphenationTree(dir, key);
+            if (hTree != null) {
+                break;
+            }
+        }
+
+        if (hTree == null) {
+            // get from the default directory, the precompiled patterns are preferred
+            InputStream compiledResourceStream = ResourceUtil.getResourceStream(
+                    HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key
+                            + HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION);
+            if (compiledResourceStream != null) {
+                hTree = getCompiledHyphenationTree(compiledResourceStream, key);
             }
         }
 
         if (hTree == null) {
-            // get from the default directory
             InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
             if (defaultHyphenationResourceStream != null) {
                 hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
@@ -228,13 +236,29 @@ public final class Hyphenator {
     }
 
     /**
-     * Load tree from xml file using configuration settings.
+     * Load tree from compiled or xml file using configuration settings.
+     * The compiled file is preferred if both are present.
      *
      * @param searchDirectory the directory to search the file into
      * @param key language key for the requested hyphenation file
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
+        File compiledFile = new File(searchDirectory,
+                key + HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION);
+        if (compiledFile.isFile()) {
+            try {
+                HyphenationTree hTree = getCompiledHyphenationTree(new FileInputStream(compiledFile), key);
+                if (hTree != null) {
+                    return hTree;
+                }
+            } catch (IOException ioe) {
+                if (log.isDebugEnabled()) {
+                    log.debug("I/O problem while trying to load " + compiledFile.getName() + ": " + ioe.getMessage());
+                }
+            }
+        }
+
         // try the raw XML file
         String name = key + ".xml";
         try {
@@ -276,6 +300,34 @@ public final class Hyphenator {
         return hTree;
     }
 
+    /**
+     * Load tree from the stream with the patterns compiled by {@link HyphenationPatternCompiler}.
+     *
+     * @param in the input stream to load the tree from
+     * @param name unique key representing country-language combination
+     * @return the requested HyphenationTree or null if it is not available
+     */
+    public static HyphenationTree getCompiledHyphenationTree(InputStream in, String name) {
+        if (in == null) {
+            return null;
+        }
+        HyphenationTree hTree;
+        try {
+            hTree = new HyphenationTree();
+            hTree.loadCompiledPatterns(in, name);
+        }
+        catch (HyphenationException ex) {
+            log.error("Can't load compiled patterns " + name + ": " + ex.getMessage());
+            return null;
+        }
+        finally {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+        return hTree;
+    }
+
     /**
      * Hyphenates a word.
      *
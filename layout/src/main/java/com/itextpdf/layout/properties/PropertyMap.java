@@ -0,0 +1,483 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.properties;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A compact map of {@link Property} values used by elements and renderers.
+ *
+ * <p>
+ * The keys which fit into the range of the {@link Property} identifiers are stored densely: a bit set marks
+ * the present keys and the values are kept in an array ordered by key, so that the index of a value is the number
+ * of present keys preceding it. Neither the keys nor the entries are boxed, a lookup is a couple of bit operations
+ * and an array access. Any other key is stored in a {@link HashMap} which is created only when such a key is put.
+ *
+ * <p>
+ * As for a {@link HashMap}, {@code null} values are allowed and are distinguished from absent keys.
+ */
+public class PropertyMap extends AbstractMap<Integer, Object> {
+    /**
+     * The keys from 0 (inclusive) to this value (exclusive) are stored densely.
+     */
+    static final int DENSE_KEY_LIMIT = 192;
+
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    // masks of the inherited properties among the keys 0-63, 64-127 and 128-191
+    private static final long INHERITED0 = inheritedMask(0);
+    private static final long INHERITED1 = inheritedMask(64);
+    private static final long INHERITED2 = inheritedMask(128);
+
+    // presence bits of the keys 0-63, 64-127 and 128-191
+    private long keys0;
+    private long keys1;
+    private long keys2;
+    private Object[] values = EMPTY_VALUES;
+    private int denseSize;
+    private Map<Integer, Object> sparse;
+    private int modificationCount;
+
+    /**
+     * Creates an empty {@link PropertyMap}.
+     */
+    public PropertyMap() {
+        super();
+    }
+
+    /**
+     * Creates a {@link PropertyMap} containing the same mappings as the passed map.
+     *
+     * @param other the map to copy
+     */
+    public PropertyMap(Map<Integer, Object> other) {
+        super();
+        putAll(other);
+    }
+
+    /**
+     * Called when an inherited property (see {@link Property#isPropertyInherited(int)}) is put to or removed
+     * from this map. Does nothing by default, the maps of the owners whose inherited properties might be cached
+     * by other objects may override this method to invalidate such caches.
+     */
+    protected void onInheritedPropertyModified() {
+        // Do nothing by default
+    }
+
+    /**
+     * Gets the number of modifications made to this map. Any call of a modifying method changes the number,
+     * even if the map contents stay the same.
+     *
+     * @return the number of modifications made to this map
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Gets the value of the property. The key is not boxed if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of properties
+     * @param key the property
+     *
+     * @return the value of the property or {@code null} if the map doesn't contain it
+     */
+    public static Object get(Map<Integer, Object> properties, int key) {
+        return properties instanceof PropertyMap ? ((PropertyMap) properties).get(key) : properties.get(key);
+    }
+
+    /**
+     * Checks whether the map contains the property. The key is not boxed if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of properties
+     * @param key the property
+     *
+     * @return {@code true} if the map contains the property, even if its value is {@code null}
+     */
+    public static boolean containsKey(Map<Integer, Object> properties, int key) {
+        return properties instanceof PropertyMap
+                ? ((PropertyMap) properties).containsKey(key) : properties.containsKey(key);
+    }
+
+    /**
+     * Sets the value of the property. The key is not boxed if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of properties
+     * @param key the property
+     * @param value the value of the property
+     *
+     * @return the previous value of the property or {@code null} if the map didn't contain it
+     */
+    public static Object put(Map<Integer, Object> properties, int key, Object value) {
+        return properties instanceof PropertyMap
+                ? ((PropertyMap) properties).putValue(key, value) : properties.put(key, value);
+    }
+
+    /**
+     * Removes the property from the map. The key is not boxed if the map is a {@link PropertyMap}.
+     *
+     * @param properties the map of properties
+     * @param key the property
+     *
+     * @return the value of the removed property or {@code null} if the map didn't contain it
+     */
+    public static Object remove(Map<Integer, Object> properties, int key) {
+        return properties instanceof PropertyMap
+                ? ((PropertyMap) properties).remove(key) : properties.remove(key);
+    }
+
+    /**
+     * Gets the value of the property.
+     *
+     * @param key the property
+     *
+     * @return the value of the property or {@code null} if the map doesn't contain it
+     */
+    public Object get(int key) {
+        if (isDense(key)) {
+            long bit = 1L << key;
+            return (getWord(key) & bit) == 0 ? null : values[rank(key, bit)];
+        }
+        return sparse == null ? null : sparse.get(key);
+    }
+
+    /**
+     * Checks whether the map contains the property.
+     *
+     * @param key the property
+     *
+     * @return {@code true} if the map contains the property, even if its value is {@code null}
+     */
+    public boolean containsKey(int key) {
+        if (isDense(key)) {
+            return (getWord(key) & (1L << key)) != 0;
+        }
+        return sparse != null && sparse.containsKey(key);
+    }
+
+    /**
+     * Removes the property from the map.
+     *
+     * @param key the property
+     *
+     * @return the value of the removed property or {@code null} if the map didn't contain it
+     */
+    public Object remove(int key) {
+        modificationCount++;
+        if (!isDense(key)) {
+            return sparse == null ? null : sparse.remove(key);
+        }
+        long bit = 1L << key;
+        if ((getWord(key) & bit) == 0) {
+            return null;
+        }
+        int index = rank(key, bit);
+        Object previous = values[index];
+        System.arraycopy(values, index + 1, values, index, denseSize - index - 1);
+        values[--denseSize] = null;
+        setWord(key, getWord(key) & ~bit);
+        if (Property.isPropertyInherited(key)) {
+            onInheritedPropertyModified();
+        }
+        return previous;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return putValue((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> map) {
+        if (map instanceof PropertyMap && isEmpty()) {
+            PropertyMap other = (PropertyMap) map;
+            keys0 = other.keys0;
+            keys1 = other.keys1;
+            keys2 = other.keys2;
+            denseSize = other.denseSize;
+            values = denseSize == 0 ? EMPTY_VALUES : copyOf(other.values, denseSize);
+            sparse = other.sparse == null ? null : new HashMap<>(other.sparse);
+            modificationCount++;
+            if (hasInheritedKeys()) {
+                onInheritedPropertyModified();
+            }
+            return;
+        }
+        for (Map.Entry<? extends Integer, ?> entry : map.entrySet()) {
+            putValue((int) entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public int size() {
+        return denseSize + (sparse == null ? 0 : sparse.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        modificationCount++;
+        if (hasInheritedKeys()) {
+            onInheritedPropertyModified();
+        }
+        keys0 = 0;
+        keys1 = 0;
+        keys2 = 0;
+        values = EMPTY_VALUES;
+        denseSize = 0;
+        sparse = null;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        return new EntrySet();
+    }
+
+    private Object putValue(int key, Object value) {
+        modificationCount++;
+        if (!isDense(key)) {
+            if (sparse == null) {
+                sparse = new HashMap<>();
+            }
+            return sparse.put(key, value);
+        }
+        if (Property.isPropertyInherited(key)) {
+            onInheritedPropertyModified();
+        }
+        long bit = 1L << key;
+        int index = rank(key, bit);
+        if ((getWord(key) & bit) != 0) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (denseSize == values.length) {
+            Object[] newValues = new Object[denseSize < 4 ? 4 : denseSize + (denseSize >> 1)];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index, newValues, index + 1, denseSize - index);
+            values = newValues;
+        } else {
+            System.arraycopy(values, index, values, index + 1, denseSize - index);
+        }
+        values[index] = value;
+        denseSize++;
+        setWord(key, getWord(key) | bit);
+        return null;
+    }
+
+    private long getWord(int key) {
+        switch (key >>> 6) {
+            case 0:
+                return keys0;
+            case 1:
+                return keys1;
+            default:
+                return keys2;
+        }
+    }
+
+    private void setWord(int key, long word) {
+        switch (key >>> 6) {
+            case 0:
+                keys0 = word;
+                break;
+            case 1:
+                keys1 = word;
+                break;
+            default:
+                keys2 = word;
+                break;
+        }
+    }
+
+    /**
+     * Gets the index of the value of the dense key, i.e. the number of present keys less than the passed one.
+     */
+    private int rank(int key, long bit) {
+        switch (key >>> 6) {
+            case 0:
+                return Long.bitCount(keys0 & (bit - 1));
+            case 1:
+                return Long.bitCount(keys0) + Long.bitCount(keys1 & (bit - 1));
+            default:
+                return Long.bitCount(keys0) + Long.bitCount(keys1) + Long.bitCount(keys2 & (bit - 1));
+        }
+    }
+
+    private int nextDenseKey(int fromKey) {
+        for (int key = fromKey; key < DENSE_KEY_LIMIT; ) {
+            long word = getWord(key) & (-1L << key);
+            if (word != 0) {
+                return (key & ~63) + Long.numberOfTrailingZeros(word);
+            }
+            key = (key & ~63) + 64;
+        }
+        return -1;
+    }
+
+    private boolean hasInheritedKeys() {
+        return (keys0 & INHERITED0) != 0 || (keys1 & INHERITED1) != 0 || (keys2 & INHERITED2) != 0;
+    }
+
+    private static long inheritedMask(int firstKey) {
+        long mask = 0;
+        for (int i = 0; i < 64; i++) {
+            if (Property.isPropertyInherited(firstKey + i)) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    private static boolean isDense(int key) {
+        return key >= 0 && key < DENSE_KEY_LIMIT;
+    }
+
+    private static Object[] copyOf(Object[] values, int size) {
+        Object[] copy = new Object[size];
+        System.arraycopy(values, 0, copy, 0, size);
+        return copy;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return PropertyMap.this.size();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int nextKey = nextDenseKey(0);
+        private int lastKey = -1;
+        private Iterator<Map.Entry<Integer, Object>> sparseIterator;
+        private boolean lastFromSparse;
+
+        @Override
+        public boolean hasNext() {
+            if (nextKey != -1) {
+                return true;
+            }
+            if (sparseIterator == null && sparse != null) {
+                sparseIterator = sparse.entrySet().iterator();
+            }
+            return sparseIterator != null && sparseIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextKey != -1) {
+                lastKey = nextKey;
+                lastFromSparse = false;
+                nextKey = nextKey + 1 < DENSE_KEY_LIMIT ? nextDenseKey(nextKey + 1) : -1;
+                return new Entry(lastKey);
+            }
+            lastFromSparse = true;
+            return sparseIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastFromSparse) {
+                sparseIterator.remove();
+            } else if (lastKey != -1) {
+                PropertyMap.this.remove(lastKey);
+                lastKey = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private final class Entry implements Map.Entry<Integer, Object> {
+        private final int key;
+
+        Entry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return putValue(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(other.getKey())
+                    && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key ^ (value == null ? 0 : value.hashCode());
+        }
+    }
+}
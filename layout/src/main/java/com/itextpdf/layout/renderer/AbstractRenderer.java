@@ -77,6 +77,7 @@ import com.itextpdf.layout.properties.BoxSizingPropertyValue;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.OverflowPropertyValue;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.PropertyMap;
 import com.itextpdf.layout.properties.Transform;
 import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.UnitValue;
@@ -85,7 +86,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -151,9 +151,18 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new RendererPropertyMap(this);
     protected boolean isLastRendererForModelElement = true;
 
+    // values of the inherited properties resolved via the parent during a layout pass, see getInheritedProperty
+    private InheritedPropertiesCache inheritedPropertiesCache;
+
+    // whether the inherited properties have been resolved via this renderer by its children
+    private boolean inheritedByChildren;
+
+    // the root renderer of the tree whose renderers have cached the values resolved via this renderer
+    private RootRenderer inheritingRoot;
+
     /**
      * Creates a renderer.
      */
@@ -275,7 +284,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return PropertyMap.containsKey(properties, property);
     }
 
     /**
@@ -294,7 +303,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void deleteOwnProperty(int property) {
-        properties.remove(property);
+        PropertyMap.remove(properties, property);
     }
 
     /**
@@ -304,11 +313,14 @@ public abstract class AbstractRenderer implements IRenderer {
      * @param property the property key to be deleted
      */
     public void deleteProperty(int property) {
-        if (properties.containsKey(property)) {
-            properties.remove(property);
+        if (PropertyMap.containsKey(properties, property)) {
+            PropertyMap.remove(properties, property);
         } else {
             if (modelElement != null) {
                 modelElement.deleteOwnProperty(property);
+                if (Property.isPropertyInherited(property)) {
+                    onInheritedPropertyModified();
+                }
             }
         }
     }
@@ -319,13 +331,13 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public <T1> T1 getProperty(int key) {
         Object property;
-        if ((property = properties.get(key)) != null || properties.containsKey(key)) {
+        if ((property = PropertyMap.get(properties, key)) != null || PropertyMap.containsKey(properties, key)) {
             return (T1) property;
         }
         if (modelElement != null && ((property = modelElement.<T1>getProperty(key)) != null || modelElement.hasProperty(key))) {
             return (T1) property;
         }
-        if (parent != null && Property.isPropertyInherited(key) && (property = parent.<T1>getProperty(key)) != null) {
+        if (parent != null && Property.isPropertyInherited(key) && (property = getInheritedProperty(key)) != null) {
             return (T1) property;
         }
         property = this.<T1>getDefaultProperty(key);
@@ -340,7 +352,69 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.get(property);
+        return (T1) PropertyMap.get(properties, property);
+    }
+
+    /**
+     * Resolves the value of the inherited property via the parent renderer. While the renderer tree is being laid
+     * out or drawn by its root renderer, the resolved values are cached until the parent of this renderer or of any
+     * renderer the values have been resolved via is changed, or an inherited property of such a renderer is modified,
+     * so that the lookups in deep renderer trees don't walk the whole ancestor chain each time.
+     *
+     * @param key the inherited property key
+     * @return the value of the property resolved via the parent renderer
+     */
+    private Object getInheritedProperty(int key) {
+        if (parent instanceof AbstractRenderer) {
+            ((AbstractRenderer) parent).inheritedByChildren = true;
+        }
+        InheritedPropertiesCache cache = inheritedPropertiesCache;
+        if (cache != null && cache.isValidFor(this)) {
+            Object property = cache.values.get(key);
+            if (property != null || cache.values.containsKey(key)) {
+                return property;
+            }
+        } else {
+            RootRenderer root = parent instanceof AbstractRenderer ? getRootRenderer() : null;
+            if (root == null || !root.isLayoutPassInProgress()) {
+                return parent.<Object>getProperty(key);
+            }
+            if (cache == null) {
+                cache = inheritedPropertiesCache = new InheritedPropertiesCache();
+            }
+            cache.reset(this, root);
+        }
+        Object property = parent.<Object>getProperty(key);
+        // the values resolved while the tree was being modified can't be trusted
+        if (cache.isValidFor(this)) {
+            PropertyMap.put(cache.values, key, property);
+            // the parent invalidates the cached values once it is changed, the same is done by the renderers
+            // the parent has resolved the value via, since their values have been cached in the same way
+            ((AbstractRenderer) parent).inheritingRoot = cache.root;
+        }
+        return property;
+    }
+
+    /**
+     * Invalidates the values of the inherited properties which have been resolved via this renderer
+     * and cached by its descendants, see {@link #getInheritedProperty(int)}.
+     */
+    void invalidateInheritedProperties() {
+        if (inheritingRoot != null) {
+            inheritingRoot.inheritedPropertiesStamp++;
+            inheritingRoot = null;
+        }
+    }
+
+    /**
+     * Called when an inherited property of this renderer is modified. Invalidates the cached values
+     * which might depend on the property, including the min and max widths, see {@link MinMaxWidthCache}.
+     */
+    void onInheritedPropertyModified() {
+        invalidateInheritedProperties();
+        if (inheritedByChildren) {
+            MinMaxWidthCache.onInheritedPropertyModified();
+        }
     }
 
     /**
@@ -357,7 +431,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void setProperty(int property, Object value) {
-        properties.put(property, value);
+        PropertyMap.put(properties, property, value);
     }
 
     /**
@@ -1171,6 +1245,10 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public IRenderer setParent(IRenderer parent) {
+        if (this.parent != parent) {
+            // the values inherited by the descendants might change
+            invalidateInheritedProperties();
+        }
         this.parent = parent;
         return this;
     }
@@ -2431,7 +2509,7 @@ public abstract class AbstractRenderer implements IRenderer {
         RootRenderer renderer = getRootRenderer();
         if (renderer instanceof DocumentRenderer) {
             final Document document = ((DocumentRenderer) renderer).document;
-            return document.getPdfDocument();
+            return document == null ? null : document.getPdfDocument();
         } else if (renderer instanceof CanvasRenderer) {
             return ((CanvasRenderer) renderer).canvas.getPdfDocument();
         } else {
@@ -2634,7 +2712,7 @@ public abstract class AbstractRenderer implements IRenderer {
 
         if (left == null && right == null && !renderer.hasProperty(Property.WIDTH)) {
             // Other, non-block renderers won't occupy full width anyway
-            MinMaxWidth minMaxWidth = renderer instanceof BlockRenderer ? ((BlockRenderer) renderer).getMinMaxWidth() : null;
+            MinMaxWidth minMaxWidth = renderer instanceof BlockRenderer ? MinMaxWidthCache.getMinMaxWidth((BlockRenderer) renderer) : null;
             if (minMaxWidth != null && minMaxWidth.getMaxWidth() < fullBbox.getWidth()) {
                 fullBbox.setWidth(minMaxWidth.getMaxWidth() + AbstractRenderer.EPS);
             }
@@ -2865,4 +2943,36 @@ public abstract class AbstractRenderer implements IRenderer {
         TagTreePointer tagPointer = context.getAutoTaggingPointer();
         return context.getPointerStructElem(tagPointer);
     }
+
+    private static final class RendererPropertyMap extends PropertyMap {
+        private final AbstractRenderer renderer;
+
+        RendererPropertyMap(AbstractRenderer renderer) {
+            super();
+            this.renderer = renderer;
+        }
+
+        @Override
+        protected void onInheritedPropertyModified() {
+            renderer.onInheritedPropertyModified();
+        }
+    }
+
+    private static final class InheritedPropertiesCache {
+        final PropertyMap values = new PropertyMap();
+        IRenderer parent;
+        RootRenderer root;
+        long stamp;
+
+        boolean isValidFor(AbstractRenderer renderer) {
+            return parent == renderer.parent && stamp == root.inheritedPropertiesStamp;
+        }
+
+        void reset(AbstractRenderer renderer, RootRenderer root) {
+            values.clear();
+            this.parent = renderer.parent;
+            this.root = root;
+            this.stamp = root.inheritedPropertiesStamp;
+        }
+    }
 }
@@ -1088,7 +1088,7 @@ public abstract class BlockRenderer extends AbstractRenderer {
                     MinMaxWidth childMinMaxWidth;
                     childRenderer.setParent(this);
                     if (childRenderer instanceof AbstractRenderer) {
-                        childMinMaxWidth = ((AbstractRenderer) childRenderer).getMinMaxWidth();
+                        childMinMaxWidth = MinMaxWidthCache.getMinMaxWidth((AbstractRenderer) childRenderer);
                     } else {
                         childMinMaxWidth = MinMaxWidthUtils.countDefaultMinMaxWidth(childRenderer);
                     }
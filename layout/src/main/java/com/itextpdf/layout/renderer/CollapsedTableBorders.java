@@ -29,6 +29,7 @@ import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.Property;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -135,14 +136,12 @@ class CollapsedTableBorders extends TableBorders {
 
     @Override
     public List<Border> getVerticalBorder(int index) {
+        // the outer borders are collapsed on access, since they are as long as the table and are requested
+        // for every row while the cells are being laid out and drawn
         if (index == 0) {
-            List<Border> borderList = TableBorderUtil
-                    .createAndFillBorderList(null, tableBoundingBorders[3], verticalBorders.get(0).size());
-            return getCollapsedList(verticalBorders.get(0), borderList);
+            return new CollapsedBorderList(verticalBorders.get(0), tableBoundingBorders[3]);
         } else if (index == numberOfColumns) {
-            List<Border> borderList = TableBorderUtil.createAndFillBorderList(null, tableBoundingBorders[1],
-                    verticalBorders.get(verticalBorders.size() - 1).size());
-            return getCollapsedList(verticalBorders.get(verticalBorders.size() - 1), borderList);
+            return new CollapsedBorderList(verticalBorders.get(verticalBorders.size() - 1), tableBoundingBorders[1]);
         } else {
             return verticalBorders.get(index);
         }
@@ -685,6 +684,30 @@ class CollapsedTableBorders extends TableBorders {
         return crossingBorders;
     }
 
+    /**
+     * A read-only view of the cell borders collapsed with the table border, see
+     * {@link #getCollapsedBorder(Border, Border)}.
+     */
+    private static final class CollapsedBorderList extends AbstractList<Border> {
+        private final List<Border> cellBorders;
+        private final Border tableBorder;
+
+        CollapsedBorderList(List<Border> cellBorders, Border tableBorder) {
+            this.cellBorders = cellBorders;
+            this.tableBorder = tableBorder;
+        }
+
+        @Override
+        public Border get(int index) {
+            return getCollapsedBorder(cellBorders.get(index), tableBorder);
+        }
+
+        @Override
+        public int size() {
+            return cellBorders.size();
+        }
+    }
+
     /**
      * A comparison function to compare two {@link Border} instances.
      */
@@ -0,0 +1,267 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.commons.utils.DIContainer;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfSimpleFont;
+import com.itextpdf.kernel.font.PdfTrueTypeFont;
+import com.itextpdf.kernel.font.PdfType0Font;
+import com.itextpdf.kernel.font.PdfType1Font;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
+import com.itextpdf.kernel.pdf.extgstate.PdfExtGState;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.DeferredText;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Handler which keeps the placeholders drawn for the {@link DeferredText} elements of a document
+ * and fills them with the values of the elements when the document is closed.
+ *
+ * <p>
+ * The placeholders are form XObjects, which are only referenced by the page contents, so the pages
+ * can be flushed before the placeholders are filled unless the resources of the pages are flushed as well.
+ */
+public final class DeferredTextHandler {
+
+    private final PdfDocument pdfDocument;
+
+    private final Map<DeferredText, Map<TextAppearance, PdfFormXObject>> placeholders = new LinkedHashMap<>();
+
+    /**
+     * The values of the elements, which are known only after the placeholders have been resolved.
+     */
+    private Map<DeferredText, String> values;
+
+    private DeferredTextHandler(PdfDocument pdfDocument) {
+        this.pdfDocument = pdfDocument;
+    }
+
+    /**
+     * Fills the placeholders which have been drawn in the document so far. The placeholders
+     * drawn afterwards, e.g. while the remaining pages are being flushed, are filled right away.
+     * The method shall be called once, after the layout of the document has been finished.
+     *
+     * @param pdfDocument the document whose placeholders shall be filled
+     */
+    public static void resolvePlaceholders(PdfDocument pdfDocument) {
+        getHandler(pdfDocument).resolve();
+    }
+
+    static PdfFormXObject getPlaceholder(PdfDocument pdfDocument, DeferredText element, TextAppearance appearance) {
+        return getHandler(pdfDocument).getPlaceholder(element, appearance);
+    }
+
+    private static DeferredTextHandler getHandler(PdfDocument pdfDocument) {
+        DIContainer container = pdfDocument.getDiContainer();
+        if (!container.isRegistered(DeferredTextHandler.class)) {
+            container.register(DeferredTextHandler.class, new DeferredTextHandler(pdfDocument));
+        }
+        return container.getInstance(DeferredTextHandler.class);
+    }
+
+    private PdfFormXObject getPlaceholder(DeferredText element, TextAppearance appearance) {
+        Map<TextAppearance, PdfFormXObject> elementPlaceholders = placeholders.get(element);
+        if (elementPlaceholders == null) {
+            elementPlaceholders = new LinkedHashMap<>();
+            placeholders.put(element, elementPlaceholders);
+        }
+        PdfFormXObject placeholder = elementPlaceholders.get(appearance);
+        if (placeholder == null) {
+            placeholder = new PdfFormXObject(new Rectangle(0, 0));
+            placeholder.makeIndirect(pdfDocument);
+            elementPlaceholders.put(appearance, placeholder);
+            if (values != null) {
+                appearance.fill(placeholder, getValue(element), pdfDocument);
+            }
+        }
+        return placeholder;
+    }
+
+    private void resolve() {
+        if (values != null) {
+            return;
+        }
+        values = new HashMap<>();
+        for (Map.Entry<DeferredText, Map<TextAppearance, PdfFormXObject>> elementPlaceholders
+                : placeholders.entrySet()) {
+            String value = getValue(elementPlaceholders.getKey());
+            for (Map.Entry<TextAppearance, PdfFormXObject> placeholder : elementPlaceholders.getValue().entrySet()) {
+                placeholder.getKey().fill(placeholder.getValue(), value, pdfDocument);
+            }
+        }
+    }
+
+    private String getValue(DeferredText element) {
+        String value = values.get(element);
+        if (value == null) {
+            value = element.getValueResolver().apply(pdfDocument);
+            if (value == null) {
+                value = "";
+            }
+            values.put(element, value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks whether the fonts write the same glyphs with the same codes. E.g. each root element creates
+     * its own instance of the default font, so the footers drawn on different pages usually use
+     * different, but interchangeable, instances.
+     */
+    private static boolean isInterchangeable(PdfFont font, PdfFont otherFont) {
+        if (font == otherFont) {
+            return true;
+        }
+        if (font.getClass() != otherFont.getClass() || font.getFontProgram() != otherFont.getFontProgram()
+                || font.isEmbedded() != otherFont.isEmbedded()) {
+            return false;
+        }
+        if (font instanceof PdfType0Font) {
+            return Objects.equals(((PdfType0Font) font).getCmap().getCmapName(),
+                    ((PdfType0Font) otherFont).getCmap().getCmapName());
+        }
+        if (font instanceof PdfTrueTypeFont || font instanceof PdfType1Font) {
+            return Objects.equals(((PdfSimpleFont<?>) font).getFontEncoding().getBaseEncoding(),
+                    ((PdfSimpleFont<?>) otherFont).getFontEncoding().getBaseEncoding());
+        }
+        return false;
+    }
+
+    /**
+     * The font and text state parameters with which the value of a {@link DeferredText} is shown.
+     */
+    static final class TextAppearance {
+        private final PdfFont font;
+        private final float fontSize;
+        private final Color fillColor;
+        private final float fillOpacity;
+        private final int textRenderingMode;
+        private final float strokeWidth;
+        private final Color strokeColor;
+        private final float characterSpacing;
+        private final float wordSpacing;
+        private final float horizontalScaling;
+        private final float textRise;
+
+        TextAppearance(PdfFont font, float fontSize, Color fillColor, float fillOpacity, int textRenderingMode,
+                float strokeWidth, Color strokeColor, float characterSpacing, float wordSpacing,
+                float horizontalScaling, float textRise) {
+            this.font = font;
+            this.fontSize = fontSize;
+            this.fillColor = fillColor;
+            this.fillOpacity = fillOpacity;
+            this.textRenderingMode = textRenderingMode;
+            this.strokeWidth = strokeWidth;
+            this.strokeColor = strokeColor;
+            this.characterSpacing = characterSpacing;
+            this.wordSpacing = wordSpacing;
+            this.horizontalScaling = horizontalScaling;
+            this.textRise = textRise;
+        }
+
+        void fill(PdfFormXObject placeholder, String value, PdfDocument pdfDocument) {
+            PdfCanvas canvas = new PdfCanvas(placeholder, pdfDocument);
+            canvas.saveState();
+            if (fillColor != null) {
+                canvas.setFillColor(fillColor);
+                if (fillOpacity < 1) {
+                    canvas.setExtGState(new PdfExtGState().setFillOpacity(fillOpacity));
+                }
+            }
+            canvas.beginText().setFontAndSize(font, fontSize);
+            if (textRenderingMode != PdfCanvasConstants.TextRenderingMode.FILL) {
+                canvas.setTextRenderingMode(textRenderingMode);
+            }
+            if (strokeColor != null) {
+                canvas.setStrokeColor(strokeColor);
+            }
+            if (strokeWidth != 1) {
+                canvas.setLineWidth(strokeWidth);
+            }
+            if (characterSpacing != 0) {
+                canvas.setCharacterSpacing(characterSpacing);
+            }
+            if (wordSpacing != 0) {
+                canvas.setWordSpacing(wordSpacing);
+            }
+            if (horizontalScaling != 1) {
+                canvas.setHorizontalScaling(horizontalScaling * 100);
+            }
+            if (textRise != 0) {
+                canvas.setTextRise(textRise);
+            }
+            canvas.showText(value).endText().restoreState();
+
+            int spacesCount = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == ' ') {
+                    spacesCount++;
+                }
+            }
+            float width = (font.getWidth(value, fontSize) + characterSpacing * value.length()
+                    + wordSpacing * spacesCount) * horizontalScaling;
+            float[] ascenderDescender = TextRenderer.calculateAscenderDescender(font);
+            float bottom = ascenderDescender[1] * fontSize / TextRenderer.TEXT_SPACE_COEFF + Math.min(textRise, 0);
+            float top = ascenderDescender[0] * fontSize / TextRenderer.TEXT_SPACE_COEFF + Math.max(textRise, 0);
+            float halfStrokeWidth = textRenderingMode == PdfCanvasConstants.TextRenderingMode.FILL ? 0 : strokeWidth / 2;
+            placeholder.setBBox(new PdfArray(new Rectangle(-halfStrokeWidth, bottom - halfStrokeWidth,
+                    width + 2 * halfStrokeWidth, top - bottom + 2 * halfStrokeWidth)));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TextAppearance that = (TextAppearance) o;
+            return isInterchangeable(font, that.font) && Float.compare(fontSize, that.fontSize) == 0
+                    && Objects.equals(fillColor, that.fillColor) && Float.compare(fillOpacity, that.fillOpacity) == 0
+                    && textRenderingMode == that.textRenderingMode
+                    && Float.compare(strokeWidth, that.strokeWidth) == 0
+                    && Objects.equals(strokeColor, that.strokeColor)
+                    && Float.compare(characterSpacing, that.characterSpacing) == 0
+                    && Float.compare(wordSpacing, that.wordSpacing) == 0
+                    && Float.compare(horizontalScaling, that.horizontalScaling) == 0
+                    && Float.compare(textRise, that.textRise) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(font.getFontProgram()), fontSize, fillColor, fillOpacity, textRenderingMode, strokeWidth, strokeColor,
+                    characterSpacing, wordSpacing, horizontalScaling, textRise);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.canvas.CanvasArtifact;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.DeferredText;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.TransparentColor;
+import com.itextpdf.layout.properties.UnitValue;
+
+/**
+ * Renderer for the {@link DeferredText} layout element. The text is laid out as usual, but instead of its glyphs
+ * a form XObject is drawn, which is filled with the value of the element when the document is closed,
+ * see {@link DeferredTextHandler}.
+ */
+public class DeferredTextRenderer extends TextRenderer {
+
+    /**
+     * Creates a DeferredTextRenderer from its corresponding layout object.
+     *
+     * @param textElement the {@link DeferredText} which this object should manage
+     */
+    public DeferredTextRenderer(DeferredText textElement) {
+        super(textElement);
+    }
+
+    /**
+     * Creates a copy of the given {@link DeferredTextRenderer}.
+     *
+     * @param other the renderer to be copied
+     */
+    protected DeferredTextRenderer(DeferredTextRenderer other) {
+        super(other);
+    }
+
+    @Override
+    public void draw(DrawContext drawContext) {
+        if (occupiedArea == null || line.end <= line.start) {
+            super.draw(drawContext);
+            return;
+        }
+
+        applyDestinationsAndAnnotation(drawContext);
+        boolean isRelativePosition = isRelativePosition();
+        if (isRelativePosition) {
+            applyRelativePositioningTranslation(false);
+        }
+        beginElementOpacityApplying(drawContext);
+        drawBackground(drawContext);
+        drawBorder(drawContext);
+
+        PdfCanvas canvas = drawContext.getCanvas();
+        boolean isTagged = drawContext.isTaggingEnabled();
+        if (isTagged) {
+            canvas.openTag(new CanvasArtifact());
+        }
+        PdfFormXObject placeholder = DeferredTextHandler.getPlaceholder(drawContext.getDocument(),
+                (DeferredText) modelElement, createAppearance());
+        // the origin of the placeholder is the beginning of the baseline
+        canvas.addXObjectWithTransformationMatrix(placeholder, 1, 0, 0, 1, getInnerAreaBBox().getX(), getYLine());
+        if (isTagged) {
+            canvas.closeTag();
+        }
+
+        endElementOpacityApplying(drawContext);
+        if (isRelativePosition) {
+            applyRelativePositioningTranslation(true);
+        }
+        flushed = true;
+    }
+
+    @Override
+    public IRenderer getNextRenderer() {
+        logWarningIfGetNextRendererNotOverridden(DeferredTextRenderer.class, this.getClass());
+        return new DeferredTextRenderer((DeferredText) modelElement);
+    }
+
+    @Override
+    protected TextRenderer createCopy(GlyphLine gl, PdfFont font) {
+        DeferredTextRenderer copy = new DeferredTextRenderer(this);
+        copy.setProcessedGlyphLineAndFont(gl, font);
+        return copy;
+    }
+
+    private DeferredTextHandler.TextAppearance createAppearance() {
+        float fontSize = this.getPropertyAsUnitValue(Property.FONT_SIZE).getValue();
+        TransparentColor fontColor = getPropertyAsTransparentColor(Property.FONT_COLOR);
+        Integer textRenderingMode = this.<Integer>getProperty(Property.TEXT_RENDERING_MODE);
+        if (textRenderingMode == null) {
+            textRenderingMode = PdfCanvasConstants.TextRenderingMode.FILL;
+        }
+        Float strokeWidth = null;
+        if (Boolean.TRUE.equals(getPropertyAsBoolean(Property.BOLD_SIMULATION))) {
+            textRenderingMode = PdfCanvasConstants.TextRenderingMode.FILL_STROKE;
+            strokeWidth = fontSize / 30;
+        }
+        Color strokeColor = null;
+        if (textRenderingMode == PdfCanvasConstants.TextRenderingMode.STROKE
+                || textRenderingMode == PdfCanvasConstants.TextRenderingMode.FILL_STROKE) {
+            if (strokeWidth == null) {
+                strokeWidth = this.getPropertyAsFloat(Property.STROKE_WIDTH);
+            }
+            strokeColor = getPropertyAsColor(Property.STROKE_COLOR);
+            if (strokeColor == null && fontColor != null) {
+                strokeColor = fontColor.getColor();
+            }
+        }
+        return new DeferredTextHandler.TextAppearance(getFont(), fontSize,
+                fontColor == null ? null : fontColor.getColor(), fontColor == null ? 1 : fontColor.getOpacity(),
+                (int) textRenderingMode, strokeWidth == null ? 1 : (float) strokeWidth, strokeColor,
+                valueOrZero(this.getPropertyAsFloat(Property.CHARACTER_SPACING)),
+                valueOrZero(this.getPropertyAsFloat(Property.WORD_SPACING)),
+                valueOrOne(this.<Float>getProperty(Property.HORIZONTAL_SCALING)),
+                valueOrZero(this.getPropertyAsFloat(Property.TEXT_RISE)));
+    }
+
+    private static float valueOrZero(Float value) {
+        return value == null ? 0 : (float) value;
+    }
+
+    private static float valueOrOne(Float value) {
+        return value == null ? 1 : (float) value;
+    }
+}
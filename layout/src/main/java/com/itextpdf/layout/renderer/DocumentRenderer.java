@@ -93,6 +93,39 @@ public class DocumentRenderer extends RootRenderer {
         return renderer;
     }
 
+    /**
+     * Prepares this renderer to lay out the children again starting from the child with the specified index.
+     * The layout state stored at the beginning of the page on which the child has been placed is restored,
+     * the renderers laid out after that moment are discarded and the pages following that page are removed.
+     * The layout of the previous pages is preserved, so only the children starting with the returned index
+     * shall be added again.
+     *
+     * <p>
+     * The layout states are stored only if the content is not flushed immediately and the document is not tagged.
+     * A subclass which keeps its own layout state, e.g. the current column, shall not be prepared this way,
+     * for such renderers -1 is returned and the whole document shall be laid out by a new renderer.
+     *
+     * @param childIndex the index of the first changed child, the children are counted in the order of their
+     *                   addition via {@link #addChild(IRenderer)}
+     * @return the index of the child from which the addition shall be continued, or -1 if the layout
+     * can't be continued and the whole document shall be laid out from scratch
+     */
+    public int prepareToRelayout(int childIndex) {
+        if (getClass() != DocumentRenderer.class) {
+            return -1;
+        }
+        int firstChildToAdd = restoreLayoutCheckpoint(childIndex);
+        if (firstChildToAdd >= 0) {
+            targetCounterHandler.prepareHandlerToRelayout();
+            PdfDocument pdfDocument = document.getPdfDocument();
+            int lastPreservedPage = currentArea == null ? 0 : currentArea.getPageNumber();
+            while (pdfDocument.getNumberOfPages() > lastPreservedPage) {
+                pdfDocument.removePage(pdfDocument.getNumberOfPages());
+            }
+        }
+        return firstChildToAdd;
+    }
+
     protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
         flushWaitingDrawingElements(false);
         LayoutTaggingHelper taggingHelper = this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER);
@@ -615,7 +615,7 @@ public class FlexContainerRenderer extends DivRenderer {
             MinMaxWidth childMinMaxWidth;
             childRenderer.setParent(this);
             if (childRenderer instanceof AbstractRenderer) {
-                childMinMaxWidth = ((AbstractRenderer) childRenderer).getMinMaxWidth();
+                childMinMaxWidth = MinMaxWidthCache.getMinMaxWidth((AbstractRenderer) childRenderer);
             } else {
                 childMinMaxWidth = MinMaxWidthUtils.countDefaultMinMaxWidth(childRenderer);
             }
@@ -515,7 +515,7 @@ final class FlexUtil {
             info.hypotheticalCrossSize = ((FlexContainerRenderer) info.renderer)
                     .getHypotheticalCrossSize(info.mainSize).floatValue();
         } else if (isColumnDirection) {
-            MinMaxWidth minMaxWidth = info.renderer.getMinMaxWidth();
+            MinMaxWidth minMaxWidth = MinMaxWidthCache.getMinMaxWidth(info.renderer);
             info.hypotheticalCrossSize = info.getInnerCrossSize(
                     Math.max(Math.min(minMaxWidth.getMaxWidth(), crossSize), minMaxWidth.getMinWidth()));
             // Cache hypotheticalCrossSize for FlexContainerRenderer
@@ -920,7 +920,7 @@ final class FlexUtil {
                     maxMainSize = calculateHeight(flexItemRenderer, crossSize);
                 }
             } else {
-                maxMainSize = new Float(flexItemRenderer.getMinMaxWidth().getMaxWidth());
+                maxMainSize = new Float(MinMaxWidthCache.getMinMaxWidth(flexItemRenderer).getMaxWidth());
             }
             if (isColumnDirection) {
                 maxMainSize = flexItemRenderer.applyMarginsBordersPaddings(
@@ -952,7 +952,7 @@ final class FlexUtil {
                                 new Rectangle(0, (float) height), false).getHeight();
                     } else {
                         maxMainSize = flexItemRenderer.applyMarginsBordersPaddings(
-                                new Rectangle(flexItemRenderer.getMinMaxWidth().getMaxWidth(), 0), false).getWidth();
+                                new Rectangle(MinMaxWidthCache.getMinMaxWidth(flexItemRenderer).getMaxWidth(), 0), false).getWidth();
                     }
                 }
             }
@@ -1164,7 +1164,7 @@ final class FlexUtil {
                 }
                 minContentSize = getInnerMainSize((float) height);
             } else {
-                MinMaxWidth minMaxWidth = renderer.getMinMaxWidth();
+                MinMaxWidth minMaxWidth = MinMaxWidthCache.getMinMaxWidth(renderer);
                 minContentSize = getInnerMainSize(minMaxWidth.getMinWidth());
             }
             renderer.returnBackOwnProperty(Property.HEIGHT, rendererHeight);
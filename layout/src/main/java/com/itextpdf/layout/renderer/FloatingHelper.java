@@ -273,7 +273,7 @@ class FloatingHelper {
     static MinMaxWidth calculateMinMaxWidthForFloat(AbstractRenderer renderer, FloatPropertyValue floatPropertyVal) {
         boolean floatPropIsRendererOwn = renderer.hasOwnProperty(Property.FLOAT);
         renderer.setProperty(Property.FLOAT, FloatPropertyValue.NONE);
-        MinMaxWidth kidMinMaxWidth = renderer.getMinMaxWidth();
+        MinMaxWidth kidMinMaxWidth = MinMaxWidthCache.getMinMaxWidth(renderer);
         if (floatPropIsRendererOwn) {
             renderer.setProperty(Property.FLOAT, floatPropertyVal);
         } else {
@@ -321,7 +321,7 @@ class FloatingHelper {
 
         final float leftX = lastLeftAndRightBoxes[0] == null ? parentBBox.getLeft() : lastLeftAndRightBoxes[0].getRight();
         final float rightX = lastLeftAndRightBoxes[1] == null ? parentBBox.getRight() : lastLeftAndRightBoxes[1].getLeft();
-        if (Math.max(blockWidth, renderer.getMinMaxWidth().getMinWidth()) <= rightX - leftX) {
+        if (Math.max(blockWidth, MinMaxWidthCache.getMinMaxWidth(renderer).getMinWidth()) <= rightX - leftX) {
             float width = Math.max(0, leftX - parentBBox.getLeft()) + Math.max(0, parentBBox.getRight() - rightX);
             parentBBox.setX(Math.max(parentBBox.getX(), leftX));
             parentBBox.decreaseWidth(width);
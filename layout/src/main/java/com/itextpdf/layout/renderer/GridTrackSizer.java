@@ -449,7 +449,7 @@ class GridTrackSizer {
         if (GridOrder.COLUMN == order) {
             if (cell.getValue() instanceof AbstractRenderer) {
                 AbstractRenderer abstractRenderer = (AbstractRenderer) cell.getValue();
-                return abstractRenderer.getMinMaxWidth().getMinWidth();
+                return MinMaxWidthCache.getMinMaxWidth(abstractRenderer).getMinWidth();
             }
         } else {
             cell.getValue().setProperty(Property.FILL_AVAILABLE_AREA, Boolean.FALSE);
@@ -469,7 +469,7 @@ class GridTrackSizer {
         if (GridOrder.COLUMN == gridOrder) {
             if (cell.getValue() instanceof AbstractRenderer) {
                 AbstractRenderer abstractRenderer = (AbstractRenderer) cell.getValue();
-                return abstractRenderer.getMinMaxWidth().getMaxWidth();
+                return MinMaxWidthCache.getMinMaxWidth(abstractRenderer).getMaxWidth();
             }
         } else {
             cell.getValue().setProperty(Property.FILL_AVAILABLE_AREA, Boolean.FALSE);
@@ -352,7 +352,7 @@ public class LineRenderer extends AbstractRenderer {
             MinMaxWidth childBlockMinMaxWidth = null;
             boolean isInlineBlockChild = isInlineBlockChild(childRenderer);
             if (isInlineBlockChild && childRenderer instanceof AbstractRenderer) {
-                final MinMaxWidth childBlockMinMaxWidthLocal = ((AbstractRenderer) childRenderer).getMinMaxWidth();
+                final MinMaxWidth childBlockMinMaxWidthLocal = MinMaxWidthCache.getMinMaxWidth((AbstractRenderer) childRenderer);
                 // Don't calculate childBlockMinMaxWidth in case of relative width here
                 // and further (childBlockMinMaxWidth != null)
                 if (!childWidthWasReplaced) {
@@ -0,0 +1,151 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.layout.minmaxwidth.MinMaxWidth;
+import com.itextpdf.layout.properties.PropertyMap;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Memoizes the {@link MinMaxWidth} of the renderers while the widths of a renderer subtree are being calculated.
+ *
+ * <p>
+ * Calculating min and max widths means laying out the whole subtree of a renderer in an area of infinite width.
+ * Tables, flex and grid containers, floats and inline blocks ask their children for the widths, and the children
+ * containing such renderers do the same while being laid out themselves, so without memoization the nested
+ * renderers are laid out a number of times which is exponential in the nesting depth.
+ *
+ * <p>
+ * The calculated widths are kept from the moment the outermost calculation starts till the moment it ends
+ * and only within the thread performing the calculation. A width is calculated anew if the parent of the renderer,
+ * its own properties or an inherited property of any renderer has been changed during the calculation since
+ * the width was stored. The ancestors being moved to other parents are not tracked, since it is a part of
+ * the calculation itself, e.g. the line renderers of a paragraph take over its inline children each time
+ * the paragraph is laid out.
+ */
+public final class MinMaxWidthCache {
+
+    private static final ThreadLocal<Calculation> CURRENT_CALCULATION = new ThreadLocal<>();
+
+    private MinMaxWidthCache() {
+        // Empty constructor.
+    }
+
+    /**
+     * Gets the number of times the widths of the renderers of the tree have been taken from the cache
+     * instead of laying out the renderer subtree once again.
+     *
+     * @param rootRenderer the root renderer of the tree, e.g. the renderer of a document
+     * @return the number of avoided relayouts
+     */
+    public static long getAvoidedRelayoutsCount(RootRenderer rootRenderer) {
+        return rootRenderer.avoidedMinMaxWidthRelayoutsCount;
+    }
+
+    /**
+     * Gets min and max widths of the renderer, see {@link AbstractRenderer#getMinMaxWidth()}. If the widths
+     * have already been calculated during the current calculation and the renderer hasn't been changed since,
+     * a copy of the stored widths is returned.
+     *
+     * @param renderer the renderer whose widths are to be calculated
+     * @return instance of {@link MinMaxWidth}
+     */
+    static MinMaxWidth getMinMaxWidth(AbstractRenderer renderer) {
+        Calculation calculation = CURRENT_CALCULATION.get();
+        boolean outermost = calculation == null;
+        if (outermost) {
+            calculation = new Calculation(renderer.getRootRenderer());
+            CURRENT_CALCULATION.set(calculation);
+        }
+        try {
+            CachedMinMaxWidth cached = calculation.widths.get(renderer);
+            if (cached != null && cached.isValidFor(renderer, calculation)) {
+                if (calculation.root != null) {
+                    calculation.root.avoidedMinMaxWidthRelayoutsCount++;
+                }
+                return copy(cached.minMaxWidth);
+            }
+            MinMaxWidth minMaxWidth = renderer.getMinMaxWidth();
+            // the subclasses, e.g. RotationMinMaxWidth, carry the state which can't be copied
+            if (minMaxWidth != null && minMaxWidth.getClass() == MinMaxWidth.class
+                    && renderer.properties instanceof PropertyMap) {
+                calculation.widths.put(renderer, new CachedMinMaxWidth(renderer, calculation, copy(minMaxWidth)));
+            }
+            return minMaxWidth;
+        } finally {
+            if (outermost) {
+                CURRENT_CALCULATION.remove();
+            }
+        }
+    }
+
+    /**
+     * Called when an inherited property of a renderer is modified, the widths stored during
+     * the current calculation, if any, are not used anymore.
+     */
+    static void onInheritedPropertyModified() {
+        Calculation calculation = CURRENT_CALCULATION.get();
+        if (calculation != null) {
+            calculation.inheritedPropertiesModificationCount++;
+        }
+    }
+
+    private static MinMaxWidth copy(MinMaxWidth minMaxWidth) {
+        return new MinMaxWidth(minMaxWidth.getChildrenMinWidth(), minMaxWidth.getChildrenMaxWidth(),
+                minMaxWidth.getAdditionalWidth());
+    }
+
+    private static final class Calculation {
+        private final Map<AbstractRenderer, CachedMinMaxWidth> widths = new IdentityHashMap<>();
+        // the avoided relayouts are counted per document
+        private final RootRenderer root;
+        private int inheritedPropertiesModificationCount;
+
+        Calculation(RootRenderer root) {
+            this.root = root;
+        }
+    }
+
+    private static final class CachedMinMaxWidth {
+        private final MinMaxWidth minMaxWidth;
+        private final IRenderer parent;
+        private final int propertiesModificationCount;
+        private final int inheritedPropertiesModificationCount;
+
+        CachedMinMaxWidth(AbstractRenderer renderer, Calculation calculation, MinMaxWidth minMaxWidth) {
+            this.minMaxWidth = minMaxWidth;
+            this.parent = renderer.parent;
+            this.propertiesModificationCount = ((PropertyMap) renderer.properties).getModificationCount();
+            this.inheritedPropertiesModificationCount = calculation.inheritedPropertiesModificationCount;
+        }
+
+        boolean isValidFor(AbstractRenderer renderer, Calculation calculation) {
+            return parent == renderer.parent
+                    && renderer.properties instanceof PropertyMap
+                    && propertiesModificationCount == ((PropertyMap) renderer.properties).getModificationCount()
+                    && inheritedPropertiesModificationCount == calculation.inheritedPropertiesModificationCount;
+        }
+    }
+}
@@ -62,8 +62,35 @@ public abstract class RootRenderer extends AbstractRenderer {
     private LayoutArea initialCurrentArea;
     private List<IRenderer> waitingNextPageRenderers = new ArrayList<>();
     private boolean floatOverflowedCompletely = false;
+    private List<LayoutCheckpoint> layoutCheckpoints = new ArrayList<>();
+    private int addedChildrenCount = 0;
+    private int addChildDepth = 0;
+    private int layoutPassDepth = 0;
+
+    // changes whenever the inherited property values resolved within the renderer tree might change,
+    // see AbstractRenderer#getInheritedProperty
+    long inheritedPropertiesStamp = 0;
+
+    // the number of the min and max widths calculations avoided within the tree, see MinMaxWidthCache
+    long avoidedMinMaxWidthRelayoutsCount = 0;
 
     public void addChild(IRenderer renderer) {
+        // Only the children added from the outside are counted, not the ones re-added internally,
+        // e.g. the floats which have been postponed till the next page
+        if (addChildDepth++ == 0) {
+            storeLayoutCheckpointIfPossible();
+            addedChildrenCount++;
+        }
+        beginLayoutPass();
+        try {
+            addAndLayoutChild(renderer);
+        } finally {
+            endLayoutPass();
+            addChildDepth--;
+        }
+    }
+
+    private void addAndLayoutChild(IRenderer renderer) {
         LayoutTaggingHelper taggingHelper = this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER);
         if (taggingHelper != null) {
             LayoutTaggingHelper.addTreeHints(taggingHelper, renderer);
@@ -259,14 +286,21 @@ public abstract class RootRenderer extends AbstractRenderer {
      * @see #draw(com.itextpdf.layout.renderer.DrawContext)
      */
     public void flush() {
-        for (IRenderer resultRenderer : childRenderers) {
-            flushSingleRenderer(resultRenderer);
-        }
-        for (IRenderer resultRenderer : positionedRenderers) {
-            flushSingleRenderer(resultRenderer);
+        beginLayoutPass();
+        try {
+            for (IRenderer resultRenderer : childRenderers) {
+                flushSingleRenderer(resultRenderer);
+            }
+            for (IRenderer resultRenderer : positionedRenderers) {
+                flushSingleRenderer(resultRenderer);
+            }
+        } finally {
+            endLayoutPass();
         }
         childRenderers.clear();
         positionedRenderers.clear();
+        // the stored checkpoints refer to the renderers which have just been drawn
+        layoutCheckpoints.clear();
     }
 
     /**
@@ -275,6 +309,15 @@ public abstract class RootRenderer extends AbstractRenderer {
      * and when no consequent element has been added. This method addresses such situations.
      */
     public void close() {
+        beginLayoutPass();
+        try {
+            closeRenderer();
+        } finally {
+            endLayoutPass();
+        }
+    }
+
+    private void closeRenderer() {
         addAllWaitingNextPageRenderers();
         if (keepWithNextHangingRenderer != null) {
             keepWithNextHangingRenderer.setProperty(Property.KEEP_WITH_NEXT, false);
@@ -346,6 +389,70 @@ public abstract class RootRenderer extends AbstractRenderer {
         waitingDrawingElements.removeAll(flushedElements);
     }
 
+    /**
+     * Restores the layout state stored right before the addition of a child which is not later
+     * than the child with the specified index. All the results of the layout performed after that
+     * moment are discarded, so that the children starting with the returned index can be added again.
+     *
+     * @param childIndex the index of the first child which needs to be laid out again,
+     *                   the children are counted in the order of their addition via {@link #addChild(IRenderer)}
+     * @return the index of the child from which the addition shall be continued,
+     * or -1 if no suitable layout state has been stored
+     */
+    int restoreLayoutCheckpoint(int childIndex) {
+        int checkpointIndex = layoutCheckpoints.size() - 1;
+        while (checkpointIndex >= 0 && layoutCheckpoints.get(checkpointIndex).childIndex > childIndex) {
+            checkpointIndex--;
+        }
+        if (checkpointIndex < 0 || addChildDepth != 0) {
+            return -1;
+        }
+        LayoutCheckpoint checkpoint = layoutCheckpoints.get(checkpointIndex);
+        layoutCheckpoints.subList(checkpointIndex + 1, layoutCheckpoints.size()).clear();
+
+        childRenderers.subList(checkpoint.childRenderersCount, childRenderers.size()).clear();
+        positionedRenderers.subList(checkpoint.positionedRenderersCount, positionedRenderers.size()).clear();
+        currentArea = checkpoint.currentArea == null ? null : (RootLayoutArea) checkpoint.currentArea.clone();
+        initialCurrentArea = checkpoint.initialCurrentArea == null ? null : checkpoint.initialCurrentArea.clone();
+        floatRendererAreas = cloneAreas(checkpoint.floatRendererAreas);
+        keepWithNextHangingRenderer = null;
+        keepWithNextHangingRendererLayoutResult = null;
+        marginsCollapseHandler = null;
+        waitingNextPageRenderers.clear();
+        floatOverflowedCompletely = false;
+        addedChildrenCount = checkpoint.childIndex;
+        return checkpoint.childIndex;
+    }
+
+    /**
+     * Checks whether the renderers of the tree are being laid out or drawn. The values of the inherited
+     * properties are cached by the renderers only while a layout pass is in progress, since the model elements
+     * might be modified between the passes.
+     *
+     * @return {@code true} if a layout pass is in progress, {@code false} otherwise
+     */
+    boolean isLayoutPassInProgress() {
+        return layoutPassDepth != 0;
+    }
+
+    /**
+     * Starts a layout pass, the passes may be nested.
+     */
+    void beginLayoutPass() {
+        if (layoutPassDepth++ == 0) {
+            inheritedPropertiesStamp++;
+        }
+    }
+
+    /**
+     * Ends a layout pass started by {@link #beginLayoutPass()}.
+     */
+    void endLayoutPass() {
+        if (--layoutPassDepth == 0) {
+            inheritedPropertiesStamp++;
+        }
+    }
+
     final void linkRenderToDocument(IRenderer renderer, PdfDocument pdfDocument) {
         if (renderer == null) {
             return;
@@ -364,6 +471,40 @@ public abstract class RootRenderer extends AbstractRenderer {
         }
     }
 
+    /**
+     * Stores the current layout state if it is the first child added to the current page and
+     * nothing is pending, i.e. the state is fully described by the current area and the already
+     * laid out renderers. Such states are only needed for relayout and therefore aren't stored
+     * if the content is flushed immediately.
+     */
+    private void storeLayoutCheckpointIfPossible() {
+        if (immediateFlush || this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER) != null) {
+            return;
+        }
+        int pageNumber = currentArea == null ? 0 : currentArea.getPageNumber();
+        if (!layoutCheckpoints.isEmpty() && layoutCheckpoints.get(layoutCheckpoints.size() - 1).pageNumber >= pageNumber) {
+            return;
+        }
+        if (currentArea != null && (keepWithNextHangingRenderer != null || !waitingNextPageRenderers.isEmpty()
+                || floatOverflowedCompletely || marginsCollapseHandler != null)) {
+            return;
+        }
+        layoutCheckpoints.add(new LayoutCheckpoint(addedChildrenCount, pageNumber, childRenderers.size(),
+                positionedRenderers.size(), currentArea == null ? null : (RootLayoutArea) currentArea.clone(),
+                initialCurrentArea == null ? null : initialCurrentArea.clone(), cloneAreas(floatRendererAreas)));
+    }
+
+    private static List<Rectangle> cloneAreas(List<Rectangle> areas) {
+        if (areas == null) {
+            return null;
+        }
+        List<Rectangle> clonedAreas = new ArrayList<>(areas.size());
+        for (Rectangle area : areas) {
+            clonedAreas.add(area.clone());
+        }
+        return clonedAreas;
+    }
+
     private void processRenderer(IRenderer renderer, List<IRenderer> resultRenderers) {
         alignChildHorizontally(renderer, currentArea.getBBox());
         if (immediateFlush) {
@@ -513,4 +654,25 @@ public abstract class RootRenderer extends AbstractRenderer {
         }
         return true;
     }
+
+    private static final class LayoutCheckpoint {
+        final int childIndex;
+        final int pageNumber;
+        final int childRenderersCount;
+        final int positionedRenderersCount;
+        final RootLayoutArea currentArea;
+        final LayoutArea initialCurrentArea;
+        final List<Rectangle> floatRendererAreas;
+
+        LayoutCheckpoint(int childIndex, int pageNumber, int childRenderersCount, int positionedRenderersCount,
+                RootLayoutArea currentArea, LayoutArea initialCurrentArea, List<Rectangle> floatRendererAreas) {
+            this.childIndex = childIndex;
+            this.pageNumber = pageNumber;
+            this.childRenderersCount = childRenderersCount;
+            this.positionedRenderersCount = positionedRenderersCount;
+            this.currentArea = currentArea;
+            this.initialCurrentArea = initialCurrentArea;
+            this.floatRendererAreas = floatRendererAreas;
+        }
+    }
 }
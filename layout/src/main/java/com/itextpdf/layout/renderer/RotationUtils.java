@@ -108,7 +108,7 @@ final class RotationUtils {
             backup.<UnitValue>storeProperty(Property.MIN_HEIGHT);
             backup.<UnitValue>storeProperty(Property.MAX_HEIGHT);
             backup.storeBoolProperty(Property.FORCED_PLACEMENT);
-            MinMaxWidth minMaxWidth = renderer.getMinMaxWidth();
+            MinMaxWidth minMaxWidth = MinMaxWidthCache.getMinMaxWidth(renderer);
             // Using this width for initial layout helps in case of small elements. They may have more free spaces,
             // but it's more likely they fit.
             float length = (minMaxWidth.getMaxWidth() + minMaxWidth.getMinWidth()) / 2 + MinMaxWidthUtils.getEps();
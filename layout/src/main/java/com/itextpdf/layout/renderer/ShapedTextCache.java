@@ -0,0 +1,168 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.commons.utils.DIContainer;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDocument;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded cache of the glyph lines created by {@link TextRenderer} for short pieces of text, such as
+ * table headers, labels or amounts, which tend to be repeated many times within a document.
+ *
+ * <p>
+ * Both the glyph lines converted from the strings and the glyph lines shaped by the typography add-on
+ * are cached, the latter are keyed by the glyph codes of the line before shaping together with
+ * the typography features and the script. Each document has its own cache, since the fonts belong
+ * to the document. The cached lines are copied both when they are put and taken, since the renderers
+ * modify their lines in place.
+ */
+final class ShapedTextCache {
+
+    static final int MAX_SIZE = 1000;
+
+    static final int MAX_TEXT_LENGTH = 100;
+
+    private final Map<Key, GlyphLine> glyphLines = new LinkedHashMap<>(16, 0.75f, true);
+
+    private ShapedTextCache() {
+    }
+
+    /**
+     * Gets the cache of the document, creating it if needed.
+     *
+     * @param pdfDocument the document, may be null
+     * @return the cache of the document or null if the document is not known
+     */
+    static ShapedTextCache getCache(PdfDocument pdfDocument) {
+        if (pdfDocument == null) {
+            return null;
+        }
+        DIContainer container = pdfDocument.getDiContainer();
+        if (!container.isRegistered(ShapedTextCache.class)) {
+            container.register(ShapedTextCache.class, new ShapedTextCache());
+        }
+        return container.getInstance(ShapedTextCache.class);
+    }
+
+    /**
+     * Gets the copy of the glyph line cached for the specified text.
+     *
+     * @param font     the font of the glyph line
+     * @param text     the converted string or the glyph codes of the line before shaping
+     * @param features the features applied to the line, e.g. the typography config and kerning,
+     *                 or null if the line has been converted from the string
+     * @param script   the script the line has been shaped for, or null
+     * @return the copy of the cached glyph line or null if it's not cached
+     */
+    GlyphLine get(PdfFont font, String text, Object features, Object script) {
+        GlyphLine cached = glyphLines.get(new Key(font, text, features, script));
+        return cached == null ? null : copy(cached);
+    }
+
+    /**
+     * Caches the copy of the glyph line, see {@link #get(PdfFont, String, Object, Object)}.
+     */
+    void put(PdfFont font, String text, Object features, Object script, GlyphLine glyphLine) {
+        if (glyphLines.size() >= MAX_SIZE) {
+            // the least recently used entry goes first
+            Iterator<Key> iterator = glyphLines.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+        glyphLines.put(new Key(font, text, features, script), copy(glyphLine));
+    }
+
+    int size() {
+        return glyphLines.size();
+    }
+
+    /**
+     * Checks whether the glyph lines of the text of the specified length are worth caching.
+     * Long texts are rarely repeated, while they would take the most of the memory.
+     */
+    static boolean isCacheable(int length) {
+        return length > 0 && length <= MAX_TEXT_LENGTH;
+    }
+
+    /**
+     * Creates the string which identifies the glyphs of the line slice, i.e. their codes within the font
+     * and their unicode values.
+     */
+    static String toGlyphsString(GlyphLine glyphLine, int start, int end) {
+        StringBuilder sb = new StringBuilder(3 * (end - start));
+        for (int i = start; i < end; i++) {
+            Glyph glyph = glyphLine.get(i);
+            sb.append((char) glyph.getCode())
+                    .append((char) (glyph.getUnicode() >> 16))
+                    .append((char) glyph.getUnicode());
+        }
+        return sb.toString();
+    }
+
+    private static GlyphLine copy(GlyphLine glyphLine) {
+        GlyphLine copy = glyphLine.copy(0, glyphLine.size());
+        copy.start = glyphLine.start;
+        copy.end = glyphLine.end;
+        return copy;
+    }
+
+    private static final class Key {
+        private final PdfFont font;
+        private final String text;
+        private final Object features;
+        private final Object script;
+
+        Key(PdfFont font, String text, Object features, Object script) {
+            this.font = font;
+            this.text = text;
+            this.features = features;
+            this.script = script;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return font == key.font && text.equals(key.text) && Objects.equals(features, key.features)
+                    && Objects.equals(script, key.script);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(font), text, features, script);
+        }
+    }
+}
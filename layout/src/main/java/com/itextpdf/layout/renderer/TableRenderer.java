@@ -334,7 +334,7 @@ public class TableRenderer extends AbstractRenderer {
 
         initializeCaptionRenderer(getTable().getCaption());
         if (captionRenderer != null) {
-            float minCaptionWidth = captionRenderer.getMinMaxWidth().getMinWidth();
+            float minCaptionWidth = MinMaxWidthCache.getMinMaxWidth(captionRenderer).getMinWidth();
             LayoutResult captionLayoutResult = captionRenderer.layout(new LayoutContext(
                     new LayoutArea(area.getPageNumber(), new Rectangle(layoutBox.getX(), layoutBox.getY(), Math.max(tableWidth, minCaptionWidth), layoutBox.getHeight())), wasHeightClipped || wasParentsHeightClipped));
             if (LayoutResult.FULL != captionLayoutResult.getStatus()) {
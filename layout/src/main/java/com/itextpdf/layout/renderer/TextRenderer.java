@@ -798,8 +798,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                         // from text renderers (see LineRenderer#applyOtf).
                         setProperty(Property.BASE_DIRECTION, BaseDirection.DEFAULT_BIDI);
                     }
-                    TypographyUtils.applyOtfScript(
-                            font.getFontProgram(), text, scriptsRange.script, typographyConfig, sequenceId, metaInfo);
+                    applyOtfScript(scriptsRange.script, typographyConfig, sequenceId, metaInfo, pdfDocument);
 
                     delta += text.end - scriptsRange.rangeEnd;
                     scriptsRange.rangeEnd = shapingRangeStart = text.end;
@@ -1329,6 +1328,10 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         return false;
     }
 
+    PdfFont getFont() {
+        return font;
+    }
+
     void setSpecialScriptsWordBreakPoints(List<Integer> specialScriptsWordBreakPoints) {
         this.specialScriptsWordBreakPoints = specialScriptsWordBreakPoints;
     }
@@ -1740,12 +1743,52 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                     logger.error(IoLogMessageConstant.FONT_PROPERTY_MUST_BE_PDF_FONT_OBJECT);
                 }
             }
-            GlyphLine newText = newFont.createGlyphLine(strToBeConverted);
-            newText = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(newText, newFont);
+            ShapedTextCache cache = ShapedTextCache.isCacheable(strToBeConverted.length())
+                    ? ShapedTextCache.getCache(getPdfDocument()) : null;
+            GlyphLine newText = cache == null ? null : cache.get(newFont, strToBeConverted, null, null);
+            if (newText == null) {
+                newText = newFont.createGlyphLine(strToBeConverted);
+                newText = TextPreprocessingUtil.replaceSpecialWhitespaceGlyphs(newText, newFont);
+                if (cache != null) {
+                    cache.put(newFont, strToBeConverted, null, null, newText);
+                }
+            }
             setProcessedGlyphLineAndFont(newText, newFont);
         }
     }
 
+    /**
+     * Shapes the glyphs from text.start till text.end, reusing the result of shaping of the same glyphs
+     * if it has been cached. The shaping may change the number of glyphs, so text.end is updated.
+     * The result is reused only if the typography add-on reports the reuse in place of the shaping,
+     * unless there is no sequence id and meta info to report the shaping for.
+     */
+    private void applyOtfScript(Character.UnicodeScript script, Object typographyConfig, SequenceId sequenceId,
+            IMetaInfo metaInfo, PdfDocument pdfDocument) {
+        boolean reusable = sequenceId == null && metaInfo == null || TypographyUtils.isOtfScriptReuseReported();
+        ShapedTextCache cache = reusable && ShapedTextCache.isCacheable(text.end - text.start)
+                ? ShapedTextCache.getCache(pdfDocument) : null;
+        if (cache == null) {
+            TypographyUtils.applyOtfScript(font.getFontProgram(), text, script, typographyConfig, sequenceId, metaInfo);
+            return;
+        }
+        int shapingStart = text.start;
+        String glyphs = ShapedTextCache.toGlyphsString(text, text.start, text.end);
+        GlyphLine shapedGlyphs = cache.get(font, glyphs, typographyConfig, script);
+        if (shapedGlyphs == null) {
+            TypographyUtils.applyOtfScript(font.getFontProgram(), text, script, typographyConfig, sequenceId, metaInfo);
+            cache.put(font, glyphs, typographyConfig, script, text.copy(shapingStart, text.end));
+        } else {
+            TypographyUtils.reportOtfScriptReuse(font.getFontProgram(), script, typographyConfig, sequenceId, metaInfo);
+            GlyphLine newText = text.copy(0, shapingStart);
+            newText.add(shapedGlyphs);
+            newText.add(new GlyphLine(text, text.end, text.size()));
+            text.replaceContent(newText);
+            text.start = shapingStart;
+            text.end = shapingStart + shapedGlyphs.size();
+        }
+    }
+
     private void saveWordBreakIfNotYetSaved(Glyph wordBreak) {
         if (savedWordBreakAtLineEnding == null) {
             if (TextUtil.isNewLine(wordBreak)) {
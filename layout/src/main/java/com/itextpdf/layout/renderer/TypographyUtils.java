@@ -102,6 +102,16 @@ public final class TypographyUtils {
                 sequenceId, metaInfo);
     }
 
+    static boolean isOtfScriptReuseReported() {
+        return applierInstance.isOtfScriptReuseReported();
+    }
+
+    static void reportOtfScriptReuse(FontProgram fontProgram, UnicodeScript script, Object typographyConfig,
+            SequenceId sequenceId, IMetaInfo metaInfo) {
+        applierInstance.reportOtfScriptReuse((TrueTypeFont) fontProgram, script, typographyConfig,
+                sequenceId, metaInfo);
+    }
+
     static void applyKerning(FontProgram fontProgram, GlyphLine text, SequenceId sequenceId, IMetaInfo metaInfo) {
         applierInstance.applyKerning(fontProgram, text, sequenceId, metaInfo);
     }
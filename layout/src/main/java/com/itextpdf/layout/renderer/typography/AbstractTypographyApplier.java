@@ -58,6 +58,32 @@ public abstract class AbstractTypographyApplier extends AbstractITextEvent {
         return false;
     }
 
+    /**
+     * Checks whether the applier reports the reuse of the result of {@link #applyOtfScript} for the same glyphs,
+     * see {@link #reportOtfScriptReuse}. If it doesn't, the glyphs are shaped anew each time the usage has to be
+     * reported, i.e. when the sequence id or the meta info is known.
+     *
+     * @return {@code true} if the reuse of the shaping result is reported, {@code false} otherwise
+     */
+    public boolean isOtfScriptReuseReported() {
+        return false;
+    }
+
+    /**
+     * Reports that the result of a previous {@link #applyOtfScript} call for the same glyphs is reused
+     * instead of calling it.
+     *
+     * @param font the font the glyphs have been shaped with
+     * @param script the script the glyphs have been shaped for
+     * @param configurator the typography configuration the glyphs have been shaped with
+     * @param id the sequence id of the document
+     * @param metaInfo the meta info
+     */
+    public void reportOtfScriptReuse(TrueTypeFont font, Character.UnicodeScript script, Object configurator,
+            SequenceId id, IMetaInfo metaInfo) {
+        // do nothing
+    }
+
     public boolean applyKerning(FontProgram fontProgram, GlyphLine text, SequenceId sequenceId, IMetaInfo metaInfo) {
         return false;
     }
@@ -0,0 +1,176 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.events.Event;
+import com.itextpdf.kernel.events.IEventHandler;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.DeferredText;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.renderer.IRenderer;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class DeferredTextTest extends ExtendedITextTest {
+
+    @Test
+    public void totalPageCountInFooterTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        final DeferredText totalPageCount = DeferredText.createTotalPageCount("000");
+        pdfDocument.addEventHandler(PdfDocumentEvent.END_PAGE, new IEventHandler() {
+            @Override
+            public void handleEvent(Event event) {
+                PdfPage page = ((PdfDocumentEvent) event).getPage();
+                int pageNumber = page.getDocument().getPageNumber(page);
+                Canvas canvas = new Canvas(new PdfCanvas(page), new Rectangle(36, 20, 300, 30));
+                canvas.add(new Paragraph("Page " + pageNumber + " of ").add(totalPageCount));
+                canvas.close();
+            }
+        });
+
+        // the pages are flushed as soon as possible
+        Document document = new Document(pdfDocument);
+        for (int i = 0; i < 3; i++) {
+            if (i > 0) {
+                document.add(new AreaBreak());
+            }
+            document.add(new Paragraph("Content " + (i + 1)));
+        }
+        document.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assert.assertEquals(3, resultDocument.getNumberOfPages());
+        for (int i = 1; i <= 3; i++) {
+            String pageText = PdfTextExtractor.getTextFromPage(resultDocument.getPage(i));
+            Assert.assertTrue(pageText, pageText.contains("Page " + i + " of 3"));
+            Assert.assertFalse(pageText, pageText.contains("000"));
+        }
+        // the placeholder is shared by the pages
+        PdfDictionary firstPageXObjects = resultDocument.getPage(1).getResources().getResource(PdfName.XObject);
+        PdfDictionary lastPageXObjects = resultDocument.getPage(3).getResources().getResource(PdfName.XObject);
+        Assert.assertEquals(1, firstPageXObjects.size());
+        Assert.assertEquals(firstPageXObjects.get(firstPageXObjects.keySet().iterator().next(), false),
+                lastPageXObjects.get(lastPageXObjects.keySet().iterator().next(), false));
+        resultDocument.close();
+    }
+
+    @Test
+    public void placeholderDrawnWhileClosingTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        pdfDocument.addEventHandler(PdfDocumentEvent.END_PAGE, new IEventHandler() {
+            @Override
+            public void handleEvent(Event event) {
+                PdfPage page = ((PdfDocumentEvent) event).getPage();
+                Canvas canvas = new Canvas(new PdfCanvas(page), new Rectangle(36, 20, 300, 30));
+                canvas.add(new Paragraph("Total: ").add(DeferredText.createTotalPageCount("000")));
+                canvas.close();
+            }
+        });
+
+        // the only page is flushed when the document is closed, i.e. after the placeholders have been resolved
+        Document document = new Document(pdfDocument);
+        document.add(new Paragraph("Content"));
+        document.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        String pageText = PdfTextExtractor.getTextFromPage(resultDocument.getPage(1));
+        Assert.assertTrue(pageText, pageText.contains("Total: 1"));
+        resultDocument.close();
+    }
+
+    @Test
+    public void customValueReservesSpaceTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos)).setTagged();
+        Document document = new Document(pdfDocument, PageSize.A4, false);
+
+        DeferredText deferredText = new DeferredText("WWWW", pdf -> "resolved");
+        Text reservedText = new Text("WWWW");
+        Paragraph paragraph = new Paragraph().add("Before ").add(deferredText).add(" after")
+                .setTextAlignment(TextAlignment.LEFT);
+        Paragraph expectedParagraph = new Paragraph().add("Before ").add(reservedText).add(" after");
+        document.add(paragraph);
+        document.add(expectedParagraph);
+
+        IRenderer deferredTextRenderer = findRenderer(document.getRenderer(), deferredText);
+        IRenderer reservedTextRenderer = findRenderer(document.getRenderer(), reservedText);
+        Assert.assertEquals(reservedTextRenderer.getOccupiedArea().getBBox().getWidth(),
+                deferredTextRenderer.getOccupiedArea().getBBox().getWidth(), 1e-4);
+        document.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        String pageText = PdfTextExtractor.getTextFromPage(resultDocument.getPage(1));
+        Assert.assertTrue(pageText, pageText.startsWith("Before resolved"));
+        resultDocument.close();
+    }
+
+    @Test
+    public void nextRendererIsDeferredTextRendererTest() {
+        DeferredText deferredText = DeferredText.createTotalPageCount("00");
+        IRenderer renderer = deferredText.createRendererSubTree();
+        Assert.assertSame(renderer.getClass(), renderer.getNextRenderer().getClass());
+    }
+
+    @Test
+    public void nullValueResolverTest() {
+        Exception e = Assert.assertThrows(IllegalArgumentException.class, () -> new DeferredText("000", null));
+        Assert.assertEquals(LayoutExceptionMessageConstant.DEFERRED_TEXT_VALUE_RESOLVER_CANNOT_BE_NULL, e.getMessage());
+    }
+
+    private static IRenderer findRenderer(IRenderer renderer, Object modelElement) {
+        if (renderer.getModelElement() == modelElement) {
+            return renderer;
+        }
+        for (IRenderer child : renderer.getChildRenderers()) {
+            IRenderer found = findRenderer(child, modelElement);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+}
@@ -24,6 +24,7 @@ package com.itextpdf.layout;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceGray;
@@ -1502,6 +1503,33 @@ public class LargeElementTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
 
+    @Test
+    public void largeTableFlushedInBigBatchTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document doc = new Document(pdfDoc);
+
+        Table table = new Table(3, true);
+        doc.add(table);
+        int rowsCount = 2000;
+        for (int i = 0; i < rowsCount * 3; i++) {
+            Cell cell = new Cell().add(new Paragraph("Cell " + i));
+            if (i == rowsCount * 3 - 1) {
+                cell.setBorderBottom(new SolidBorder(ColorConstants.RED, 5));
+            }
+            table.addCell(cell);
+        }
+        table.flush();
+
+        // all the rows are complete, hence they should have been laid out, drawn and released
+        Assert.assertTrue(table.getChildren().isEmpty());
+        Assert.assertEquals(new SolidBorder(ColorConstants.RED, 5), table.getLastRowBottomBorder().get(2));
+
+        table.addCell(new Cell().add(new Paragraph("Last cell")));
+        table.complete();
+        Assert.assertTrue(pdfDoc.getNumberOfPages() > 1);
+        doc.close();
+    }
+
     private static void addSpecificTableConsideringFlushes(Document doc, boolean flushFirst, boolean flushSecond) {
         Table table = new Table(UnitValue.createPercentArray(1), true);
         doc.add(table);
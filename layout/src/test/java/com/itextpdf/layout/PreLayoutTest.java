@@ -32,6 +32,8 @@ import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Text;
 import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
 import com.itextpdf.layout.properties.Property;
 import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.layout.renderer.ParagraphRenderer;
@@ -43,6 +45,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -163,6 +166,123 @@ public class PreLayoutTest extends ExtendedITextTest{
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void relayoutFromChangedElementTest() {
+        Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())),
+                PageSize.A5, false);
+        List<Paragraph> paragraphs = addJunkParagraphs(document);
+        Assert.assertTrue(document.getPdfDocument().getNumberOfPages() > 5);
+        IRenderer firstPageRenderer = document.getRenderer().getChildRenderers().get(0);
+
+        Paragraph changedParagraph = paragraphs.get(150);
+        changedParagraph.setFontSize(30);
+        document.relayout(changedParagraph);
+
+        Document expectedDocument = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())),
+                PageSize.A5, false);
+        for (int i = 0; i < 200; i++) {
+            expectedDocument.add(i == 150 ? createJunkParagraph(i).setFontSize(30) : createJunkParagraph(i));
+        }
+
+        // the layout of the first pages has been preserved
+        Assert.assertSame(firstPageRenderer, document.getRenderer().getChildRenderers().get(0));
+        assertSameLayout(expectedDocument, document);
+        document.close();
+        expectedDocument.close();
+    }
+
+    @Test
+    public void relayoutFromChangedElementRemovesPagesTest() {
+        Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())),
+                PageSize.A5, false);
+        List<Paragraph> paragraphs = addJunkParagraphs(document);
+        int numberOfPages = document.getPdfDocument().getNumberOfPages();
+
+        for (int i = 100; i < paragraphs.size(); i++) {
+            paragraphs.get(i).setFontSize(4);
+        }
+        document.relayout(paragraphs.get(100));
+
+        Document expectedDocument = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())),
+                PageSize.A5, false);
+        for (int i = 0; i < 200; i++) {
+            expectedDocument.add(i >= 100 ? createJunkParagraph(i).setFontSize(4) : createJunkParagraph(i));
+        }
+
+        Assert.assertTrue(document.getPdfDocument().getNumberOfPages() < numberOfPages);
+        assertSameLayout(expectedDocument, document);
+        document.close();
+        expectedDocument.close();
+    }
+
+    @Test
+    public void relayoutFromUnknownElementTest() {
+        Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())),
+                PageSize.A5, false);
+        addJunkParagraphs(document);
+        IRenderer firstPageRenderer = document.getRenderer().getChildRenderers().get(0);
+
+        // the whole document is laid out again
+        document.relayout(new Paragraph("Not added"));
+
+        Document expectedDocument = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())),
+                PageSize.A5, false);
+        addJunkParagraphs(expectedDocument);
+
+        Assert.assertNotSame(firstPageRenderer, document.getRenderer().getChildRenderers().get(0));
+        assertSameLayout(expectedDocument, document);
+        document.close();
+        expectedDocument.close();
+    }
+
+    @Test
+    public void relayoutAfterFailedAdditionTest() {
+        Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())),
+                PageSize.A5, false);
+        List<Paragraph> paragraphs = addJunkParagraphs(document);
+        IRenderer firstPageRenderer = document.getRenderer().getChildRenderers().get(0);
+
+        Paragraph failingParagraph = new Paragraph("Fails once");
+        failingParagraph.setNextRenderer(new FailingOnceParagraphRenderer(failingParagraph));
+        Assert.assertThrows(IllegalStateException.class, () -> document.add(failingParagraph));
+
+        // the failed addition shall not disable the relayout from the stored checkpoints
+        document.relayout(paragraphs.get(150));
+        Assert.assertSame(firstPageRenderer, document.getRenderer().getChildRenderers().get(0));
+        document.close();
+    }
+
+    private static List<Paragraph> addJunkParagraphs(Document document) {
+        List<Paragraph> paragraphs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Paragraph paragraph = createJunkParagraph(i);
+            paragraphs.add(paragraph);
+            document.add(paragraph);
+        }
+        return paragraphs;
+    }
+
+    private static Paragraph createJunkParagraph(int index) {
+        Paragraph paragraph = new Paragraph("This is just junk text #" + index);
+        if (index % 7 == 0) {
+            paragraph.setKeepWithNext(true);
+        }
+        return paragraph;
+    }
+
+    private static void assertSameLayout(Document expected, Document actual) {
+        Assert.assertEquals(expected.getPdfDocument().getNumberOfPages(), actual.getPdfDocument().getNumberOfPages());
+        List<IRenderer> expectedRenderers = expected.getRenderer().getChildRenderers();
+        List<IRenderer> actualRenderers = actual.getRenderer().getChildRenderers();
+        Assert.assertEquals(expectedRenderers.size(), actualRenderers.size());
+        for (int i = 0; i < expectedRenderers.size(); i++) {
+            LayoutArea expectedArea = expectedRenderers.get(i).getOccupiedArea();
+            LayoutArea actualArea = actualRenderers.get(i).getOccupiedArea();
+                        Assert.assertEquals(expectedArea.getPageNumber(), actualArea.getPageNumber());
+            Assert.assertTrue(expectedArea.getBBox().equalsWithEpsilon(actualArea.getBBox()));
+        }
+    }
+
     static class TwoColumnParagraphRenderer extends ParagraphRenderer {
 
         int oneColumnPage = -1;
@@ -198,4 +318,31 @@ public class PreLayoutTest extends ExtendedITextTest{
             return new TwoColumnParagraphRenderer((Paragraph) modelElement, oneColumnPage);
         }
     }
+
+    private static class FailingOnceParagraphRenderer extends ParagraphRenderer {
+        private final boolean[] failed;
+
+        FailingOnceParagraphRenderer(Paragraph modelElement) {
+            this(modelElement, new boolean[1]);
+        }
+
+        private FailingOnceParagraphRenderer(Paragraph modelElement, boolean[] failed) {
+            super(modelElement);
+            this.failed = failed;
+        }
+
+        @Override
+        public LayoutResult layout(LayoutContext layoutContext) {
+            if (!failed[0]) {
+                failed[0] = true;
+                throw new IllegalStateException();
+            }
+            return super.layout(layoutContext);
+        }
+
+        @Override
+        public IRenderer getNextRenderer() {
+            return new FailingOnceParagraphRenderer((Paragraph) modelElement, failed);
+        }
+    }
 }
@@ -0,0 +1,166 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FontSelectorCacheTest extends ExtendedITextTest {
+
+    private static final List<String> FAMILIES = Collections.singletonList(StandardFonts.TIMES_ROMAN);
+
+    @Test
+    public void providersWithSameFontSetShareSelectorsTest() {
+        FontSet fontSet = createStandardFontSet(0);
+        FontSelector selector = new FontProvider(fontSet).getFontSelector(FAMILIES, new FontCharacteristics());
+
+        Assert.assertSame(selector, new FontProvider(fontSet).getFontSelector(FAMILIES, new FontCharacteristics()));
+        Assert.assertNotSame(selector, new FontProvider(fontSet, StandardFonts.COURIER)
+                .getFontSelector(FAMILIES, new FontCharacteristics()));
+        Assert.assertNotSame(selector, new FontProvider(createStandardFontSet(0))
+                .getFontSelector(FAMILIES, new FontCharacteristics()));
+    }
+
+    @Test
+    public void subclassSelectorsAreNotSharedTest() {
+        FontSet fontSet = createStandardFontSet(0);
+        FontSelector selector = new FontProvider(fontSet) { }.getFontSelector(FAMILIES, new FontCharacteristics());
+
+        Assert.assertNotSame(selector, new FontProvider(fontSet) { }
+                .getFontSelector(FAMILIES, new FontCharacteristics()));
+    }
+
+    @Test
+    public void addedFontResetsSharedSelectorsTest() {
+        FontSet fontSet = createStandardFontSet(0);
+        FontSelector selector = new FontProvider(fontSet).getFontSelector(FAMILIES, new FontCharacteristics());
+        fontSet.addFont(StandardFonts.SYMBOL);
+
+        Assert.assertNotSame(selector, new FontProvider(fontSet).getFontSelector(FAMILIES, new FontCharacteristics()));
+    }
+
+    @Test
+    public void additionalFontSetSelectorsTest() {
+        FontSet fontSet = createStandardFontSet(0);
+        FontSet additionalFonts = new FontSet();
+        additionalFonts.addFont(StandardFonts.SYMBOL);
+        FontProvider provider = new FontProvider(fontSet);
+        FontSelector selector = provider.getFontSelector(FAMILIES, new FontCharacteristics(), additionalFonts);
+
+        Assert.assertSame(selector, new FontProvider(fontSet)
+                .getFontSelector(FAMILIES, new FontCharacteristics(), additionalFonts));
+        Assert.assertNotSame(selector, provider.getFontSelector(FAMILIES, new FontCharacteristics()));
+
+        // the selectors for the additional fonts are based on the main font set as well
+        fontSet.addFont(StandardFonts.ZAPFDINGBATS);
+        Assert.assertNotSame(selector, provider.getFontSelector(FAMILIES, new FontCharacteristics(), additionalFonts));
+    }
+
+    @Test
+    public void unreferencedAdditionalFontSetSelectorsAreDroppedTest() throws InterruptedException {
+        FontSet fontSet = createStandardFontSet(0);
+        FontSelectorCache cache = fontSet.getFontSelectorCache(FontProvider.class, StandardFonts.HELVETICA);
+        FontSet keptFonts = createStandardFontSet(0);
+        FontSelector keptSelector = new FontProvider(fontSet)
+                .getFontSelector(FAMILIES, new FontCharacteristics(), keptFonts);
+        for (int i = 0; i < 3; i++) {
+            // e.g. the fonts of a single document
+            FontSet additionalFonts = new FontSet();
+            additionalFonts.addFont(StandardFonts.SYMBOL);
+            new FontProvider(fontSet).getFontSelector(FAMILIES, new FontCharacteristics(), additionalFonts);
+        }
+
+        for (int i = 0; i < 50 && cache.getAdditionalFontSetsCount() != 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1, cache.getAdditionalFontSetsCount());
+        Assert.assertSame(keptSelector, new FontProvider(fontSet)
+                .getFontSelector(FAMILIES, new FontCharacteristics(), keptFonts));
+    }
+
+    @Test
+    public void boundedCacheTest() {
+        FontSelectorCache cache = new FontSelectorCache(createStandardFontSet(2));
+        List<FontSelectorKey> keys = new ArrayList<>();
+        for (String family : Arrays.asList(StandardFonts.TIMES_ROMAN, StandardFonts.COURIER,
+                StandardFonts.HELVETICA)) {
+            FontSelectorKey key = new FontSelectorKey(Collections.singletonList(family), new FontCharacteristics());
+            cache.put(key, new FontSelector(Collections.<FontInfo>emptyList(), Collections.singletonList(family),
+                    new FontCharacteristics()));
+            keys.add(key);
+        }
+
+        int cachedSelectors = 0;
+        for (FontSelectorKey key : keys) {
+            if (cache.get(key) != null) {
+                cachedSelectors++;
+            }
+        }
+        Assert.assertEquals(2, cachedSelectors);
+    }
+
+    @Test
+    public void concurrentSelectionTest() throws Exception {
+        final FontSet fontSet = createStandardFontSet(0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<FontSelector>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final String family = i % 2 == 0 ? StandardFonts.COURIER : StandardFonts.TIMES_ROMAN;
+                results.add(executor.submit(() -> new FontProvider(fontSet)
+                        .getFontSelector(Collections.singletonList(family), new FontCharacteristics())));
+            }
+            for (Future<FontSelector> result : results) {
+                Assert.assertNotNull(result.get().bestMatch());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        FontSelector selector = new FontProvider(fontSet).getFontSelector(FAMILIES, new FontCharacteristics());
+        Assert.assertSame(selector, new FontProvider(fontSet).getFontSelector(FAMILIES, new FontCharacteristics()));
+    }
+
+    private static FontSet createStandardFontSet(int fontSelectorCacheSize) {
+        FontSet fontSet = new FontSet(fontSelectorCacheSize);
+        for (String font : Arrays.asList(StandardFonts.TIMES_ROMAN, StandardFonts.COURIER, StandardFonts.HELVETICA)) {
+            fontSet.addFont(font);
+        }
+        return fontSet;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.io.font.FontProgramDescriptorIndex;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FontSetDirectoryTest extends ExtendedITextTest {
+
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/layout/fonts/";
+
+    private static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/layout/font/FontSetDirectoryTest/";
+
+    @Test
+    public void addDirectoryWithIndexTest() throws IOException {
+        // the fonts are copied, otherwise their descriptors may be taken from the cache filled by other tests
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+        for (File file : new File(FONTS_FOLDER).listFiles()) {
+            if (file.isFile()) {
+                Files.copy(file.toPath(), Paths.get(DESTINATION_FOLDER, file.getName()),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex().setParallelism(4);
+        FontSet indexedFontSet = new FontSet();
+        int count = indexedFontSet.addDirectory(DESTINATION_FOLDER, true, index);
+
+        Assert.assertTrue(count > 0);
+        Assert.assertEquals(count, indexedFontSet.size());
+        Assert.assertTrue(index.size() >= count);
+
+        FontSet fontSet = new FontSet();
+        Assert.assertEquals(count, fontSet.addDirectory(DESTINATION_FOLDER, true, new FontProgramDescriptorIndex()));
+        Assert.assertEquals(getFontNames(fontSet), getFontNames(indexedFontSet));
+    }
+
+    @Test
+    public void addDirectoryKeepsFilesOrderTest() {
+        FontSet fontSet = new FontSet();
+        int count = fontSet.addDirectory(FONTS_FOLDER);
+
+        FontSet sequentialFontSet = new FontSet();
+        for (FontInfo fontInfo : fontSet.getFonts()) {
+            Assert.assertTrue(sequentialFontSet.addFont(fontInfo.getFontName()));
+        }
+        Assert.assertEquals(count, sequentialFontSet.size());
+        Assert.assertEquals(getFontNames(sequentialFontSet), getFontNames(fontSet));
+    }
+
+    private static List<String> getFontNames(FontSet fontSet) {
+        List<String> fontNames = new ArrayList<>();
+        for (FontInfo fontInfo : fontSet.getFonts()) {
+            fontNames.add(fontInfo.getFontName() + ":" + fontInfo.getDescriptor().getFontName());
+        }
+        return fontNames;
+    }
+}
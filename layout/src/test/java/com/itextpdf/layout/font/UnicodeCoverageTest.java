@@ -0,0 +1,165 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.commons.datastructures.Tuple2;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.layout.font.selectorstrategy.FirstMatchFontSelectorStrategy.FirstMathFontSelectorStrategyFactory;
+import com.itextpdf.layout.font.selectorstrategy.IFontSelectorStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class UnicodeCoverageTest extends ExtendedITextTest {
+
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/layout/fonts/";
+
+    @Test
+    public void emptyCoverageTest() {
+        UnicodeCoverage coverage = new UnicodeCoverage();
+        Assert.assertFalse(coverage.isChecked('a'));
+        Assert.assertFalse(coverage.isCovered('a'));
+        Assert.assertFalse(coverage.isChecked(0x1F600));
+    }
+
+    @Test
+    public void setCoveredTest() {
+        UnicodeCoverage coverage = new UnicodeCoverage();
+        coverage.setCovered('a', true);
+        coverage.setCovered('b', false);
+        coverage.setCovered(0x1F600, true);
+        coverage.setCovered(Character.MAX_CODE_POINT, false);
+
+        Assert.assertTrue(coverage.isChecked('a'));
+        Assert.assertTrue(coverage.isCovered('a'));
+        Assert.assertTrue(coverage.isChecked('b'));
+        Assert.assertFalse(coverage.isCovered('b'));
+        Assert.assertFalse(coverage.isChecked('c'));
+        Assert.assertFalse(coverage.isChecked('a' + 256));
+        Assert.assertTrue(coverage.isCovered(0x1F600));
+        Assert.assertFalse(coverage.isChecked(0x1F601));
+        Assert.assertTrue(coverage.isChecked(Character.MAX_CODE_POINT));
+        Assert.assertFalse(coverage.isCovered(Character.MAX_CODE_POINT));
+    }
+
+    @Test
+    public void invalidCodePointTest() {
+        UnicodeCoverage coverage = new UnicodeCoverage();
+        coverage.setCovered(-1, true);
+        coverage.setCovered(Character.MAX_CODE_POINT + 1, true);
+
+        Assert.assertFalse(coverage.isChecked(-1));
+        Assert.assertFalse(coverage.isCovered(Character.MAX_CODE_POINT + 1));
+    }
+
+    @Test
+    public void fontSelectionRecordsCoverageTest() {
+        FontSet fontSet = createFontSet();
+        FontProvider fontProvider = new FontProvider(fontSet);
+        fontProvider.setFontSelectorStrategyFactory(new FirstMathFontSelectorStrategyFactory());
+        IFontSelectorStrategy strategy = fontProvider.createFontSelectorStrategy(
+                Collections.singletonList(StandardFonts.TIMES_ROMAN), new FontCharacteristics(), null);
+        Assert.assertEquals(2, strategy.getGlyphLines("abc Ж").size());
+
+        UnicodeCoverage timesCoverage = fontProvider.getUnicodeCoverage(getFontInfo(fontSet, "Times-Roman"));
+        UnicodeCoverage freeSansCoverage = fontProvider.getUnicodeCoverage(getFontInfo(fontSet, "FreeSans"));
+        Assert.assertTrue(timesCoverage.isCovered('a'));
+        Assert.assertTrue(timesCoverage.isChecked('Ж'));
+        Assert.assertFalse(timesCoverage.isCovered('Ж'));
+        Assert.assertTrue(freeSansCoverage.isCovered('Ж'));
+    }
+
+    @Test
+    public void coverageIsSharedBetweenProvidersTest() {
+        FontSet fontSet = createFontSet();
+        FontInfo freeSansInfo = getFontInfo(fontSet, "FreeSans");
+        FontProvider fontProvider = new FontProvider(fontSet);
+
+        Assert.assertSame(fontProvider.getUnicodeCoverage(freeSansInfo),
+                new FontProvider(fontSet).getUnicodeCoverage(freeSansInfo));
+        Assert.assertSame(fontProvider.getUnicodeCoverage(freeSansInfo),
+                fontProvider.getUnicodeCoverage(FontInfo.create(freeSansInfo, "alias")));
+        Assert.assertNotSame(fontProvider.getUnicodeCoverage(freeSansInfo),
+                new FontProvider(createFontSet()).getUnicodeCoverage(freeSansInfo));
+    }
+
+    @Test
+    public void coverageIsNotSharedBetweenProvidersWithDifferentEncodingsTest() {
+        FontSet fontSet = new FontSet();
+        fontSet.addFont(FONTS_FOLDER + "FreeSans.ttf");
+        FontInfo freeSansInfo = getFontInfo(fontSet, "FreeSans");
+        FontProvider winAnsiFontProvider = new FontProvider(fontSet) {
+            @Override
+            public String getDefaultEncoding(FontProgram fontProgram) {
+                return PdfEncodings.WINANSI;
+            }
+        };
+        FontProvider identityFontProvider = new FontProvider(fontSet);
+
+        Assert.assertFalse(isTextMatched(winAnsiFontProvider, "Ж"));
+        Assert.assertTrue(winAnsiFontProvider.getUnicodeCoverage(freeSansInfo).isChecked('Ж'));
+        Assert.assertFalse(winAnsiFontProvider.getUnicodeCoverage(freeSansInfo).isCovered('Ж'));
+
+        Assert.assertTrue(isTextMatched(identityFontProvider, "Ж"));
+        Assert.assertTrue(identityFontProvider.getUnicodeCoverage(freeSansInfo).isCovered('Ж'));
+    }
+
+    private static boolean isTextMatched(FontProvider fontProvider, String text) {
+        IFontSelectorStrategy strategy = fontProvider.createFontSelectorStrategy(
+                Collections.singletonList("FreeSans"), new FontCharacteristics(), null);
+        int matchedGlyphsCount = 0;
+        for (Tuple2<GlyphLine, PdfFont> glyphLine : strategy.getGlyphLines(text)) {
+            GlyphLine line = glyphLine.getFirst();
+            for (int i = 0; i < line.size(); i++) {
+                if (line.get(i).getCode() != 0) {
+                    matchedGlyphsCount++;
+                }
+            }
+        }
+        return matchedGlyphsCount == text.length();
+    }
+
+    private static FontSet createFontSet() {
+        FontSet fontSet = new FontSet();
+        fontSet.addFont(StandardFonts.TIMES_ROMAN);
+        fontSet.addFont(FONTS_FOLDER + "FreeSans.ttf");
+        return fontSet;
+    }
+
+    private static FontInfo getFontInfo(FontSet fontSet, String fontName) {
+        List<FontInfo> fontInfos = new ArrayList<>(fontSet.get(fontName));
+        Assert.assertEquals(1, fontInfos.size());
+        return fontInfos.get(0);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.io.util.ResourceUtil;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class HyphenationPatternCompilerTest extends ExtendedITextTest {
+
+    private static final String HYPH_SOURCE_FOLDER = "../hyph/src/main/resources/com/itextpdf/hyph/";
+
+    private static final String[] WORDS = new String[] {"country", "internationalization", "hyphenation",
+            "Donaudampfschifffahrt", "backen", "Schiffahrt", "re-examination"};
+
+    @Test
+    public void compiledPatternsHyphenateAsXmlTest() throws IOException, HyphenationException {
+        for (String key : new String[] {"en", "de_1901", "nb", "ru"}) {
+            HyphenationTree xmlTree = Hyphenator.getHyphenationTree(getXmlPatterns(key), key);
+            HyphenationTree compiledTree = Hyphenator.getCompiledHyphenationTree(
+                    new ByteArrayInputStream(compile(key)), key);
+
+            Assert.assertNotNull(compiledTree);
+            for (String word : WORDS) {
+                Assert.assertEquals(key + ": " + word, String.valueOf(xmlTree.hyphenate(word, 2, 2)),
+                        String.valueOf(compiledTree.hyphenate(word, 2, 2)));
+            }
+            Assert.assertEquals(xmlTree.findPattern("tion"), compiledTree.findPattern("tion"));
+            Assert.assertEquals(xmlTree.size(), compiledTree.size());
+        }
+    }
+
+    @Test
+    public void compiledPatternsRoundTripTest() throws IOException, HyphenationException {
+        byte[] compiled = compile("de");
+        HyphenationTree hTree = new HyphenationTree();
+        hTree.loadCompiledPatterns(new ByteArrayInputStream(compiled), "de");
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HyphenationPatternCompiler.write(hTree, baos);
+        Assert.assertArrayEquals(compiled, baos.toByteArray());
+    }
+
+    @Test
+    public void shippedCompiledPatternsAreUpToDateTest() throws IOException, HyphenationException {
+        File[] xmlFiles = new File(HYPH_SOURCE_FOLDER).listFiles((dir, name) -> name.endsWith(".xml"));
+        Assert.assertNotNull(xmlFiles);
+        Assert.assertTrue(xmlFiles.length > 0);
+        for (File xmlFile : xmlFiles) {
+            String key = xmlFile.getName().substring(0, xmlFile.getName().length() - ".xml".length());
+            InputStream shipped = ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE
+                    + key + HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION);
+            Assert.assertNotNull(key, shipped);
+            try (InputStream in = shipped) {
+                Assert.assertArrayEquals(key, compile(key), StreamUtil.inputStreamToArray(in));
+            }
+        }
+        File[] compiledFiles = new File(HYPH_SOURCE_FOLDER).listFiles(
+                (dir, name) -> name.endsWith(HyphenationPatternCompiler.COMPILED_PATTERNS_EXTENSION));
+        Assert.assertEquals(xmlFiles.length, compiledFiles.length);
+    }
+
+    @Test
+    public void compilerWithoutArgumentsTest() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> HyphenationPatternCompiler.main(new String[0]));
+    }
+
+    @Test
+    public void truncatedCompiledPatternsTest() throws IOException, HyphenationException {
+        byte[] compiled = compile("en");
+        HyphenationTree hTree = new HyphenationTree();
+        Exception e = Assert.assertThrows(HyphenationException.class, () -> hTree.loadCompiledPatterns(
+                new ByteArrayInputStream(Arrays.copyOf(compiled, compiled.length / 2)), "en"));
+        Assert.assertEquals("Truncated compiled hyphenation patterns: en", e.getMessage());
+    }
+
+    @Test
+    public void notCompiledPatternsTest() throws IOException {
+        HyphenationTree hTree = new HyphenationTree();
+        Exception e = Assert.assertThrows(HyphenationException.class,
+                () -> hTree.loadCompiledPatterns(getXmlPatterns("en"), "en"));
+        Assert.assertEquals("Unsupported compiled hyphenation patterns: en", e.getMessage());
+    }
+
+    @Test
+    public void cachedTreeIsSharedTest() {
+        HyphenationTree hTree = Hyphenator.getHyphenationTree("en", "GB", null);
+        Assert.assertNotNull(hTree);
+        Assert.assertSame(hTree, Hyphenator.getHyphenationTreeCache().getHyphenationTree("en", "GB"));
+    }
+
+    private static InputStream getXmlPatterns(String key) {
+        return ResourceUtil.getResourceStream(HyphenationConstants.HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
+    }
+
+    private static byte[] compile(String key) throws IOException, HyphenationException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream xml = getXmlPatterns(key)) {
+            HyphenationPatternCompiler.compile(xml, key, baos);
+        }
+        return baos.toByteArray();
+    }
+}
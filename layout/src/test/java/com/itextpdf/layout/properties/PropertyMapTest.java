@@ -0,0 +1,245 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.properties;
+
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.renderer.DivRenderer;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void allPropertiesAreDenseTest() throws IllegalAccessException {
+        for (Field field : Property.class.getFields()) {
+            if (field.getType() == int.class) {
+                Assert.assertTrue(field.getName(), (int) field.get(null) < PropertyMap.DENSE_KEY_LIMIT);
+            }
+        }
+    }
+
+    @Test
+    public void putGetRemoveTest() {
+        PropertyMap map = new PropertyMap();
+        Assert.assertNull(map.put(Property.FONT_SIZE, 12));
+        Assert.assertNull(map.put(Property.MARGIN_TOP, 5));
+        Assert.assertNull(map.put(Property.TREAT_AS_CONTINUOUS_CONTAINER, true));
+        Assert.assertEquals(12, map.put(Property.FONT_SIZE, 14));
+
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(14, map.get(Property.FONT_SIZE));
+        Assert.assertEquals(5, map.get((Object) Property.MARGIN_TOP));
+        Assert.assertEquals(true, map.get(Property.TREAT_AS_CONTINUOUS_CONTAINER));
+        Assert.assertNull(map.get(Property.MARGIN_BOTTOM));
+
+        Assert.assertEquals(5, map.remove(Property.MARGIN_TOP));
+        Assert.assertNull(map.remove(Property.MARGIN_TOP));
+        Assert.assertFalse(map.containsKey(Property.MARGIN_TOP));
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(14, map.get(Property.FONT_SIZE));
+        Assert.assertEquals(true, map.get(Property.TREAT_AS_CONTINUOUS_CONTAINER));
+    }
+
+    @Test
+    public void nullValueTest() {
+        PropertyMap map = new PropertyMap();
+        map.put(Property.FONT, null);
+        Assert.assertTrue(map.containsKey(Property.FONT));
+        Assert.assertNull(map.get(Property.FONT));
+        Assert.assertEquals(1, map.size());
+        Assert.assertFalse(map.containsKey("font"));
+    }
+
+    @Test
+    public void sparseKeysTest() {
+        PropertyMap map = new PropertyMap();
+        map.put(-1, "negative");
+        map.put(1000, "custom");
+        map.put(Property.FONT_SIZE, 12);
+
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("negative", map.get(-1));
+        Assert.assertEquals("custom", map.get(1000));
+        Assert.assertEquals("custom", map.remove(1000));
+        Assert.assertFalse(map.containsKey(1000));
+        Assert.assertEquals(2, map.size());
+    }
+
+    @Test
+    public void iterationOrderTest() {
+        PropertyMap map = new PropertyMap();
+        map.put(150, "c");
+        map.put(1000, "d");
+        map.put(70, "b");
+        map.put(3, "a");
+
+        List<Integer> keys = new ArrayList<>(map.keySet());
+        Assert.assertEquals("[3, 70, 150, 1000]", keys.toString());
+
+        for (Map.Entry<Integer, Object> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() + "!");
+        }
+        Assert.assertEquals("a!", map.get(3));
+        Assert.assertEquals("d!", map.get(1000));
+    }
+
+    @Test
+    public void iteratorRemoveTest() {
+        PropertyMap map = new PropertyMap();
+        for (int i = 0; i < 10; i++) {
+            map.put(i * 15, i);
+        }
+        map.put(500, "sparse");
+        Iterator<Map.Entry<Integer, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Object> entry = iterator.next();
+            if (entry.getKey() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals("{15=1, 45=3, 75=5, 105=7, 135=9}", map.toString());
+    }
+
+    @Test
+    public void copyTest() {
+        PropertyMap map = new PropertyMap();
+        map.put(Property.FONT_SIZE, 12);
+        map.put(1000, "custom");
+
+        PropertyMap copy = new PropertyMap(map);
+        copy.put(Property.FONT_SIZE, 14);
+        copy.put(1000, "changed");
+        copy.put(Property.MARGIN_TOP, 5);
+
+        Assert.assertEquals(12, map.get(Property.FONT_SIZE));
+        Assert.assertEquals("custom", map.get(1000));
+        Assert.assertFalse(map.containsKey(Property.MARGIN_TOP));
+        Assert.assertEquals(3, copy.size());
+
+        Map<Integer, Object> hashMap = new HashMap<>(copy);
+        Assert.assertEquals(hashMap, copy);
+        Assert.assertEquals(copy, new PropertyMap(hashMap));
+        Assert.assertEquals(hashMap.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void randomOperationsTest() {
+        Random random = new Random(42);
+        PropertyMap map = new PropertyMap();
+        Map<Integer, Object> expected = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            int key = random.nextInt(220) - 10;
+            if (random.nextBoolean()) {
+                Integer value = random.nextInt(5) == 0 ? null : i;
+                Assert.assertEquals(expected.put(key, value), map.put(key, value));
+            } else {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Assert.assertEquals(expected, map);
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void elementUsesIntKeysTest() {
+        final BoxedAccessCountingPropertyMap map = new BoxedAccessCountingPropertyMap();
+        Div div = new Div() {
+            {
+                properties = map;
+            }
+        };
+        div.setProperty(Property.FONT_SIZE, 12);
+        Assert.assertTrue(div.hasOwnProperty(Property.FONT_SIZE));
+        Assert.assertTrue(div.hasProperty(Property.FONT_SIZE));
+        Assert.assertEquals(12, (int) div.<Integer>getOwnProperty(Property.FONT_SIZE));
+        Assert.assertEquals(12, (int) div.<Integer>getProperty(Property.FONT_SIZE));
+        div.deleteOwnProperty(Property.FONT_SIZE);
+        Assert.assertFalse(div.hasOwnProperty(Property.FONT_SIZE));
+
+        Assert.assertEquals(0, map.boxedAccessCount);
+    }
+
+    @Test
+    public void rendererUsesIntKeysTest() {
+        final BoxedAccessCountingPropertyMap map = new BoxedAccessCountingPropertyMap();
+        DivRenderer renderer = new DivRenderer(new Div()) {
+            {
+                properties = map;
+            }
+        };
+        renderer.setProperty(Property.FONT_SIZE, 12);
+        Assert.assertTrue(renderer.hasOwnProperty(Property.FONT_SIZE));
+        Assert.assertTrue(renderer.hasProperty(Property.FONT_SIZE));
+        Assert.assertEquals(12, (int) renderer.<Integer>getOwnProperty(Property.FONT_SIZE));
+        Assert.assertEquals(12, (int) renderer.<Integer>getProperty(Property.FONT_SIZE));
+        renderer.deleteOwnProperty(Property.FONT_SIZE);
+        Assert.assertFalse(renderer.hasOwnProperty(Property.FONT_SIZE));
+        renderer.setProperty(Property.MARGIN_TOP, 5);
+        renderer.deleteProperty(Property.MARGIN_TOP);
+        Assert.assertFalse(renderer.hasOwnProperty(Property.MARGIN_TOP));
+
+        Assert.assertEquals(0, map.boxedAccessCount);
+    }
+
+    private static class BoxedAccessCountingPropertyMap extends PropertyMap {
+        int boxedAccessCount;
+
+        @Override
+        public Object get(Object key) {
+            boxedAccessCount++;
+            return super.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            boxedAccessCount++;
+            return super.containsKey(key);
+        }
+
+        @Override
+        public Object put(Integer key, Object value) {
+            boxedAccessCount++;
+            return super.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            boxedAccessCount++;
+            return super.remove(key);
+        }
+    }
+}
@@ -44,7 +44,10 @@ import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.kernel.pdf.xobject.PdfXObject;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.DashedBorder;
+import com.itextpdf.layout.Style;
 import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Text;
 import com.itextpdf.layout.layout.LayoutArea;
 import com.itextpdf.layout.properties.Background;
 import com.itextpdf.layout.properties.BackgroundBox;
@@ -54,6 +57,7 @@ import com.itextpdf.layout.properties.BackgroundPosition;
 import com.itextpdf.layout.properties.BackgroundRepeat;
 import com.itextpdf.layout.properties.BackgroundRepeat.BackgroundRepeatValue;
 import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.test.AssertUtil;
 import com.itextpdf.test.ExtendedITextTest;
@@ -677,4 +681,179 @@ public class AbstractRendererUnitTest extends ExtendedITextTest {
         Rectangle rect = new Rectangle(0, 0);
         Assert.assertThrows(ClassCastException.class, () -> renderer.applyMargins(rect, false));
     }
+
+    @Test
+    public void inheritedPropertyChangedOnAncestorTest() {
+        Div div = new Div().setFontColor(ColorConstants.RED);
+        Paragraph paragraph = new Paragraph();
+        Text text = new Text("text");
+        paragraph.add(text);
+        div.add(paragraph);
+        IRenderer textRenderer = getFirstLeaf(div.createRendererSubTree());
+
+        Assert.assertEquals(ColorConstants.RED, textRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+        Assert.assertEquals(ColorConstants.RED, textRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+
+        div.setFontColor(ColorConstants.BLUE);
+        Assert.assertEquals(ColorConstants.BLUE, textRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+
+        paragraph.setFontColor(ColorConstants.GREEN);
+        Assert.assertEquals(ColorConstants.GREEN, textRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+
+        paragraph.deleteOwnProperty(Property.FONT_COLOR);
+        Assert.assertEquals(ColorConstants.BLUE, textRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+    }
+
+    @Test
+    public void inheritedPropertyChangedOnAncestorRendererTest() {
+        Div div = new Div();
+        div.add(new Paragraph("text"));
+        IRenderer divRenderer = div.createRendererSubTree();
+        IRenderer textRenderer = getFirstLeaf(divRenderer);
+
+        Assert.assertNull(textRenderer.getProperty(Property.CHARACTER_SPACING));
+        divRenderer.setProperty(Property.CHARACTER_SPACING, 2f);
+        Assert.assertEquals(2f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        divRenderer.deleteOwnProperty(Property.CHARACTER_SPACING);
+        Assert.assertNull(textRenderer.getProperty(Property.CHARACTER_SPACING));
+    }
+
+    @Test
+    public void inheritedPropertyFromAddedStyleTest() {
+        Div div = new Div();
+        div.add(new Paragraph("text"));
+        IRenderer textRenderer = getFirstLeaf(div.createRendererSubTree());
+
+        Assert.assertNull(textRenderer.getProperty(Property.WORD_SPACING));
+        div.addStyle(new Style().setWordSpacing(3));
+        Assert.assertEquals(3f, (float) textRenderer.<Float>getProperty(Property.WORD_SPACING), 0);
+    }
+
+    @Test
+    public void inheritedPropertyAfterReparentingTest() {
+        Div first = new Div().setFontColor(ColorConstants.RED);
+        Div second = new Div().setFontColor(ColorConstants.BLUE);
+        IRenderer firstRenderer = first.createRendererSubTree();
+        IRenderer secondRenderer = second.createRendererSubTree();
+        IRenderer paragraphRenderer = new Paragraph("text").createRendererSubTree().setParent(firstRenderer);
+        IRenderer textRenderer = getFirstLeaf(paragraphRenderer);
+
+        Assert.assertEquals(ColorConstants.RED, textRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+        paragraphRenderer.setParent(secondRenderer);
+        Assert.assertEquals(ColorConstants.BLUE, textRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+        textRenderer.setParent(firstRenderer);
+        Assert.assertEquals(ColorConstants.RED, textRenderer.<TransparentColor>getProperty(Property.FONT_COLOR).getColor());
+    }
+
+    @Test
+    public void inheritedPropertyChangedOnRendererDuringLayoutPassTest() {
+        DocumentRenderer root = createDocumentRenderer();
+        Div div = new Div().setCharacterSpacing(1f);
+        div.add(new Paragraph("text"));
+        AbstractRenderer divRenderer = (AbstractRenderer) div.createRendererSubTree().setParent(root);
+        IRenderer textRenderer = getFirstLeaf(divRenderer);
+
+        root.beginLayoutPass();
+        Assert.assertEquals(1f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        Assert.assertEquals(1f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        divRenderer.setProperty(Property.CHARACTER_SPACING, 2f);
+        Assert.assertEquals(2f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        divRenderer.deleteOwnProperty(Property.CHARACTER_SPACING);
+        Assert.assertEquals(1f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        // deletes the property of the model element
+        divRenderer.deleteProperty(Property.CHARACTER_SPACING);
+        Assert.assertNull(textRenderer.getProperty(Property.CHARACTER_SPACING));
+        root.endLayoutPass();
+    }
+
+    @Test
+    public void inheritedPropertyOfElementChangedBetweenLayoutPassesTest() {
+        DocumentRenderer root = createDocumentRenderer();
+        Div div = new Div().setCharacterSpacing(1f);
+        div.add(new Paragraph("text"));
+        IRenderer textRenderer = getFirstLeaf(div.createRendererSubTree().setParent(root));
+
+        root.beginLayoutPass();
+        Assert.assertEquals(1f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        root.endLayoutPass();
+
+        div.setCharacterSpacing(3f);
+        root.beginLayoutPass();
+        Assert.assertEquals(3f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        root.endLayoutPass();
+    }
+
+    @Test
+    public void inheritedPropertiesOfOtherTreeDoNotInvalidateCacheTest() {
+        DocumentRenderer firstRoot = createDocumentRenderer();
+        DocumentRenderer secondRoot = createDocumentRenderer();
+        Div div = new Div();
+        div.add(new Paragraph("text"));
+        IRenderer divRenderer = div.createRendererSubTree().setParent(firstRoot);
+        IRenderer textRenderer = getFirstLeaf(divRenderer);
+
+        firstRoot.beginLayoutPass();
+        textRenderer.getProperty(Property.CHARACTER_SPACING);
+        long firstStamp = firstRoot.inheritedPropertiesStamp;
+        long stamp = secondRoot.inheritedPropertiesStamp;
+        divRenderer.setProperty(Property.CHARACTER_SPACING, 2f);
+        div.setCharacterSpacing(3f);
+        Assert.assertEquals(stamp, secondRoot.inheritedPropertiesStamp);
+        Assert.assertNotEquals(firstStamp, firstRoot.inheritedPropertiesStamp);
+        firstRoot.endLayoutPass();
+    }
+
+    @Test
+    public void inheritedPropertyAfterChildrenReaddedDuringLayoutPassTest() {
+        DocumentRenderer root = createDocumentRenderer();
+        Div div = new Div().setCharacterSpacing(1f);
+        div.add(new Paragraph("text"));
+        IRenderer divRenderer = div.createRendererSubTree().setParent(root);
+        IRenderer paragraphRenderer = divRenderer.getChildRenderers().get(0);
+        IRenderer textRenderer = getFirstLeaf(divRenderer);
+
+        root.beginLayoutPass();
+        Assert.assertEquals(1f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        // the paragraph has no children while being modified
+        paragraphRenderer.getChildRenderers().clear();
+        paragraphRenderer.setProperty(Property.CHARACTER_SPACING, 2f);
+        paragraphRenderer.addChild(textRenderer);
+        Assert.assertEquals(2f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+
+        paragraphRenderer.getChildRenderers().clear();
+        paragraphRenderer.setParent(new Div().setCharacterSpacing(3f).createRendererSubTree().setParent(root));
+        paragraphRenderer.deleteOwnProperty(Property.CHARACTER_SPACING);
+        paragraphRenderer.addChild(textRenderer);
+        Assert.assertEquals(3f, (float) textRenderer.<Float>getProperty(Property.CHARACTER_SPACING), 0);
+        root.endLayoutPass();
+    }
+
+    @Test
+    public void pdfDocumentOfDocumentRendererWithoutDocumentTest() {
+        TextRenderer textRenderer = new TextRenderer(new Text("text"));
+        textRenderer.setParent(new DocumentRenderer(null));
+        Assert.assertNull(textRenderer.getPdfDocument());
+    }
+
+    @Test
+    public void pdfDocumentOfDocumentRendererTest() {
+        DocumentRenderer documentRenderer = createDocumentRenderer();
+        TextRenderer textRenderer = new TextRenderer(new Text("text"));
+        textRenderer.setParent(documentRenderer);
+        Assert.assertSame(documentRenderer.document.getPdfDocument(), textRenderer.getPdfDocument());
+    }
+
+    private static DocumentRenderer createDocumentRenderer() {
+        return new DocumentRenderer(new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))));
+    }
+
+    private static IRenderer getFirstLeaf(IRenderer renderer) {
+        // parents are normally set during layout
+        while (!renderer.getChildRenderers().isEmpty()) {
+            IRenderer child = renderer.getChildRenderers().get(0);
+            child.setParent(renderer);
+            renderer = child;
+        }
+        return renderer;
+    }
 }
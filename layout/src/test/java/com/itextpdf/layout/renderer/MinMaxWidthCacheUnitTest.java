@@ -0,0 +1,119 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.minmaxwidth.MinMaxWidth;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class MinMaxWidthCacheUnitTest extends ExtendedITextTest {
+
+    @Test
+    public void nestedTablesRelayoutsAvoidedTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document document = new Document(pdfDocument);
+        Document otherDocument = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())));
+        document.add(createNestedTables(4));
+        Assert.assertTrue(MinMaxWidthCache.getAvoidedRelayoutsCount(document.getRenderer()) > 0);
+        // the relayouts are counted per document
+        Assert.assertEquals(0, MinMaxWidthCache.getAvoidedRelayoutsCount(otherDocument.getRenderer()));
+        document.close();
+        otherDocument.close();
+    }
+
+    @Test
+    public void inheritedPropertyModifiedDuringCalculationTest() {
+        DocumentRenderer documentRenderer = new DocumentRenderer(new Document(new PdfDocument(
+                new PdfWriter(new ByteArrayOutputStream()))));
+        AbstractRenderer paragraphRenderer = (AbstractRenderer) new Paragraph("text").createRendererSubTree();
+        paragraphRenderer.setParent(documentRenderer);
+        AbstractRenderer textRenderer = (AbstractRenderer) paragraphRenderer.getChildRenderers().get(0);
+        textRenderer.setParent(paragraphRenderer);
+
+        MinMaxWidth[] widths = new MinMaxWidth[2];
+        AbstractRenderer outerRenderer = new DivRenderer(new Div()) {
+            @Override
+            public MinMaxWidth getMinMaxWidth() {
+                widths[0] = MinMaxWidthCache.getMinMaxWidth(textRenderer);
+                // the parent has no children while being modified
+                paragraphRenderer.getChildRenderers().clear();
+                paragraphRenderer.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(24));
+                paragraphRenderer.addChild(textRenderer);
+                widths[1] = MinMaxWidthCache.getMinMaxWidth(textRenderer);
+                return super.getMinMaxWidth();
+            }
+        };
+        outerRenderer.setParent(documentRenderer);
+        MinMaxWidthCache.getMinMaxWidth(outerRenderer);
+        Assert.assertTrue(widths[1].getMaxWidth() > widths[0].getMaxWidth());
+    }
+
+    @Test
+    public void cachedWidthsAreEqualToCalculatedTest() {
+        IRenderer renderer = createNestedTables(3).createRendererSubTree();
+        renderer.setParent(new DocumentRenderer(new Document(new PdfDocument(
+                new PdfWriter(new ByteArrayOutputStream())))));
+
+        MinMaxWidth calculated = ((AbstractRenderer) renderer).getMinMaxWidth();
+        MinMaxWidth cached = MinMaxWidthCache.getMinMaxWidth((AbstractRenderer) renderer);
+        Assert.assertEquals(calculated.getMinWidth(), cached.getMinWidth(), 0);
+        Assert.assertEquals(calculated.getMaxWidth(), cached.getMaxWidth(), 0);
+    }
+
+    @Test
+    public void widthsAreNotKeptAfterCalculationTest() {
+        AbstractRenderer renderer = (AbstractRenderer) new Paragraph("text").createRendererSubTree();
+        renderer.setParent(new DocumentRenderer(new Document(new PdfDocument(
+                new PdfWriter(new ByteArrayOutputStream())))));
+
+        float maxWidth = MinMaxWidthCache.getMinMaxWidth(renderer).getMaxWidth();
+        renderer.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(24));
+        Assert.assertTrue(MinMaxWidthCache.getMinMaxWidth(renderer).getMaxWidth() > maxWidth);
+    }
+
+    private static IBlockElement createNestedTables(int depth) {
+        if (depth == 0) {
+            return new Paragraph("Some words to be wrapped");
+        }
+        Table table = new Table(2);
+        table.addCell(new Cell().add(createNestedTables(depth - 1)));
+        table.addCell(new Cell().add(new Paragraph("text").add(new Div().add(createNestedTables(depth - 1)))));
+        return new Div().add(table);
+    }
+}
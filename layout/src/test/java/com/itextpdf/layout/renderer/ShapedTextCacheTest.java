@@ -0,0 +1,179 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.commons.actions.contexts.IMetaInfo;
+import com.itextpdf.commons.actions.sequence.SequenceId;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.TrueTypeFont;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.renderer.typography.AbstractTypographyApplier;
+import com.itextpdf.layout.renderer.typography.DefaultTypographyApplier;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.IOException;
+import java.lang.Character.UnicodeScript;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ShapedTextCacheTest extends RendererUnitTest {
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/layout/fonts/";
+
+    @Test
+    public void repeatedTextIsConvertedOnceTest() {
+        Document document = createDummyDocument();
+        TextRenderer first = createLayoutedTextRenderer("Total amount", document);
+        TextRenderer second = createLayoutedTextRenderer("Total amount", document);
+        TextRenderer third = createLayoutedTextRenderer("Quantity", document);
+
+        Assert.assertEquals(2, ShapedTextCache.getCache(document.getPdfDocument()).size());
+        Assert.assertEquals(first.getText(), second.getText());
+        Assert.assertEquals(first.getOccupiedArea().getBBox().getWidth(),
+                second.getOccupiedArea().getBBox().getWidth(), 1e-4);
+        Assert.assertEquals("Quantity", third.getText().toString());
+
+        // the renderers don't share the glyphs
+        second.getText().set(0, second.getText().get(1));
+        Assert.assertEquals("Total amount", first.getText().toString());
+        Assert.assertEquals("Total amount", createLayoutedTextRenderer("Total amount", document).getText().toString());
+    }
+
+    @Test
+    public void longTextIsNotCachedTest() {
+        Document document = createDummyDocument();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i <= ShapedTextCache.MAX_TEXT_LENGTH; i++) {
+            text.append('a');
+        }
+        createLayoutedTextRenderer(text.toString(), document);
+
+        Assert.assertEquals(0, ShapedTextCache.getCache(document.getPdfDocument()).size());
+    }
+
+    @Test
+    public void cacheIsBoundedTest() {
+        ShapedTextCache cache = ShapedTextCache.getCache(createDummyDocument().getPdfDocument());
+        GlyphLine glyphLine = new GlyphLine();
+        for (int i = 0; i < ShapedTextCache.MAX_SIZE + 10; i++) {
+            cache.put(null, String.valueOf(i), null, null, glyphLine);
+        }
+
+        Assert.assertEquals(ShapedTextCache.MAX_SIZE, cache.size());
+        Assert.assertNull(cache.get(null, "0", null, null));
+        Assert.assertNotNull(cache.get(null, String.valueOf(ShapedTextCache.MAX_SIZE + 9), null, null));
+    }
+
+    @Test
+    public void repeatedTextIsShapedOnceTest() throws IOException {
+        CountingTypographyApplier applier = new CountingTypographyApplier(true);
+        TypographyUtils.setTypographyApplierInstance(applier);
+        try {
+            Document document = createDummyDocument();
+            PdfFont font = PdfFontFactory.createFont(FONTS_FOLDER + "NotoSans-Regular.ttf", PdfEncodings.IDENTITY_H);
+            TextRenderer first = createShapedTextRenderer("office", font, document);
+            TextRenderer second = createShapedTextRenderer("office", font, document);
+
+            Assert.assertEquals(1, applier.shapingsCount);
+            Assert.assertEquals(1, applier.reusesCount);
+            Assert.assertEquals(5, first.getText().end - first.getText().start);
+            Assert.assertEquals(first.getText(), second.getText());
+        } finally {
+            TypographyUtils.setTypographyApplierInstance(new DefaultTypographyApplier());
+        }
+    }
+
+    @Test
+    public void repeatedTextIsShapedAgainIfReuseIsNotReportedTest() throws IOException {
+        CountingTypographyApplier applier = new CountingTypographyApplier(false);
+        TypographyUtils.setTypographyApplierInstance(applier);
+        try {
+            Document document = createDummyDocument();
+            PdfFont font = PdfFontFactory.createFont(FONTS_FOLDER + "NotoSans-Regular.ttf", PdfEncodings.IDENTITY_H);
+            TextRenderer first = createShapedTextRenderer("office", font, document);
+            TextRenderer second = createShapedTextRenderer("office", font, document);
+
+            Assert.assertEquals(2, applier.shapingsCount);
+            Assert.assertEquals(0, applier.reusesCount);
+            Assert.assertEquals(first.getText(), second.getText());
+        } finally {
+            TypographyUtils.setTypographyApplierInstance(new DefaultTypographyApplier());
+        }
+    }
+
+    private static TextRenderer createShapedTextRenderer(String text, PdfFont font, Document document) {
+        TextRenderer renderer = (TextRenderer) new TextRenderer(new Text(text)).setParent(document.getRenderer());
+        renderer.setProperty(Property.FONT, font);
+        renderer.applyOtf();
+        return renderer;
+    }
+
+    private static final class CountingTypographyApplier extends AbstractTypographyApplier {
+        private final boolean reuseReported;
+        private int shapingsCount = 0;
+        private int reusesCount = 0;
+
+        CountingTypographyApplier(boolean reuseReported) {
+            this.reuseReported = reuseReported;
+        }
+
+        @Override
+        public boolean isPdfCalligraphInstance() {
+            return true;
+        }
+
+        @Override
+        public Collection<UnicodeScript> getSupportedScripts() {
+            return Collections.singletonList(UnicodeScript.LATIN);
+        }
+
+        @Override
+        public boolean applyOtfScript(TrueTypeFont font, GlyphLine glyphLine, UnicodeScript script,
+                Object configurator, SequenceId id, IMetaInfo metaInfo) {
+            shapingsCount++;
+            // emulates a ligature by removing the last glyph of the range
+            glyphLine.end--;
+            return true;
+        }
+
+        @Override
+        public boolean isOtfScriptReuseReported() {
+            return reuseReported;
+        }
+
+        @Override
+        public void reportOtfScriptReuse(TrueTypeFont font, UnicodeScript script, Object configurator,
+                SequenceId id, IMetaInfo metaInfo) {
+            Assert.assertNotNull(id);
+            reusesCount++;
+        }
+    }
+}
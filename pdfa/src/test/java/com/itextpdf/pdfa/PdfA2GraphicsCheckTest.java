@@ -39,6 +39,8 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfOutputIntent;
 import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
@@ -56,12 +58,15 @@ import com.itextpdf.pdfa.exceptions.PdfaExceptionMessageConstant;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Collections;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -470,6 +475,42 @@ public class PdfA2GraphicsCheckTest extends ExtendedITextTest {
         compareResult(outPdf, cmpPdf);
     }
 
+    @Test
+    public void streamedImageCheckTest() throws FileNotFoundException, MalformedURLException {
+        PdfWriter writer = new PdfWriter(new ByteArrayOutputStream());
+        InputStream is = new FileInputStream(sourceFolder + "sRGB Color Space Profile.icm");
+        PdfOutputIntent outputIntent = new PdfOutputIntent("Custom", "", "http://www.color.org", "sRGB IEC61966-2.1", is);
+        PdfADocument doc = new PdfADocument(writer, PdfAConformanceLevel.PDF_A_2B, outputIntent);
+
+        doc.addNewPage();
+        PdfCanvas canvas = new PdfCanvas(doc.getLastPage());
+
+        // the bytes of a streamed image are read from its source for the check
+        canvas.addImageAt(ImageDataFactory.createStreamed(sourceFolder + "jpeg2000/p0_01.j2k"), 300, 300, false);
+
+        Exception e = Assert.assertThrows(PdfAConformanceException.class, () -> doc.close());
+        Assert.assertEquals(PdfaExceptionMessageConstant.ONLY_JPX_BASELINE_SET_OF_FEATURES_SHALL_BE_USED, e.getMessage());
+    }
+
+    @Test
+    public void streamedImageCheckPassedTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        InputStream is = new FileInputStream(sourceFolder + "sRGB Color Space Profile.icm");
+        PdfOutputIntent outputIntent = new PdfOutputIntent("Custom", "", "http://www.color.org", "sRGB IEC61966-2.1", is);
+        PdfADocument doc = new PdfADocument(new PdfWriter(baos), PdfAConformanceLevel.PDF_A_2B, outputIntent);
+
+        PdfCanvas canvas = new PdfCanvas(doc.addNewPage());
+        canvas.addImageAt(ImageDataFactory.createStreamed(sourceFolder + "jpeg2000/file1.jp2"), 300, 300, false);
+        doc.close();
+
+        byte[] expected = Files.readAllBytes(Paths.get(sourceFolder, "jpeg2000/file1.jp2"));
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            PdfDictionary xObjects = pdfDocument.getFirstPage().getResources().getResource(PdfName.XObject);
+            PdfStream image = xObjects.getAsStream(xObjects.keySet().iterator().next());
+            Assert.assertArrayEquals(expected, image.getBytes(false));
+        }
+    }
+
     @Test
     public void transparencyCheckTest1() {
         PdfWriter writer = new PdfWriter(new ByteArrayOutputStream());